@@ -0,0 +1,102 @@
+package br.com.legacylens.bench;
+
+import br.com.legacylens.infrastructure.util.InjectionResolverUtil;
+import br.com.legacylens.infrastructure.util.LegacyHeuristicsUtil;
+import br.com.legacylens.infrastructure.util.SwaggerExtractorUtil;
+import br.com.legacylens.infrastructure.util.SymbolTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ HeuristicsBenchmark
+ * -----------------------------------------
+ * Heurísticas de código-fonte sobre controllers sintéticos de 100 a 10k linhas
+ * e universos de 10 a 5k classes conhecidas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicsBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    @Param({"10", "500", "5000"})
+    public int knownClasses;
+
+    private String controller;
+    private Set<String> known;
+    private SymbolTable symbols;
+    private int[] knownIds;
+    private Path srcDir;
+    private Path controllerPath;
+    private List<String> varNames;
+    private List<String> typeNames;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        SyntheticSources.quietLogging();
+        known = SyntheticSources.knownClasses(knownClasses);
+        symbols = LegacyHeuristicsUtil.symbolTable();
+        knownIds = known.stream().mapToInt(symbols::internNormalized).toArray();
+        controller = SyntheticSources.controller(lines, knownClasses);
+        srcDir = SyntheticSources.sourceTree(known);
+        controllerPath = Path.of("src/main/java/com/acme/legacy/web/LegacyController.java");
+
+        // metade acerta uma classe conhecida, metade não (varre o universo inteiro)
+        varNames = new ArrayList<>();
+        typeNames = new ArrayList<>();
+        int i = 0;
+        for (String k : known) {
+            if (i++ >= 16) break;
+            varNames.add(Character.toLowerCase(k.charAt(0)) + k.substring(1));
+            typeNames.add(k + "Impl");
+        }
+        for (int m = 0; m < 16; m++) {
+            varNames.add("unrelatedHelper" + m);
+            typeNames.add("ZzUnrelated" + m);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticSources.delete(srcDir);
+    }
+
+    @Benchmark
+    public Object detectInjections() {
+        return InjectionResolverUtil.detectInjections(controller, symbols, knownIds, "Spring Boot");
+    }
+
+    @Benchmark
+    public Object extractEndpointDocs() {
+        return SwaggerExtractorUtil.extractEndpointDocs(controller, null, srcDir);
+    }
+
+    @Benchmark
+    public Object identifyClassRole() {
+        return LegacyHeuristicsUtil.identifyClassRole(controller, controllerPath);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(32)
+    public void resolveTarget(Blackhole bh) {
+        for (String v : varNames) bh.consume(LegacyHeuristicsUtil.resolveTarget(v, symbols, knownIds));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(32)
+    public void normalizeType(Blackhole bh) {
+        for (String t : typeNames) bh.consume(LegacyHeuristicsUtil.normalizeType(t, symbols, knownIds));
+    }
+}
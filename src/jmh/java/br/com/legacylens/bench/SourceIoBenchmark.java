@@ -0,0 +1,80 @@
+package br.com.legacylens.bench;
+
+import br.com.legacylens.infrastructure.impl.MavenProjectScannerImpl;
+import br.com.legacylens.infrastructure.impl.maven.EffectivePomResolver;
+import br.com.legacylens.infrastructure.impl.maven.TransitiveDependencyResolver;
+import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ SourceIoBenchmark
+ * -----------------------------------------
+ * Leitura de fontes (JavaSourceReaderUtil) e parsing de pom.xml (MavenProjectScannerImpl).
+ * O arquivo fica no page cache: mede CPU/alocação da leitura, não o disco.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceIoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SourceFile {
+        @Param({"100", "1000", "10000"})
+        public int lines;
+
+        Path dir;
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            SyntheticSources.quietLogging();
+            dir = Files.createTempDirectory("legacylens-bench-io-");
+            file = dir.resolve("LegacyController.java");
+            Files.writeString(file, SyntheticSources.controller(lines, 30));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            SyntheticSources.delete(dir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PomFile {
+        @Param({"10", "100", "1000"})
+        public int dependencies;
+
+        final EffectivePomResolver poms = new EffectivePomResolver(null);
+        final MavenProjectScannerImpl maven = new MavenProjectScannerImpl(poms, new TransitiveDependencyResolver(null, poms));
+        Path dir;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            SyntheticSources.quietLogging();
+            dir = Files.createTempDirectory("legacylens-bench-pom-");
+            Files.writeString(dir.resolve("pom.xml"), SyntheticSources.pom(dependencies));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            SyntheticSources.delete(dir);
+        }
+    }
+
+    @Benchmark
+    public String readFile(SourceFile state) {
+        return JavaSourceReaderUtil.readFile(state.file);
+    }
+
+    @Benchmark
+    public Object mavenScan(PomFile state) {
+        return state.maven.scan(state.dir.toString());
+    }
+}
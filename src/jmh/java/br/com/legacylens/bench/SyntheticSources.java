@@ -0,0 +1,148 @@
+package br.com.legacylens.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 🧪 SyntheticSources
+ * -----------------------------------------
+ * Fontes sintéticas e determinísticas para os benchmarks:
+ * controllers/services no formato que as heurísticas esperam, com N linhas
+ * e referências a um universo de K classes conhecidas.
+ */
+public final class SyntheticSources {
+
+    private static final String[] DOMAINS = {"Customer", "Order", "Invoice", "Product", "Payment", "Shipment", "Account"};
+
+    private SyntheticSources() {}
+
+    /** Universo de classes conhecidas: ~1/3 services, 1/3 repositories, 1/3 DTOs. */
+    public static Set<String> knownClasses(int count) {
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; names.size() < count; i++) {
+            String base = DOMAINS[i % DOMAINS.length] + i;
+            switch (i % 3) {
+                case 0 -> names.add(base + "Service");
+                case 1 -> names.add(base + "Repository");
+                default -> names.add(base + "Dto");
+            }
+        }
+        return names;
+    }
+
+    /** Controller Spring com ~{@code lines} linhas: injeção por construtor + endpoints de 7 linhas. */
+    public static String controller(int lines, int knownClasses) {
+        StringBuilder sb = new StringBuilder(lines * 48);
+        sb.append("package com.acme.legacy.web;\n\n")
+                .append("import org.springframework.web.bind.annotation.*;\n")
+                .append("import org.springframework.http.*;\n\n")
+                .append("@RestController\n")
+                .append("@RequestMapping(\"/api\")\n")
+                .append("public class LegacyController {\n\n");
+
+        int services = Math.max(1, Math.min(8, knownClasses / 3));
+        for (int s = 0; s < services; s++) {
+            sb.append("    private final ").append(service(s)).append(' ').append(var(s)).append(";\n");
+        }
+        sb.append("\n    public LegacyController(");
+        for (int s = 0; s < services; s++) {
+            if (s > 0) sb.append(", ");
+            sb.append(service(s)).append(' ').append(var(s));
+        }
+        sb.append(") {\n");
+        for (int s = 0; s < services; s++) {
+            sb.append("        this.").append(var(s)).append(" = ").append(var(s)).append(";\n");
+        }
+        sb.append("    }\n\n");
+
+        int current = countLines(sb);
+        for (int i = 0; current < lines - 1; i++) {
+            int s = i % services;
+            sb.append("    @PostMapping(\"/items/").append(i).append("\")\n")
+                    .append("    public ResponseEntity<Item").append(i).append("Dto> create").append(i)
+                    .append("(@RequestBody @Valid Item").append(i).append("Request request) {\n")
+                    .append("        var result = ").append(var(s)).append(".process").append(i).append("(request);\n")
+                    .append("        log.debug(\"processed {}\", result);\n")
+                    .append("        return ResponseEntity.ok(result);\n")
+                    .append("    }\n\n");
+            current += 7;
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /** Nome de um endpoint do meio do controller (pior caso realista para busca por corpo). */
+    public static String middleEndpoint(int lines) {
+        return "create" + Math.max(0, (lines / 7) / 2);
+    }
+
+    /** pom.xml com {@code dependencies} dependências e parent Spring Boot. */
+    public static String pom(int dependencies) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <parent><groupId>org.springframework.boot</groupId>")
+                .append("<artifactId>spring-boot-starter-parent</artifactId><version>2.7.18</version></parent>\n")
+                .append("  <groupId>com.acme</groupId><artifactId>legacy</artifactId><version>1.0</version>\n")
+                .append("  <properties><java.version>11</java.version></properties>\n")
+                .append("  <dependencies>\n");
+        for (int i = 0; i < dependencies; i++) {
+            sb.append("    <dependency><groupId>com.acme.lib").append(i % 17)
+                    .append("</groupId><artifactId>lib-").append(i)
+                    .append("</artifactId><version>1.").append(i).append(".0</version></dependency>\n");
+        }
+        sb.append("  </dependencies>\n</project>\n");
+        return sb.toString();
+    }
+
+    /** Árvore src/ com um arquivo por classe conhecida (DTOs com campos) — usada pela leitura de DTOs. */
+    public static Path sourceTree(Set<String> knownClasses) throws IOException {
+        Path root = Files.createTempDirectory("legacylens-bench-");
+        Path pkg = Files.createDirectories(root.resolve("com/acme/legacy"));
+        for (String name : knownClasses) {
+            StringBuilder sb = new StringBuilder("package com.acme.legacy;\n\npublic class ").append(name).append(" {\n");
+            if (name.endsWith("Dto")) {
+                for (int f = 0; f < 6; f++) sb.append("    private String field").append(f).append(";\n");
+            }
+            sb.append("}\n");
+            Files.writeString(pkg.resolve(name + ".java"), sb.toString());
+        }
+        return root;
+    }
+
+    public static void delete(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) return;
+        try (Stream<Path> s = Files.walk(root)) {
+            for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    /** Os scanners logam em INFO por chamada; no benchmark isso mediria só o appender. */
+    public static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    private static String service(int s) {
+        return DOMAINS[s % DOMAINS.length] + (s * 3) + "Service";
+    }
+
+    private static String var(int s) {
+        String svc = service(s);
+        return Character.toLowerCase(svc.charAt(0)) + svc.substring(1);
+    }
+
+    private static int countLines(CharSequence cs) {
+        int n = 0;
+        for (int i = 0; i < cs.length(); i++) if (cs.charAt(i) == '\n') n++;
+        return n;
+    }
+}
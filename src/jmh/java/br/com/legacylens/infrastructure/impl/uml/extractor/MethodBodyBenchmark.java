@@ -0,0 +1,45 @@
+package br.com.legacylens.infrastructure.impl.uml.extractor;
+
+import br.com.legacylens.bench.SyntheticSources;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ MethodBodyBenchmark
+ * -----------------------------------------
+ * Localização do corpo de métodos no SequenceDiagramExtractor (regex de assinatura
+ * + contagem de chaves) — chamada uma vez por endpoint e por chamada de service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodBodyBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    private final SequenceDiagramExtractor extractor = new SequenceDiagramExtractor();
+    private String controller;
+    private String middle;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticSources.quietLogging();
+        controller = SyntheticSources.controller(lines, 30);
+        middle = SyntheticSources.middleEndpoint(lines);
+    }
+
+    @Benchmark
+    public String extractMiddleMethod() {
+        return extractor.extractMethodBody(controller, middle);
+    }
+
+    @Benchmark
+    public String extractMissingMethod() {
+        return extractor.extractMethodBody(controller, "doesNotExist");
+    }
+}
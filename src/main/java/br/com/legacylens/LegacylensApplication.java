@@ -1,5 +1,8 @@
 package br.com.legacylens;
 
+import br.com.legacylens.app.cli.AnalyzeCommand;
+import br.com.legacylens.app.cli.CoordinatorCommand;
+import br.com.legacylens.app.cli.WorkerCommand;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,6 +10,15 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class LegacylensApplication {
 
 	public static void main(String[] args) {
+		// subcomandos = CLI sem servidor web (analyze, coordinator/worker do modo distribuído); sem subcomando sobe a API
+		if (args.length > 0) {
+			switch (args[0]) {
+				case AnalyzeCommand.NAME -> System.exit(AnalyzeCommand.launch(args));
+				case CoordinatorCommand.NAME -> System.exit(CoordinatorCommand.launch(args));
+				case WorkerCommand.NAME -> System.exit(WorkerCommand.launch(args));
+				default -> { }
+			}
+		}
 		SpringApplication.run(LegacylensApplication.class, args);
 	}
 
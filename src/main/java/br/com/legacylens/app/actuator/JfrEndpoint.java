@@ -0,0 +1,84 @@
+package br.com.legacylens.app.actuator;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.infrastructure.jfr.JfrRecordingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 🎥 JfrEndpoint — gravações JFR sob demanda (actuator "jfr")
+ * -----------------------------------------
+ *  - GET  /actuator/jfr                      estado da gravação
+ *  - POST /actuator/jfr/start {"seconds":60}  inicia uma gravação com prazo (diagnostics.jfrMaxDurationSeconds);
+ *    "settings" aceita as configurações do JDK (default, profile) — outro nome dá 400
+ *  - POST /actuator/jfr/stop {}               encerra a gravação (corpo JSON, como todo WriteOperation)
+ *  - GET  /actuator/jfr/recording            baixa a última gravação (.jfr)
+ * Gravações trazem pilhas, propriedades do sistema e ambiente: o endpoint só existe com
+ * diagnostics.jfrEnabled=true E "jfr" em management.endpoints.web.exposure.include — de preferência
+ * numa management.server.port que não seja publicada.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final String RECORDING = "recording";
+
+    private final JfrRecordingService recordings;
+
+    public JfrEndpoint(JfrRecordingService recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<JfrRecordingService.Status> status() {
+        if (!enabled()) return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        return new WebEndpointResponse<>(recordings.status());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecordingService.Status> control(@Selector String action,
+                                                                   @Nullable Long seconds,
+                                                                   @Nullable String settings) throws Exception {
+        if (!enabled()) return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        try {
+            switch (action) {
+                case "start" -> recordings.start(Duration.ofSeconds(seconds != null ? seconds : 60), settings);
+                case "stop" -> recordings.stop();
+                default -> {
+                    return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ JFR {}: {}", action, e.getMessage());
+            return new WebEndpointResponse<>(recordings.status(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            log.warn("⚠️ JFR {}: {}", action, e.getMessage());
+            return new WebEndpointResponse<>(recordings.status(), 409);
+        }
+        return new WebEndpointResponse<>(recordings.status());
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> recording(@Selector String name) {
+        if (!enabled() || !RECORDING.equals(name)) return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        Path file = recordings.finishedFile();
+        if (file == null) return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    private static boolean enabled() {
+        return LegacyLensConfigLoader.get().getDiagnostics().isJfrEnabled();
+    }
+}
@@ -0,0 +1,294 @@
+package br.com.legacylens.app.cli;
+
+import br.com.legacylens.LegacylensApplication;
+import br.com.legacylens.application.AnalyzeProjectService;
+import br.com.legacylens.application.GenerateReportsService;
+import br.com.legacylens.application.planner.ExecutionPlanner;
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.ConfigOverrides;
+import br.com.legacylens.domain.model.PipelineReport;
+import br.com.legacylens.domain.model.StageResult;
+import br.com.legacylens.infrastructure.jfr.AnalysisEvents;
+import br.com.legacylens.infrastructure.metrics.AnalysisMetrics;
+import br.com.legacylens.infrastructure.util.ArchiveUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 🖥️ AnalyzeCommand — entrada de linha de comando (CI)
+ * -----------------------------------------
+ *   java -jar legacylens.jar analyze [--out DIR] [--artifacts UML,SEQUENCE] [--parallel N] &lt;dir|.zip|.jar&gt;...
+ *  - sobe o contexto sem servidor web (WebApplicationType.NONE) e com o profile "cli"
+ *    (inicialização preguiçosa: só os beans da análise são criados)
+ *  - cada entrada roda o mesmo fluxo da API (plano → scan → pipeline) e grava em DIR/&lt;nome&gt;;
+ *    nada é publicado no artifact store e formatos não pedidos não são gerados
+ *  - várias entradas podem rodar em paralelo (--parallel); o planejador divide o heap entre elas
+ *  - uma linha por entrada no stdout (status, entrada, saída, ms, detalhe) e código de saída:
+ *    0 ok · 1 alguma análise falhou · 2 uso inválido · 3 alguma análise com estágio em falha/timeout
+ * Argumentos --chave=valor desconhecidos vão para o Spring (ex.: --logging.level.root=INFO).
+ */
+@Slf4j
+@Component
+@Profile(AnalyzeCommand.PROFILE)
+public class AnalyzeCommand {
+
+    public static final String NAME = "analyze";
+    public static final String PROFILE = "cli";
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_STAGE_FAILED = 3;
+
+    private static final String USAGE = """
+            Uso: legacylens analyze [opções] <diretório|arquivo.zip|arquivo.jar>...
+              --out <dir>          raiz dos artefatos; um subdiretório por entrada (padrão: output/cli)
+              --artifacts <lista>  UML,SEQUENCE,EXCEL,CLONES ou NONE (padrão: app.report.formats)
+              --parallel <n>       análises simultâneas (padrão: 1)
+              --help               esta ajuda
+            Saída: 0 ok · 1 análise com erro · 2 uso inválido · 3 estágio do pipeline em falha/timeout""";
+
+    record Options(Path out, List<String> artifacts, int parallel, List<Path> inputs, List<String> springArgs) {}
+
+    record Outcome(Path input, Path outDir, int exitCode, long millis, String detail) {}
+
+    private final ExecutionPlanner planner;
+    private final AnalyzeProjectService analyze;
+    private final GenerateReportsService reports;
+    private final AnalysisMetrics metrics;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public AnalyzeCommand(LegacyLensConfigLoader configLoader, ExecutionPlanner planner,
+                          AnalyzeProjectService analyze, GenerateReportsService reports, AnalysisMetrics metrics) {
+        this.planner = planner;
+        this.analyze = analyze;
+        this.reports = reports;
+        this.metrics = metrics;
+    }
+
+    // ==============================================================
+    // 🚀 Inicialização
+    // ==============================================================
+    /** args[0] = "analyze". Argumentos são validados antes de subir o Spring (erro de uso não paga o boot). */
+    public static int launch(String[] args) {
+        Options options;
+        try {
+            options = parse(Arrays.asList(args).subList(1, args.length));
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        if (options == null) {
+            System.out.println(USAGE);
+            return EXIT_OK;
+        }
+
+        Options parsed = options;
+        return boot(parsed.springArgs(), context -> context.getBean(AnalyzeCommand.class).run(parsed));
+    }
+
+    /** Contexto sem servidor web e com o profile "cli"; compartilhado pelos subcomandos (analyze, coordinator, worker). */
+    static int boot(List<String> springArgs, ToIntFunction<ConfigurableApplicationContext> command) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication app = new SpringApplication(LegacylensApplication.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.setAdditionalProfiles(PROFILE);
+        try (ConfigurableApplicationContext context = app.run(springArgs.toArray(String[]::new))) {
+            return command.applyAsInt(context);
+        }
+    }
+
+    /** null = --help. */
+    static Options parse(List<String> args) {
+        Path out = Path.of("output", "cli");
+        List<String> artifacts = null;
+        int parallel = 1;
+        List<Path> inputs = new ArrayList<>();
+        List<String> springArgs = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            switch (arg) {
+                case "--help", "-h" -> {
+                    return null;
+                }
+                case "--out" -> out = Path.of(value(args, ++i, arg));
+                case "--artifacts" -> artifacts = Arrays.stream(value(args, ++i, arg).split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toList();
+                case "--parallel" -> {
+                    try {
+                        parallel = Integer.parseInt(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("--parallel espera um número");
+                    }
+                    if (parallel < 1) throw new IllegalArgumentException("--parallel deve ser >= 1");
+                }
+                default -> {
+                    if (arg.startsWith("--") && arg.contains("=")) springArgs.add(arg);
+                    else if (arg.startsWith("-")) throw new IllegalArgumentException("opção desconhecida: " + arg);
+                    else {
+                        Path input = Path.of(arg);
+                        if (!Files.exists(input)) throw new IllegalArgumentException("entrada não encontrada: " + arg);
+                        inputs.add(input);
+                    }
+                }
+            }
+        }
+        if (inputs.isEmpty()) throw new IllegalArgumentException("informe ao menos um diretório, .zip ou .jar");
+        return new Options(out, artifacts, parallel, List.copyOf(inputs), List.copyOf(springArgs));
+    }
+
+    private static String value(List<String> args, int i, String option) {
+        if (i >= args.size()) throw new IllegalArgumentException(option + " espera um valor");
+        return args.get(i);
+    }
+
+    // ==============================================================
+    // 🔍 Execução
+    // ==============================================================
+    int run(Options options) {
+        List<Path> inputs = options.inputs();
+        List<Path> outDirs = outDirs(options.out(), inputs);
+        ConfigOverrides overrides = overrides(options.artifacts());
+        int threads = Math.min(options.parallel(), inputs.size());
+        log.info("🖥️ CLI: {} entrada(s), {} em paralelo → {}", inputs.size(), threads, options.out());
+
+        List<Outcome> outcomes = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int k = 0; k < inputs.size(); k++) {
+                Path input = inputs.get(k);
+                Path outDir = outDirs.get(k);
+                futures.add(pool.submit(() -> analyze(input, outDir, overrides)));
+            }
+            for (int k = 0; k < futures.size(); k++) {
+                try {
+                    outcomes.add(futures.get(k).get());
+                } catch (ExecutionException e) {
+                    outcomes.add(new Outcome(inputs.get(k), outDirs.get(k), EXIT_FAILED, 0,
+                            String.valueOf(e.getCause())));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXIT_FAILED;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (Outcome o : outcomes) {
+            System.out.println(String.join("\t", status(o.exitCode()), o.input().toString(),
+                    o.outDir().toString(), Long.toString(o.millis()), o.detail()));
+        }
+        return exitCode(outcomes.stream().mapToInt(Outcome::exitCode).boxed().toList());
+    }
+
+    static String status(int exitCode) {
+        return switch (exitCode) {
+            case EXIT_OK -> "OK";
+            case EXIT_STAGE_FAILED -> "STAGE_FAILED";
+            default -> "FAILED";
+        };
+    }
+
+    /** Pior código entre as análises: falha > estágio em falha > ok. */
+    static int exitCode(List<Integer> codes) {
+        if (codes.contains(EXIT_FAILED)) return EXIT_FAILED;
+        if (codes.contains(EXIT_STAGE_FAILED)) return EXIT_STAGE_FAILED;
+        return EXIT_OK;
+    }
+
+    static ConfigOverrides overrides(List<String> artifacts) {
+        return new ConfigOverrides(null, null, null, null, null, null, null, null, null, null, artifacts);
+    }
+
+    /** Uma entrada (diretório, .zip ou .jar) → artefatos em outDir; usado também pelo worker distribuído. */
+    Outcome analyze(Path input, Path outDir, ConfigOverrides overrides) {
+        String analysisId = UUID.randomUUID().toString();
+        MDC.put(AnalysisEvents.MDC_ANALYSIS_ID, analysisId);
+        long start = System.nanoTime();
+        Path tmpDir = null;
+        try (var ignored = metrics.analysisStarted()) {
+            Path projectPath = input;
+            if (input.getFileName().toString().endsWith(".zip")) {
+                tmpDir = Files.createTempDirectory("legacylens_");
+                Path unzipDir = tmpDir.resolve("unzipped");
+                metrics.time("ingest", () -> {
+                    ArchiveUtil.unzip(input, unzipDir);
+                    return unzipDir;
+                });
+                metrics.trackTempDir(tmpDir);
+                projectPath = unzipDir;
+            }
+
+            AnalysisContext context = planner.prepare(analysisId, projectPath, overrides)
+                    .withProjectKey("cli:" + input.toAbsolutePath().normalize());
+            String source = projectPath.toString();
+            var scan = metrics.time("scan", () -> analyze.execute(source));
+            MDC.put(AnalysisMetrics.MDC_PROJECT_TYPE, scan.projectType());
+            Files.createDirectories(outDir);
+            PipelineReport pipeline = reports.generateAll(scan, source, outDir, context);
+
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (pipeline.allSucceeded()) {
+                log.info("✅ {} → {} em {} ms", input, outDir, millis);
+                return new Outcome(input, outDir, EXIT_OK, millis, "");
+            }
+            String failed = pipeline.stages().stream()
+                    .filter(s -> s.status() == StageResult.Status.FAILED || s.status() == StageResult.Status.TIMEOUT
+                            || s.status() == StageResult.Status.SKIPPED)
+                    .map(s -> s.stage() + "=" + s.status())
+                    .collect(Collectors.joining(","));
+            log.warn("⚠️ {} → {} com estágios sem sucesso: {}", input, outDir, failed);
+            return new Outcome(input, outDir, EXIT_STAGE_FAILED, millis, failed);
+        } catch (Exception e) {
+            log.error("❌ Falha ao analisar {}: {}", input, e.getMessage(), e);
+            return new Outcome(input, outDir, EXIT_FAILED, (System.nanoTime() - start) / 1_000_000,
+                    String.valueOf(e.getMessage()));
+        } finally {
+            MDC.remove(AnalysisMetrics.MDC_PROJECT_TYPE);
+            MDC.remove(AnalysisEvents.MDC_ANALYSIS_ID);
+            if (tmpDir != null) {
+                metrics.releaseTempDir(tmpDir);
+                if (LegacyLensConfigLoader.get().getGeneral().isDeleteTemp()) {
+                    try {
+                        ArchiveUtil.deleteRecursively(tmpDir);
+                    } catch (Exception ex) {
+                        log.warn("⚠️ Falha ao remover diretório temporário: {}", ex.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /** DIR/&lt;nome da entrada sem .zip/.jar&gt;, com sufixo -2, -3... se dois nomes coincidirem. */
+    static List<Path> outDirs(Path out, List<Path> inputs) {
+        List<Path> dirs = new ArrayList<>();
+        Set<String> used = new HashSet<>();
+        for (Path input : inputs) {
+            Path name = input.toAbsolutePath().normalize().getFileName();
+            String base = name == null ? "root" : name.toString().replaceFirst("\\.(zip|jar)$", "");
+            String unique = base;
+            for (int n = 2; !used.add(unique); n++) unique = base + "-" + n;
+            dirs.add(out.resolve(unique));
+        }
+        return dirs;
+    }
+}
@@ -0,0 +1,412 @@
+package br.com.legacylens.app.cli;
+
+import br.com.legacylens.LegacylensApplication;
+import br.com.legacylens.config.LegacyLensConfig;
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.infrastructure.impl.gradle.GradleBuildModelReader;
+import br.com.legacylens.infrastructure.impl.maven.EffectivePomResolver;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Result;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Task;
+import br.com.legacylens.infrastructure.util.ArchiveUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 🧑‍✈️ CoordinatorCommand — coordenador do modo distribuído
+ * -----------------------------------------
+ *   java -jar legacylens.jar coordinator [--queue DIR] [--out DIR] [--workers N] [--per-module] &lt;dir|.zip|.jar&gt;...
+ *  - divide as entradas em tarefas (uma por entrada ou, com --per-module, uma por módulo Maven/Gradle)
+ *    e as grava na fila em diretório (DirectoryWorkQueue) — sem broker externo
+ *  - --workers N sobe N JVMs worker locais (CPU dividida entre elas via -XX:ActiveProcessorCount);
+ *    workers em outros terminais/máquinas entram com "worker --queue DIR" a qualquer momento
+ *  - devolve à fila os leases sem heartbeat e espera todas as tarefas terem resultado
+ *  - une os resultados em DIR/summary.tsv e, nos projetos divididos, junta os CSVs dos módulos
+ *    (coluna "modulo") no diretório do projeto; encerra a fila para os workers saírem
+ * Reexecutar com a mesma --queue retoma uma coordenação interrompida (as tarefas são as do manifesto).
+ * Códigos de saída iguais aos do analyze.
+ */
+@Slf4j
+@Component
+@Profile(AnalyzeCommand.PROFILE)
+public class CoordinatorCommand {
+
+    public static final String NAME = "coordinator";
+
+    private static final String MANIFEST = "tasks.tsv";
+    private static final String SUMMARY = "summary.tsv";
+    private static final long PROGRESS_INTERVAL_MS = 10_000;
+
+    private static final String USAGE = """
+            Uso: legacylens coordinator [opções] <diretório|arquivo.zip|arquivo.jar>...
+              --queue <dir>        diretório da fila (padrão: output/queue)
+              --out <dir>          raiz dos artefatos unidos (padrão: output/distributed)
+              --artifacts <lista>  UML,SEQUENCE,EXCEL,CLONES ou NONE (padrão: app.report.formats)
+              --workers <n>        workers locais (JVMs) iniciados pelo coordenador (padrão: 0 = só externos)
+              --per-module         uma tarefa por módulo Maven/Gradle (padrão: distributed.perModule)
+              --help               esta ajuda
+            Saída: 0 ok · 1 tarefa com erro · 2 uso inválido · 3 estágio do pipeline em falha/timeout""";
+
+    record Options(Path queue, Path out, List<String> artifacts, int workers, boolean perModule,
+                   List<Path> inputs, List<String> springArgs) {}
+
+    private final GradleBuildModelReader gradle;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public CoordinatorCommand(LegacyLensConfigLoader configLoader, GradleBuildModelReader gradle) {
+        this.gradle = gradle;
+    }
+
+    // ==============================================================
+    // 🚀 Inicialização
+    // ==============================================================
+    public static int launch(String[] args) {
+        Options options;
+        try {
+            options = parse(Arrays.asList(args).subList(1, args.length));
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(USAGE);
+            return AnalyzeCommand.EXIT_USAGE;
+        }
+        if (options == null) {
+            System.out.println(USAGE);
+            return AnalyzeCommand.EXIT_OK;
+        }
+
+        Options parsed = options;
+        return AnalyzeCommand.boot(parsed.springArgs(),
+                context -> context.getBean(CoordinatorCommand.class).run(parsed));
+    }
+
+    /** null = --help. Sem entradas só é válido para retomar uma fila existente. */
+    static Options parse(List<String> args) {
+        Path queue = Path.of("output", "queue");
+        Path out = Path.of("output", "distributed");
+        List<String> artifacts = null;
+        int workers = 0;
+        boolean perModule = false;
+        List<Path> inputs = new ArrayList<>();
+        List<String> springArgs = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            switch (arg) {
+                case "--help", "-h" -> {
+                    return null;
+                }
+                case "--queue" -> queue = Path.of(value(args, ++i, arg));
+                case "--out" -> out = Path.of(value(args, ++i, arg));
+                case "--artifacts" -> artifacts = Arrays.stream(value(args, ++i, arg).split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toList();
+                case "--per-module" -> perModule = true;
+                case "--workers" -> {
+                    try {
+                        workers = Integer.parseInt(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("--workers espera um número");
+                    }
+                    if (workers < 0) throw new IllegalArgumentException("--workers deve ser >= 0");
+                }
+                default -> {
+                    if (arg.startsWith("--") && arg.contains("=")) springArgs.add(arg);
+                    else if (arg.startsWith("-")) throw new IllegalArgumentException("opção desconhecida: " + arg);
+                    else {
+                        Path input = Path.of(arg);
+                        if (!Files.exists(input)) throw new IllegalArgumentException("entrada não encontrada: " + arg);
+                        inputs.add(input);
+                    }
+                }
+            }
+        }
+        if (inputs.isEmpty() && !Files.exists(queue.resolve(MANIFEST))) {
+            throw new IllegalArgumentException("informe ao menos um diretório, .zip ou .jar (ou uma --queue a retomar)");
+        }
+        return new Options(queue, out, artifacts, workers, perModule, List.copyOf(inputs), List.copyOf(springArgs));
+    }
+
+    private static String value(List<String> args, int i, String option) {
+        if (i >= args.size()) throw new IllegalArgumentException(option + " espera um valor");
+        return args.get(i);
+    }
+
+    // ==============================================================
+    // 🔁 Coordenação
+    // ==============================================================
+    int run(Options options) {
+        LegacyLensConfig.Distributed cfg = LegacyLensConfigLoader.get().getDistributed();
+        List<Process> workers = new ArrayList<>();
+        try {
+            DirectoryWorkQueue queue = new DirectoryWorkQueue(options.queue());
+            if (queue.isClosed()) {
+                System.err.println("❌ fila " + options.queue() + " já foi encerrada; use outra --queue");
+                return AnalyzeCommand.EXIT_USAGE;
+            }
+            List<Task> tasks = tasks(queue, options, cfg.isPerModule() || options.perModule());
+            log.info("🧑‍✈️ Coordenador: {} tarefa(s) na fila {} → {}", tasks.size(), options.queue(), options.out());
+            workers = spawn(options);
+
+            Set<String> ids = tasks.stream().map(Task::id).collect(Collectors.toCollection(LinkedHashSet::new));
+            Duration lease = Duration.ofSeconds(cfg.getLeaseSeconds());
+            long poll = Math.max(50L, cfg.getPollMillis());
+            long lastProgress = 0;
+            int done = 0;
+            while (true) {
+                queue.reapExpired(lease, cfg.getMaxAttempts());
+                ids.removeIf(queue::isDone);
+                if (ids.isEmpty()) break;
+                if (tasks.size() - ids.size() != done || System.currentTimeMillis() - lastProgress > PROGRESS_INTERVAL_MS) {
+                    done = tasks.size() - ids.size();
+                    lastProgress = System.currentTimeMillis();
+                    log.info("📊 {}/{} concluída(s) · {} pendente(s) · {} em execução",
+                            done, tasks.size(), queue.pendingCount(), queue.leasedCount());
+                }
+                if (!workers.isEmpty() && workers.stream().noneMatch(Process::isAlive)) {
+                    log.error("❌ Todos os workers locais terminaram com {} tarefa(s) sem resultado (ver {}/logs)",
+                            ids.size(), options.queue());
+                    return AnalyzeCommand.EXIT_FAILED;
+                }
+                Thread.sleep(poll);
+            }
+
+            queue.close();
+            Set<String> planned = tasks.stream().map(Task::id).collect(Collectors.toSet());
+            List<Result> results = queue.results().stream().filter(r -> planned.contains(r.id())).toList();
+            merge(options.out(), tasks, results);
+            for (Result r : results) {
+                System.out.println(String.join("\t", r.status().name(), r.id(), r.outDir(),
+                        Long.toString(r.millis()), r.worker(), r.detail()));
+            }
+            return AnalyzeCommand.exitCode(results.stream().map(r -> switch (r.status()) {
+                case OK -> AnalyzeCommand.EXIT_OK;
+                case STAGE_FAILED -> AnalyzeCommand.EXIT_STAGE_FAILED;
+                case FAILED -> AnalyzeCommand.EXIT_FAILED;
+            }).toList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return AnalyzeCommand.EXIT_FAILED;
+        } catch (Exception e) {
+            log.error("❌ Coordenação falhou: {}", e.getMessage(), e);
+            return AnalyzeCommand.EXIT_FAILED;
+        } finally {
+            stop(workers, Duration.ofSeconds(cfg.getLeaseSeconds()));
+        }
+    }
+
+    // ==============================================================
+    // ✂️ Divisão em tarefas
+    // ==============================================================
+    /** Tarefas do manifesto (retomada) ou planejadas agora; ids determinísticos tornam o reenfileiramento idempotente. */
+    private List<Task> tasks(DirectoryWorkQueue queue, Options options, boolean perModule) throws IOException {
+        Path manifest = options.queue().resolve(MANIFEST);
+        if (Files.exists(manifest)) {
+            List<Task> tasks = readManifest(manifest);
+            if (!options.inputs().isEmpty()) {
+                log.warn("⚠️ Fila {} já tem manifesto — retomando as {} tarefa(s) dele; entradas informadas ignoradas",
+                        options.queue(), tasks.size());
+            }
+            // o que se perdeu na interrupção (nem pendente, nem em execução, nem concluído) volta para a fila
+            for (Task task : tasks) if (!queue.isKnown(task.id())) queue.enqueue(task);
+            return tasks;
+        }
+
+        String artifacts = options.artifacts() == null ? "" : String.join(",", options.artifacts());
+        List<Path> outDirs = AnalyzeCommand.outDirs(options.out(), options.inputs());
+        List<Task> tasks = new ArrayList<>();
+        for (int k = 0; k < options.inputs().size(); k++) {
+            Path input = options.inputs().get(k).toAbsolutePath().normalize();
+            Path outDir = outDirs.get(k).toAbsolutePath().normalize();
+            String project = outDir.getFileName().toString();
+
+            Map<String, Path> modules = Map.of();
+            Path root = input;
+            if (perModule && !input.getFileName().toString().endsWith(".jar")) {
+                if (input.getFileName().toString().endsWith(".zip")) {
+                    // workers leem os módulos direto da fila: o ZIP é extraído uma única vez aqui
+                    root = options.queue().toAbsolutePath().normalize().resolve("inputs").resolve(project);
+                    if (!Files.exists(root)) ArchiveUtil.unzip(input, root);
+                }
+                modules = modules(root);
+            }
+
+            if (modules.size() <= 1) {
+                tasks.add(new Task(id(tasks.size(), project), root.toString(), "", outDir.toString(), artifacts, 0));
+                continue;
+            }
+            for (Map.Entry<String, Path> module : modules.entrySet()) {
+                String slug = module.getKey().replace('/', '-');
+                tasks.add(new Task(id(tasks.size(), project + "~" + slug), root.toString(), module.getKey(),
+                        outDir.resolve(slug).toString(), artifacts, 0));
+            }
+            log.info("✂️ {} dividido em {} módulo(s)", input.getFileName(), modules.size());
+        }
+
+        for (Task task : tasks) if (!queue.isKnown(task.id())) queue.enqueue(task);
+        writeManifest(manifest, tasks);
+        return tasks;
+    }
+
+    /** Caminho relativo → diretório de cada módulo com código; vazio quando o projeto não é multi-módulo. */
+    private Map<String, Path> modules(Path root) {
+        List<Path> dirs = new ArrayList<>();
+        try {
+            if (Files.exists(root.resolve("pom.xml"))) {
+                dirs = EffectivePomResolver.moduleDirs(root.resolve("pom.xml"));
+            } else if (Files.exists(root.resolve("settings.gradle")) || Files.exists(root.resolve("settings.gradle.kts"))) {
+                dirs = gradle.read(root).projects().stream()
+                        .filter(p -> !":".equals(p.path()) && p.script() != null)
+                        .map(GradleBuildModelReader.Project::dir)
+                        .toList();
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Módulos de {} não identificados ({}) — uma tarefa para o projeto todo", root, e.getMessage());
+        }
+        Path base = root.toAbsolutePath().normalize();
+        Map<String, Path> modules = new LinkedHashMap<>();
+        for (Path dir : dirs) {
+            Path normalized = dir.toAbsolutePath().normalize();
+            if (!normalized.startsWith(base) || normalized.equals(base)) continue;
+            modules.put(base.relativize(normalized).toString().replace('\\', '/'), normalized);
+        }
+        return modules;
+    }
+
+    private static String id(int seq, String name) {
+        return String.format("%04d-%s", seq + 1, name.replaceAll("[^\\w.~\\-]", "_"));
+    }
+
+    private static void writeManifest(Path manifest, List<Task> tasks) throws IOException {
+        Path tmp = manifest.resolveSibling(MANIFEST + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Task t : tasks) {
+                out.write(String.join("\t", t.id(), t.input(), t.module(), t.outDir(), t.artifacts()));
+                out.newLine();
+            }
+        }
+        Files.move(tmp, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static List<Task> readManifest(Path manifest) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) continue;
+            String[] f = line.split("\t", -1);
+            tasks.add(new Task(f[0], f[1], f[2], f[3], f.length > 4 ? f[4] : "", 0));
+        }
+        return tasks;
+    }
+
+    // ==============================================================
+    // 👷 Workers locais
+    // ==============================================================
+    /** N JVMs com a mesma linha de comando desta (classpath, flags, argumentos do Spring), cada uma com núcleos/N. */
+    private static List<Process> spawn(Options options) throws IOException {
+        if (options.workers() == 0) return List.of();
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> jvmArgs = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(a -> !a.startsWith("-XX:ArchiveClassesAtExit") && !a.startsWith("-agentlib:jdwp")
+                        && !a.startsWith("-XX:ActiveProcessorCount"))
+                .toList();
+        int cpus = Math.max(1, Runtime.getRuntime().availableProcessors() / options.workers());
+        Path logs = Files.createDirectories(options.queue().resolve("logs"));
+
+        List<Process> processes = new ArrayList<>();
+        for (int n = 1; n <= options.workers(); n++) {
+            String id = "local-" + ProcessHandle.current().pid() + "-" + n;
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmArgs);
+            command.add("-XX:ActiveProcessorCount=" + cpus);
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                    LegacylensApplication.class.getName(), WorkerCommand.NAME,
+                    "--queue", options.queue().toAbsolutePath().toString(), "--id", id));
+            command.addAll(options.springArgs());
+            Path log = logs.resolve(id + ".log");
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                    .start());
+        }
+        log.info("🚀 {} worker(s) local(is) iniciados ({} núcleo(s) cada; logs em {})", processes.size(), cpus, logs);
+        return processes;
+    }
+
+    /** Fila encerrada: os workers saem sozinhos no próximo poll; quem não sair no prazo é finalizado. */
+    private static void stop(List<Process> workers, Duration grace) {
+        long deadline = System.nanoTime() + grace.toNanos();
+        for (Process p : workers) {
+            try {
+                long left = Math.max(0, deadline - System.nanoTime());
+                if (!p.waitFor(left, TimeUnit.NANOSECONDS)) p.destroy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                p.destroy();
+            }
+        }
+    }
+
+    // ==============================================================
+    // 🧩 União dos resultados
+    // ==============================================================
+    private static void merge(Path out, List<Task> tasks, List<Result> results) throws IOException {
+        Files.createDirectories(out);
+        try (BufferedWriter summary = Files.newBufferedWriter(out.resolve(SUMMARY), StandardCharsets.UTF_8)) {
+            summary.write("status\ttarefa\tentrada\tmodulo\tsaida\tworker\tms\ttentativas\tdetalhe");
+            summary.newLine();
+            for (Result r : results) {
+                summary.write(String.join("\t", r.status().name(), r.id(), r.input(), r.module(), r.outDir(),
+                        r.worker(), Long.toString(r.millis()), Integer.toString(r.attempts()),
+                        r.detail().replace('\t', ' ').replace('\n', ' ')));
+                summary.newLine();
+            }
+        }
+
+        // projetos divididos: CSVs de mesmo nome (sem o nome do módulo) viram um só, com a coluna "modulo"
+        Map<Path, List<Task>> byProject = tasks.stream()
+                .filter(t -> !t.module().isEmpty())
+                .collect(Collectors.groupingBy(t -> Path.of(t.outDir()).getParent(), LinkedHashMap::new,
+                        Collectors.toList()));
+        for (Map.Entry<Path, List<Task>> project : byProject.entrySet()) {
+            Map<String, List<String>> merged = new TreeMap<>();
+            for (Task task : project.getValue()) {
+                Path dir = Path.of(task.outDir());
+                if (!Files.isDirectory(dir)) continue;
+                String leaf = Path.of(task.module()).getFileName().toString();
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path csv : files.filter(f -> f.getFileName().toString().endsWith(".csv")).sorted().toList()) {
+                        String name = csv.getFileName().toString()
+                                .replace("_" + leaf + "_", "_").replace("_" + leaf + ".", ".");
+                        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+                        if (lines.isEmpty()) continue;
+                        List<String> target = merged.computeIfAbsent(name, n -> new ArrayList<>(List.of("modulo," + lines.get(0))));
+                        String column = csvField(task.module());
+                        lines.stream().skip(1).filter(l -> !l.isBlank()).forEach(l -> target.add(column + "," + l));
+                    }
+                }
+            }
+            for (Map.Entry<String, List<String>> csv : merged.entrySet()) {
+                Files.write(project.getKey().resolve(csv.getKey()), csv.getValue(), StandardCharsets.UTF_8);
+            }
+            log.info("🧩 {}: {} CSV(s) unidos de {} módulo(s)", project.getKey().getFileName(), merged.size(),
+                    project.getValue().size());
+        }
+        log.info("✅ Resultados unidos em {}", out.resolve(SUMMARY));
+    }
+
+    private static String csvField(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.legacylens.app.cli;
+
+import br.com.legacylens.config.LegacyLensConfig;
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Lease;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Result;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Status;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 👷 WorkerCommand — nó de análise do modo distribuído
+ * -----------------------------------------
+ *   java -jar legacylens.jar worker --queue DIR [--id NOME] [--idle-exit SEGUNDOS]
+ *  - toma uma tarefa por vez da fila em DIR (ver DirectoryWorkQueue) e roda o mesmo fluxo do analyze
+ *  - renova o lease a cada 1/3 de distributed.leaseSeconds enquanto analisa
+ *  - sai quando o coordenador encerra a fila (CLOSED) ou após --idle-exit segundos sem tarefa
+ *  - histórico de análises (MVStore) em DIR/stores/&lt;id&gt;.mv.db (--legacylens.store.file): o arquivo
+ *    não aceita dois processos
+ * Vários workers (JVMs) podem apontar para o mesmo DIR, na mesma máquina ou num diretório compartilhado.
+ */
+@Slf4j
+@Component
+@Profile(AnalyzeCommand.PROFILE)
+public class WorkerCommand {
+
+    public static final String NAME = "worker";
+    private static final String STORE_FILE = "--legacylens.store.file";
+
+    private static final String USAGE = """
+            Uso: legacylens worker --queue <dir> [opções]
+              --queue <dir>        diretório da fila criada pelo coordinator
+              --id <nome>          identificação do worker nos leases e resultados (padrão: host-pid)
+              --idle-exit <seg>    sai após esse tempo sem tarefa (padrão: só quando a fila é encerrada)
+              --help               esta ajuda""";
+
+    record Options(Path queue, String id, long idleExitSeconds, List<String> springArgs) {}
+
+    private final AnalyzeCommand analyzer;
+
+    public WorkerCommand(AnalyzeCommand analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    // ==============================================================
+    // 🚀 Inicialização
+    // ==============================================================
+    public static int launch(String[] args) {
+        Options options;
+        try {
+            options = parse(Arrays.asList(args).subList(1, args.length));
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(USAGE);
+            return AnalyzeCommand.EXIT_USAGE;
+        }
+        if (options == null) {
+            System.out.println(USAGE);
+            return AnalyzeCommand.EXIT_OK;
+        }
+
+        Options parsed = options;
+        // MVStore trava o arquivo por processo: cada worker guarda seu histórico na própria fila,
+        // salvo se o usuário já passou --legacylens.store.file (repetida, o Spring junta os valores)
+        List<String> springArgs = new ArrayList<>(parsed.springArgs());
+        if (springArgs.stream().noneMatch(a -> a.startsWith(STORE_FILE + "="))) {
+            springArgs.add(STORE_FILE + "=" + parsed.queue().resolve("stores").resolve(parsed.id() + ".mv.db"));
+        }
+        return AnalyzeCommand.boot(springArgs, context -> context.getBean(WorkerCommand.class).run(parsed));
+    }
+
+    /** null = --help. */
+    static Options parse(List<String> args) {
+        Path queue = null;
+        String id = defaultId();
+        long idleExit = 0;
+        List<String> springArgs = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            switch (arg) {
+                case "--help", "-h" -> {
+                    return null;
+                }
+                case "--queue" -> queue = Path.of(value(args, ++i, arg));
+                case "--id" -> {
+                    id = value(args, ++i, arg);
+                    if (!id.matches("[\\w.\\-]+")) throw new IllegalArgumentException("--id aceita letras, dígitos, '.', '_' e '-'");
+                }
+                case "--idle-exit" -> {
+                    try {
+                        idleExit = Long.parseLong(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("--idle-exit espera um número de segundos");
+                    }
+                }
+                default -> {
+                    if (arg.startsWith("--") && arg.contains("=")) springArgs.add(arg);
+                    else throw new IllegalArgumentException("opção desconhecida: " + arg);
+                }
+            }
+        }
+        if (queue == null) throw new IllegalArgumentException("--queue é obrigatório");
+        return new Options(queue, id, idleExit, List.copyOf(springArgs));
+    }
+
+    private static String value(List<String> args, int i, String option) {
+        if (i >= args.size()) throw new IllegalArgumentException(option + " espera um valor");
+        return args.get(i);
+    }
+
+    private static String defaultId() {
+        String host = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("worker");
+        return (host + "-" + ProcessHandle.current().pid()).replaceAll("[^\\w.\\-]", "_");
+    }
+
+    // ==============================================================
+    // 🔁 Laço de trabalho
+    // ==============================================================
+    int run(Options options) {
+        LegacyLensConfig.Distributed cfg = LegacyLensConfigLoader.get().getDistributed();
+        long heartbeatMillis = Math.max(1000L, cfg.getLeaseSeconds() * 1000L / 3);
+        long poll = Math.max(50L, cfg.getPollMillis());
+        log.info("👷 Worker {} na fila {} (lease {} s, heartbeat {} ms)",
+                options.id(), options.queue(), cfg.getLeaseSeconds(), heartbeatMillis);
+
+        ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lease-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        int processed = 0;
+        try {
+            DirectoryWorkQueue queue = new DirectoryWorkQueue(options.queue());
+            long idleSince = System.currentTimeMillis();
+            while (!queue.isClosed()) {
+                Optional<Lease> claimed = queue.claim(options.id());
+                if (claimed.isEmpty()) {
+                    if (options.idleExitSeconds() > 0
+                            && System.currentTimeMillis() - idleSince > options.idleExitSeconds() * 1000) {
+                        log.info("💤 Worker {} ocioso por {} s — encerrando", options.id(), options.idleExitSeconds());
+                        break;
+                    }
+                    Thread.sleep(poll);
+                    continue;
+                }
+                process(queue, claimed.get(), heartbeats, heartbeatMillis);
+                processed++;
+                idleSince = System.currentTimeMillis();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return AnalyzeCommand.EXIT_FAILED;
+        } catch (Exception e) {
+            log.error("❌ Worker {} interrompido: {}", options.id(), e.getMessage(), e);
+            return AnalyzeCommand.EXIT_FAILED;
+        } finally {
+            heartbeats.shutdownNow();
+        }
+        log.info("🏁 Worker {} encerrado após {} tarefa(s)", options.id(), processed);
+        return AnalyzeCommand.EXIT_OK;
+    }
+
+    private void process(DirectoryWorkQueue queue, Lease lease, ScheduledExecutorService heartbeats,
+                         long heartbeatMillis) throws Exception {
+        Task task = lease.task();
+        log.info("📥 {} tomou {} ({}{})", lease.worker(), task.id(), task.input(),
+                task.module().isEmpty() ? "" : " · " + task.module());
+        AtomicBoolean lost = new AtomicBoolean();
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> {
+            if (!queue.heartbeat(lease) && lost.compareAndSet(false, true)) {
+                log.warn("⚠️ Lease de {} perdido — o resultado só vale se ninguém concluir antes", task.id());
+            }
+        }, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        AnalyzeCommand.Outcome outcome;
+        try {
+            Path input = Path.of(task.input());
+            if (!task.module().isEmpty()) input = input.resolve(task.module());
+            List<String> artifacts = task.artifacts().isEmpty() ? null : List.of(task.artifacts().split(","));
+            outcome = analyzer.analyze(input, Path.of(task.outDir()), AnalyzeCommand.overrides(artifacts));
+        } finally {
+            heartbeat.cancel(false);
+        }
+
+        Status status = Status.valueOf(AnalyzeCommand.status(outcome.exitCode()));
+        Result result = new Result(task.id(), status, task.input(), task.module(), task.outDir(), lease.worker(),
+                outcome.millis(), task.attempts(), outcome.detail());
+        boolean first = queue.finish(lease, result);
+        System.out.println(String.join("\t", status.name(), task.id(), task.outDir(),
+                Long.toString(outcome.millis()), first ? outcome.detail() : "duplicada (descartada)"));
+    }
+}
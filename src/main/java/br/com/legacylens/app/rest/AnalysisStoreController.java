@@ -0,0 +1,107 @@
+package br.com.legacylens.app.rest;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisFacts;
+import br.com.legacylens.domain.model.CallGraph;
+import br.com.legacylens.domain.model.Page;
+import br.com.legacylens.domain.model.SourceInventory;
+import br.com.legacylens.domain.model.StoreHit;
+import br.com.legacylens.domain.model.StoreQuery;
+import br.com.legacylens.domain.model.StoredAnalysis;
+import br.com.legacylens.domain.ports.AnalysisStorePort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 🗄️ AnalysisStoreController — consultas às análises gravadas (sem reler as fontes)
+ *  - GET /analyses, /analyses/{id}
+ *  - GET /classes/{name}, /classes/{name}/callers, /classes/{name}/callees, /classes/{name}/injected-by
+ *  - GET /endpoints?dto=PedidoDTO
+ *  - GET /dependencies/usage?name=groupId:artifactId (ou só artifactId)
+ * Escopo e paginação por query params: analysisId, project, history (todas as análises
+ * guardadas em vez da última de cada projeto), offset, limit (store.maxPageSize no máximo).
+ */
+@RestController
+@RequestMapping("/api/store")
+public class AnalysisStoreController {
+
+    private final AnalysisStorePort store;
+
+    public AnalysisStoreController(AnalysisStorePort store) {
+        this.store = store;
+    }
+
+    /** Parâmetros comuns de escopo/paginação (todos opcionais). */
+    public record Scope(String analysisId, String project, Boolean history, Integer offset, Integer limit) {
+
+        StoreQuery toQuery() {
+            var cfg = LegacyLensConfigLoader.get().getStore();
+            int size = limit != null ? Math.min(limit, cfg.getMaxPageSize()) : cfg.getDefaultPageSize();
+            return new StoreQuery(analysisId, project, Boolean.TRUE.equals(history),
+                    offset != null ? offset : 0, size);
+        }
+    }
+
+    @GetMapping("/analyses")
+    public Page<StoredAnalysis> analyses(Scope scope) {
+        ensureEnabled();
+        return store.analyses(scope.toQuery());
+    }
+
+    @GetMapping("/analyses/{id}")
+    public StoredAnalysis analysis(@PathVariable("id") String id) {
+        ensureEnabled();
+        return store.analysis(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Análise não encontrada: " + id));
+    }
+
+    @GetMapping("/classes/{name}")
+    public Page<StoreHit<SourceInventory.ClassEntry>> classes(@PathVariable("name") String name, Scope scope) {
+        ensureEnabled();
+        return store.classes(name, scope.toQuery());
+    }
+
+    @GetMapping("/classes/{name}/callers")
+    public Page<StoreHit<CallGraph.Call>> callers(@PathVariable("name") String name,
+                                                  @RequestParam(value = "method", required = false) String method,
+                                                  Scope scope) {
+        ensureEnabled();
+        return store.callers(name, method, scope.toQuery());
+    }
+
+    @GetMapping("/classes/{name}/callees")
+    public Page<StoreHit<CallGraph.Call>> callees(@PathVariable("name") String name,
+                                                  @RequestParam(value = "method", required = false) String method,
+                                                  Scope scope) {
+        ensureEnabled();
+        return store.callees(name, method, scope.toQuery());
+    }
+
+    @GetMapping("/classes/{name}/injected-by")
+    public Page<StoreHit<CallGraph.Injection>> injectedBy(@PathVariable("name") String name, Scope scope) {
+        ensureEnabled();
+        return store.injectionsOf(name, scope.toQuery());
+    }
+
+    @GetMapping("/endpoints")
+    public Page<StoreHit<SourceInventory.EndpointEntry>> endpointsByDto(@RequestParam("dto") String dto, Scope scope) {
+        ensureEnabled();
+        return store.endpointsByDto(dto, scope.toQuery());
+    }
+
+    @GetMapping("/dependencies/usage")
+    public Page<StoreHit<AnalysisFacts.Dependency>> dependencyUsage(@RequestParam("name") String name, Scope scope) {
+        ensureEnabled();
+        return store.dependencyUsage(name, scope.toQuery());
+    }
+
+    // ================================================================
+    // 🔧 UTILITÁRIOS
+    // ================================================================
+    private void ensureEnabled() {
+        if (!store.enabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+    }
+}
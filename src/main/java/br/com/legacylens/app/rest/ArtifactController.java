@@ -0,0 +1,232 @@
+package br.com.legacylens.app.rest;
+
+import br.com.legacylens.application.artifacts.OnDemandArtifactService;
+import br.com.legacylens.domain.model.ArtifactManifest;
+import br.com.legacylens.domain.ports.ArtifactStorePort;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 📥 ArtifactController — download dos artefatos publicados de um job
+ *  - GET /{jobId}: manifesto (arquivos, SHA-256, tamanhos)
+ *  - GET /{jobId}/files/{path}: um arquivo, com ETag (SHA-256), If-None-Match → 304 e
+ *    Range de um intervalo (bytes=a-b) → 206; sendfile do Tomcat quando disponível
+ *  - GET /{jobId}/zip: todos os arquivos em um ZIP montado em streaming
+ * Artefatos adiados (manifest.deferred) são gerados no primeiro download que precisa deles.
+ * Blobs comprimidos em repouso vão com Content-Encoding: gzip para quem aceita
+ * (sem Range); os demais recebem o conteúdo descomprimido.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/artifacts")
+public class ArtifactController {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final ArtifactStorePort artifacts;
+    private final OnDemandArtifactService onDemand;
+
+    public ArtifactController(ArtifactStorePort artifacts, OnDemandArtifactService onDemand) {
+        this.artifacts = artifacts;
+        this.onDemand = onDemand;
+    }
+
+    @GetMapping("/{jobId}")
+    public ArtifactManifest manifest(@PathVariable("jobId") String jobId) {
+        return artifacts.manifest(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job não encontrado: " + jobId));
+    }
+
+    // ================================================================
+    // 📄 ARQUIVO ÚNICO
+    // ================================================================
+    @GetMapping("/{jobId}/files/{*path}")
+    public void file(@PathVariable("jobId") String jobId, @PathVariable("path") String path,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String relative = sanitize(path);
+        var blob = onDemand.open(jobId, relative)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Artefato não encontrado: " + relative));
+        var entry = blob.entry();
+
+        boolean sendGzip = entry.compressed() && acceptsGzip(request);
+        String etag = "\"" + entry.sha256() + (sendGzip ? "-gz" : "") + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=0, must-revalidate");
+        if (entry.compressed()) response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(MediaTypeFactory.getMediaType(relative)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName(relative) + "\"");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        // comprimido: sem Range (offsets do gzip não correspondem aos do conteúdo)
+        if (entry.compressed()) {
+            if (sendGzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                send(blob.file(), 0, entry.storedSize(), request, response);
+            } else {
+                response.setContentLengthLong(entry.size());
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(blob.file()))) {
+                    in.transferTo(response.getOutputStream());
+                }
+            }
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        long size = entry.size();
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range == null || (ifRange != null && !ifRange.equals(etag))) {
+            send(blob.file(), 0, size, request, response);
+            return;
+        }
+
+        long[] bounds = parseRange(range, size);
+        if (bounds == null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + bounds[0] + "-" + (bounds[1] - 1) + "/" + size);
+        send(blob.file(), bounds[0], bounds[1], request, response);
+    }
+
+    // ================================================================
+    // 🗜️ ZIP DO JOB
+    // ================================================================
+    @GetMapping("/{jobId}/zip")
+    public ResponseEntity<StreamingResponseBody> zip(@PathVariable("jobId") String jobId) {
+        ArtifactManifest manifest = onDemand.materializeAll(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job não encontrado: " + jobId));
+        StreamingResponseBody body = out -> {
+            try (ZipOutputStream zip = new ZipOutputStream(out)) {
+                for (var entry : manifest.files()) {
+                    var blob = artifacts.open(jobId, entry.path()).orElse(null);
+                    if (blob == null) {
+                        log.warn("⚠️ Blob ausente para {}/{} — omitido do ZIP", jobId, entry.path());
+                        continue;
+                    }
+                    zip.putNextEntry(new ZipEntry(entry.path()));
+                    try (InputStream in = entry.compressed()
+                            ? new GZIPInputStream(Files.newInputStream(blob.file()))
+                            : Files.newInputStream(blob.file())) {
+                        in.transferTo(zip);
+                    }
+                    zip.closeEntry();
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + ".zip\"")
+                .body(body);
+    }
+
+    // ================================================================
+    // 🔧 UTILITÁRIOS
+    // ================================================================
+
+    /**
+     * Envia [start, end) do arquivo: com sendfile, o Tomcat copia direto do page cache para o
+     * socket depois do handler; sem ele, FileChannel.transferTo para o canal da resposta.
+     */
+    private static void send(Path file, long start, long end, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(end - start);
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) break;
+                position += sent;
+            }
+        }
+    }
+
+    /** Um único intervalo; múltiplos intervalos (multipart/byteranges) não são suportados. */
+    private static long[] parseRange(String header, long size) {
+        Matcher m = RANGE.matcher(header.trim());
+        if (!m.matches() || size == 0) return null;
+        String first = m.group(1);
+        String last = m.group(2);
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) return null;
+                long suffix = Math.min(Long.parseLong(last), size);
+                return suffix == 0 ? null : new long[]{size - suffix, size};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size : Math.min(Long.parseLong(last) + 1, size);
+            return start >= size || end <= start ? null : new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals("*") || c.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accept != null && accept.toLowerCase().contains("gzip");
+    }
+
+    /** Caminho relativo ao job, sem "..", barra inicial ou segmentos vazios. */
+    private static String sanitize(String path) {
+        String p = path.startsWith("/") ? path.substring(1) : path;
+        for (String segment : p.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..") || segment.contains("\\")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Caminho inválido: " + path);
+            }
+        }
+        return p;
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1).replace("\"", "");
+    }
+}
@@ -2,26 +2,47 @@ package br.com.legacylens.app.rest;
 
 import br.com.legacylens.application.AnalyzeProjectService;
 import br.com.legacylens.application.GenerateReportsService;
+import br.com.legacylens.application.artifacts.OnDemandArtifactService;
+import br.com.legacylens.application.incremental.IncrementalAnalysisService;
+import br.com.legacylens.application.planner.ExecutionPlanner;
 import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.ArtifactManifest;
+import br.com.legacylens.domain.model.ChangeSet;
+import br.com.legacylens.domain.model.ConfigOverrides;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.ExecutionPlan;
+import br.com.legacylens.domain.model.PipelineReport;
 import br.com.legacylens.domain.model.ProjectScan;
+import br.com.legacylens.domain.ports.ArtifactStorePort;
+import br.com.legacylens.infrastructure.impl.incremental.GitWorkspace;
+import br.com.legacylens.infrastructure.jfr.AnalysisEvents;
+import br.com.legacylens.infrastructure.metrics.AnalysisMetrics;
+import br.com.legacylens.infrastructure.util.ArchiveUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.Git;
+import org.slf4j.MDC;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.nio.file.*;
-import java.util.Comparator;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 /**
  * 🚀 ProjectController — entrada principal da API
  *  - Recebe projetos via upload ZIP ou Git URL.
  *  - Descompacta, aplica heurísticas automáticas e executa análise.
+ *  - Cada análise roda com o próprio plano e configuração efetiva (YAML + plano + query params),
+ *    então várias análises podem rodar em paralelo no mesmo processo.
  *  - Gera UML + Sequence + Excel (sem README).
+ *  - Reanálise incremental por projeto (URL Git ou parâmetro "project"/nome do ZIP):
+ *    análises do mesmo projeto são serializadas e o Git usa uma working copy persistente.
+ *  - Cada análise escreve em um diretório exclusivo (jobId = analysisId) e publica os artefatos
+ *    no {@link ArtifactStorePort} (download em /api/artifacts/{jobId}).
+ *  - "artifacts" escolhe o que gerar agora (padrão: app.report.formats); o resto é gerado no
+ *    primeiro download — ex.: artifacts=NONE devolve só versões e dependências.
  */
 @Slf4j
 @RestController
@@ -30,52 +51,91 @@ public class ProjectController {
 
     private final AnalyzeProjectService analyze;
     private final GenerateReportsService reports;
-
-    public ProjectController(AnalyzeProjectService analyze, GenerateReportsService reports) {
+    private final ExecutionPlanner planner;
+    private final AnalysisMetrics metrics;
+    private final IncrementalAnalysisService incremental;
+    private final GitWorkspace gitWorkspace;
+    private final ArtifactStorePort artifacts;
+    private final OnDemandArtifactService onDemand;
+
+    public ProjectController(AnalyzeProjectService analyze, GenerateReportsService reports,
+                             ExecutionPlanner planner, AnalysisMetrics metrics,
+                             IncrementalAnalysisService incremental, GitWorkspace gitWorkspace,
+                             ArtifactStorePort artifacts, OnDemandArtifactService onDemand) {
         this.analyze = analyze;
         this.reports = reports;
+        this.planner = planner;
+        this.metrics = metrics;
+        this.incremental = incremental;
+        this.gitWorkspace = gitWorkspace;
+        this.artifacts = artifacts;
+        this.onDemand = onDemand;
     }
 
-    public record AnalyzeResponse(String outputDir, ProjectScan scan) {}
+    public record AnalyzeResponse(String jobId, String outputDir, ProjectScan scan, PipelineReport pipeline,
+                                  ExecutionPlan plan, EffectiveConfig config, ChangeSet changes,
+                                  ArtifactManifest artifacts) {}
 
     // ================================================================
     // 🔹 ANALISAR UPLOAD ZIP
     // ================================================================
     @PostMapping(path = "/analyze/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public AnalyzeResponse analyzeUpload(@RequestParam("file") MultipartFile file) throws Exception {
+    public AnalyzeResponse analyzeUpload(@RequestParam("file") MultipartFile file,
+                                         @RequestParam(value = "project", required = false) String project,
+                                         ConfigOverrides overrides) throws Exception {
         log.info("📦 Recebendo arquivo ZIP: {}", file.getOriginalFilename());
 
+        String projectKey = "upload:" + (project != null && !project.isBlank() ? project : file.getOriginalFilename());
         Path tmpDir = Files.createTempDirectory("legacylens_");
-        Path uploaded = tmpDir.resolve(file.getOriginalFilename());
-        Files.copy(file.getInputStream(), uploaded, StandardCopyOption.REPLACE_EXISTING);
-
-        Path projectPath = uploaded;
-        if (uploaded.toString().endsWith(".zip")) {
-            Path unzipDir = tmpDir.resolve("unzipped");
-            unzip(uploaded, unzipDir);
-            projectPath = unzipDir;
-        }
+        String analysisId = UUID.randomUUID().toString();
+        MDC.put(AnalysisEvents.MDC_ANALYSIS_ID, analysisId);
+        try (var ignored = metrics.analysisStarted();
+             var lock = incremental.lock(projectKey)) {
+            Path projectPath = metrics.time("ingest", () -> {
+                Path uploaded = tmpDir.resolve(file.getOriginalFilename());
+                Files.copy(file.getInputStream(), uploaded, StandardCopyOption.REPLACE_EXISTING);
+                if (!uploaded.toString().endsWith(".zip")) return uploaded;
+                Path unzipDir = tmpDir.resolve("unzipped");
+                ArchiveUtil.unzip(uploaded, unzipDir);
+                return unzipDir;
+            });
+            metrics.trackTempDir(tmpDir);
+
+            // 🧭 Plano + configuração efetiva da análise (amostragem, módulos, tamanho + overrides)
+            AnalysisContext context = buildContext(analysisId, projectPath, overrides).withProjectKey(projectKey);
+            context = incremental.begin(projectPath, null, context);
 
-        // 🧠 Aplica configuração inteligente (arquitetura, módulos, tamanho)
-        applySmartConfiguration(projectPath);
-
-        // 🔍 Executa análise
-        var scan = analyze.execute(projectPath.toString());
-        Path outDir = Path.of("output", String.valueOf(System.currentTimeMillis()));
-        Files.createDirectories(outDir);
+            // 🔍 Executa análise
+            var scan = metrics.time("scan", () -> analyze.execute(projectPath.toString()));
+            Path outDir = artifacts.jobDir(analysisId);
 
-        // 📊 Gera relatórios (UML + Sequence + Excel)
-        reports.generateAll(scan, projectPath.toString(), outDir);
-        log.info("✅ Artefatos gerados em: {}", outDir);
+            // 📊 Gera relatórios (UML + Sequence + Excel)
+            MDC.put(AnalysisMetrics.MDC_PROJECT_TYPE, scan.projectType());
+            var pipeline = reports.generateAll(scan, projectPath.toString(), outDir, context);
+            var manifest = onDemand.publish(context, scan, projectPath, true);
+            log.info("✅ Artefatos gerados em: {}", outDir);
 
-        return new AnalyzeResponse(outDir.toAbsolutePath().toString(), scan);
+            return new AnalyzeResponse(analysisId, outDir.toAbsolutePath().toString(), scan, pipeline,
+                    context.plan(), context.config(), context.incremental().changes(), manifest);
+        } finally {
+            MDC.remove(AnalysisMetrics.MDC_PROJECT_TYPE);
+            MDC.remove(AnalysisEvents.MDC_ANALYSIS_ID);
+            metrics.releaseTempDir(tmpDir);
+            if (LegacyLensConfigLoader.get().getGeneral().isDeleteTemp()) {
+                try {
+                    ArchiveUtil.deleteRecursively(tmpDir);
+                } catch (Exception ex) {
+                    log.warn("⚠️ Falha ao remover diretório temporário: {}", ex.getMessage());
+                }
+            }
+        }
     }
 
     // ================================================================
     // 🔹 ANALISAR VIA GIT
     // ================================================================
     @PostMapping("/analyze/git")
-    public AnalyzeResponse analyzeGit(@RequestParam("url") String gitUrl) throws Exception {
+    public AnalyzeResponse analyzeGit(@RequestParam("url") String gitUrl, ConfigOverrides overrides) throws Exception {
         log.info("🚀 Iniciando análise via Git: {}", gitUrl);
 
         Path baseDir = Paths.get(System.getProperty("user.home"), "Documents", "legados");
@@ -84,18 +144,30 @@ public class ProjectController {
         cleanOldRepositories(baseDir);
 
         String repoName = gitUrl.substring(gitUrl.lastIndexOf('/') + 1).replace(".git", "");
-        Path cloneDir = baseDir.resolve(repoName + "_" + System.currentTimeMillis());
-        Files.createDirectories(cloneDir);
-
-        try {
-            // Clone rápido (depth=1)
-            try (var git = Git.cloneRepository()
-                    .setURI(gitUrl)
-                    .setDirectory(cloneDir.toFile())
-                    .setDepth(1)
-                    .call()) {
-                log.info("✅ Clone concluído: {}", cloneDir);
-            }
+        // incremental: working copy persistente (só o diff é baixado); senão clone descartável
+        boolean persistent = incremental.enabledFor(overrides);
+        Path cloneDir = persistent
+                ? incremental.workspaceFor(gitUrl).resolve(repoName)
+                : baseDir.resolve(repoName + "_" + System.currentTimeMillis());
+
+        String analysisId = UUID.randomUUID().toString();
+        MDC.put(AnalysisEvents.MDC_ANALYSIS_ID, analysisId);
+        try (var ignored = metrics.analysisStarted();
+             var lock = incremental.lock(gitUrl)) {
+            // Clone rápido (depth=1) ou atualização da working copy
+            String commit = metrics.time("clone", () -> {
+                if (persistent) return gitWorkspace.checkout(gitUrl, cloneDir);
+                Files.createDirectories(cloneDir);
+                try (var git = Git.cloneRepository()
+                        .setURI(gitUrl)
+                        .setDirectory(cloneDir.toFile())
+                        .setDepth(1)
+                        .call()) {
+                    log.info("✅ Clone concluído: {}", cloneDir);
+                }
+                return null;
+            });
+            metrics.trackTempDir(cloneDir);
 
             // Corrige "pom" sem extensão
             Path pomNoExt = cloneDir.resolve("pom");
@@ -104,26 +176,34 @@ public class ProjectController {
                 log.info("🧩 Arquivo 'pom' renomeado para 'pom.xml'");
             }
 
-            // 🧠 Inteligência automática (arquitetura + módulos)
-            applySmartConfiguration(cloneDir);
+            // 🧭 Plano de execução (amostragem + módulos) + overrides
+            AnalysisContext context = buildContext(analysisId, cloneDir, overrides).withProjectKey(gitUrl);
+            context = incremental.begin(cloneDir, commit, context);
 
             // 🔍 Executa análise
-            var scan = analyze.execute(cloneDir.toString());
+            var scan = metrics.time("scan", () -> analyze.execute(cloneDir.toString()));
 
             // 📊 Gera relatórios
-            Path outDir = Path.of("output", String.valueOf(System.currentTimeMillis()));
-            Files.createDirectories(outDir);
-            reports.generateAll(scan, cloneDir.toString(), outDir);
+            Path outDir = artifacts.jobDir(analysisId);
+            MDC.put(AnalysisMetrics.MDC_PROJECT_TYPE, scan.projectType());
+            var pipeline = reports.generateAll(scan, cloneDir.toString(), outDir, context);
+            var manifest = onDemand.publish(context, scan, cloneDir, !persistent);
 
             log.info("📊 Análise concluída com sucesso. Artefatos em {}", outDir);
 
-            return new AnalyzeResponse(outDir.toAbsolutePath().toString(), scan);
+            return new AnalyzeResponse(analysisId, outDir.toAbsolutePath().toString(), scan, pipeline,
+                    context.plan(), context.config(), context.incremental().changes(), manifest);
         } finally {
-            try {
-                deleteDirectoryRecursively(cloneDir);
-                log.info("🧹 Diretório temporário removido: {}", cloneDir);
-            } catch (Exception ex) {
-                log.warn("⚠️ Falha ao remover diretório temporário: {}", ex.getMessage());
+            MDC.remove(AnalysisMetrics.MDC_PROJECT_TYPE);
+            MDC.remove(AnalysisEvents.MDC_ANALYSIS_ID);
+            metrics.releaseTempDir(cloneDir);
+            if (!persistent) {
+                try {
+                    ArchiveUtil.deleteRecursively(cloneDir);
+                    log.info("🧹 Diretório temporário removido: {}", cloneDir);
+                } catch (Exception ex) {
+                    log.warn("⚠️ Falha ao remover diretório temporário: {}", ex.getMessage());
+                }
             }
         }
     }
@@ -131,29 +211,6 @@ public class ProjectController {
     // ================================================================
     // 🔧 UTILITÁRIOS
     // ================================================================
-    private void unzip(Path zipFile, Path outputDir) throws Exception {
-        try (ZipInputStream zin = new ZipInputStream(Files.newInputStream(zipFile))) {
-            ZipEntry entry;
-            while ((entry = zin.getNextEntry()) != null) {
-                Path filePath = outputDir.resolve(entry.getName()).normalize();
-                if (entry.isDirectory()) Files.createDirectories(filePath);
-                else {
-                    Files.createDirectories(filePath.getParent());
-                    Files.copy(zin, filePath, StandardCopyOption.REPLACE_EXISTING);
-                }
-            }
-        }
-        log.info("📂 ZIP extraído em {}", outputDir);
-    }
-
-    private void deleteDirectoryRecursively(Path path) throws Exception {
-        if (path == null || !Files.exists(path)) return;
-        Files.walk(path)
-                .sorted(Comparator.reverseOrder())
-                .map(Path::toFile)
-                .forEach(File::delete);
-    }
-
     private void cleanOldRepositories(Path baseDir) {
         try {
             Files.list(baseDir)
@@ -168,7 +225,7 @@ public class ProjectController {
                     })
                     .forEach(p -> {
                         try {
-                            deleteDirectoryRecursively(p);
+                            ArchiveUtil.deleteRecursively(p);
                             log.info("🧹 Repositório antigo removido: {}", p);
                         } catch (Exception e) {
                             log.warn("Falha ao limpar repositório {}: {}", p, e.getMessage());
@@ -182,20 +239,13 @@ public class ProjectController {
     // ================================================================
     // 🧠 CONFIGURAÇÃO INTELIGENTE
     // ================================================================
-    private void applySmartConfiguration(Path projectPath) {
-        try {
-            log.info("🧠 Aplicando inteligência automática...");
-            LegacyLensConfigLoader.applyAutoIntelligence(projectPath);
-
-            var cfg = LegacyLensConfigLoader.get();
-            var exec = cfg.getExecution();
-
-            log.info("🔧 YAML ativo: sequence={} multiModule={}",
-                    cfg.getSequence().isEnabled(),
-                    exec != null && exec.isDetectMultiModule());
-
-        } catch (Exception e) {
-            log.warn("⚠️ Falha ao aplicar inteligência automática: {}", e.getMessage());
-        }
+    private AnalysisContext buildContext(String analysisId, Path projectPath, ConfigOverrides overrides) {
+        log.info("🧠 Aplicando inteligência automática...");
+        AnalysisContext context = planner.prepare(analysisId, projectPath, overrides);
+
+        EffectiveConfig cfg = context.config();
+        log.info("🔧 Configuração efetiva: sequence={} multiModule={} ajustes={}",
+                cfg.sequence().enabled(), cfg.execution().detectMultiModule(), cfg.adjustments());
+        return context;
     }
 }
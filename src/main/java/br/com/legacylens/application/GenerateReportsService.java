@@ -1,8 +1,10 @@
 package br.com.legacylens.application;
 
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.PipelineReport;
 import br.com.legacylens.domain.model.ProjectScan;
 import java.nio.file.Path;
 
 public interface GenerateReportsService {
-    void generateAll(ProjectScan scan, String source, Path outDir);
+    PipelineReport generateAll(ProjectScan scan, String source, Path outDir, AnalysisContext context);
 }
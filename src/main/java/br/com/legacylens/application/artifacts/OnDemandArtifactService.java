@@ -0,0 +1,131 @@
+package br.com.legacylens.application.artifacts;
+
+import br.com.legacylens.application.GenerateReportsService;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.ArtifactManifest;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.PipelineReport;
+import br.com.legacylens.domain.model.ProjectScan;
+import br.com.legacylens.domain.model.ReportFormat;
+import br.com.legacylens.domain.model.RetainedAnalysis;
+import br.com.legacylens.domain.model.StageResult;
+import br.com.legacylens.domain.ports.AnalysisModelPort;
+import br.com.legacylens.domain.ports.ArtifactStorePort;
+import br.com.legacylens.infrastructure.jfr.AnalysisEvents;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🪄 OnDemandArtifactService
+ * -----------------------------------------
+ * Artefatos pedidos agora x adiados:
+ *  - {@link #publish}: ao fim da análise, retém modelo + fonte se algum formato ficou adiado
+ *    e publica o job com a lista do que falta
+ *  - {@link #open}/{@link #materializeAll}: o primeiro download de um artefato adiado roda
+ *    o pipeline só com aquele formato (mesma configuração efetiva e plano) em um staging do
+ *    job; quando nada mais falta, o modelo retido é descartado
+ * Gerações do mesmo job são serializadas; downloads de artefatos já publicados não esperam.
+ */
+@Slf4j
+@Component
+public class OnDemandArtifactService {
+
+    private final ArtifactStorePort artifacts;
+    private final AnalysisModelPort models;
+    private final GenerateReportsService reports;
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public OnDemandArtifactService(ArtifactStorePort artifacts, AnalysisModelPort models,
+                                   GenerateReportsService reports) {
+        this.artifacts = artifacts;
+        this.models = models;
+        this.reports = reports;
+    }
+
+    /** @param movable o fonte é temporário e pode ser movido para o job em vez de copiado */
+    public ArtifactManifest publish(AnalysisContext context, ProjectScan scan, Path source, boolean movable) {
+        List<ReportFormat> deferred = context.config().formats().deferred();
+        if (!deferred.isEmpty()) {
+            models.retain(new RetainedAnalysis(context.analysisId(), context.projectKey(),
+                    source.getFileName().toString(), context.config(), context.plan(), scan), source, movable);
+        }
+        return artifacts.publish(context.analysisId(), deferred);
+    }
+
+    /** Blob do arquivo, gerando antes o formato adiado que o produz, se for o caso. */
+    public Optional<ArtifactStorePort.Blob> open(String jobId, String path) {
+        var blob = artifacts.open(jobId, path);
+        if (blob.isPresent()) return blob;
+
+        var format = ReportFormat.producing(path).orElse(null);
+        var manifest = artifacts.manifest(jobId).orElse(null);
+        if (format == null || manifest == null || !manifest.deferred().contains(format)) return Optional.empty();
+
+        materialize(jobId, List.of(format));
+        return artifacts.open(jobId, path);
+    }
+
+    /** Gera tudo o que ainda está adiado (ex.: antes do ZIP do job). */
+    public Optional<ArtifactManifest> materializeAll(String jobId) {
+        return artifacts.manifest(jobId).map(m -> m.deferred().isEmpty() ? m : materialize(jobId, m.deferred()));
+    }
+
+    // ==============================================================
+    // 🏭 Geração tardia
+    // ==============================================================
+    private ArtifactManifest materialize(String jobId, Collection<ReportFormat> wanted) {
+        ReentrantLock lock = locks.computeIfAbsent(jobId, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            // outro download pode ter gerado enquanto este esperava
+            ArtifactManifest manifest = artifacts.manifest(jobId).orElseThrow();
+            List<ReportFormat> pending = manifest.deferred().stream().filter(wanted::contains).toList();
+            if (pending.isEmpty()) return manifest;
+
+            RetainedAnalysis model = models.load(jobId).orElse(null);
+            if (model == null) {
+                log.warn("⚠️ Job {}: modelo retido ausente — {} não pode ser gerado", jobId, pending);
+                return manifest;
+            }
+
+            log.info("🪄 Job {}: gerando sob demanda {}", jobId, pending);
+            EffectiveConfig config = model.config().withFormats(new EffectiveConfig.Formats(pending, List.of()));
+            // store só é regravado quando o grafo de chamadas (sequence) entra agora
+            AnalysisContext context = new AnalysisContext(jobId, config, model.plan())
+                    .withProjectKey(pending.contains(ReportFormat.SEQUENCE) ? model.projectKey() : null);
+
+            Path staging = artifacts.stagingDir(jobId);
+            PipelineReport report;
+            MDC.put(AnalysisEvents.MDC_ANALYSIS_ID, jobId);
+            try {
+                report = reports.generateAll(model.scan(), models.sourceOf(model).toString(), staging, context);
+            } finally {
+                MDC.remove(AnalysisEvents.MDC_ANALYSIS_ID);
+            }
+
+            // formato que falhou continua adiado: o próximo download tenta de novo
+            List<ReportFormat> remaining = new ArrayList<>(manifest.deferred());
+            for (ReportFormat format : pending) {
+                boolean ok = report.stages().stream()
+                        .anyMatch(s -> s.stage().equals(format.stage()) && s.status() == StageResult.Status.SUCCESS);
+                if (ok) remaining.remove(format);
+            }
+
+            ArtifactManifest updated = artifacts.publish(jobId, staging, remaining);
+            if (remaining.isEmpty()) models.release(jobId);
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,16 +1,48 @@
 package br.com.legacylens.application.impl;
 
 import br.com.legacylens.application.GenerateReportsService;
-import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.application.incremental.IncrementalAnalysisService;
+import br.com.legacylens.application.pipeline.PipelineStage;
+import br.com.legacylens.application.pipeline.StageDagExecutor;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.AnalysisFacts;
+import br.com.legacylens.domain.model.CallGraph;
+import br.com.legacylens.domain.model.CloneReport;
+import br.com.legacylens.domain.model.PipelineReport;
 import br.com.legacylens.domain.model.ProjectScan;
+import br.com.legacylens.domain.model.ReportFormat;
+import br.com.legacylens.domain.model.SourceInventory;
+import br.com.legacylens.domain.ports.AnalysisStorePort;
+import br.com.legacylens.domain.ports.CloneDetectorPort;
+import br.com.legacylens.domain.ports.DiagramRenderPort;
 import br.com.legacylens.domain.ports.ExcelReportPort;
 import br.com.legacylens.domain.ports.SequenceDiagramPort;
+import br.com.legacylens.domain.ports.SourceInventoryPort;
 import br.com.legacylens.domain.ports.UmlGeneratorPort;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.nio.file.Path;
+import java.util.List;
 
+/**
+ * 🚀 GenerateReportsServiceImpl
+ * -----------------------------------------
+ * Monta o DAG de geração e delega ao {@link StageDagExecutor}:
+ *
+ *   inventory ─┬──► excel ◄┄┄ clones (opcional)
+ *              └──► store ◄┄┄ sequence (opcional)
+ *   uml ─────┐
+ *   sequence ┴──► render
+ *
+ * UML, sequence e inventário rodam em paralelo; render só espera os diagramas.
+ * store grava inventário + grafo de chamadas no armazenamento de consultas
+ * (sem o grafo se o sequence estiver desligado ou falhar).
+ * Formatos não pedidos na requisição (config.formats) viram DEFERRED; render só roda se algum
+ * diagrama foi pedido e o inventário só se o Excel ou o store precisarem dele.
+ * clones roda se o CSV ou o Excel (aba Clones) foram pedidos.
+ * Ao fim, o estado da reanálise incremental é atualizado ({@link IncrementalAnalysisService}).
+ */
 @Slf4j
 @Service
 public class GenerateReportsServiceImpl implements GenerateReportsService {
@@ -18,40 +50,85 @@ public class GenerateReportsServiceImpl implements GenerateReportsService {
     private final UmlGeneratorPort uml;
     private final SequenceDiagramPort sequence;
     private final ExcelReportPort excel;
+    private final DiagramRenderPort render;
+    private final SourceInventoryPort inventory;
+    private final StageDagExecutor executor;
+    private final IncrementalAnalysisService incremental;
+    private final AnalysisStorePort store;
+    private final CloneDetectorPort clones;
 
-    public GenerateReportsServiceImpl(UmlGeneratorPort uml, SequenceDiagramPort sequence, ExcelReportPort excel) {
+    public GenerateReportsServiceImpl(UmlGeneratorPort uml, SequenceDiagramPort sequence,
+                                      ExcelReportPort excel, DiagramRenderPort render,
+                                      SourceInventoryPort inventory, StageDagExecutor executor,
+                                      IncrementalAnalysisService incremental, AnalysisStorePort store,
+                                      CloneDetectorPort clones) {
         this.uml = uml;
         this.sequence = sequence;
         this.excel = excel;
+        this.render = render;
+        this.inventory = inventory;
+        this.executor = executor;
+        this.incremental = incremental;
+        this.store = store;
+        this.clones = clones;
     }
 
     @Override
-    public void generateAll(ProjectScan scan, String source, Path outDir) {
-        var cfg = LegacyLensConfigLoader.get();
+    public PipelineReport generateAll(ProjectScan scan, String source, Path outDir, AnalysisContext context) {
+        var cfg = context.config();
+        var formats = cfg.formats();
+        boolean storing = store.enabled() && context.projectKey() != null;
         log.info("🚀 Iniciando geração de artefatos (sem README) — destino: {}", outDir);
 
-        try {
-            // UML
-            log.info("📘 Gerando diagrama UML...");
-            var umlResult = uml.generateFromPathOrJar(source, outDir);
-            log.debug("UML gerado: {}", umlResult);
-
-            // Sequence
-            if (cfg.getSequence() == null || cfg.getSequence().isEnabled()) {
-                log.info("📗 Gerando diagramas de sequência...");
-                sequence.generateFromPathOrJar(source, outDir);
-            }
-
-            // Excel
-            if (cfg.getReports() == null || cfg.getReports().getExcel().isEnabled()) {
-                log.info("📊 Gerando planilha Excel...");
-                excel.write(scan, outDir);
-            }
-
-            log.info("✅ Geração concluída em {}", outDir);
-
-        } catch (Exception e) {
-            log.error("❌ Falha na geração de relatórios: {}", e.getMessage(), e);
-        }
+        var stages = List.of(
+                PipelineStage.of("inventory", in -> inventory.collect(source, context))
+                        .deferredIf(!storing && !formats.requested(ReportFormat.EXCEL)),
+
+                PipelineStage.of("uml", in -> {
+                    log.info("📘 Gerando diagrama UML...");
+                    return uml.generateFromPathOrJar(source, outDir, context);
+                }).enabledIf(cfg.uml().enabled()).deferredIf(!formats.requested(ReportFormat.UML)),
+
+                PipelineStage.of("sequence", in -> {
+                    log.info("📗 Gerando diagramas de sequência...");
+                    return sequence.generateFromPathOrJar(source, outDir, context);
+                }).enabledIf(cfg.sequence().enabled()).deferredIf(!formats.requested(ReportFormat.SEQUENCE)),
+
+                PipelineStage.of("clones", in -> {
+                    log.info("🧬 Detectando clones...");
+                    CloneReport found = clones.detect(source, context);
+                    if (formats.requested(ReportFormat.CLONES)) clones.writeCsv(found, outDir);
+                    return found;
+                }).enabledIf(cfg.clones().enabled())
+                        .deferredIf(!formats.requested(ReportFormat.CLONES) && !formats.requested(ReportFormat.EXCEL)),
+
+                PipelineStage.of("excel", in -> {
+                    log.info("📊 Gerando planilha Excel...");
+                    CloneReport found = in.get("clones", CloneReport.class);
+                    return excel.write(scan, in.get("inventory", SourceInventory.class),
+                            found != null ? found : CloneReport.empty(), outDir, context);
+                }).withInputs("inventory").runAfter("clones").enabledIf(cfg.excel().enabled())
+                        .deferredIf(!formats.requested(ReportFormat.EXCEL)),
+
+                PipelineStage.of("store", in -> {
+                    CallGraph calls = in.get("sequence", CallGraph.class);
+                    return store.save(new AnalysisFacts(context.analysisId(), context.projectKey(),
+                            outDir.toAbsolutePath().toString(), scan, in.get("inventory", SourceInventory.class),
+                            calls != null ? calls : CallGraph.empty()));
+                }).withInputs("inventory").runAfter("sequence").enabledIf(storing),
+
+                // render lê os .puml do disco: basta rodar depois, mesmo que um dos geradores falhe
+                PipelineStage.of("render", in -> {
+                    log.info("🖼️ Renderizando diagramas...");
+                    return render.renderAll(outDir, context);
+                }).runAfter("uml", "sequence").enabledIf(cfg.render().enabled())
+                        .deferredIf(!formats.requested(ReportFormat.UML) && !formats.requested(ReportFormat.SEQUENCE))
+        );
+
+        PipelineReport report = executor.execute(stages, cfg.pipeline());
+        incremental.complete(context, outDir, report);
+        if (report.allSucceeded()) log.info("✅ Geração concluída em {}", outDir);
+        else log.warn("⚠️ Geração concluída com falhas em {}", outDir);
+        return report;
     }
 }
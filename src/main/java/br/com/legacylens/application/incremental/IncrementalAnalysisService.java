@@ -0,0 +1,144 @@
+package br.com.legacylens.application.incremental;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.AnalysisState;
+import br.com.legacylens.domain.model.ChangeSet;
+import br.com.legacylens.domain.model.ConfigOverrides;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.IncrementalSession;
+import br.com.legacylens.domain.model.PipelineReport;
+import br.com.legacylens.domain.model.StageResult;
+import br.com.legacylens.domain.ports.AnalysisStatePort;
+import br.com.legacylens.domain.ports.ChangeDetectorPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ♻️ IncrementalAnalysisService
+ * -----------------------------------------
+ * Reanálise incremental por projeto ({@link AnalysisContext#projectKey()}):
+ *  - {@link #begin}: carrega o estado anterior, descobre o que mudou e decide entre
+ *    incremental e completa (config dos artefatos mudou, build alterado, mudança grande demais)
+ *  - {@link #complete}: com inventory/uml/sequence bem-sucedidos, persiste fatos + .puml
+ *  - {@link #lock}: análises do mesmo projeto são serializadas (estado e working copy compartilhados)
+ */
+@Slf4j
+@Component
+public class IncrementalAnalysisService {
+
+    /** Estágios cujos fatos entram no estado; falha em qualquer um mantém o estado anterior. */
+    private static final Set<String> STATEFUL_STAGES = Set.of("inventory", "uml", "sequence");
+
+    private final AnalysisStatePort store;
+    private final ChangeDetectorPort detector;
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public IncrementalAnalysisService(LegacyLensConfigLoader configLoader, AnalysisStatePort store,
+                                      ChangeDetectorPort detector) {
+        this.store = store;
+        this.detector = detector;
+    }
+
+    /** Mesmo critério da configuração efetiva, para decidir antes do plano (ex.: clone persistente). */
+    public boolean enabledFor(ConfigOverrides overrides) {
+        Boolean requested = overrides != null ? overrides.incremental() : null;
+        return requested != null ? requested : LegacyLensConfigLoader.get().getIncremental().isEnabled();
+    }
+
+    public Path workspaceFor(String projectKey) {
+        return store.workspaceDir(projectKey);
+    }
+
+    public ProjectLock lock(String projectKey) {
+        ReentrantLock lock = locks.computeIfAbsent(projectKey, k -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            log.info("⏳ Aguardando outra análise de {} terminar...", projectKey);
+            lock.lock();
+        }
+        return lock::unlock;
+    }
+
+    public interface ProjectLock extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    // ==============================================================
+    // ▶️ Início: estado anterior + mudanças
+    // ==============================================================
+    /** @param commit HEAD da working copy Git (null para upload) */
+    public AnalysisContext begin(Path project, String commit, AnalysisContext context) {
+        EffectiveConfig.Incremental cfg = context.config().incremental();
+        if (!cfg.enabled() || context.projectKey() == null) return context;
+
+        String projectKey = context.projectKey();
+        String configHash = configHash(context);
+        AnalysisState previous = store.load(projectKey).orElse(null);
+        Path artifacts = store.artifactsDir(projectKey);
+
+        String invalid = null;
+        if (previous != null && !configHash.equals(previous.configHash())) {
+            invalid = "configuração dos artefatos mudou";
+        } else if (previous != null && !Files.isDirectory(artifacts)) {
+            invalid = "artefatos anteriores ausentes";
+        }
+        if (invalid != null) previous = null;
+
+        var detection = detector.detect(project, previous, commit, context.plan().parallelism());
+        ChangeSet changes = detection.changes();
+        if (invalid != null) {
+            changes = ChangeSet.full(invalid);
+        } else if (!changes.full() && changes.touchesBuildFiles()) {
+            changes = ChangeSet.full("arquivo de build alterado (módulos/dependências)");
+        } else if (!changes.full()
+                && changes.size() * 100L > (long) cfg.fullRebuildPercent() * Math.max(1, detection.fingerprints().size())) {
+            changes = ChangeSet.full(changes.size() + " de " + detection.fingerprints().size()
+                    + " arquivos mudaram (> " + cfg.fullRebuildPercent() + "%)");
+        }
+
+        var session = new IncrementalSession(projectKey, commit, configHash, previous, changes, artifacts,
+                detection.fingerprints(), detection.umlSignatures());
+        if (session.incremental()) {
+            log.info("♻️ Reanálise incremental de {} ({}): {} arquivo(s) afetado(s)",
+                    projectKey, changes.reason(), changes.size());
+        } else {
+            log.info("♻️ Análise completa de {}: {}", projectKey, changes.reason());
+        }
+        return context.withIncremental(session);
+    }
+
+    // ==============================================================
+    // 💾 Fim: persiste fatos + artefatos
+    // ==============================================================
+    public void complete(AnalysisContext context, Path outDir, PipelineReport report) {
+        IncrementalSession session = context.incremental();
+        if (!session.enabled()) return;
+
+        boolean ok = report.stages().stream()
+                .filter(s -> STATEFUL_STAGES.contains(s.stage()))
+                .allMatch(s -> s.status() == StageResult.Status.SUCCESS || s.status() == StageResult.Status.DISABLED);
+        if (!ok) {
+            log.warn("⚠️ Estado incremental de {} mantido: algum estágio não concluiu", session.projectKey());
+            return;
+        }
+        store.save(session.toState(System.currentTimeMillis()), outDir);
+        log.info("💾 Estado incremental de {} atualizado", session.projectKey());
+    }
+
+    /** Tudo da configuração que muda o conteúdo dos .puml reaproveitados. */
+    private static String configHash(AnalysisContext context) {
+        EffectiveConfig cfg = context.config();
+        String relevant = cfg.uml() + "|" + cfg.sequence() + "|" + cfg.execution().detectMultiModule()
+                + "|" + context.plan().umlMode();
+        return Integer.toHexString(relevant.hashCode());
+    }
+}
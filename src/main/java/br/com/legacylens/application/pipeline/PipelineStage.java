@@ -0,0 +1,67 @@
+package br.com.legacylens.application.pipeline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔗 Nó do DAG de geração de relatórios.
+ *  - inputs: estágios que precisam terminar com sucesso; suas saídas ficam disponíveis em {@link StageInputs}
+ *  - after: apenas ordenação (roda depois, qualquer que seja o desfecho); a saída entra em
+ *    {@link StageInputs} só se o estágio terminou com sucesso (null caso contrário)
+ *  - timeout: null usa o padrão do pipeline (pipeline.stageTimeoutMinutes)
+ *  - deferred: habilitado, mas não pedido agora — reportado como DEFERRED sem executar
+ *    (dependentes via inputs são pulados)
+ */
+public record PipelineStage(
+        String name,
+        List<String> inputs,
+        List<String> after,
+        boolean enabled,
+        Duration timeout,
+        boolean deferred,
+        StageAction action
+) {
+
+    @FunctionalInterface
+    public interface StageAction {
+        Object run(StageInputs inputs) throws Exception;
+    }
+
+    public static PipelineStage of(String name, StageAction action) {
+        return new PipelineStage(name, List.of(), List.of(), true, null, false, action);
+    }
+
+    public PipelineStage withInputs(String... stages) {
+        return new PipelineStage(name, List.of(stages), after, enabled, timeout, deferred, action);
+    }
+
+    public PipelineStage runAfter(String... stages) {
+        return new PipelineStage(name, inputs, List.of(stages), enabled, timeout, deferred, action);
+    }
+
+    public PipelineStage enabledIf(boolean condition) {
+        return new PipelineStage(name, inputs, after, condition, timeout, deferred, action);
+    }
+
+    public PipelineStage withTimeout(Duration value) {
+        return new PipelineStage(name, inputs, after, enabled, value, deferred, action);
+    }
+
+    public PipelineStage deferredIf(boolean condition) {
+        return new PipelineStage(name, inputs, after, enabled, timeout, condition, action);
+    }
+
+    /** Saídas dos estágios declarados em {@code inputs} (e dos {@code after} bem-sucedidos). */
+    public static final class StageInputs {
+        private final Map<String, Object> outputs;
+
+        StageInputs(Map<String, Object> outputs) {
+            this.outputs = outputs;
+        }
+
+        public <T> T get(String stage, Class<T> type) {
+            return type.cast(outputs.get(stage));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package br.com.legacylens.application.pipeline;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.PipelineReport;
+import br.com.legacylens.domain.model.StageResult;
+import br.com.legacylens.infrastructure.jfr.StageEvent;
+import br.com.legacylens.infrastructure.metrics.AnalysisMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🕸️ StageDagExecutor
+ * -----------------------------------------
+ * Executa um DAG de {@link PipelineStage} em um pool compartilhado:
+ *  - cada estágio começa assim que suas dependências terminam (tempo total ≈ caminho mais lento)
+ *  - timeout por estágio: a thread é interrompida (builds externos são mortos pelo BuildRunner);
+ *    dependentes e o retorno de execute esperam (até pipeline.timeoutGraceSeconds) a thread sair,
+ *    para ninguém ler/publicar o outDir enquanto ela ainda escreve
+ *  - falhas isoladas: só os estágios que dependem do que falhou são pulados
+ *  - MDC do chamador é propagado para as threads dos estágios
+ *  - duração de cada estágio publicada em legacylens.stage.duration e como evento JFR
+ */
+@Slf4j
+@Component
+public class StageDagExecutor {
+
+    private final AnalysisMetrics metrics;
+    private final ThreadPoolExecutor pool;
+    private final ScheduledThreadPoolExecutor watchdog;
+    private final Duration grace;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** exited: a thread do estágio saiu (no TIMEOUT, o resultado chega antes disso). */
+    private record Outcome(StageResult result, Object output, CompletableFuture<Void> exited) {}
+
+    private static final CompletableFuture<Void> NOT_STARTED = CompletableFuture.completedFuture(null);
+
+    /** Handshake estágio × watchdog: quem fizer o CAS a partir de RUNNING decide se haverá interrupção. */
+    private static final int RUNNING = 0;
+    private static final int FINISHED = 1;
+    private static final int INTERRUPTING = 2;
+    private static final int INTERRUPTED = 3;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public StageDagExecutor(LegacyLensConfigLoader configLoader, AnalysisMetrics metrics) {
+        this.metrics = metrics;
+        int configured = LegacyLensConfigLoader.get().getPipeline().getParallelism();
+        int threads = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "pipeline-stage-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+
+        this.watchdog = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "pipeline-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        this.watchdog.setRemoveOnCancelPolicy(true);
+        this.grace = Duration.ofSeconds(Math.max(0, LegacyLensConfigLoader.get().getPipeline().getTimeoutGraceSeconds()));
+        log.info("🕸️ Pipeline pronto (paralelismo={})", threads);
+    }
+
+    /** @param cfg prazos da análise corrente (o pool é compartilhado; os timeouts não) */
+    public PipelineReport execute(List<PipelineStage> stages, EffectiveConfig.Pipeline cfg) {
+        long start = System.nanoTime();
+        List<PipelineStage> ordered = topologicalOrder(stages);
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        // só esta thread escreve em futures; cada estágio recebe o snapshot imutável das suas dependências
+        Map<String, CompletableFuture<Outcome>> futures = new HashMap<>();
+        for (PipelineStage stage : ordered) {
+            Map<String, CompletableFuture<Outcome>> upstream = new LinkedHashMap<>();
+            stage.inputs().forEach(d -> upstream.put(d, futures.get(d)));
+            stage.after().forEach(d -> upstream.put(d, futures.get(d)));
+            Map<String, CompletableFuture<Outcome>> snapshot = Map.copyOf(upstream);
+
+            CompletableFuture<Outcome> future = CompletableFuture.allOf(snapshot.values().toArray(CompletableFuture[]::new))
+                    .thenCompose(ignored -> launch(stage, snapshot, timeoutOf(stage, cfg), mdc))
+                    .thenCompose(outcome -> settled(stage, outcome));
+            futures.put(stage.name(), future);
+        }
+
+        List<StageResult> results = new ArrayList<>();
+        for (PipelineStage stage : stages) {
+            results.add(futures.get(stage.name()).join().result());
+        }
+
+        results.stream()
+                .filter(r -> r.status() != StageResult.Status.DISABLED && r.status() != StageResult.Status.SKIPPED
+                        && r.status() != StageResult.Status.DEFERRED)
+                .forEach(r -> metrics.recordStage(r.stage(), r.status().name(), Duration.ofMillis(r.durationMs())));
+
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        results.forEach(r -> log.info("   • {} → {} ({} ms){}", r.stage(), r.status(), r.durationMs(),
+                r.error() != null ? " — " + r.error() : ""));
+        long sum = results.stream().mapToLong(StageResult::durationMs).sum();
+        log.info("🕸️ Pipeline concluído em {} ms (soma dos estágios: {} ms)", wallMs, sum);
+        return new PipelineReport(results, wallMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    /** Completa quando a thread do estágio saiu ou quando a tolerância acabou (o que vier antes). */
+    private CompletableFuture<Outcome> settled(PipelineStage stage, Outcome outcome) {
+        if (outcome.exited().isDone()) return CompletableFuture.completedFuture(outcome);
+        return outcome.exited().copy()
+                .thenApply(ignored -> Boolean.TRUE)
+                .completeOnTimeout(Boolean.FALSE, grace.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(exited -> {
+                    if (!exited) {
+                        log.warn("⚠️ Estágio '{}' ainda em execução {} s após o timeout — seguindo sem ele",
+                                stage.name(), grace.toSeconds());
+                    }
+                    return outcome;
+                });
+    }
+
+    // ==============================================================
+    // 🔧 Execução de um estágio
+    // ==============================================================
+    private CompletableFuture<Outcome> launch(PipelineStage stage,
+                                              Map<String, CompletableFuture<Outcome>> upstream,
+                                              Duration timeout,
+                                              Map<String, String> mdc) {
+        if (!stage.enabled()) {
+            return CompletableFuture.completedFuture(
+                    new Outcome(new StageResult(stage.name(), StageResult.Status.DISABLED, 0, 0, null), null, NOT_STARTED));
+        }
+        if (stage.deferred()) {
+            return CompletableFuture.completedFuture(
+                    new Outcome(new StageResult(stage.name(), StageResult.Status.DEFERRED, 0, 0, null), null, NOT_STARTED));
+        }
+
+        Map<String, Object> outputs = new HashMap<>();
+        for (String input : stage.inputs()) {
+            Outcome up = upstream.get(input).join();
+            if (up.result().status() != StageResult.Status.SUCCESS) {
+                String reason = "dependência '" + input + "' terminou com " + up.result().status();
+                return CompletableFuture.completedFuture(
+                        new Outcome(new StageResult(stage.name(), StageResult.Status.SKIPPED, 0, 0, reason), null,
+                                NOT_STARTED));
+            }
+            outputs.put(input, up.output());
+        }
+        for (String previous : stage.after()) {
+            Outcome up = upstream.get(previous).join();
+            if (up.result().status() == StageResult.Status.SUCCESS) outputs.put(previous, up.output());
+        }
+
+        CompletableFuture<Outcome> result = new CompletableFuture<>();
+        CompletableFuture<Void> exited = new CompletableFuture<>();
+        AtomicLong startedAt = new AtomicLong();
+        AtomicLong cpuAtStart = new AtomicLong();
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        AtomicInteger state = new AtomicInteger(RUNNING);
+        pool.execute(() -> {
+            if (result.isDone()) {
+                exited.complete(null);
+                return;
+            }
+            if (mdc != null) MDC.setContextMap(mdc);
+            runner.set(Thread.currentThread());
+            cpuAtStart.set(cpuNanos(Thread.currentThread()));
+            startedAt.set(System.nanoTime());
+
+            // o prazo conta a partir do início da execução, não do tempo na fila
+            ScheduledFuture<?> guard = watchdog.schedule(() -> {
+                Outcome timedOut = new Outcome(result(stage, StageResult.Status.TIMEOUT, startedAt.get(),
+                        cpuAtStart.get(), runner.get(), "excedeu " + timeout.toMillis() + " ms"), null, exited);
+                if (result.complete(timedOut)) {
+                    log.warn("⏰ Estágio '{}' excedeu {} ms — interrompendo", stage.name(), timeout.toMillis());
+                    // só interrompe se o estágio ainda não saiu: a thread pode já estar em outro estágio
+                    if (state.compareAndSet(RUNNING, INTERRUPTING)) {
+                        Thread t = runner.get();
+                        if (t != null) t.interrupt();
+                        state.set(INTERRUPTED);
+                    }
+                }
+            }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+            StageEvent event = StageEvent.start(stage.name(), null);
+            try {
+                Object output = stage.action().run(new PipelineStage.StageInputs(outputs));
+                result.complete(new Outcome(result(stage, StageResult.Status.SUCCESS, startedAt.get(),
+                        cpuAtStart.get(), Thread.currentThread(), null), output, exited));
+            } catch (Throwable e) {
+                Outcome failed = new Outcome(result(stage, StageResult.Status.FAILED, startedAt.get(),
+                        cpuAtStart.get(), Thread.currentThread(), String.valueOf(e.getMessage())), null, exited);
+                if (result.complete(failed)) {
+                    log.error("❌ Estágio '{}' falhou: {}", stage.name(), e.getMessage(), e);
+                }
+            } finally {
+                event.finish(result.join().result().status().name());
+                guard.cancel(false);
+                if (!state.compareAndSet(RUNNING, FINISHED)) {
+                    // o watchdog venceu: espera o interrupt() chegar antes de limpá-lo
+                    while (state.get() != INTERRUPTED) Thread.onSpinWait();
+                }
+                runner.set(null);
+                Thread.interrupted(); // não vaza a interrupção do watchdog para o próximo estágio
+                MDC.clear();
+                exited.complete(null);
+            }
+        });
+        return result;
+    }
+
+    private static StageResult result(PipelineStage stage, StageResult.Status status, long startedAt,
+                                      long cpuAtStart, Thread runner, String error) {
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        long cpuNow = cpuNanos(runner);
+        long cpuMs = cpuAtStart < 0 || cpuNow < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(cpuNow - cpuAtStart);
+        return new StageResult(stage.name(), status, ms, cpuMs, error);
+    }
+
+    private static long cpuNanos(Thread thread) {
+        if (thread == null || !THREADS.isThreadCpuTimeSupported()) return -1;
+        return thread == Thread.currentThread()
+                ? THREADS.getCurrentThreadCpuTime()
+                : THREADS.getThreadCpuTime(thread.getId());
+    }
+
+    /** Prioridade: definido no código → pipeline.timeouts.<estágio> → pipeline.stageTimeoutMinutes. */
+    private static Duration timeoutOf(PipelineStage stage, EffectiveConfig.Pipeline cfg) {
+        if (stage.timeout() != null) return stage.timeout();
+        Integer minutes = cfg.timeouts().get(stage.name());
+        return Duration.ofMinutes(Math.max(1, minutes != null ? minutes : cfg.stageTimeoutMinutes()));
+    }
+
+    /** Kahn: valida nomes/dependências e rejeita ciclos. */
+    private static List<PipelineStage> topologicalOrder(List<PipelineStage> stages) {
+        Map<String, PipelineStage> byName = new LinkedHashMap<>();
+        for (PipelineStage s : stages) {
+            if (byName.put(s.name(), s) != null) {
+                throw new IllegalArgumentException("Estágio duplicado: " + s.name());
+            }
+        }
+
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (PipelineStage s : stages) {
+            List<String> deps = new ArrayList<>(s.inputs());
+            deps.addAll(s.after());
+            for (String d : deps) {
+                if (!byName.containsKey(d)) {
+                    throw new IllegalArgumentException("Estágio '" + s.name() + "' depende de '" + d + "' inexistente");
+                }
+                dependents.computeIfAbsent(d, k -> new ArrayList<>()).add(s.name());
+            }
+            pending.put(s.name(), deps.size());
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        pending.forEach((name, count) -> { if (count == 0) ready.add(name); });
+        List<PipelineStage> ordered = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            ordered.add(byName.get(name));
+            for (String dep : dependents.getOrDefault(name, List.of())) {
+                if (pending.merge(dep, -1, Integer::sum) == 0) ready.add(dep);
+            }
+        }
+        if (ordered.size() != stages.size()) {
+            throw new IllegalArgumentException("Ciclo detectado no pipeline de estágios");
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.legacylens.application.planner;
+
+import br.com.legacylens.config.LegacyLensConfig;
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.ConfigOverrides;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.ExecutionPlan;
+import br.com.legacylens.domain.model.ProjectProfile;
+import br.com.legacylens.domain.ports.ProjectProfilerPort;
+import br.com.legacylens.infrastructure.metrics.AnalysisMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🧭 ExecutionPlanner
+ * -----------------------------------------
+ * Amostra o projeto ({@link ProjectProfilerPort}) e escolhe como analisá-lo:
+ *  - paralelismo pelos núcleos, reduzido se a estimativa de heap estourar a fatia desta análise
+ *  - UML pelo fonte (sem build) quando o projeto é enorme e não há classes compiladas
+ *  - diagramas particionados e Excel sem autosize/janela menor em projetos grandes
+ * Nenhum artefato é desligado pelo tamanho — projetos grandes recebem estratégias mais rápidas.
+ */
+@Slf4j
+@Component
+public class ExecutionPlanner {
+
+    private static final int SMALL_PROJECT_FILES = 200;
+    private static final int FILES_PER_WORKER = 50;
+    private static final int LARGE_EXCEL_ROW_WINDOW = 50;
+
+    private final ProjectProfilerPort profiler;
+    private final AnalysisMetrics metrics;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public ExecutionPlanner(LegacyLensConfigLoader configLoader, ProjectProfilerPort profiler, AnalysisMetrics metrics) {
+        this.profiler = profiler;
+        this.metrics = metrics;
+    }
+
+    /** Perfil → plano → configuração efetiva (YAML → auto/plano → requisição). */
+    public AnalysisContext prepare(String analysisId, Path project, ConfigOverrides overrides) {
+        ProjectProfile profile = profiler.profile(project);
+        LegacyLensConfig base = LegacyLensConfigLoader.get();
+        ExecutionPlan plan = plan(profile, base, Runtime.getRuntime().maxMemory(),
+                Runtime.getRuntime().availableProcessors(), Math.max(1, metrics.inFlight()));
+        EffectiveConfig config = LegacyLensConfigLoader.effective(profile, plan, overrides);
+
+        log.info("🧭 Plano {}: paralelismo={} uml={} maxClasses={} excel(janela={}, autosize={}) heap≈{}/{} MB",
+                plan.size(), plan.parallelism(), plan.umlMode(), plan.umlMaxClasses(),
+                plan.excelRowWindow(), plan.excelAutosize(), plan.estimatedHeapMb(), plan.memoryBudgetMb());
+        plan.reasons().forEach(r -> log.info("   • {}", r));
+        return new AnalysisContext(analysisId, config, plan);
+    }
+
+    // ==============================================================
+    // 🧠 Decisão (pura: mesmo perfil + mesmos recursos → mesmo plano)
+    // ==============================================================
+    static ExecutionPlan plan(ProjectProfile profile, LegacyLensConfig base, long maxHeapBytes,
+                              int cores, int analysesInFlight) {
+        var cfg = base.getPlanner();
+        List<String> reasons = new ArrayList<>();
+        long files = profile.javaFiles();
+        String count = (profile.complete() ? "" : "≥") + files + " arquivos .java";
+
+        ExecutionPlan.Size size = files >= cfg.getLargeProjectFiles() ? ExecutionPlan.Size.LARGE
+                : files >= SMALL_PROJECT_FILES ? ExecutionPlan.Size.MEDIUM
+                : ExecutionPlan.Size.SMALL;
+
+        // --- Memória: fatia do heap desta análise x estimativa pelo volume de fonte ---
+        long budgetMb = maxHeapBytes / (1024 * 1024) * Math.max(1, cfg.getHeapPercent()) / 100 / analysesInFlight;
+        long estimatedMb = profile.sourceBytes() * Math.max(1, cfg.getHeapBytesPerSourceByte()) / (1024 * 1024);
+
+        // --- Paralelismo ---
+        int parallelism = (int) Math.max(1, Math.min(cores, (files + FILES_PER_WORKER - 1) / FILES_PER_WORKER));
+        if (estimatedMb > budgetMb && parallelism > 1) {
+            int reduced = (int) Math.max(1, parallelism * budgetMb / Math.max(1, estimatedMb));
+            reasons.add("paralelismo " + parallelism + " → " + reduced + ": heap estimado " + estimatedMb
+                    + " MB acima da fatia de " + budgetMb + " MB (" + analysesInFlight + " análise(s) em andamento)");
+            parallelism = reduced;
+        } else {
+            reasons.add("paralelismo " + parallelism + " para " + count + " em " + cores + " núcleos");
+        }
+
+        // --- UML: compilar ou ler do fonte ---
+        ExecutionPlan.UmlMode umlMode = ExecutionPlan.UmlMode.COMPILED;
+        if (!profile.compiled() && files >= cfg.getSourceOnlyUmlFiles()) {
+            umlMode = ExecutionPlan.UmlMode.SOURCE_ONLY;
+            reasons.add("UML pelo fonte: " + count + " sem classes compiladas (build seria o gargalo)");
+        }
+
+        // --- Particionamento e Excel ---
+        int maxClasses = base.getUml().getMaxClasses();
+        int rowWindow = base.getReports().getExcel().getRowWindow();
+        boolean autosize = base.getReports().getExcel().isAutosizeColumns();
+        if (size == ExecutionPlan.Size.LARGE) {
+            if (cfg.getPartitionMaxClasses() < maxClasses) {
+                maxClasses = cfg.getPartitionMaxClasses();
+                reasons.add("diagramas particionados em até " + maxClasses + " classes");
+            }
+            if (autosize || rowWindow > LARGE_EXCEL_ROW_WINDOW) {
+                autosize = false;
+                rowWindow = Math.min(rowWindow, LARGE_EXCEL_ROW_WINDOW);
+                reasons.add("Excel em streaming com janela de " + rowWindow + " linhas e sem autosize");
+            }
+        }
+
+        return new ExecutionPlan(size, parallelism, umlMode, maxClasses, rowWindow, autosize,
+                budgetMb, estimatedMb, reasons);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.legacylens.config;
 
 import lombok.Data;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -19,6 +20,18 @@ public class LegacyLensConfig {
     private Execution execution = new Execution();
     private Theme theme = new Theme();
     private Validation validation = new Validation();
+    private Render render = new Render();
+    private Pipeline pipeline = new Pipeline();
+    private Diagnostics diagnostics = new Diagnostics();
+    private Planner planner = new Planner();
+    private Incremental incremental = new Incremental();
+    private Store store = new Store();
+    private Artifacts artifacts = new Artifacts();
+    private Dependencies dependencies = new Dependencies();
+    private Clones clones = new Clones();
+    private Sources sources = new Sources();
+    private Regex regex = new Regex();
+    private Distributed distributed = new Distributed();
 
     /** 🔧 Normaliza valores nulos após o carregamento */
     public void sanitize() {
@@ -29,6 +42,18 @@ public class LegacyLensConfig {
         if (execution == null) execution = new Execution();
         if (theme == null) theme = new Theme();
         if (validation == null) validation = new Validation();
+        if (render == null) render = new Render();
+        if (pipeline == null) pipeline = new Pipeline();
+        if (diagnostics == null) diagnostics = new Diagnostics();
+        if (planner == null) planner = new Planner();
+        if (incremental == null) incremental = new Incremental();
+        if (store == null) store = new Store();
+        if (artifacts == null) artifacts = new Artifacts();
+        if (dependencies == null) dependencies = new Dependencies();
+        if (clones == null) clones = new Clones();
+        if (sources == null) sources = new Sources();
+        if (regex == null) regex = new Regex();
+        if (distributed == null) distributed = new Distributed();
     }
 
     // ============================================================
@@ -139,7 +164,8 @@ public class LegacyLensConfig {
             private boolean includeTimestamp = true;
             private String style = "corporate";
             private boolean autosizeColumns = true;
-            private int maxRows = 5000;
+            private int maxRows = 5000;           // linhas por aba (acima disso a aba é dividida)
+            private int rowWindow = 100;          // linhas mantidas em memória pelo SXSSF
 
             // 👇 Retrocompatibilidade
             public void setSheet(String name) { this.sheetName = name; }
@@ -159,6 +185,165 @@ public class LegacyLensConfig {
         }
     }
 
+    // ============================================================
+    // 🔹 RENDER (PlantUML → SVG/PNG)
+    // ============================================================
+    @Data
+    public static class Render {
+        private boolean enabled = false;
+        private List<String> formats = List.of("svg");
+        private int threads = 0;                   // 0 = metade dos núcleos
+        private int timeoutSeconds = 60;           // por diagrama
+        private long maxSourceBytes = 1_000_000;   // acima disso o .puml não é renderizado
+        private int maxImageSize = 8192;           // limite de pixels por renderização (px)
+        private String cacheDir = "output/.render-cache";
+        private int cacheMaxAgeDays = 30;          // imagens não usadas há mais tempo saem do cache (0 = sem limite)
+        private long cacheMaxMb = 512;             // acima disso saem as menos usadas recentemente (0 = sem limite)
+        private int cacheCleanupIntervalMinutes = 60;
+
+        // 👇 Garantia contra nulos
+        public List<String> getFormats() {
+            return Objects.requireNonNullElse(formats, List.of("svg"));
+        }
+
+        // 👇 Retrocompatibilidade
+        public void setFormat(String value) { this.formats = List.of(value); }
+    }
+
+    // ============================================================
+    // 🔹 PIPELINE (DAG de estágios de geração)
+    // ============================================================
+    @Data
+    public static class Pipeline {
+        private int parallelism = 0;               // 0 = núcleos disponíveis
+        private int stageTimeoutMinutes = 15;      // padrão por estágio
+        private int timeoutGraceSeconds = 30;      // após o timeout, espera a thread do estágio sair (I/O não é interrompível)
+        private Map<String, Integer> timeouts = Map.of();  // sobrescrita por estágio (minutos)
+
+        // 👇 Garantia contra nulos
+        public Map<String, Integer> getTimeouts() {
+            return Objects.requireNonNullElse(timeouts, Map.of());
+        }
+    }
+
+    // ============================================================
+    // 🔹 PLANNER (amostragem do projeto → plano de execução)
+    // ============================================================
+    @Data
+    public static class Planner {
+        private int walkLimit = 50_000;            // .java contados antes de parar (estimativa ≥ limite)
+        private int sampleFiles = 200;             // arquivos lidos na amostra de conteúdo
+        private int sampleBytesPerFile = 65_536;
+        private int largeProjectFiles = 2_000;     // particiona diagramas e enxuga o Excel
+        private int sourceOnlyUmlFiles = 8_000;    // sem classes compiladas: UML pelo fonte
+        private int partitionMaxClasses = 200;
+        private int heapPercent = 60;              // fatia do heap para as análises em andamento
+        private int heapBytesPerSourceByte = 6;
+    }
+
+    // ============================================================
+    // 🔹 INCREMENTAL (estado por projeto → só o que mudou é reprocessado)
+    // ============================================================
+    @Data
+    public static class Incremental {
+        private boolean enabled = true;
+        private String stateDir = "output/.state";
+        private int fullRebuildPercent = 50;       // acima disso reprocessa tudo
+    }
+
+    // ============================================================
+    // 🔹 STORE (análises consultáveis sem reler as fontes)
+    // ============================================================
+    @Data
+    public static class Store {
+        private boolean enabled = true;
+        private String file = "output/.store/analyses.mv.db";
+        private int keepPerProject = 10;           // análises guardadas por projeto (mais antigas são removidas)
+        private int defaultPageSize = 50;
+        private int maxPageSize = 500;
+    }
+
+    // ============================================================
+    // 🔹 ARTIFACTS (diretório por job + blobs deduplicados)
+    // ============================================================
+    @Data
+    public static class Artifacts {
+        private String dir = "output/jobs";
+        private String blobDir = "output/.blobs";
+        private boolean compress = false;          // gzip em repouso (só extensões compressíveis)
+        private List<String> compressExtensions = List.of("puml", "csv", "txt", "svg", "md", "html");
+        private int maxAgeHours = 168;             // jobs mais antigos são removidos (0 = sem limite)
+        private long maxTotalMb = 2048;            // acima disso remove os jobs mais antigos (0 = sem limite)
+        private int cleanupIntervalMinutes = 30;
+    }
+
+    @Data
+    public static class Dependencies {
+        private String localRepository = "";       // vazio = -Dmaven.repo.local ou ~/.m2/repository
+        private int modelCacheSize = 5000;         // POMs externos (parents/BOMs) mantidos entre análises
+        private boolean transitive = true;         // grafo transitivo (nearest wins) a partir do repositório local
+        private int maxDepth = 0;                  // profundidade máxima do grafo (0 = sem limite)
+        private int descriptorCacheSize = 20000;   // descritores de artefatos mantidos entre análises
+    }
+
+    // ============================================================
+    // 🔹 CLONES (MinHash/LSH sobre shingles de tokens)
+    // ============================================================
+    @Data
+    public static class Clones {
+        private boolean enabled = true;
+        private int minTokens = 50;                // métodos menores não entram
+        private int shingleSize = 5;               // tokens por shingle
+        private int numHashes = 128;               // tamanho da assinatura MinHash
+        private int bands = 16;                    // bandas do LSH (numHashes / bands linhas cada)
+        private double threshold = 0.8;            // similaridade (Jaccard estimado) mínima
+        private int maxBucketSize = 200;           // buckets maiores: cada membro vs. um representante
+        private int minClassMethods = 2;           // classes com menos métodos não entram no nível de classe
+        private boolean includeTests = false;
+    }
+
+    // ============================================================
+    // 🔹 SOURCES (leitura dos .java)
+    // ============================================================
+    @Data
+    public static class Sources {
+        private String legacyCharset = "windows-1252"; // arquivos que não são UTF-8 válido (nem têm BOM)
+        private int mmapThresholdKb = 4096;            // a partir daqui o arquivo é mapeado em vez de lido
+    }
+
+    // ============================================================
+    // 🔹 REGEX (orçamento das heurísticas sobre fontes)
+    // ============================================================
+    @Data
+    public static class Regex {
+        private boolean guardEnabled = true;
+        private int stepsPerChar = 10000;          // leituras de caractere por caractere da entrada
+        private long minSteps = 10_000_000;        // piso para arquivos pequenos
+        private long timeoutMs = 5000;             // tempo máximo de uma unidade (arquivo × padrão)
+    }
+
+    // ============================================================
+    // 🔹 DISTRIBUTED (coordenador + workers sobre fila em diretório)
+    // ============================================================
+    @Data
+    public static class Distributed {
+        private int leaseSeconds = 60;             // sem heartbeat por esse tempo, a tarefa volta para a fila
+        private long pollMillis = 500;             // intervalo de consulta da fila (workers e coordenador)
+        private int maxAttempts = 3;               // leases expirados antes de a tarefa ser dada como falha
+        private boolean perModule = false;         // divide projetos multi-módulo em uma tarefa por módulo
+    }
+
+    // ============================================================
+    // 🔹 DIAGNOSTICS (gravações JFR sob demanda)
+    // ============================================================
+    @Data
+    public static class Diagnostics {
+        private boolean jfrEnabled = false;       // endpoint actuator "jfr"; também precisa estar exposto
+        private int jfrMaxDurationSeconds = 300;   // prazo máximo de uma gravação
+        private String jfrSettings = "profile";    // default | profile
+        private String jfrDir = "output/.jfr";
+    }
+
     // ============================================================
     // 🔹 EXECUTION
     // ============================================================
@@ -172,6 +357,8 @@ public class LegacyLensConfig {
         private boolean skipTests = true;
         private boolean cleanBeforeCompile = true;
         private boolean detectMultiModule = true;
+        private int maxConcurrentBuilds = 0;      // 0 = metade dos núcleos
+        private int buildOutputLines = 200;       // tamanho do ring buffer da saída do build
 
         // 👇 Retrocompatibilidade
         public void setCompileTimeout(int value) { this.compileTimeoutMinutes = value; }
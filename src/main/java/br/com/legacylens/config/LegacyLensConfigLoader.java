@@ -1,22 +1,33 @@
 package br.com.legacylens.config;
 
+import br.com.legacylens.domain.model.ConfigOverrides;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.ExecutionPlan;
+import br.com.legacylens.domain.model.ProjectProfile;
+import br.com.legacylens.domain.model.ReportFormat;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
 
-import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 /**
- * 🔧 Carrega o legacylens.yml e aplica heurísticas automáticas.
- * Detecta arquitetura (Spring, Camel, etc.), multi-módulo e ajusta configuração.
+ * 🔧 Carrega o legacylens.yml e monta a configuração efetiva de cada análise
+ * ({@link #effective}): perfil amostrado + plano de execução + sobrescritas da
+ * requisição, sem alterar a base compartilhada.
  */
 @Slf4j
 @Component
@@ -31,19 +42,45 @@ public class LegacyLensConfigLoader {
     @Value("${legacylens.config.location:}")
     private String yamlLocation;
 
-    private static LegacyLensConfig config;
-    private static Path lastAnalyzedPath;
+    /** Arquivo do histórico por processo (ex.: --legacylens.store.file=... de cada worker); vence o YAML. */
+    @Value("${legacylens.store.file:}")
+    private String storeFile;
+
+    /** app.report.formats (application.yaml): artefatos gerados quando a requisição não escolhe. */
+    @Autowired
+    private Environment environment;
+
+    private static volatile List<ReportFormat> defaultFormats = Arrays.asList(ReportFormat.values());
+
+    /** Base do processo (YAML); análises trabalham sobre snapshots imutáveis ({@link #effective}). */
+    private static volatile LegacyLensConfig config;
+
+    /** Sobrescritas vindas do Environment, reaplicadas a cada {@link #reload}. */
+    private static volatile String storeFileOverride;
 
     @PostConstruct
     public void init() {
+        List<String> reportFormats = environment == null ? null : Binder.get(environment)
+                .bind("app.report.formats", Bindable.listOf(String.class)).orElse(null);
+        if (reportFormats != null) {
+            defaultFormats = parseFormats(reportFormats);
+            reportFormats.stream()
+                    .filter(f -> ReportFormat.parse(f).isEmpty())
+                    .forEach(f -> log.info("ℹ️ app.report.formats: '{}' não é gerado pelo pipeline — ignorado", f));
+        }
+
+        storeFileOverride = storeFile == null || storeFile.isBlank() ? null : storeFile;
+
         if (!yamlEnabled) {
-            config = new LegacyLensConfig();
+            config = applyEnvironment(new LegacyLensConfig());
             log.warn("⚠️ YAML desativado — aplicando defaults.");
             return;
         }
 
-        config = loadYamlConfig();
-        if (config == null) config = new LegacyLensConfig();
+        LegacyLensConfig loaded = loadYamlConfig();
+        if (loaded == null) loaded = new LegacyLensConfig();
+        loaded.sanitize();
+        config = applyEnvironment(loaded);
 
         // Garantia extra: nunca deixar sequence nula
         if (config.getSequence() == null) {
@@ -86,95 +123,127 @@ public class LegacyLensConfigLoader {
     }
 
     // ============================================================
-    // 🧠 Heurística automática — applyAutoIntelligence
+    // 🧊 Configuração efetiva por análise (YAML → auto/plano → requisição)
     // ============================================================
-    public static void applyAutoIntelligence(Path projectPath) {
-        if (projectPath == null || !Files.exists(projectPath)) {
-            log.warn("⚠️ Caminho inválido para aplicar inteligência automática.");
-            return;
+    public static EffectiveConfig effective(ProjectProfile profile, ExecutionPlan plan, ConfigOverrides overrides) {
+        LegacyLensConfig base = get();
+        List<String> adjustments = new ArrayList<>();
+
+        boolean multiModule = base.getExecution().isDetectMultiModule();
+        boolean fallback = base.getUml().isFallbackEnabled();
+        int maxClasses = base.getUml().getMaxClasses();
+        int rowWindow = base.getReports().getExcel().getRowWindow();
+        boolean autosize = base.getReports().getExcel().isAutosizeColumns();
+
+        // === Inteligência automática (perfil amostrado) ===
+        if (profile.modernArchitecture() != multiModule) {
+            multiModule = profile.modernArchitecture();
+            adjustments.add("execution.detectMultiModule=" + multiModule + " (auto: " + profile.architecture() + ")");
+        }
+        log.info(multiModule
+                ? "🧩 Modo multi-módulo ativado automaticamente (arquitetura moderna)."
+                : "📦 Projeto simples — multi-módulo desativado.");
+        if (!profile.compiled() && !fallback) {
+            fallback = true;
+            adjustments.add("uml.fallbackEnabled=true (auto: sem target/classes)");
+            log.warn("⚠️ Sem diretório de compilação — ativando fallback manual.");
         }
-        lastAnalyzedPath = projectPath;
 
-        try {
-            long javaFiles = countJavaFiles(projectPath);
-            String architecture = detectArchitecture(projectPath);
-
-            boolean isSpring = architecture.contains("Spring");
-            boolean isCamunda = architecture.contains("Camunda");
-            boolean isCamel = architecture.contains("Camel");
-            boolean isFeign = architecture.contains("Feign");
-            boolean isJakarta = architecture.contains("Jakarta");
-            boolean isLarge = javaFiles > 500;
-
-            log.info("🧠 AutoIntelligence: arquitetura={} | classes={}", architecture, javaFiles);
-
-            // === Ajuste de sequence ===
-            if (isLarge) {
-                config.getSequence().setEnabled(false);
-                log.warn("⚠️ Sequence Diagram desativado (projeto grande ou legado).");
-            } else {
-                config.getSequence().setEnabled(true);
-            }
+        // === Plano de execução ===
+        maxClasses = adjust("uml.maxClasses", plan.umlMaxClasses(), maxClasses, "plano", adjustments);
+        rowWindow = adjust("reports.excel.rowWindow", plan.excelRowWindow(), rowWindow, "plano", adjustments);
+        autosize = adjust("reports.excel.autosizeColumns", plan.excelAutosize(), autosize, "plano", adjustments);
 
-            // === Ajuste de multi-módulo ===
-            if (isSpring || isCamunda || isCamel || isFeign) {
-                config.getExecution().setDetectMultiModule(true);
-                log.info("🧩 Modo multi-módulo ativado automaticamente (arquitetura moderna).");
-            } else {
-                config.getExecution().setDetectMultiModule(false);
-                log.info("📦 Projeto simples — multi-módulo desativado.");
-            }
+        // === Sobrescritas da requisição (prevalecem sobre heurística e plano) ===
+        ConfigOverrides o = overrides != null ? overrides : ConfigOverrides.none();
+        boolean sequence = override("sequence.enabled", o.sequence(), base.getSequence().isEnabled(), adjustments);
+        multiModule = override("execution.detectMultiModule", o.multiModule(), multiModule, adjustments);
+        boolean umlEnabled = override("uml.enabled", o.uml(), base.getUml().isEnabled(), adjustments);
+        boolean excelEnabled = override("reports.excel.enabled", o.excel(), base.getReports().getExcel().isEnabled(), adjustments);
+        boolean renderEnabled = override("render.enabled", o.render(), base.getRender().isEnabled(), adjustments);
+        List<String> formats = override("render.formats", sanitizeFormats(o.renderFormats()),
+                base.getRender().getFormats(), adjustments);
+        maxClasses = override("uml.maxClasses", positive(o.maxClasses()), maxClasses, adjustments);
+        int compileTimeout = override("execution.compileTimeoutMinutes", positive(o.compileTimeoutMinutes()),
+                base.getExecution().getCompileTimeoutMinutes(), adjustments);
+        int stageTimeout = override("pipeline.stageTimeoutMinutes", positive(o.stageTimeoutMinutes()),
+                base.getPipeline().getStageTimeoutMinutes(), adjustments);
+        boolean incremental = override("incremental.enabled", o.incremental(),
+                base.getIncremental().isEnabled(), adjustments);
+        List<ReportFormat> requested = override("artifacts",
+                Optional.ofNullable(o.artifacts()).map(LegacyLensConfigLoader::parseFormats).orElse(null),
+                defaultFormats, adjustments);
 
-            // === Verifica build directory ===
-            Path target = projectPath.resolve("target/classes");
-            if (!Files.exists(target)) {
-                log.warn("⚠️ Sem diretório de compilação — ativando fallback manual.");
-                config.getUml().setFallbackEnabled(true);
-            }
+        // habilitados e não pedidos: adiados (gerados no primeiro download)
+        List<ReportFormat> deferred = new ArrayList<>();
+        if (umlEnabled && !requested.contains(ReportFormat.UML)) deferred.add(ReportFormat.UML);
+        if (sequence && !requested.contains(ReportFormat.SEQUENCE)) deferred.add(ReportFormat.SEQUENCE);
+        if (excelEnabled && !requested.contains(ReportFormat.EXCEL)) deferred.add(ReportFormat.EXCEL);
+        boolean clonesEnabled = base.getClones().isEnabled();
+        if (clonesEnabled && !requested.contains(ReportFormat.CLONES)) deferred.add(ReportFormat.CLONES);
 
-        } catch (Exception e) {
-            log.warn("⚠️ Falha ao aplicar inteligência automática: {}", e.getMessage());
-        }
+        var general = base.getGeneral();
+        var uml = base.getUml();
+        var render = base.getRender();
+        var exec = base.getExecution();
+        var inc = base.getIncremental();
+        var clones = base.getClones();
+        int bands = Math.max(1, clones.getBands());
+        int rows = Math.max(1, clones.getNumHashes() / bands);
+        return new EffectiveConfig(
+                new EffectiveConfig.General(general.isDeleteTemp(), general.getOutputDir(), general.isTimestampedOutput()),
+                new EffectiveConfig.Uml(umlEnabled, uml.isIncludeInterfaces(), uml.isIncludeAbstract(),
+                        uml.isIncludeRelationships(), maxClasses, uml.isTruncateLongPackages(), fallback),
+                new EffectiveConfig.Sequence(sequence, base.getSequence().getMode(), base.getSequence().getMaxDepth()),
+                new EffectiveConfig.Excel(excelEnabled, autosize, base.getReports().getExcel().getMaxRows(), rowWindow),
+                new EffectiveConfig.Render(renderEnabled, formats, render.getTimeoutSeconds(),
+                        render.getMaxSourceBytes(), render.getCacheDir()),
+                new EffectiveConfig.Pipeline(stageTimeout, base.getPipeline().getTimeouts()),
+                new EffectiveConfig.Execution(compileTimeout, exec.isFallbackToJavaCompiler(), multiModule,
+                        exec.isSkipTests(), exec.getBuildOutputLines()),
+                new EffectiveConfig.Incremental(incremental, inc.getStateDir(), inc.getFullRebuildPercent()),
+                new EffectiveConfig.Clones(clonesEnabled, Math.max(1, clones.getMinTokens()),
+                        Math.max(1, clones.getShingleSize()), bands * rows, bands, clones.getThreshold(),
+                        Math.max(2, clones.getMaxBucketSize()), Math.max(1, clones.getMinClassMethods()),
+                        clones.isIncludeTests()),
+                new EffectiveConfig.Formats(requested, deferred),
+                adjustments);
     }
 
-    // ============================================================
-    // 🔧 Utilitários internos
-    // ============================================================
-    private static long countJavaFiles(Path root) {
-        try (Stream<Path> stream = Files.walk(root)) {
-            return stream.filter(p -> p.toString().endsWith(".java")).count();
-        } catch (IOException e) {
-            return 0;
-        }
+    private static <T> T adjust(String key, T planned, T current, String origin, List<String> adjustments) {
+        if (planned.equals(current)) return current;
+        adjustments.add(key + "=" + planned + " (" + origin + ")");
+        return planned;
     }
 
-    private static String detectArchitecture(Path srcDir) {
-        try (Stream<Path> stream = Files.walk(srcDir)) {
-            return stream.filter(p -> p.toString().endsWith(".java"))
-                    .map(p -> {
-                        try {
-                            String content = Files.readString(p);
-                            if (content.contains("@RestController") || content.contains("@SpringBootApplication"))
-                                return "Spring Boot";
-                            if (content.contains("Camunda") || content.contains("ProcessEngine"))
-                                return "Camunda BPM";
-                            if (content.contains("camelContext") || content.contains("RouteBuilder"))
-                                return "Apache Camel";
-                            if (content.contains("@FeignClient"))
-                                return "Feign Client";
-                            if (content.contains("jakarta.persistence") || content.contains("@Entity"))
-                                return "Jakarta EE / JPA";
-                            return null;
-                        } catch (IOException e) {
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .findFirst()
-                    .orElse("Java Puro");
-        } catch (IOException e) {
-            return "Desconhecida";
-        }
+    private static <T> T override(String key, T requested, T current, List<String> adjustments) {
+        if (requested == null || requested.equals(current)) return current;
+        adjustments.add(key + "=" + requested + " (requisição)");
+        return requested;
+    }
+
+    private static Integer positive(Integer value) {
+        return value == null ? null : Math.max(1, value);
+    }
+
+    /** Nomes desconhecidos são descartados; "NONE" (ou lista vazia) = nenhum artefato além do scan. */
+    private static List<ReportFormat> parseFormats(List<String> names) {
+        return names.stream()
+                .map(ReportFormat::parse)
+                .flatMap(Optional::stream)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private static List<String> sanitizeFormats(List<String> formats) {
+        if (formats == null) return null;
+        List<String> valid = formats.stream()
+                .map(f -> f.trim().toLowerCase())
+                .filter(f -> f.equals("svg") || f.equals("png"))
+                .distinct()
+                .toList();
+        return valid.isEmpty() ? null : valid;
     }
 
     // ============================================================
@@ -189,10 +258,16 @@ public class LegacyLensConfigLoader {
         return config;
     }
 
+    /** Análises em andamento mantêm o snapshot que já receberam; só as próximas enxergam o YAML novo. */
     public static void reload() {
         log.info("🔄 Recarregando configurações do LegacyLens...");
-        LegacyLensConfigLoader loader = new LegacyLensConfigLoader();
-        config = loader.loadYamlConfig();
-        if (lastAnalyzedPath != null) applyAutoIntelligence(lastAnalyzedPath);
+        LegacyLensConfig reloaded = new LegacyLensConfigLoader().loadYamlConfig();
+        reloaded.sanitize();
+        config = applyEnvironment(reloaded);
+    }
+
+    private static LegacyLensConfig applyEnvironment(LegacyLensConfig cfg) {
+        if (storeFileOverride != null) cfg.getStore().setFile(storeFileOverride);
+        return cfg;
     }
 }
@@ -0,0 +1,28 @@
+package br.com.legacylens.domain.model;
+
+/**
+ * Contexto de uma análise, passado explicitamente pelos ports:
+ * id (o mesmo do MDC/JFR), o projeto (URL Git ou nome do upload; null fora da API),
+ * a configuração efetiva congelada no início da análise, o plano de execução escolhido
+ * pelo planejador e a sessão de reanálise incremental.
+ */
+public record AnalysisContext(
+        String analysisId,
+        String projectKey,
+        EffectiveConfig config,
+        ExecutionPlan plan,
+        IncrementalSession incremental
+) {
+
+    public AnalysisContext(String analysisId, EffectiveConfig config, ExecutionPlan plan) {
+        this(analysisId, null, config, plan, IncrementalSession.disabled());
+    }
+
+    public AnalysisContext withProjectKey(String key) {
+        return new AnalysisContext(analysisId, key, config, plan, incremental);
+    }
+
+    public AnalysisContext withIncremental(IncrementalSession session) {
+        return new AnalysisContext(analysisId, projectKey, config, plan, session);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.legacylens.domain.model;
+
+/**
+ * 🗄️ O que uma análise grava no armazenamento de consultas:
+ * classes/endpoints (inventário), injeções e chamadas (sequence) e dependências (scan).
+ * calls vazio quando o estágio de sequence está desligado ou falhou.
+ */
+public record AnalysisFacts(
+        String analysisId,
+        String projectKey,
+        String outputDir,
+        ProjectScan scan,
+        SourceInventory inventory,
+        CallGraph calls
+) {
+
+    public record Dependency(String coordinates, String version) {}
+}
@@ -0,0 +1,67 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado persistido da última análise de um projeto (base da reanálise incremental).
+ * Chaves dos mapas = caminho relativo à raiz do projeto, sempre com '/'.
+ *  - fingerprints: tamanho + mtime + hash de cada .java e arquivo de build
+ *  - umlSignatures: hash de pacote/imports/declarações + "/" + hash dos tipos referenciados
+ *    (o que o diagrama de classes enxerga, com e sem relacionamentos)
+ *  - sequence / inventory: fatos estruturais extraídos de cada arquivo
+ *  - sequenceDeps: arquivos lidos (e DTOs procurados por nome) por cada sequence_&lt;controller&gt;.puml,
+ *    com o grafo de chamadas que ele desenhou
+ *  - commit: HEAD analisado, quando a fonte é Git
+ *  - configHash: configuração que influencia os artefatos; mudou → reanálise completa
+ */
+public record AnalysisState(
+        int version,
+        String projectKey,
+        String commit,
+        String configHash,
+        String architecture,
+        long savedAt,
+        Map<String, Fingerprint> fingerprints,
+        Map<String, String> umlSignatures,
+        Map<String, SequenceFacts> sequence,
+        Map<String, InventoryFacts> inventory,
+        Map<String, SequenceDeps> sequenceDeps
+) {
+
+    /** Incrementar quando o formato ou a semântica dos fatos mudar (estado antigo é descartado). */
+    public static final int CURRENT_VERSION = 2;
+
+    public AnalysisState {
+        fingerprints = Map.copyOf(fingerprints);
+        umlSignatures = Map.copyOf(umlSignatures);
+        sequence = Map.copyOf(sequence);
+        inventory = Map.copyOf(inventory);
+        sequenceDeps = Map.copyOf(sequenceDeps);
+    }
+
+    public record Fingerprint(long size, long modified, String hash) {}
+
+    /** className null = arquivo sem {@code class}; architecture = marcador encontrado no arquivo. */
+    public record SequenceFacts(String className, String role, String architecture) {}
+
+    /** classEntry null = nenhum tipo declarado; endpoints só para controllers. */
+    public record InventoryFacts(
+            long lines,
+            SourceInventory.ClassEntry classEntry,
+            List<SourceInventory.EndpointEntry> endpoints
+    ) {
+        public InventoryFacts {
+            endpoints = List.copyOf(endpoints);
+        }
+    }
+
+    /** lookups: nomes de arquivo procurados na árvore (ex.: "pedidodto.java"). */
+    public record SequenceDeps(List<String> files, List<String> lookups, CallGraph calls) {
+        public SequenceDeps {
+            files = List.copyOf(files);
+            lookups = List.copyOf(lookups);
+            if (calls == null) calls = CallGraph.empty();
+        }
+    }
+}
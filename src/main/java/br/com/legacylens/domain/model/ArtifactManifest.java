@@ -0,0 +1,34 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 📦 Artefatos publicados de um job (= análise).
+ * Cada arquivo aponta para um blob pelo SHA-256 do conteúdo: o mesmo .puml/.xlsx gerado
+ * em execuções diferentes ocupa o disco uma vez só. storedSize = bytes em disco (gzip ou não).
+ * deferred: formatos ainda não gerados — o primeiro download de um deles dispara a geração.
+ */
+public record ArtifactManifest(
+        String jobId,
+        long createdAt,
+        List<Entry> files,
+        List<ReportFormat> deferred
+) {
+
+    public ArtifactManifest {
+        files = List.copyOf(files);
+        deferred = deferred == null ? List.of() : List.copyOf(deferred);
+    }
+
+    /** path relativo ao job, com '/'. */
+    public record Entry(String path, String sha256, long size, long storedSize, boolean compressed) {}
+
+    public Optional<Entry> find(String path) {
+        return files.stream().filter(f -> f.path().equals(path)).findFirst();
+    }
+
+    public long totalSize() {
+        return files.stream().mapToLong(Entry::size).sum();
+    }
+}
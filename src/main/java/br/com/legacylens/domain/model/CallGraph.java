@@ -0,0 +1,41 @@
+package br.com.legacylens.domain.model;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 🔗 Grafo de chamadas extraído dos fluxos controller → service → repository:
+ *  - injections: campos injetados (dono, variável, tipo resolvido)
+ *  - calls: chamadas entre classes, com o método de origem e o chamado
+ */
+public record CallGraph(
+        List<Injection> injections,
+        List<Call> calls
+) {
+
+    public CallGraph {
+        injections = List.copyOf(injections);
+        calls = List.copyOf(calls);
+    }
+
+    public record Injection(String owner, String field, String type) {}
+
+    public record Call(String caller, String callerMethod, String callee, String calleeMethod) {}
+
+    public static CallGraph empty() {
+        return new CallGraph(List.of(), List.of());
+    }
+
+    /** União sem repetições (o mesmo service aparece no fluxo de vários controllers). */
+    public static CallGraph merge(Collection<CallGraph> graphs) {
+        Set<Injection> injections = new LinkedHashSet<>();
+        Set<Call> calls = new LinkedHashSet<>();
+        for (CallGraph g : graphs) {
+            injections.addAll(g.injections());
+            calls.addAll(g.calls());
+        }
+        return new CallGraph(List.copyOf(injections), List.copyOf(calls));
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.legacylens.domain.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * O que mudou desde a última análise do projeto (caminhos relativos à raiz, com '/'):
+ *  - mode: FULL (sem estado/estado inválido → processa tudo) | GIT (diff entre commits) |
+ *    FINGERPRINT (tamanho + mtime, hash quando o mtime mudou)
+ *  - reason: por que FULL, ou de onde veio o diff
+ */
+public record ChangeSet(
+        Mode mode,
+        SortedSet<String> changed,
+        SortedSet<String> added,
+        SortedSet<String> removed,
+        String reason
+) {
+
+    public enum Mode { FULL, GIT, FINGERPRINT }
+
+    /** Mudança em qualquer um deles altera módulos/dependências: reanálise completa. */
+    public static final Set<String> BUILD_FILES = Set.of("pom.xml", "build.gradle", "build.gradle.kts",
+            "settings.gradle", "settings.gradle.kts", "gradle.properties", "libs.versions.toml");
+
+    public ChangeSet {
+        changed = sorted(changed);
+        added = sorted(added);
+        removed = sorted(removed);
+    }
+
+    public static ChangeSet full(String reason) {
+        return new ChangeSet(Mode.FULL, new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), reason);
+    }
+
+    public boolean full() {
+        return mode == Mode.FULL;
+    }
+
+    public boolean touches(String path) {
+        return changed.contains(path) || added.contains(path) || removed.contains(path);
+    }
+
+    public boolean touchesBuildFiles() {
+        return changed.stream().anyMatch(ChangeSet::isBuildFile)
+                || added.stream().anyMatch(ChangeSet::isBuildFile)
+                || removed.stream().anyMatch(ChangeSet::isBuildFile);
+    }
+
+    public static boolean isBuildFile(String path) {
+        return BUILD_FILES.contains(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    public int size() {
+        return changed.size() + added.size() + removed.size();
+    }
+
+    private static SortedSet<String> sorted(Collection<String> paths) {
+        return Collections.unmodifiableSortedSet(new TreeSet<>(paths));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+
+/**
+ * 🧬 Clones encontrados por MinHash/LSH:
+ *  - groups: métodos (kind=METHOD) ou classes inteiras (kind=CLASS) quase idênticos,
+ *    com a menor similaridade estimada entre pares do grupo
+ *  - fragments/candidates: métodos avaliados e pares comparados (o que caiu no mesmo bucket)
+ */
+public record CloneReport(
+        int fragments,
+        long candidates,
+        List<CloneGroup> groups
+) {
+
+    public CloneReport {
+        groups = List.copyOf(groups);
+    }
+
+    public record CloneGroup(int id, String kind, double similarity, List<Fragment> members) {
+        public CloneGroup {
+            members = List.copyOf(members);
+        }
+    }
+
+    /** Trecho clonado: arquivo relativo à raiz, classe dona, método (vazio no nível de classe) e linhas. */
+    public record Fragment(String file, String owner, String method, int startLine, int endLine, int tokens) {}
+
+    public static CloneReport empty() {
+        return new CloneReport(0, 0, List.of());
+    }
+}
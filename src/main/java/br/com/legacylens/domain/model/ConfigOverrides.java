@@ -0,0 +1,27 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+
+/**
+ * Sobrescritas de configuração enviadas na requisição (query params).
+ * null = mantém o valor do YAML / inteligência automática.
+ * artifacts: formatos a gerar agora (UML, SEQUENCE, EXCEL; NONE = só o scan); null = app.report.formats.
+ */
+public record ConfigOverrides(
+        Boolean sequence,
+        Boolean multiModule,
+        Boolean uml,
+        Boolean excel,
+        Boolean render,
+        List<String> renderFormats,
+        Integer maxClasses,
+        Integer compileTimeoutMinutes,
+        Integer stageTimeoutMinutes,
+        Boolean incremental,
+        List<String> artifacts
+) {
+
+    public static ConfigOverrides none() {
+        return new ConfigOverrides(null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
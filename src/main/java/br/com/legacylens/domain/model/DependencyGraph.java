@@ -0,0 +1,69 @@
+package br.com.legacylens.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🕸️ Grafo transitivo de dependências já mediado (nearest wins + exclusões), em forma compacta.
+ * A mediação é por módulo, então cada módulo tem seus próprios nós (o mesmo GAV aparece uma vez
+ * por módulo que o seleciona):
+ *  - nodes: "groupId:artifactId:version"; os módulos/projetos do build vêm primeiro (depth 0)
+ *  - scopes/depths: escopo efetivo e distância até o módulo, na seleção daquele módulo
+ *  - parents: quem trouxe o nó pelo caminho mais curto dentro do módulo (-1 nos módulos)
+ *  - roots: índice do módulo dono do nó (o próprio índice nos módulos)
+ *  - offsets/targets: arestas em CSR — filhos de i em targets[offsets[i] .. offsets[i + 1])
+ *  - unresolved: artefatos sem POM no repositório local (entram como folhas)
+ */
+public record DependencyGraph(
+        List<String> nodes,
+        List<String> scopes,
+        int[] depths,
+        int[] parents,
+        int[] roots,
+        int[] offsets,
+        int[] targets,
+        List<String> unresolved
+) {
+
+    public DependencyGraph {
+        nodes = List.copyOf(nodes);
+        scopes = List.copyOf(scopes);
+        unresolved = List.copyOf(unresolved);
+    }
+
+    public static DependencyGraph empty() {
+        return new DependencyGraph(List.of(), List.of(), new int[0], new int[0], new int[0], new int[]{0}, new int[0],
+                List.of());
+    }
+
+    /** Índices dos nós cujo "groupId:artifactId" começa com o prefixo (ex.: "javax.servlet:"). */
+    public List<Integer> find(String coordinatesPrefix) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i).startsWith(coordinatesPrefix)) result.add(i);
+        }
+        return result;
+    }
+
+    /** Módulo → caminho pelo qual ele puxa o artefato (ex.: quem traz "javax.servlet:"). */
+    public Map<String, List<String>> modulesPulling(String coordinatesPrefix) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (int node : find(coordinatesPrefix)) {
+            if (parents[node] < 0) continue;
+            List<String> path = pathTo(node);
+            result.merge(nodes.get(roots[node]), path, (a, b) -> b.size() < a.size() ? b : a);
+        }
+        return result;
+    }
+
+    /** Caminho mais curto módulo → ... → nó (por onde a dependência chegou). */
+    public List<String> pathTo(int node) {
+        List<String> path = new ArrayList<>();
+        for (int i = node; i >= 0; i = parents[i]) path.add(nodes.get(i));
+        Collections.reverse(path);
+        return path;
+    }
+}
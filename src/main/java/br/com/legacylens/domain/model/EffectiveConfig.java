@@ -0,0 +1,110 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração efetiva e imutável de UMA análise:
+ * legacylens.yml (base) → ajustes da inteligência automática → sobrescritas da requisição.
+ * Cada análise recebe o seu snapshot — análises concorrentes não enxergam os ajustes umas das outras.
+ * formats: artefatos pedidos nesta requisição e os adiados (habilitados, gerados sob demanda).
+ * adjustments: o que foi alterado em relação ao YAML e por quê (auto/requisição).
+ */
+public record EffectiveConfig(
+        General general,
+        Uml uml,
+        Sequence sequence,
+        Excel excel,
+        Render render,
+        Pipeline pipeline,
+        Execution execution,
+        Incremental incremental,
+        Clones clones,
+        Formats formats,
+        List<String> adjustments
+) {
+
+    public EffectiveConfig {
+        // modelos retidos antes da detecção de clones não trazem a seção
+        if (clones == null) clones = new Clones(false, 50, 5, 128, 16, 0.8, 200, 2, false);
+        adjustments = List.copyOf(adjustments);
+    }
+
+    /** Mesma configuração, outra seleção de artefatos (geração sob demanda). */
+    public EffectiveConfig withFormats(Formats value) {
+        return new EffectiveConfig(general, uml, sequence, excel, render, pipeline, execution, incremental,
+                clones, value, adjustments);
+    }
+
+    public record General(boolean deleteTemp, String outputDir, boolean timestampedOutput) {}
+
+    public record Uml(
+            boolean enabled,
+            boolean includeInterfaces,
+            boolean includeAbstract,
+            boolean includeRelationships,
+            int maxClasses,
+            boolean truncateLongPackages,
+            boolean fallbackEnabled
+    ) {}
+
+    public record Sequence(boolean enabled, String mode, int maxDepth) {}
+
+    public record Excel(boolean enabled, boolean autosizeColumns, int maxRows, int rowWindow) {}
+
+    public record Render(
+            boolean enabled,
+            List<String> formats,
+            int timeoutSeconds,
+            long maxSourceBytes,
+            String cacheDir
+    ) {
+        public Render {
+            formats = List.copyOf(formats);
+        }
+    }
+
+    public record Pipeline(int stageTimeoutMinutes, Map<String, Integer> timeouts) {
+        public Pipeline {
+            timeouts = Map.copyOf(timeouts);
+        }
+    }
+
+    public record Execution(
+            int compileTimeoutMinutes,
+            boolean fallbackToJavaCompiler,
+            boolean detectMultiModule,
+            boolean skipTests,
+            int buildOutputLines
+    ) {}
+
+    public record Incremental(boolean enabled, String stateDir, int fullRebuildPercent) {}
+
+    /** rows = numHashes / bands (numHashes já ajustado para múltiplo de bands). */
+    public record Clones(
+            boolean enabled,
+            int minTokens,
+            int shingleSize,
+            int numHashes,
+            int bands,
+            double threshold,
+            int maxBucketSize,
+            int minClassMethods,
+            boolean includeTests
+    ) {
+        public int rows() {
+            return numHashes / bands;
+        }
+    }
+
+    public record Formats(List<ReportFormat> requested, List<ReportFormat> deferred) {
+        public Formats {
+            requested = List.copyOf(requested);
+            deferred = List.copyOf(deferred);
+        }
+
+        public boolean requested(ReportFormat format) {
+            return requested.contains(format);
+        }
+    }
+}
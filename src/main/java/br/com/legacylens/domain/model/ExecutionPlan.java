@@ -0,0 +1,32 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+
+/**
+ * Plano de execução de uma análise, escolhido a partir do {@link ProjectProfile}:
+ *  - parallelism: workers dos estágios que processam arquivos em paralelo (ex.: sequence)
+ *  - umlMode: COMPILED (build + bytecode) | SOURCE_ONLY (classes lidas do fonte, sem build)
+ *  - umlMaxClasses, excelRowWindow, excelAutosize: aplicados na configuração efetiva
+ *  - memoryBudgetMb / estimatedHeapMb: fatia do heap desta análise e a estimativa de uso
+ *  - reasons: por que cada escolha foi feita
+ */
+public record ExecutionPlan(
+        Size size,
+        int parallelism,
+        UmlMode umlMode,
+        int umlMaxClasses,
+        int excelRowWindow,
+        boolean excelAutosize,
+        long memoryBudgetMb,
+        long estimatedHeapMb,
+        List<String> reasons
+) {
+
+    public enum Size { SMALL, MEDIUM, LARGE }
+
+    public enum UmlMode { COMPILED, SOURCE_ONLY }
+
+    public ExecutionPlan {
+        reasons = List.copyOf(reasons);
+    }
+}
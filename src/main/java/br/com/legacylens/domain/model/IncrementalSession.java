@@ -0,0 +1,195 @@
+package br.com.legacylens.domain.model;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reanálise incremental de UMA análise: estado anterior + o que mudou + os fatos desta execução.
+ * Os estágios consultam {@code previous*} (fatos reaproveitáveis de arquivos que não mudaram) e
+ * registram os fatos que valem agora ({@code record*}); ao fim do pipeline {@link #toState(long)}
+ * vira o novo estado persistido. Thread-safe: estágios rodam em paralelo.
+ * {@link #disabled()} = análise completa sem registrar nada.
+ */
+public final class IncrementalSession {
+
+    private final boolean enabled;
+    private final String projectKey;
+    private final String commit;
+    private final String configHash;
+    private final AnalysisState previous;
+    private final ChangeSet changes;
+    private final Path artifactsDir;
+    private final Map<String, AnalysisState.Fingerprint> fingerprints;
+    private final Map<String, String> umlSignatures;
+
+    private final Map<String, AnalysisState.SequenceFacts> sequence = new ConcurrentHashMap<>();
+    private final Map<String, AnalysisState.InventoryFacts> inventory = new ConcurrentHashMap<>();
+    private final Map<String, AnalysisState.SequenceDeps> sequenceDeps = new ConcurrentHashMap<>();
+    private volatile String architecture;
+
+    public IncrementalSession(String projectKey, String commit, String configHash, AnalysisState previous,
+                              ChangeSet changes, Path artifactsDir,
+                              Map<String, AnalysisState.Fingerprint> fingerprints,
+                              Map<String, String> umlSignatures) {
+        this(true, projectKey, commit, configHash, previous, changes, artifactsDir, fingerprints, umlSignatures);
+    }
+
+    private IncrementalSession(boolean enabled, String projectKey, String commit, String configHash,
+                               AnalysisState previous, ChangeSet changes, Path artifactsDir,
+                               Map<String, AnalysisState.Fingerprint> fingerprints,
+                               Map<String, String> umlSignatures) {
+        this.enabled = enabled;
+        this.projectKey = projectKey;
+        this.commit = commit;
+        this.configHash = configHash;
+        this.previous = previous;
+        this.changes = changes;
+        this.artifactsDir = artifactsDir;
+        this.fingerprints = Map.copyOf(fingerprints);
+        this.umlSignatures = Map.copyOf(umlSignatures);
+    }
+
+    public static IncrementalSession disabled() {
+        return new IncrementalSession(false, null, null, null, null,
+                ChangeSet.full("reanálise incremental desativada"), null, Map.of(), Map.of());
+    }
+
+    /** Chave dos mapas de fatos: caminho relativo à raiz, com '/'. */
+    public static String key(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
+    // ==============================================================
+    // 🔎 Consulta
+    // ==============================================================
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** Há estado anterior válido e só parte do projeto mudou. */
+    public boolean incremental() {
+        return enabled && previous != null && !changes.full();
+    }
+
+    public ChangeSet changes() {
+        return changes;
+    }
+
+    public AnalysisState previous() {
+        return previous;
+    }
+
+    public Path artifactsDir() {
+        return artifactsDir;
+    }
+
+    public String projectKey() {
+        return projectKey;
+    }
+
+    /** O arquivo existia na análise anterior e não mudou desde então. */
+    public boolean unchanged(String path) {
+        return incremental()
+                && !changes.touches(path)
+                && fingerprints.containsKey(path)
+                && previous.fingerprints().containsKey(path);
+    }
+
+    public AnalysisState.SequenceFacts previousSequence(String path) {
+        return unchanged(path) ? previous.sequence().get(path) : null;
+    }
+
+    public AnalysisState.InventoryFacts previousInventory(String path) {
+        return unchanged(path) ? previous.inventory().get(path) : null;
+    }
+
+    /** Assinatura UML persistida: hash das declarações + "/" + hash dos tipos referenciados. */
+    public static String umlSignature(String declarationsHash, String referencesHash) {
+        return declarationsHash + "/" + referencesHash;
+    }
+
+    /**
+     * Nenhum .java entrou/saiu e nenhuma declaração (pacote, imports, extends/implements) mudou.
+     * Com relacionamentos, os tipos referenciados também precisam ser os mesmos: as arestas de
+     * dependência, os .puml/.csv de pacotes e os ciclos dependem deles.
+     */
+    public boolean umlReusable(boolean includeRelationships) {
+        if (!incremental()) return false;
+        if (changes.added().stream().anyMatch(IncrementalSession::isJava)) return false;
+        if (changes.removed().stream().anyMatch(IncrementalSession::isJava)) return false;
+        return changes.changed().stream()
+                .filter(IncrementalSession::isJava)
+                .allMatch(p -> sameUml(umlSignatures.get(p), previous.umlSignatures().get(p), includeRelationships));
+    }
+
+    /**
+     * O sequence_&lt;controller&gt;.puml anterior ainda vale: nenhum arquivo que ele leu mudou/saiu
+     * e nenhum arquivo com o nome de um DTO procurado entrou ou saiu.
+     */
+    public boolean sequenceReusable(String controller) {
+        if (!incremental()) return false;
+        AnalysisState.SequenceDeps deps = previous.sequenceDeps().get(controller);
+        if (deps == null) return false;
+        for (String file : deps.files()) {
+            if (changes.changed().contains(file) || changes.removed().contains(file)) return false;
+        }
+        for (String lookup : deps.lookups()) {
+            if (changes.added().stream().anyMatch(p -> fileName(p).equals(lookup))) return false;
+            if (changes.removed().stream().anyMatch(p -> fileName(p).equals(lookup))) return false;
+        }
+        return true;
+    }
+
+    public AnalysisState.SequenceDeps previousSequenceDeps(String controller) {
+        return incremental() ? previous.sequenceDeps().get(controller) : null;
+    }
+
+    // ==============================================================
+    // 📝 Registro (só quando habilitada)
+    // ==============================================================
+    public void recordSequence(String path, AnalysisState.SequenceFacts facts) {
+        if (enabled) sequence.put(path, facts);
+    }
+
+    public void recordInventory(String path, AnalysisState.InventoryFacts facts) {
+        if (enabled) inventory.put(path, facts);
+    }
+
+    public void recordSequenceDeps(String controller, AnalysisState.SequenceDeps deps) {
+        if (enabled) sequenceDeps.put(controller, deps);
+    }
+
+    public void recordArchitecture(String architecture) {
+        if (enabled) this.architecture = architecture;
+    }
+
+    public AnalysisState toState(long savedAt) {
+        return new AnalysisState(AnalysisState.CURRENT_VERSION, projectKey, commit, configHash,
+                architecture, savedAt, fingerprints, umlSignatures,
+                new HashMap<>(sequence), new HashMap<>(inventory), new HashMap<>(sequenceDeps));
+    }
+
+    /** Estado anterior sem a parte das referências nunca vale para diagramas com relacionamentos. */
+    private static boolean sameUml(String now, String before, boolean includeRelationships) {
+        if (now == null || before == null) return Objects.equals(now, before);
+        if (includeRelationships) return now.equals(before);
+        return declarationsPart(now).equals(declarationsPart(before));
+    }
+
+    private static String declarationsPart(String signature) {
+        int slash = signature.indexOf('/');
+        return slash < 0 ? signature : signature.substring(0, slash);
+    }
+
+    private static boolean isJava(String path) {
+        return path.endsWith(".java");
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+    }
+}
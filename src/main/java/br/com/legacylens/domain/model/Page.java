@@ -0,0 +1,11 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+
+/** Página de resultados; hasMore indica se existe uma próxima página (offset + limit). */
+public record Page<T>(List<T> items, int offset, int limit, boolean hasMore) {
+
+    public Page {
+        items = List.copyOf(items);
+    }
+}
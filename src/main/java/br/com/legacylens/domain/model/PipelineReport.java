@@ -0,0 +1,15 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+
+public record PipelineReport(
+        List<StageResult> stages,
+        long wallClockMs
+) {
+
+    public boolean allSucceeded() {
+        return stages.stream().allMatch(s ->
+                s.status() == StageResult.Status.SUCCESS || s.status() == StageResult.Status.DISABLED
+                        || s.status() == StageResult.Status.DEFERRED);
+    }
+}
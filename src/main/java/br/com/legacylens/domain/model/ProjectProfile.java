@@ -0,0 +1,24 @@
+package br.com.legacylens.domain.model;
+
+/**
+ * Retrato barato do projeto, tirado antes da análise pelo planejador.
+ * javaFiles/sourceBytes são exatos quando complete=true; senão são o mínimo
+ * contado até a varredura parar (planner.walkLimit).
+ * architecture vem de uma amostra limitada de conteúdo (sampledFiles arquivos).
+ */
+public record ProjectProfile(
+        long javaFiles,
+        long sourceBytes,
+        boolean complete,
+        int buildFiles,
+        boolean compiled,
+        String architecture,
+        int sampledFiles,
+        long profilingMs
+) {
+
+    public boolean modernArchitecture() {
+        return architecture.contains("Spring") || architecture.contains("Camunda")
+                || architecture.contains("Camel") || architecture.contains("Feign");
+    }
+}
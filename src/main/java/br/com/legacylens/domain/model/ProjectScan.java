@@ -10,5 +10,13 @@ public record ProjectScan(
         String javaVersion,
         String springVersion,
         String springBootVersion,
-        Map<String, String> libraries
-) {}
+        Map<String, String> libraries,
+        DependencyGraph dependencyGraph
+) {
+
+    /** Só dependências diretas (scanners sem grafo transitivo). */
+    public ProjectScan(String projectType, String javaVersion, String springVersion, String springBootVersion,
+                       Map<String, String> libraries) {
+        this(projectType, javaVersion, springVersion, springBootVersion, libraries, null);
+    }
+}
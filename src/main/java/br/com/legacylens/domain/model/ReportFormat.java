@@ -0,0 +1,48 @@
+package br.com.legacylens.domain.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Artefatos que o chamador pode pedir por análise (query param "artifacts" ou app.report.formats).
+ * Os não pedidos (mas habilitados no YAML) ficam adiados e são gerados no primeiro download.
+ *  - stage: estágio do pipeline que produz o artefato
+ *  - prefix/suffix: como reconhecer, pelo nome, um arquivo que este formato produziria
+ *    (diagramas renderizados compartilham o prefixo do .puml)
+ */
+public enum ReportFormat {
+    UML("uml", "diagram_", null),
+    SEQUENCE("sequence", "sequence_", null),
+    EXCEL("excel", null, ".xlsx"),
+    CLONES("clones", "clones", null);
+
+    private final String stage;
+    private final String prefix;
+    private final String suffix;
+
+    ReportFormat(String stage, String prefix, String suffix) {
+        this.stage = stage;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    public String stage() {
+        return stage;
+    }
+
+    /** Formato que produziria o arquivo (path relativo ao job), se algum. */
+    public static Optional<ReportFormat> producing(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        return Arrays.stream(values())
+                .filter(f -> (f.prefix != null && name.startsWith(f.prefix))
+                        || (f.suffix != null && name.endsWith(f.suffix)))
+                .findFirst();
+    }
+
+    /** Nome vindo de YAML/query param; desconhecido → vazio (ex.: README, que o pipeline não gera). */
+    public static Optional<ReportFormat> parse(String name) {
+        if (name == null) return Optional.empty();
+        String normalized = name.trim().toUpperCase();
+        return Arrays.stream(values()).filter(f -> f.name().equals(normalized)).findFirst();
+    }
+}
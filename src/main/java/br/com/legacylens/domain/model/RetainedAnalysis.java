@@ -0,0 +1,15 @@
+package br.com.legacylens.domain.model;
+
+/**
+ * Modelo retido de uma análise com artefatos adiados: o suficiente para rodar o pipeline
+ * depois (mesma configuração efetiva e plano, scan já feito e o fonte guardado em
+ * {@code source}, nome do diretório/arquivo analisado).
+ */
+public record RetainedAnalysis(
+        String jobId,
+        String projectKey,
+        String source,
+        EffectiveConfig config,
+        ExecutionPlan plan,
+        ProjectScan scan
+) {}
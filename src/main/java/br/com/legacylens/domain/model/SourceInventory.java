@@ -0,0 +1,48 @@
+package br.com.legacylens.domain.model;
+
+import java.util.List;
+
+/**
+ * 📋 Inventário das fontes de um projeto: classes por papel, endpoints REST e
+ * estatísticas por módulo. Base da planilha completa.
+ */
+public record SourceInventory(
+        List<ClassEntry> classes,
+        List<EndpointEntry> endpoints,
+        List<ModuleStats> modules
+) {
+
+    public record ClassEntry(
+            String module,
+            String packageName,
+            String className,
+            String role,
+            String file
+    ) {}
+
+    public record EndpointEntry(
+            String module,
+            String controller,
+            String httpMethod,
+            String path,
+            String methodName,
+            String requestDto,
+            String responseDto,
+            String responseCode
+    ) {}
+
+    public record ModuleStats(
+            String module,
+            int javaFiles,
+            long lines,
+            long bytes,
+            int controllers,
+            int services,
+            int repositories,
+            int endpoints
+    ) {}
+
+    public static SourceInventory empty() {
+        return new SourceInventory(List.of(), List.of(), List.of());
+    }
+}
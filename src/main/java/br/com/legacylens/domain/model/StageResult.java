@@ -0,0 +1,18 @@
+package br.com.legacylens.domain.model;
+
+/**
+ * Resultado de um estágio do pipeline de relatórios.
+ * status: SUCCESS | FAILED | TIMEOUT | SKIPPED (dependência falhou) | DISABLED (desligado na config)
+ *         | DEFERRED (artefato não pedido nesta requisição; gerado sob demanda no download)
+ * cpuMs: CPU da thread do estágio (-1 quando indisponível; não inclui subprocessos de build)
+ */
+public record StageResult(
+        String stage,
+        Status status,
+        long durationMs,
+        long cpuMs,
+        String error
+) {
+
+    public enum Status { SUCCESS, FAILED, TIMEOUT, SKIPPED, DISABLED, DEFERRED }
+}
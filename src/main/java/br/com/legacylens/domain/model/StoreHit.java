@@ -0,0 +1,4 @@
+package br.com.legacylens.domain.model;
+
+/** Um fato encontrado no armazenamento, com a análise/projeto de origem. */
+public record StoreHit<T>(String analysisId, String projectKey, T fact) {}
@@ -0,0 +1,21 @@
+package br.com.legacylens.domain.model;
+
+/**
+ * Escopo + paginação de uma consulta ao armazenamento de análises:
+ *  - analysisId: só essa análise
+ *  - projectKey: só esse projeto
+ *  - history: false = apenas a última análise de cada projeto; true = todas as guardadas
+ */
+public record StoreQuery(
+        String analysisId,
+        String projectKey,
+        boolean history,
+        int offset,
+        int limit
+) {
+
+    public StoreQuery {
+        offset = Math.max(0, offset);
+        limit = Math.max(1, limit);
+    }
+}
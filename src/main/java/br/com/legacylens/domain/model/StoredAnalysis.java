@@ -0,0 +1,15 @@
+package br.com.legacylens.domain.model;
+
+/** Resumo de uma análise gravada (contagens do que foi indexado). */
+public record StoredAnalysis(
+        String analysisId,
+        String projectKey,
+        long createdAt,
+        String outputDir,
+        String projectType,
+        int classes,
+        int endpoints,
+        int injections,
+        int calls,
+        int dependencies
+) {}
@@ -0,0 +1,23 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.RetainedAnalysis;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Modelo + fonte de uma análise guardados junto ao job enquanto houver artefatos adiados.
+ */
+public interface AnalysisModelPort {
+
+    /** @param movable o fonte pode ser movido (diretório temporário) em vez de copiado */
+    void retain(RetainedAnalysis model, Path source, boolean movable);
+
+    Optional<RetainedAnalysis> load(String jobId);
+
+    /** Fonte retido, com o mesmo nome do original (nomes dos diagramas dependem dele). */
+    Path sourceOf(RetainedAnalysis model);
+
+    /** Nada mais adiado: descarta modelo e fonte. */
+    void release(String jobId);
+}
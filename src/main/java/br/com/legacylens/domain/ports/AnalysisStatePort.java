@@ -0,0 +1,19 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.AnalysisState;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface AnalysisStatePort {
+    Optional<AnalysisState> load(String projectKey);
+
+    /** Persiste o estado e guarda os .puml de {@code outDir} como artefatos do projeto. */
+    void save(AnalysisState state, Path outDir);
+
+    /** Cópia dos .puml da última análise bem-sucedida (reaproveitados pelos estágios). */
+    Path artifactsDir(String projectKey);
+
+    /** Working copy persistente de projetos Git (fetch + diff em vez de clone a cada análise). */
+    Path workspaceDir(String projectKey);
+}
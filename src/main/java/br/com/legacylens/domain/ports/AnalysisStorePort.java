@@ -0,0 +1,42 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.AnalysisFacts;
+import br.com.legacylens.domain.model.CallGraph;
+import br.com.legacylens.domain.model.Page;
+import br.com.legacylens.domain.model.SourceInventory;
+import br.com.legacylens.domain.model.StoreHit;
+import br.com.legacylens.domain.model.StoreQuery;
+import br.com.legacylens.domain.model.StoredAnalysis;
+
+import java.util.Optional;
+
+/**
+ * Armazenamento persistente das análises, consultável sem reler as fontes.
+ * Nomes de classe/DTO/dependência são comparados sem diferenciar maiúsculas.
+ */
+public interface AnalysisStorePort {
+
+    boolean enabled();
+
+    StoredAnalysis save(AnalysisFacts facts);
+
+    Optional<StoredAnalysis> analysis(String analysisId);
+
+    Page<StoredAnalysis> analyses(StoreQuery query);
+
+    Page<StoreHit<SourceInventory.ClassEntry>> classes(String simpleName, StoreQuery query);
+
+    /** Quem chama a classe (method != null filtra pelo método chamado). */
+    Page<StoreHit<CallGraph.Call>> callers(String className, String method, StoreQuery query);
+
+    /** O que a classe chama (method != null filtra pelo método de origem). */
+    Page<StoreHit<CallGraph.Call>> callees(String className, String method, StoreQuery query);
+
+    Page<StoreHit<CallGraph.Injection>> injectionsOf(String type, StoreQuery query);
+
+    /** Endpoints que recebem ou devolvem o DTO (inclusive dentro de List&lt;...&gt; etc.). */
+    Page<StoreHit<SourceInventory.EndpointEntry>> endpointsByDto(String dto, StoreQuery query);
+
+    /** Projetos que usam a dependência (groupId:artifactId ou só artifactId). */
+    Page<StoreHit<AnalysisFacts.Dependency>> dependencyUsage(String dependency, StoreQuery query);
+}
@@ -0,0 +1,34 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.ArtifactManifest;
+import br.com.legacylens.domain.model.ReportFormat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Armazenamento gerenciado dos artefatos: diretório exclusivo por job, deduplicação por
+ * conteúdo, gzip opcional em repouso e retenção por idade/tamanho.
+ */
+public interface ArtifactStorePort {
+
+    /** Diretório de trabalho do job (criado se preciso); os estágios escrevem aqui. */
+    Path jobDir(String jobId);
+
+    /** Diretório temporário dentro do job para gerar artefatos sob demanda (fora do manifesto). */
+    Path stagingDir(String jobId);
+
+    /** Move para o armazenamento o que ainda não foi publicado e grava o manifesto. */
+    ArtifactManifest publish(String jobId, List<ReportFormat> deferred);
+
+    /** Traz os arquivos de {@code staging} para o job (substituindo os de mesmo nome) e publica. */
+    ArtifactManifest publish(String jobId, Path staging, List<ReportFormat> deferred);
+
+    Optional<ArtifactManifest> manifest(String jobId);
+
+    /** Blob de um arquivo publicado (gzip quando entry.compressed). */
+    Optional<Blob> open(String jobId, String path);
+
+    record Blob(ArtifactManifest.Entry entry, Path file) {}
+}
@@ -0,0 +1,23 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.AnalysisState;
+import br.com.legacylens.domain.model.ChangeSet;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+public interface ChangeDetectorPort {
+
+    /** fingerprints/umlSignatures: valores atuais de TODOS os arquivos rastreados do projeto. */
+    record Detection(
+            ChangeSet changes,
+            Map<String, AnalysisState.Fingerprint> fingerprints,
+            Map<String, String> umlSignatures
+    ) {}
+
+    /**
+     * @param previous  estado anterior (null = primeira análise)
+     * @param commit    HEAD da working copy Git (null = fonte sem Git)
+     */
+    Detection detect(Path project, AnalysisState previous, String commit, int parallelism);
+}
@@ -0,0 +1,13 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.CloneReport;
+
+import java.nio.file.Path;
+
+public interface CloneDetectorPort {
+    CloneReport detect(String source, AnalysisContext context);
+
+    /** Grava o relatório como clones.csv em outDir (uma linha por trecho clonado). */
+    Path writeCsv(CloneReport report, Path outDir);
+}
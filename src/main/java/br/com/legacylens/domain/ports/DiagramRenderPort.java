@@ -0,0 +1,10 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.AnalysisContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface DiagramRenderPort {
+    List<Path> renderAll(Path outDir, AnalysisContext context);
+}
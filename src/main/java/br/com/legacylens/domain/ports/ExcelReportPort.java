@@ -1,9 +1,21 @@
 package br.com.legacylens.domain.ports;
 
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.CloneReport;
 import br.com.legacylens.domain.model.ProjectScan;
 import br.com.legacylens.domain.model.ExcelReport;
+import br.com.legacylens.domain.model.SourceInventory;
 import java.nio.file.Path;
 
 public interface ExcelReportPort {
-    ExcelReport write(ProjectScan scan, Path outDir);
+    ExcelReport write(ProjectScan scan, SourceInventory inventory, CloneReport clones, Path outDir,
+                      AnalysisContext context);
+
+    default ExcelReport write(ProjectScan scan, SourceInventory inventory, Path outDir, AnalysisContext context) {
+        return write(scan, inventory, CloneReport.empty(), outDir, context);
+    }
+
+    default ExcelReport write(ProjectScan scan, Path outDir, AnalysisContext context) {
+        return write(scan, SourceInventory.empty(), outDir, context);
+    }
 }
@@ -0,0 +1,9 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.ProjectProfile;
+
+import java.nio.file.Path;
+
+public interface ProjectProfilerPort {
+    ProjectProfile profile(Path project);
+}
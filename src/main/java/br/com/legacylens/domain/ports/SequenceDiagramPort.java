@@ -1,9 +1,11 @@
 package br.com.legacylens.domain.ports;
 
-import br.com.legacylens.domain.model.UmlDiagram;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.CallGraph;
 
 import java.nio.file.Path;
 
 public interface SequenceDiagramPort {
-    UmlDiagram generateFromPathOrJar(String source, Path outDir);
+    /** Escreve um sequence_&lt;controller&gt;.puml por controller e devolve as chamadas desenhadas. */
+    CallGraph generateFromPathOrJar(String source, Path outDir, AnalysisContext context);
 }
@@ -0,0 +1,8 @@
+package br.com.legacylens.domain.ports;
+
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.SourceInventory;
+
+public interface SourceInventoryPort {
+    SourceInventory collect(String source, AnalysisContext context);
+}
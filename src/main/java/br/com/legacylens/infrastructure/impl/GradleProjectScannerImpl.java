@@ -2,38 +2,86 @@ package br.com.legacylens.infrastructure.impl;
 
 import br.com.legacylens.domain.model.ProjectScan;
 import br.com.legacylens.domain.ports.ProjectScannerPort;
+import br.com.legacylens.infrastructure.impl.gradle.GradleBuildModelReader;
+import br.com.legacylens.infrastructure.impl.maven.TransitiveDependencyResolver;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.nio.file.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.*;
+import java.util.Set;
+import java.util.TreeMap;
 
+/**
+ * Projeto Gradle pelo modelo lido de settings/build scripts de todos os subprojetos
+ * ({@link GradleBuildModelReader}): catálogo de versões, ext e gradle.properties resolvidos,
+ * sem executar o Gradle. Dependências entre projetos do próprio build não entram.
+ * O fecho transitivo usa os POMs do repositório Maven local ({@link TransitiveDependencyResolver}).
+ */
 @Slf4j
 @Component
 public class GradleProjectScannerImpl implements ProjectScannerPort {
 
+    private static final String UNSPECIFIED = "unspecified";
+
+    private final GradleBuildModelReader reader;
+    private final TransitiveDependencyResolver transitive;
+
+    public GradleProjectScannerImpl(GradleBuildModelReader reader, TransitiveDependencyResolver transitive) {
+        this.reader = reader;
+        this.transitive = transitive;
+    }
+
     @Override
     public ProjectScan scan(String dir) {
         try {
-            Path build = Files.exists(Path.of(dir, "build.gradle"))
-                    ? Path.of(dir, "build.gradle")
-                    : Path.of(dir, "build.gradle.kts");
-            String content = Files.readString(build);
+            log.info("Lendo build Gradle em {}", dir);
+            var build = reader.read(Path.of(dir));
+            build.problems().forEach(p -> log.warn("   • {}", p));
+
+            // Mapear dependências (raiz primeiro; em conflito entre projetos vale a primeira versão)
+            Set<String> ownProjects = build.coordinates();
+            var libs = new TreeMap<String, String>();
+            List<TransitiveDependencyResolver.Root> roots = new ArrayList<>();
+            for (var project : build.projects()) {
+                List<TransitiveDependencyResolver.Direct> directs = new ArrayList<>();
+                for (String dependency : project.dependencies()) {
+                    String[] parts = dependency.split(":");
+                    String coordinates = parts[0] + ":" + parts[1];
+                    if (ownProjects.contains(coordinates)) continue;
+                    String version = parts.length > 2 ? parts[2] : null;
+                    libs.merge(coordinates, version != null ? version : UNSPECIFIED,
+                            (current, candidate) -> UNSPECIFIED.equals(current) ? candidate : current);
+                    directs.add(new TransitiveDependencyResolver.Direct(parts[0], parts[1], version, "compile",
+                            false, Set.of()));
+                }
+                var vars = project.variables();
+                roots.add(new TransitiveDependencyResolver.Root(vars.getOrDefault("group", "") + ":"
+                        + project.dir().getFileName() + ":" + vars.getOrDefault("version", UNSPECIFIED), directs, Map.of()));
+            }
 
-            String javaVersion = find(content, "sourceCompatibility\\s*=\\s*['\\\"]?(\\d+|\\d+\\.\\d+)['\\\"]?");
-            String bootVersion = find(content, "spring-boot\\s*[:=]\\s*['\\\"]?(\\d+\\.\\d+\\.\\d+)['\\\"]?");
+            String bootVersion = build.bootVersion();
+            if (bootVersion == null) bootVersion = versionOf(libs, "org.springframework.boot:");
+            String springVersion = versionOf(libs, "org.springframework:");
+            if (springVersion == null) springVersion = build.root().variables().getOrDefault("springVersion", bootVersion);
 
-            log.info("Projeto Gradle analisado com sucesso. Java={}, Boot={}", javaVersion, bootVersion);
-            return new ProjectScan("GRADLE", javaVersion, null, bootVersion, Map.of());
+            log.info("Projeto Gradle analisado com sucesso. Java={}, Spring={}, Boot={}, projetos={}, dependências={}",
+                    build.javaVersion(), springVersion, bootVersion, build.projects().size(), libs.size());
+            return new ProjectScan("GRADLE", build.javaVersion(), springVersion, bootVersion, libs,
+                    transitive.resolve(roots));
         } catch (Exception e) {
             log.error("Erro ao analisar projeto Gradle: {}", e.getMessage(), e);
             return new ProjectScan("GRADLE_ERROR", null, null, null, Map.of());
         }
     }
 
-    private static String find(String text, String regex) {
-        Matcher m = Pattern.compile(regex).matcher(text);
-        return m.find() ? m.group(1) : null;
+    private static String versionOf(Map<String, String> libs, String groupPrefix) {
+        return libs.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(groupPrefix) && !UNSPECIFIED.equals(e.getValue()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
     }
 }
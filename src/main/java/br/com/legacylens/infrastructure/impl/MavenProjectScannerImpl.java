@@ -2,63 +2,102 @@ package br.com.legacylens.infrastructure.impl;
 
 import br.com.legacylens.domain.model.ProjectScan;
 import br.com.legacylens.domain.ports.ProjectScannerPort;
+import br.com.legacylens.infrastructure.impl.maven.EffectivePomResolver;
+import br.com.legacylens.infrastructure.impl.maven.TransitiveDependencyResolver;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.springframework.stereotype.Component;
 
-import java.io.FileReader;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
 
+/**
+ * Projeto Maven pelo modelo efetivo da raiz e de todos os módulos ({@link EffectivePomResolver}):
+ * versões herdadas de parents, &lt;dependencyManagement&gt;, BOMs e propriedades deixam de
+ * aparecer como "unspecified". Dependências entre módulos do próprio reactor não entram.
+ * O fecho transitivo de todos os módulos vai junto no scan ({@link TransitiveDependencyResolver}).
+ */
 @Slf4j
 @Component
 public class MavenProjectScannerImpl implements ProjectScannerPort {
 
+    private static final String UNSPECIFIED = "unspecified";
+
+    private final EffectivePomResolver resolver;
+    private final TransitiveDependencyResolver transitive;
+
+    public MavenProjectScannerImpl(EffectivePomResolver resolver, TransitiveDependencyResolver transitive) {
+        this.resolver = resolver;
+        this.transitive = transitive;
+    }
+
     @Override
     public ProjectScan scan(String dir) {
         try {
             Path pom = Path.of(dir).resolve("pom.xml");
             log.info("Lendo arquivo pom.xml em {}", pom);
-            Model model = new MavenXpp3Reader().read(new FileReader(pom.toFile()));
+            var reactor = resolver.resolve(pom);
+            reactor.problems().forEach(p -> log.warn("   • {}", p));
+            Model root = reactor.root().model();
 
             // Detectar versão do Java
-            String javaVersion = model.getProperties() != null
-                    ? model.getProperties().getProperty("java.version",
-                    model.getProperties().getProperty("maven.compiler.source"))
-                    : null;
-
-            // Mapear dependências
-            var libs = new HashMap<String, String>();
-            if (model.getDependencies() != null) {
-                model.getDependencies().forEach(d ->
-                        libs.put(d.getGroupId() + ":" + d.getArtifactId(),
-                                d.getVersion() != null ? d.getVersion() : "unspecified"));
+            Properties props = root.getProperties();
+            String javaVersion = props.getProperty("java.version",
+                    props.getProperty("maven.compiler.release", props.getProperty("maven.compiler.source")));
+
+            // Mapear dependências (raiz primeiro; em conflito entre módulos vale a primeira versão)
+            Set<String> ownModules = reactor.coordinates();
+            var libs = new TreeMap<String, String>();
+            for (var module : reactor.modules()) {
+                for (Dependency d : module.model().getDependencies()) {
+                    String coordinates = d.getGroupId() + ":" + d.getArtifactId();
+                    if (ownModules.contains(coordinates)) continue;
+                    libs.merge(coordinates, d.getVersion() != null ? d.getVersion() : UNSPECIFIED,
+                            (current, candidate) -> UNSPECIFIED.equals(current) ? candidate : current);
+                }
             }
 
-            // Detectar Spring Boot no <parent>
+            // Detectar Spring Boot no <parent> ou nas dependências gerenciadas
             String bootVersion = null;
-            if (model.getParent() != null &&
-                    "org.springframework.boot".equals(model.getParent().getGroupId())) {
-                bootVersion = model.getParent().getVersion();
+            if (root.getParent() != null &&
+                    "org.springframework.boot".equals(root.getParent().getGroupId())) {
+                bootVersion = root.getParent().getVersion();
             }
+            if (bootVersion == null) bootVersion = versionOf(libs, "org.springframework.boot:");
 
             // Detectar versão do Spring nas dependências
-            String springVersion = libs.keySet().stream()
-                    .filter(k -> k.contains("spring-boot") || k.contains("spring-core"))
-                    .findFirst()
-                    .map(libs::get)
-                    .orElse(bootVersion);
+            String springVersion = versionOf(libs, "org.springframework:");
+            if (springVersion == null) springVersion = props.getProperty("spring-framework.version");
+            if (springVersion == null) springVersion = props.getProperty("spring.version", bootVersion);
+
+            log.info("Projeto Maven analisado com sucesso. Java={}, Spring={}, Boot={}, módulos={}, dependências={}",
+                    javaVersion, springVersion, bootVersion, reactor.modules().size(), libs.size());
 
-            log.info("Projeto Maven analisado com sucesso. Java={}, Spring={}, Boot={}",
-                    javaVersion, springVersion, bootVersion);
+            // Fecho transitivo: cada módulo é uma raiz, com o próprio <dependencyManagement>
+            List<TransitiveDependencyResolver.Root> roots = reactor.modules().stream()
+                    .map(m -> new TransitiveDependencyResolver.Root(m.gav(),
+                            TransitiveDependencyResolver.directs(m.model()),
+                            TransitiveDependencyResolver.managed(m.model())))
+                    .toList();
 
-            return new ProjectScan("MAVEN", javaVersion, springVersion, bootVersion, libs);
+            return new ProjectScan("MAVEN", javaVersion, springVersion, bootVersion, libs, transitive.resolve(roots));
 
         } catch (Exception e) {
             log.error("Erro ao analisar projeto Maven: {}", e.getMessage(), e);
             return new ProjectScan("MAVEN_ERROR", null, null, null, Map.of());
         }
     }
+
+    private static String versionOf(Map<String, String> libs, String groupPrefix) {
+        return libs.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(groupPrefix) && !UNSPECIFIED.equals(e.getValue()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
 }
@@ -0,0 +1,361 @@
+package br.com.legacylens.infrastructure.impl.artifacts;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.ArtifactManifest;
+import br.com.legacylens.domain.model.ReportFormat;
+import br.com.legacylens.domain.ports.ArtifactStorePort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 📦 FileArtifactStore
+ * -----------------------------------------
+ * Artefatos em disco, endereçados por conteúdo:
+ *  - artifacts.dir/&lt;jobId&gt;: diretório de trabalho exclusivo da análise + job.json (manifesto);
+ *    subdiretórios iniciados por "." (modelo retido, staging) não são publicados
+ *  - artifacts.blobDir/ab/&lt;sha256&gt;[.gz]: uma cópia por conteúdo; no job o arquivo vira um
+ *    hardlink para o blob (ou sai do job, quando comprimido em repouso)
+ *  - retenção periódica: jobs acima de maxAgeHours ou, do mais antigo para o mais novo, até caber
+ *    em maxTotalMb; blobs sem referência são removidos (mark &amp; sweep)
+ * Publicações seguram o lock de leitura; a limpeza, o de escrita — um blob recém-deduplicado
+ * nunca é varrido antes de o manifesto que o referencia existir.
+ */
+@Slf4j
+@Component
+public class FileArtifactStore implements ArtifactStorePort {
+
+    private static final String MANIFEST = "job.json";
+    // "." e ".." resolveriam fora de jobs/: exige ao menos um caractere que não seja ponto
+    private static final Pattern JOB_ID = Pattern.compile("(?!\\.+$)[A-Za-z0-9._-]+");
+
+    private final ObjectMapper mapper;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService retention;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public FileArtifactStore(LegacyLensConfigLoader configLoader, ObjectMapper mapper) {
+        this.mapper = mapper;
+        int interval = Math.max(1, LegacyLensConfigLoader.get().getArtifacts().getCleanupIntervalMinutes());
+        this.retention = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "artifact-retention");
+            t.setDaemon(true);
+            return t;
+        });
+        this.retention.scheduleWithFixedDelay(this::cleanup, interval, interval, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retention.shutdownNow();
+    }
+
+    @Override
+    public Path jobDir(String jobId) {
+        Path dir = jobsDir().resolve(validJobId(jobId));
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("falha ao criar diretório do job " + jobId, e);
+        }
+        return dir;
+    }
+
+    @Override
+    public Path stagingDir(String jobId) {
+        try {
+            Path staging = jobDir(jobId).resolve(".staging");
+            Files.createDirectories(staging);
+            return Files.createTempDirectory(staging, "gen-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("falha ao criar staging do job " + jobId, e);
+        }
+    }
+
+    // ==============================================================
+    // 📤 Publicação
+    // ==============================================================
+    @Override
+    public ArtifactManifest publish(String jobId, List<ReportFormat> deferred) {
+        return publish(jobId, null, deferred);
+    }
+
+    @Override
+    public ArtifactManifest publish(String jobId, Path staging, List<ReportFormat> deferred) {
+        Path dir = jobDir(jobId);
+        var cfg = LegacyLensConfigLoader.get().getArtifacts();
+        lock.readLock().lock();
+        try {
+            // move (não sobrescreve): arquivos do job podem ser hardlinks para blobs compartilhados
+            if (staging != null) {
+                for (Path file : list(staging)) {
+                    Path target = dir.resolve(staging.relativize(file).toString());
+                    Files.createDirectories(target.getParent());
+                    Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                delete(staging);
+                try (Stream<Path> rest = Files.list(staging.getParent())) {
+                    if (rest.findAny().isEmpty()) Files.deleteIfExists(staging.getParent());
+                }
+            }
+
+            ArtifactManifest previous = manifest(jobId).orElse(null);
+            Map<String, ArtifactManifest.Entry> entries = new TreeMap<>();
+            if (previous != null) previous.files().forEach(f -> entries.put(f.path(), f));
+
+            int published = 0;
+            int deduplicated = 0;
+            for (Path file : list(dir)) {
+                String path = dir.relativize(file).toString().replace('\\', '/');
+                ArtifactManifest.Entry known = entries.get(path);
+                if (known != null && Files.isSameFile(file, blobPath(known))) continue;
+
+                boolean compress = cfg.isCompress() && cfg.getCompressExtensions().contains(extension(path));
+                Ingested ingested = ingest(file, compress);
+                entries.put(path, ingested.entry(path));
+                published++;
+                if (ingested.deduplicated()) deduplicated++;
+            }
+
+            var manifest = new ArtifactManifest(jobId,
+                    previous != null ? previous.createdAt() : System.currentTimeMillis(),
+                    List.copyOf(entries.values()), deferred);
+            writeManifest(dir, manifest);
+            log.info("📦 Job {}: {} artefato(s) publicado(s), {} deduplicado(s){}", jobId, published, deduplicated,
+                    deferred.isEmpty() ? "" : "; sob demanda: " + deferred);
+            return manifest;
+        } catch (IOException e) {
+            throw new UncheckedIOException("falha ao publicar artefatos do job " + jobId, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Ingested(String sha256, long size, long storedSize, boolean compressed, boolean deduplicated) {
+        ArtifactManifest.Entry entry(String path) {
+            return new ArtifactManifest.Entry(path, sha256, size, storedSize, compressed);
+        }
+    }
+
+    private Ingested ingest(Path file, boolean compress) throws IOException {
+        String sha = sha256(file);
+        long size = Files.size(file);
+        Path blob = blobPath(sha, compress);
+        boolean existed = Files.exists(blob);
+        if (!existed) {
+            Files.createDirectories(blob.getParent());
+            Path tmp = Files.createTempFile(blob.getParent(), sha, ".tmp");
+            if (compress) {
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                    Files.copy(file, out);
+                }
+            } else {
+                Files.copy(file, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // publicações concorrentes do mesmo conteúdo: qualquer uma pode vencer (bytes idênticos)
+            Files.move(tmp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        Files.delete(file);
+        if (!compress) link(file, blob);
+        return new Ingested(sha, size, Files.size(blob), compress, existed);
+    }
+
+    /** Hardlink para o blob; sem suporte (outro volume, FS sem links) → cópia. */
+    private static void link(Path file, Path blob) throws IOException {
+        try {
+            Files.createLink(file, blob);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(blob, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ==============================================================
+    // 📥 Leitura
+    // ==============================================================
+    @Override
+    public Optional<ArtifactManifest> manifest(String jobId) {
+        if (!JOB_ID.matcher(jobId).matches()) return Optional.empty();
+        Path file = jobsDir().resolve(jobId).resolve(MANIFEST);
+        if (!Files.exists(file)) return Optional.empty();
+        try {
+            return Optional.of(mapper.readValue(file.toFile(), ArtifactManifest.class));
+        } catch (IOException e) {
+            log.warn("⚠️ Manifesto ilegível em {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Blob> open(String jobId, String path) {
+        return manifest(jobId)
+                .flatMap(m -> m.find(path))
+                .map(entry -> new Blob(entry, blobPath(entry)))
+                .filter(blob -> Files.isRegularFile(blob.file()));
+    }
+
+    // ==============================================================
+    // 🧹 Retenção
+    // ==============================================================
+    void cleanup() {
+        var cfg = LegacyLensConfigLoader.get().getArtifacts();
+        long maxAgeMs = cfg.getMaxAgeHours() > 0 ? TimeUnit.HOURS.toMillis(cfg.getMaxAgeHours()) : Long.MAX_VALUE;
+        long maxBytes = cfg.getMaxTotalMb() > 0 ? cfg.getMaxTotalMb() * 1024 * 1024 : Long.MAX_VALUE;
+        long now = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            List<ArtifactManifest> jobs = new ArrayList<>();
+            for (Path dir : jobDirs()) {
+                var manifest = manifest(dir.getFileName().toString()).orElse(null);
+                if (manifest != null) {
+                    jobs.add(manifest);
+                } else if (now - Files.getLastModifiedTime(dir).toMillis() > maxAgeMs) {
+                    delete(dir); // análise abandonada antes de publicar
+                }
+            }
+            jobs.sort(Comparator.comparingLong(ArtifactManifest::createdAt));
+
+            // mark: referências por blob
+            Map<Path, Integer> refs = new HashMap<>();
+            for (var job : jobs) {
+                for (var f : job.files()) refs.merge(blobPath(f), 1, Integer::sum);
+            }
+            Map<Path, Long> blobs = blobSizes();
+            long total = blobs.values().stream().mapToLong(Long::longValue).sum();
+
+            int removedJobs = 0;
+            for (var job : jobs) {
+                if (now - job.createdAt() <= maxAgeMs && total <= maxBytes) break;
+                delete(jobsDir().resolve(job.jobId()));
+                removedJobs++;
+                for (var f : job.files()) {
+                    Path blob = blobPath(f);
+                    if (refs.merge(blob, -1, Integer::sum) == 0) {
+                        refs.remove(blob);
+                        total -= blobs.getOrDefault(blob, 0L);
+                    }
+                }
+            }
+
+            // sweep: blobs sem nenhum manifesto (jobs removidos, publicações interrompidas)
+            int removedBlobs = 0;
+            for (Path blob : blobs.keySet()) {
+                if (!refs.containsKey(blob)) {
+                    Files.deleteIfExists(blob);
+                    removedBlobs++;
+                }
+            }
+            if (removedJobs > 0 || removedBlobs > 0) {
+                log.info("🧹 Retenção de artefatos: {} job(s) e {} blob(s) removidos; {} MB em uso",
+                        removedJobs, removedBlobs, total / (1024 * 1024));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Falha na retenção de artefatos: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static Path jobsDir() {
+        return Path.of(LegacyLensConfigLoader.get().getArtifacts().getDir());
+    }
+
+    private static Path blobsDir() {
+        return Path.of(LegacyLensConfigLoader.get().getArtifacts().getBlobDir());
+    }
+
+    private static Path blobPath(ArtifactManifest.Entry entry) {
+        return blobPath(entry.sha256(), entry.compressed());
+    }
+
+    private static Path blobPath(String sha, boolean compressed) {
+        return blobsDir().resolve(sha.substring(0, 2)).resolve(compressed ? sha + ".gz" : sha);
+    }
+
+    private static String validJobId(String jobId) {
+        if (!JOB_ID.matcher(jobId).matches()) throw new IllegalArgumentException("jobId inválido: " + jobId);
+        return jobId;
+    }
+
+    /** Arquivos do job ainda a considerar (manifesto, temporários e diretórios ".*" fora). */
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> s = Files.walk(dir)) {
+            return s.filter(Files::isRegularFile)
+                    .filter(p -> !(p.getParent().equals(dir) && p.getFileName().toString().equals(MANIFEST)))
+                    .filter(p -> !dir.relativize(p).getName(0).toString().startsWith("."))
+                    .filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static List<Path> jobDirs() throws IOException {
+        if (!Files.isDirectory(jobsDir())) return List.of();
+        try (Stream<Path> s = Files.list(jobsDir())) {
+            return s.filter(Files::isDirectory).toList();
+        }
+    }
+
+    private static Map<Path, Long> blobSizes() throws IOException {
+        Map<Path, Long> sizes = new HashMap<>();
+        if (!Files.isDirectory(blobsDir())) return sizes;
+        Files.walkFileTree(blobsDir(), new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!file.getFileName().toString().endsWith(".tmp")) sizes.put(file, attrs.size());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return sizes;
+    }
+
+    private void writeManifest(Path dir, ArtifactManifest manifest) throws IOException {
+        Path tmp = Files.createTempFile(dir, "job-", ".tmp");
+        mapper.writeValue(tmp.toFile(), manifest);
+        Files.move(tmp, dir.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String extension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(((DigestInputStream) in).getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> s = Files.walk(dir)) {
+            for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
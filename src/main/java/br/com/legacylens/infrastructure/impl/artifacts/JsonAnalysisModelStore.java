@@ -0,0 +1,130 @@
+package br.com.legacylens.infrastructure.impl.artifacts;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.RetainedAnalysis;
+import br.com.legacylens.domain.ports.AnalysisModelPort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🧊 JsonAnalysisModelStore
+ * -----------------------------------------
+ * Modelo retido em artifacts.dir/&lt;jobId&gt;/.model (fora do manifesto e removido com o job
+ * pela retenção):
+ *  - analysis.json.gz: {@link RetainedAnalysis}
+ *  - source/&lt;nome&gt;: fonte analisado — movido quando temporário, copiado (sem .git) quando
+ *    é uma working copy persistente
+ */
+@Slf4j
+@Component
+public class JsonAnalysisModelStore implements AnalysisModelPort {
+
+    private static final String MODEL_FILE = "analysis.json.gz";
+
+    private final ObjectMapper mapper;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public JsonAnalysisModelStore(LegacyLensConfigLoader configLoader, ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void retain(RetainedAnalysis model, Path source, boolean movable) {
+        Path dir = modelDir(model.jobId());
+        Path target = dir.resolve("source").resolve(model.source());
+        try {
+            Files.createDirectories(target.getParent());
+            if (!movable || !tryMove(source, target)) copy(source, target);
+
+            Path tmp = Files.createTempFile(dir, "analysis-", ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                mapper.writeValue(out, model);
+            }
+            Files.move(tmp, dir.resolve(MODEL_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            log.info("🧊 Modelo do job {} retido para geração sob demanda", model.jobId());
+        } catch (IOException e) {
+            throw new UncheckedIOException("falha ao reter o modelo do job " + model.jobId(), e);
+        }
+    }
+
+    @Override
+    public Optional<RetainedAnalysis> load(String jobId) {
+        Path file = modelDir(jobId).resolve(MODEL_FILE);
+        if (!Files.exists(file)) return Optional.empty();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return Optional.of(mapper.readValue(in, RetainedAnalysis.class));
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Modelo retido ilegível em {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Path sourceOf(RetainedAnalysis model) {
+        return modelDir(model.jobId()).resolve("source").resolve(model.source());
+    }
+
+    @Override
+    public void release(String jobId) {
+        Path dir = modelDir(jobId);
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> s = Files.walk(dir)) {
+            for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+            log.info("🧹 Modelo retido do job {} descartado (nada mais adiado)", jobId);
+        } catch (IOException e) {
+            log.warn("⚠️ Falha ao descartar modelo do job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static Path modelDir(String jobId) {
+        return Path.of(LegacyLensConfigLoader.get().getArtifacts().getDir()).resolve(jobId).resolve(".model");
+    }
+
+    /** Rename no mesmo volume; entre volumes o move de diretório falha e cai na cópia. */
+    private static boolean tryMove(Path source, Path target) {
+        try {
+            Files.move(source, target);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(source) && dir.getFileName().toString().equals(".git")) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path to = target.resolve(source.relativize(file).toString());
+                if (to.getParent() != null) Files.createDirectories(to.getParent());
+                Files.copy(file, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
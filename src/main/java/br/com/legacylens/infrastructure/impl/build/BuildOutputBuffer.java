@@ -0,0 +1,43 @@
+package br.com.legacylens.infrastructure.impl.build;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🔁 Ring buffer de linhas da saída do build.
+ * Mantém apenas as últimas N linhas (cada uma truncada), com memória limitada
+ * mesmo para builds que despejam milhões de linhas.
+ */
+public class BuildOutputBuffer {
+
+    static final int MAX_LINE_LENGTH = 2_000;
+
+    private final String[] lines;
+    private int next;
+    private int size;
+    private long totalLines;
+
+    public BuildOutputBuffer(int capacity) {
+        this.lines = new String[Math.max(1, capacity)];
+    }
+
+    public synchronized void add(String line) {
+        if (line.length() > MAX_LINE_LENGTH) line = line.substring(0, MAX_LINE_LENGTH) + "…";
+        lines[next] = line;
+        next = (next + 1) % lines.length;
+        if (size < lines.length) size++;
+        totalLines++;
+    }
+
+    /** Últimas linhas em ordem cronológica. */
+    public synchronized List<String> tail() {
+        List<String> out = new ArrayList<>(size);
+        int first = (next - size + lines.length) % lines.length;
+        for (int i = 0; i < size; i++) out.add(lines[(first + i) % lines.length]);
+        return out;
+    }
+
+    public synchronized long totalLines() {
+        return totalLines;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.legacylens.infrastructure.impl.build;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 📦 Resultado de um build supervisionado.
+ *  - outcome: desfecho final (sucesso, falha, timeout, cancelado...)
+ *  - exitCode: código de saída do processo (-1 quando não terminou sozinho)
+ *  - outputTail: últimas linhas da saída (ring buffer)
+ */
+public record BuildResult(
+        Outcome outcome,
+        int exitCode,
+        Duration duration,
+        List<String> outputTail
+) {
+
+    public enum Outcome {
+        SUCCESS,
+        FAILED,
+        TIMEOUT,
+        CANCELLED,
+        ERROR
+    }
+
+    public boolean isSuccess() {
+        return outcome == Outcome.SUCCESS;
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.legacylens.infrastructure.impl.build;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.infrastructure.jfr.BuildEvent;
+import br.com.legacylens.infrastructure.metrics.AnalysisMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🛠️ BuildRunner
+ * -----------------------------------------
+ * Executa builds externos (Maven/Gradle) de forma supervisionada:
+ *  - respeita o prazo do estágio (execution.compileTimeoutMinutes para todos os builds dele,
+ *    contando a espera por slot)
+ *  - mata a árvore inteira de processos (wrapper + JVMs filhas) em timeout/cancelamento
+ *  - cancelamento via interrupção da thread do job (timeout do estágio no StageDagExecutor)
+ *  - limita builds simultâneos (execution.maxConcurrentBuilds)
+ *  - lê a saída de forma assíncrona para um ring buffer limitado
+ *  - publica duração, desfecho e sucesso/falha por tipo de projeto no Micrometer e no JFR
+ */
+@Slf4j
+@Component
+public class BuildRunner {
+
+    private static final Duration KILL_GRACE = Duration.ofSeconds(5);
+    private static final Duration PUMP_DRAIN = Duration.ofSeconds(2);
+    private static final int FAILURE_TAIL_LINES = 20;
+
+    private final AnalysisMetrics metrics;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Set<Process> running = ConcurrentHashMap.newKeySet();
+    private final ExecutorService outputPumps;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public BuildRunner(LegacyLensConfigLoader configLoader, AnalysisMetrics metrics) {
+        this.metrics = metrics;
+        int configured = LegacyLensConfigLoader.get().getExecution().getMaxConcurrentBuilds();
+        this.maxConcurrent = configured > 0
+                ? configured
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.outputPumps = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "build-output-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("🛠️ BuildRunner pronto (builds simultâneos={})", maxConcurrent);
+    }
+
+    // ==============================================================
+    // 🚀 Execução
+    // ==============================================================
+    /**
+     * @param exec     seção execution da análise corrente (tamanho do buffer de saída)
+     * @param deadline prazo do estágio inteiro; builds seguidos (multi-módulo) dividem o mesmo orçamento
+     */
+    public BuildResult run(String tool, List<String> command, Path workDir, EffectiveConfig.Execution exec,
+                           Instant deadline) {
+        BuildOutputBuffer buffer = new BuildOutputBuffer(exec.buildOutputLines());
+        Instant start = Instant.now();
+        BuildEvent event = null;
+
+        boolean acquired = false;
+        Process process = null;
+        try {
+            if (!permits.tryAcquire()) {
+                log.info("⏳ Aguardando slot de build ({} simultâneos) para {}", maxConcurrent, workDir);
+                acquired = permits.tryAcquire(remaining(deadline).toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                acquired = true;
+            }
+            Duration timeout = remaining(deadline);
+            if (!acquired || timeout.isZero()) {
+                log.warn("⏰ Prazo de build do estágio esgotado antes de iniciar ({})", workDir);
+                return finish(tool, BuildResult.Outcome.TIMEOUT, -1, start, buffer, null, workDir);
+            }
+            start = Instant.now();
+            event = BuildEvent.start();
+
+            process = new ProcessBuilder(command)
+                    .directory(workDir.toFile())
+                    .redirectErrorStream(true)
+                    .start();
+            running.add(process);
+
+            Process p = process;
+            Future<?> pump = outputPumps.submit(() -> pump(p, buffer));
+
+            boolean finished = process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!finished) {
+                log.warn("⏰ Build excedeu o prazo ({} s) — encerrando árvore de processos ({})",
+                        timeout.toSeconds(), workDir);
+                destroyTree(process);
+                return finish(tool, BuildResult.Outcome.TIMEOUT, -1, start, buffer, event, workDir);
+            }
+            drain(pump);
+
+            int exit = process.exitValue();
+            return finish(tool, exit == 0 ? BuildResult.Outcome.SUCCESS : BuildResult.Outcome.FAILED,
+                    exit, start, buffer, event, workDir);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("🛑 Build cancelado pelo job ({})", workDir);
+            if (process != null) destroyTree(process);
+            return finish(tool, BuildResult.Outcome.CANCELLED, -1, start, buffer, event, workDir);
+        } catch (Exception e) {
+            log.error("❌ Erro ao executar build {}: {}", command, e.getMessage());
+            if (process != null) destroyTree(process);
+            return finish(tool, BuildResult.Outcome.ERROR, -1, start, buffer, event, workDir);
+        } finally {
+            if (process != null) running.remove(process);
+            if (acquired) permits.release();
+        }
+    }
+
+    public int runningBuilds() {
+        return running.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running.forEach(this::destroyTree);
+        outputPumps.shutdownNow();
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static Duration remaining(Instant deadline) {
+        Duration left = Duration.between(Instant.now(), deadline);
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    private void pump(Process process, BuildOutputBuffer buffer) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) buffer.add(line);
+        } catch (IOException ignored) {
+            // stream fechado ao matar o processo
+        }
+    }
+
+    private void drain(Future<?> pump) {
+        try {
+            pump.get(PUMP_DRAIN.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // netos podem manter o pipe aberto; o tail já coletado é suficiente
+        }
+    }
+
+    /** Encerra filhos antes do pai (depois de morto, os filhos são reparentados e somem da árvore). */
+    private void destroyTree(Process process) {
+        ProcessHandle root = process.toHandle();
+        List<ProcessHandle> tree = root.descendants().toList();
+        tree.forEach(ProcessHandle::destroy);
+        root.destroy();
+
+        try {
+            if (!process.waitFor(KILL_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+                root.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            root.destroyForcibly();
+        }
+        tree.stream().filter(ProcessHandle::isAlive).forEach(ProcessHandle::destroyForcibly);
+    }
+
+    private BuildResult finish(String tool, BuildResult.Outcome outcome, int exitCode, Instant start,
+                               BuildOutputBuffer buffer, @Nullable BuildEvent event, Path workDir) {
+        Duration duration = Duration.between(start, Instant.now());
+        if (event != null) event.finish(tool, workDir, outcome.name(), exitCode);   // null: nem chegou a iniciar
+        metrics.recordBuild(tool, outcome.name(), duration);
+
+        List<String> tail = buffer.tail();
+        if (outcome == BuildResult.Outcome.SUCCESS) {
+            log.info("✅ Build {} concluído em {} ms ({} linhas de saída)",
+                    tool, duration.toMillis(), buffer.totalLines());
+        } else {
+            log.warn("⚠️ Build {} terminou com {} (exit={}) em {} ms", tool, outcome, exitCode, duration.toMillis());
+            tail.subList(Math.max(0, tail.size() - FAILURE_TAIL_LINES), tail.size())
+                    .forEach(line -> log.warn("[BUILD] {}", line));
+        }
+        return new BuildResult(outcome, exitCode, duration, tail);
+    }
+}
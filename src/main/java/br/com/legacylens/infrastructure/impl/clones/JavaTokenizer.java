@@ -0,0 +1,237 @@
+package br.com.legacylens.infrastructure.impl.clones;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tokenização de um arquivo .java para detecção de clones (tipo 2):
+ * identificadores viram um único token, literais viram STR/NUM/CHAR; palavras-chave e
+ * pontuação ficam como estão. Comentários e espaços somem.
+ * Os corpos de método são localizados pelo casamento de chaves: um bloco é método quando
+ * está direto dentro de um tipo e o cabeçalho termina em {@code nome(...) [throws ...]}.
+ */
+final class JavaTokenizer {
+
+    static final int IDENT = 1;
+    static final int STR = 2;
+    static final int NUM = 3;
+    static final int CHAR = 4;
+    private static final int PUNCT_BASE = 16;
+    private static final int KEYWORD_BASE = 1024;
+
+    private static final String[] KEYWORDS = {
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+            "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+            "for", "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native",
+            "new", "package", "private", "protected", "public", "return", "short", "static", "strictfp",
+            "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void",
+            "volatile", "while", "var", "record", "yield", "true", "false", "null"};
+    private static final Map<String, Integer> KEYWORD_CODES = new HashMap<>();
+    private static final Set<String> TYPE_KEYWORDS = Set.of("class", "interface", "enum", "record");
+
+    static {
+        for (int i = 0; i < KEYWORDS.length; i++) KEYWORD_CODES.put(KEYWORDS[i], KEYWORD_BASE + i);
+    }
+
+    /** Corpo de método: dono (tipos aninhados separados por '.'), nome, linhas e tokens normalizados. */
+    record Method(String owner, String name, int startLine, int endLine, int[] tokens) {}
+
+    private enum Kind { TYPE, METHOD, OTHER }
+
+    private record Open(Kind kind, int token, String name) {}
+
+    private final String text;
+    private int size;
+    private int[] codes = new int[256];
+    private int[] lines = new int[256];
+    private int[] starts = new int[256];
+    private int[] ends = new int[256];
+
+    private JavaTokenizer(String text) {
+        this.text = text;
+    }
+
+    static List<Method> methods(String content) {
+        var tokenizer = new JavaTokenizer(content);
+        tokenizer.lex();
+        return tokenizer.parse();
+    }
+
+    // ==============================================================
+    // 🔤 Léxico
+    // ==============================================================
+    private void lex() {
+        int i = 0;
+        int n = text.length();
+        int line = 1;
+        while (i < n) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                line++;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && i + 1 < n && text.charAt(i + 1) == '/') {
+                while (i < n && text.charAt(i) != '\n') i++;
+            } else if (c == '/' && i + 1 < n && text.charAt(i + 1) == '*') {
+                int end = text.indexOf("*/", i + 2);
+                end = end < 0 ? n : end + 2;
+                line += count(i, end);
+                i = end;
+            } else if (c == '"') {
+                int end = text.startsWith("\"\"\"", i) ? textBlockEnd(i) : quotedEnd(i, '"');
+                add(STR, line, i, end);
+                line += count(i, end);
+                i = end;
+            } else if (c == '\'') {
+                int end = quotedEnd(i, '\'');
+                add(CHAR, line, i, end);
+                i = end;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < n && Character.isDigit(text.charAt(i + 1)))) {
+                int end = i + 1;
+                while (end < n && (Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '_'
+                        || text.charAt(end) == '.'
+                        || ((text.charAt(end) == '+' || text.charAt(end) == '-')
+                        && (text.charAt(end - 1) == 'e' || text.charAt(end - 1) == 'E')))) {
+                    end++;
+                }
+                add(NUM, line, i, end);
+                i = end;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < n && Character.isJavaIdentifierPart(text.charAt(end))) end++;
+                Integer keyword = KEYWORD_CODES.get(text.substring(i, end));
+                add(keyword != null ? keyword : IDENT, line, i, end);
+                i = end;
+            } else {
+                add(PUNCT_BASE + c, line, i, i + 1);
+                i++;
+            }
+        }
+    }
+
+    private int quotedEnd(int start, char quote) {
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') i += 2;
+            else if (c == quote || c == '\n') return i + 1;
+            else i++;
+        }
+        return text.length();
+    }
+
+    private int textBlockEnd(int start) {
+        int end = text.indexOf("\"\"\"", start + 3);
+        return end < 0 ? text.length() : end + 3;
+    }
+
+    private int count(int from, int to) {
+        int lf = 0;
+        for (int i = from; i < to; i++) if (text.charAt(i) == '\n') lf++;
+        return lf;
+    }
+
+    private void add(int code, int line, int start, int end) {
+        if (size == codes.length) {
+            int capacity = size * 2;
+            codes = Arrays.copyOf(codes, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        codes[size] = code;
+        lines[size] = line;
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    // ==============================================================
+    // 🧱 Estrutura: tipos e corpos de método
+    // ==============================================================
+    private List<Method> parse() {
+        List<Method> methods = new ArrayList<>();
+        Deque<Open> stack = new ArrayDeque<>();
+        int headerStart = 0;
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            if (code == PUNCT_BASE + '{') {
+                stack.push(classify(headerStart, i, stack.isEmpty() ? null : stack.peek()));
+                headerStart = i + 1;
+            } else if (code == PUNCT_BASE + '}') {
+                if (stack.isEmpty()) continue;
+                Open open = stack.pop();
+                if (open.kind() == Kind.METHOD && i - open.token() > 1) {
+                    methods.add(new Method(owner(stack), open.name(), lines[open.token()], lines[i],
+                            Arrays.copyOfRange(codes, open.token() + 1, i)));
+                }
+                headerStart = i + 1;
+            } else if (code == PUNCT_BASE + ';') {
+                headerStart = i + 1;
+            }
+        }
+        return methods;
+    }
+
+    private Open classify(int from, int brace, Open enclosing) {
+        for (int i = from; i < brace - 1; i++) {
+            if (isKeyword(i, TYPE_KEYWORDS) && (i == 0 || codes[i - 1] != PUNCT_BASE + '.')
+                    && codes[i + 1] == IDENT) {
+                return new Open(Kind.TYPE, brace, word(i + 1));
+            }
+        }
+        if (enclosing == null || enclosing.kind() != Kind.TYPE) return new Open(Kind.OTHER, brace, null);
+
+        int end = brace - 1;
+        // ... ) throws A, b.B {
+        int throwsAt = end;
+        while (throwsAt > from && (codes[throwsAt] == IDENT || codes[throwsAt] == PUNCT_BASE + '.'
+                || codes[throwsAt] == PUNCT_BASE + ',')) {
+            throwsAt--;
+        }
+        if (throwsAt > from && throwsAt < end && word(throwsAt).equals("throws")) end = throwsAt - 1;
+        if (end <= from || codes[end] != PUNCT_BASE + ')') return new Open(Kind.OTHER, brace, null);
+
+        int depth = 0;
+        for (int i = end; i >= from; i--) {
+            if (codes[i] == PUNCT_BASE + ')') depth++;
+            else if (codes[i] == PUNCT_BASE + '(' && --depth == 0) {
+                // new Foo() { ... } é classe anônima; @Anotacao(...) não abre corpo
+                boolean named = i > from && codes[i - 1] == IDENT;
+                boolean plain = i - 1 == from || (codes[i - 2] != PUNCT_BASE + '@' && !word(i - 2).equals("new"));
+                if (named && plain) {
+                    return new Open(Kind.METHOD, brace, word(i - 1));
+                }
+                return new Open(Kind.OTHER, brace, null);
+            }
+        }
+        return new Open(Kind.OTHER, brace, null);
+    }
+
+    private boolean isKeyword(int token, Set<String> words) {
+        return codes[token] >= KEYWORD_BASE && words.contains(word(token));
+    }
+
+    private String word(int token) {
+        return text.substring(starts[token], ends[token]);
+    }
+
+    private static String owner(Deque<Open> stack) {
+        StringBuilder sb = new StringBuilder();
+        var it = stack.descendingIterator();
+        while (it.hasNext()) {
+            Open open = it.next();
+            if (open.kind() != Kind.TYPE) continue;
+            if (!sb.isEmpty()) sb.append('.');
+            sb.append(open.name());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,429 @@
+package br.com.legacylens.infrastructure.impl.clones;
+
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.CloneReport;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.ports.CloneDetectorPort;
+import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * 🧬 MinHashCloneDetector
+ * -----------------------------------------
+ * Clones quase idênticos (tipo 2) sem comparar todos contra todos:
+ *  - cada método vira tokens normalizados ({@link JavaTokenizer}) e shingles de clones.shingleSize
+ *  - assinatura MinHash de clones.numHashes valores por método; a de uma classe é o mínimo
+ *    elemento a elemento das assinaturas dos métodos (= MinHash da união dos shingles)
+ *  - LSH: a assinatura é cortada em clones.bands bandas; só pares que caem no mesmo bucket
+ *    de alguma banda são comparados, e ficam os de similaridade estimada ≥ clones.threshold
+ *  - buckets maiores que clones.maxBucketSize (código gerado, getters...) não geram todos os pares:
+ *    cada membro é comparado só com um representante do bucket (O(n)), e esses buckets são contados
+ *  - pares viram grupos por união (A~B, B~C → {A, B, C})
+ * Leitura/assinaturas e as bandas rodam em paralelo (plan.parallelism); assinaturas e buckets
+ * ficam em arrays primitivos — os tokens de cada arquivo são descartados após a assinatura.
+ */
+@Slf4j
+@Component
+public class MinHashCloneDetector implements CloneDetectorPort {
+
+    public static final String CSV_FILE = "clones.csv";
+
+    private static final Set<String> SKIPPED_DIRS = Set.of("target", "build", "out", "bin", "node_modules", ".git", ".gradle", ".idea");
+
+    /** Método com assinatura (tokens ≥ clones.minTokens). */
+    private record Signed(String owner, String name, int startLine, int endLine, int tokens, int[] signature) {}
+
+    private record FileSignatures(String file, List<Signed> methods) {}
+
+    @Override
+    public CloneReport detect(String source, AnalysisContext context) {
+        Instant start = Instant.now();
+        var cfg = context.config().clones();
+        Path root = Path.of(source).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) return CloneReport.empty();
+
+        List<Path> files = javaFiles(root, cfg.includeTests());
+        Hashes hashes = new Hashes(cfg.numHashes());
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, context.plan().parallelism()));
+        try {
+            List<FileSignatures> signed = pool.submit(() -> files.parallelStream()
+                    .map(f -> sign(root, f, cfg, hashes))
+                    .filter(f -> !f.methods().isEmpty())
+                    .toList()).get();
+
+            Fragments methods = Fragments.methods(signed, cfg.numHashes());
+            Fragments classes = Fragments.classes(signed, cfg.numHashes(), cfg.minClassMethods());
+
+            List<CloneReport.CloneGroup> groups = new ArrayList<>();
+            long candidates = 0;
+            for (var level : List.of(Map.entry("METHOD", methods), Map.entry("CLASS", classes))) {
+                Fragments fragments = level.getValue();
+                LongAdder capped = new LongAdder();
+                long[] pairs = candidatePairs(fragments, cfg, pool, capped);
+                candidates += pairs.length;
+                if (capped.sum() > 0) {
+                    log.warn("⚠️ Clones ({}): {} bucket(s) LSH acima de clones.maxBucketSize={} — membros comparados só com um representante",
+                            level.getKey(), capped.sum(), cfg.maxBucketSize());
+                }
+                groups.addAll(group(level.getKey(), fragments, pairs, cfg, pool));
+            }
+            groups.sort(Comparator.comparingLong(MinHashCloneDetector::weight).reversed());
+            List<CloneReport.CloneGroup> numbered = new ArrayList<>(groups.size());
+            for (int i = 0; i < groups.size(); i++) {
+                var g = groups.get(i);
+                numbered.add(new CloneReport.CloneGroup(i + 1, g.kind(), g.similarity(), g.members()));
+            }
+
+            log.info("🧬 Clones: {} grupo(s) ({} métodos avaliados, {} pares candidatos) em {} ms",
+                    numbered.size(), methods.count, candidates, Duration.between(start, Instant.now()).toMillis());
+            return new CloneReport(methods.count, candidates, numbered);
+        } catch (Exception e) {
+            log.error("❌ Falha na detecção de clones: {}", e.getMessage(), e);
+            return CloneReport.empty();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public Path writeCsv(CloneReport report, Path outDir) {
+        Path output = outDir.resolve(CSV_FILE);
+        try {
+            Files.createDirectories(outDir);
+            try (BufferedWriter w = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                w.write("grupo,tipo,similaridade,arquivo,classe,metodo,linha_inicio,linha_fim,tokens\n");
+                for (var g : report.groups()) {
+                    for (var m : g.members()) {
+                        w.write(g.id() + "," + g.kind() + "," + String.format(Locale.ROOT, "%.3f", g.similarity())
+                                + "," + csv(m.file()) + "," + csv(m.owner()) + "," + csv(m.method())
+                                + "," + m.startLine() + "," + m.endLine() + "," + m.tokens() + "\n");
+                    }
+                }
+            }
+            log.info("🧬 Relatório de clones gerado em {} ({} grupos)", output, report.groups().size());
+            return output;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar " + output, e);
+        }
+    }
+
+    // ==============================================================
+    // ✍️ Assinaturas
+    // ==============================================================
+    private static FileSignatures sign(Path root, Path file, EffectiveConfig.Clones cfg, Hashes hashes) {
+        String content = JavaSourceReaderUtil.readFile(file);
+        List<Signed> methods = new ArrayList<>();
+        for (var m : JavaTokenizer.methods(content)) {
+            if (m.tokens().length < Math.max(cfg.minTokens(), cfg.shingleSize())) continue;
+            methods.add(new Signed(m.owner(), m.name(), m.startLine(), m.endLine(), m.tokens().length,
+                    hashes.minHash(m.tokens(), cfg.shingleSize())));
+        }
+        return new FileSignatures(root.relativize(file).toString().replace('\\', '/'), methods);
+    }
+
+    /** Funções de hash da assinatura: multiply-shift sobre o hash 64 bits de cada shingle. */
+    private static final class Hashes {
+        private final long[] a;
+        private final long[] b;
+
+        private Hashes(int count) {
+            var random = new SplittableRandom(0x5EEDC10E5L);
+            a = new long[count];
+            b = new long[count];
+            for (int i = 0; i < count; i++) {
+                a[i] = random.nextLong() | 1L;
+                b[i] = random.nextLong();
+            }
+        }
+
+        private int[] minHash(int[] tokens, int shingleSize) {
+            int[] signature = new int[a.length];
+            Arrays.fill(signature, Integer.MAX_VALUE);
+            for (int s = 0; s + shingleSize <= tokens.length; s++) {
+                long h = 0;
+                for (int k = 0; k < shingleSize; k++) h = h * 0x9E3779B97F4A7C15L + tokens[s + k];
+                long x = mix(h);
+                for (int i = 0; i < a.length; i++) {
+                    int v = (int) ((a[i] * x + b[i]) >>> 32);
+                    if (v < signature[i]) signature[i] = v;
+                }
+            }
+            return signature;
+        }
+    }
+
+    // ==============================================================
+    // 🪣 LSH
+    // ==============================================================
+
+    /** Pares (i &lt;&lt; 32 | j, i &lt; j) que dividem bucket em ao menos uma banda, sem repetição. */
+    private static long[] candidatePairs(Fragments f, EffectiveConfig.Clones cfg, ForkJoinPool pool, LongAdder capped)
+            throws Exception {
+        if (f.count < 2) return new long[0];
+        List<long[]> perBand = pool.submit(() -> IntStream.range(0, cfg.bands()).parallel()
+                .mapToObj(band -> bandPairs(f, band, cfg.rows(), cfg.maxBucketSize(), capped))
+                .toList()).get();
+        int total = perBand.stream().mapToInt(p -> p.length).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] p : perBand) {
+            System.arraycopy(p, 0, all, offset, p.length);
+            offset += p.length;
+        }
+        Arrays.parallelSort(all);
+        int unique = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) all[unique++] = all[i];
+        }
+        return Arrays.copyOf(all, unique);
+    }
+
+    private static long[] bandPairs(Fragments f, int band, int rows, int maxBucketSize, LongAdder capped) {
+        // chave = hash da banda (32 bits altos) | índice (32 bits baixos): ordenar agrupa os buckets
+        long[] keys = new long[f.count];
+        int h = f.hashes;
+        for (int i = 0; i < f.count; i++) {
+            long acc = band;
+            int base = i * h + band * rows;
+            for (int r = 0; r < rows; r++) acc = acc * 0x9E3779B97F4A7C15L + f.signatures[base + r];
+            keys[i] = ((long) (int) mix(acc) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        LongBuffer pairs = new LongBuffer();
+        int from = 0;
+        while (from < keys.length) {
+            int to = from + 1;
+            while (to < keys.length && (keys[to] >>> 32) == (keys[from] >>> 32)) to++;
+            int bucket = to - from;
+            if (bucket > maxBucketSize) {
+                // representante = menor índice (as chaves do bucket estão ordenadas pelo índice)
+                capped.increment();
+                long representative = (long) (int) keys[from] << 32;
+                for (int x = from + 1; x < to; x++) pairs.add(representative | (int) keys[x]);
+            } else if (bucket >= 2) {
+                for (int x = from; x < to; x++) {
+                    for (int y = x + 1; y < to; y++) {
+                        int i = (int) keys[x];
+                        int j = (int) keys[y];
+                        pairs.add(((long) Math.min(i, j) << 32) | Math.max(i, j));
+                    }
+                }
+            }
+            from = to;
+        }
+        return pairs.toArray();
+    }
+
+    // ==============================================================
+    // 🔗 Verificação e grupos
+    // ==============================================================
+    private static List<CloneReport.CloneGroup> group(String kind, Fragments f, long[] pairs,
+                                                      EffectiveConfig.Clones cfg, ForkJoinPool pool) throws Exception {
+        if (pairs.length == 0) return List.of();
+        float[] similarity = new float[pairs.length];
+        pool.submit(() -> IntStream.range(0, pairs.length).parallel()
+                .forEach(p -> similarity[p] = f.similarity((int) (pairs[p] >>> 32), (int) pairs[p]))).get();
+
+        int[] parent = new int[f.count];
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        for (int p = 0; p < pairs.length; p++) {
+            if (similarity[p] < cfg.threshold()) continue;
+            int a = find(parent, (int) (pairs[p] >>> 32));
+            int b = find(parent, (int) pairs[p]);
+            if (a != b) parent[Math.max(a, b)] = Math.min(a, b);
+        }
+        Map<Integer, Float> minSimilarity = new HashMap<>();
+        for (int p = 0; p < pairs.length; p++) {
+            if (similarity[p] < cfg.threshold()) continue;
+            minSimilarity.merge(find(parent, (int) (pairs[p] >>> 32)), similarity[p], Math::min);
+        }
+
+        Map<Integer, List<CloneReport.Fragment>> members = new TreeMap<>();
+        for (int i = 0; i < f.count; i++) {
+            int r = find(parent, i);
+            if (minSimilarity.containsKey(r)) members.computeIfAbsent(r, k -> new ArrayList<>()).add(f.fragment(i));
+        }
+        List<CloneReport.CloneGroup> groups = new ArrayList<>();
+        members.forEach((r, list) -> groups.add(new CloneReport.CloneGroup(0, kind,
+                Math.round(minSimilarity.get(r) * 1000) / 1000.0, list)));
+        return groups;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /** Tokens duplicados do grupo — o que pesa na migração vem primeiro. */
+    private static long weight(CloneReport.CloneGroup g) {
+        return g.members().stream().mapToLong(CloneReport.Fragment::tokens).sum()
+                - g.members().stream().mapToLong(CloneReport.Fragment::tokens).max().orElse(0);
+    }
+
+    // ==============================================================
+    // 🗃️ Tabela de fragmentos em arrays primitivos
+    // ==============================================================
+    private static final class Fragments {
+        final int count;
+        final int hashes;
+        final int[] signatures;
+        final int[] file;
+        final int[] startLine;
+        final int[] endLine;
+        final int[] tokens;
+        final String[] owner;
+        final String[] method;
+        final String[] files;
+
+        private Fragments(int count, int hashes, String[] files) {
+            this.count = count;
+            this.hashes = hashes;
+            this.signatures = new int[count * hashes];
+            this.file = new int[count];
+            this.startLine = new int[count];
+            this.endLine = new int[count];
+            this.tokens = new int[count];
+            this.owner = new String[count];
+            this.method = new String[count];
+            this.files = files;
+        }
+
+        static Fragments methods(List<FileSignatures> signed, int hashes) {
+            int count = signed.stream().mapToInt(s -> s.methods().size()).sum();
+            Fragments f = new Fragments(count, hashes, signed.stream().map(FileSignatures::file).toArray(String[]::new));
+            int i = 0;
+            for (int fi = 0; fi < signed.size(); fi++) {
+                for (Signed m : signed.get(fi).methods()) {
+                    f.set(i++, fi, m.owner(), m.name(), m.startLine(), m.endLine(), m.tokens(), m.signature());
+                }
+            }
+            return f;
+        }
+
+        /** Uma entrada por classe com ao menos minMethods métodos assinados. */
+        static Fragments classes(List<FileSignatures> signed, int hashes, int minMethods) {
+            record Owner(int file, String name) {}
+            Map<Owner, List<Signed>> byOwner = new LinkedHashMap<>();
+            for (int fi = 0; fi < signed.size(); fi++) {
+                for (Signed m : signed.get(fi).methods()) {
+                    byOwner.computeIfAbsent(new Owner(fi, m.owner()), k -> new ArrayList<>()).add(m);
+                }
+            }
+            byOwner.values().removeIf(list -> list.size() < minMethods);
+            Fragments f = new Fragments(byOwner.size(), hashes, signed.stream().map(FileSignatures::file).toArray(String[]::new));
+            int i = 0;
+            for (var e : byOwner.entrySet()) {
+                int[] union = new int[hashes];
+                Arrays.fill(union, Integer.MAX_VALUE);
+                int start = Integer.MAX_VALUE;
+                int end = 0;
+                int total = 0;
+                for (Signed m : e.getValue()) {
+                    for (int h = 0; h < hashes; h++) union[h] = Math.min(union[h], m.signature()[h]);
+                    start = Math.min(start, m.startLine());
+                    end = Math.max(end, m.endLine());
+                    total += m.tokens();
+                }
+                f.set(i++, e.getKey().file(), e.getKey().name(), "", start, end, total, union);
+            }
+            return f;
+        }
+
+        private void set(int i, int fileIndex, String ownerName, String methodName, int start, int end, int tokenCount,
+                         int[] signature) {
+            System.arraycopy(signature, 0, signatures, i * hashes, hashes);
+            file[i] = fileIndex;
+            owner[i] = ownerName;
+            method[i] = methodName;
+            startLine[i] = start;
+            endLine[i] = end;
+            tokens[i] = tokenCount;
+        }
+
+        float similarity(int a, int b) {
+            int equal = 0;
+            int ia = a * hashes;
+            int ib = b * hashes;
+            for (int h = 0; h < hashes; h++) if (signatures[ia + h] == signatures[ib + h]) equal++;
+            return (float) equal / hashes;
+        }
+
+        CloneReport.Fragment fragment(int i) {
+            return new CloneReport.Fragment(files[file[i]], owner[i], method[i], startLine[i], endLine[i], tokens[i]);
+        }
+    }
+
+    /** Lista de long sem boxing. */
+    private static final class LongBuffer {
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários
+    // ==============================================================
+    private static List<Path> javaFiles(Path root, boolean includeTests) {
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                    boolean tests = !includeTests && name.equals("test") && dir.getParent() != null
+                            && "src".equals(String.valueOf(dir.getParent().getFileName()));
+                    return !dir.equals(root) && (SKIPPED_DIRS.contains(name) || tests)
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (file.toString().endsWith(".java")) files.add(file);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("⚠️ Falha ao percorrer fontes de {}: {}", root, e.getMessage());
+        }
+        return files;
+    }
+
+    /** Finalizador do SplitMix64: espalha bem os bits de hashes vizinhos. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
@@ -1,58 +1,225 @@
 package br.com.legacylens.infrastructure.impl.excel;
 
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.CloneReport;
+import br.com.legacylens.domain.model.EffectiveConfig;
 import br.com.legacylens.domain.model.ExcelReport;
 import br.com.legacylens.domain.model.ProjectScan;
+import br.com.legacylens.domain.model.SourceInventory;
 import br.com.legacylens.domain.ports.ExcelReportPort;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xssf.usermodel.*;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 import java.io.FileOutputStream;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * 📊 PoiExcelReportImpl
+ * -----------------------------------------
+ * Planilha de inventário completo escrita em streaming (SXSSF):
+ *  - janela de linhas em memória limitada (reports.excel.rowWindow) e
+ *    arquivos temporários comprimidos — heap estável mesmo com centenas de milhares de linhas
+ *  - abas divididas ao atingir reports.excel.maxRows ("Classes", "Classes (2)", ...)
+ *  - reports.excel.autosizeColumns ajusta as colunas pelas primeiras linhas de cada aba
+ *  - aba "Clones" com um trecho por linha, agrupado pelo detector de clones
+ */
 @Slf4j
 @Component
 public class PoiExcelReportImpl implements ExcelReportPort {
 
     @Override
-    public ExcelReport write(ProjectScan scan, Path outDir) {
-        var wb = new XSSFWorkbook();
+    public ExcelReport write(ProjectScan scan, SourceInventory inventory, CloneReport clones, Path outDir,
+                             AnalysisContext context) {
+        var cfg = context.config().excel();
+        var wb = new SXSSFWorkbook(Math.max(10, cfg.rowWindow()));
+        wb.setCompressTempFiles(true);
         try {
-            var inv = wb.createSheet("Inventário Legado");
-            var header = inv.createRow(0);
-            header.createCell(0).setCellValue("Item");
-            header.createCell(1).setCellValue("Valor");
+            CellStyle headerStyle = headerStyle(wb);
 
-            var javaRow = inv.createRow(1);
-            javaRow.createCell(0).setCellValue("Java");
-            javaRow.createCell(1).setCellValue(nvl(scan.javaVersion()));
+            // --- Resumo ---
+            var summary = new SheetWriter(wb, "Inventário Legado", cfg, headerStyle, "Item", "Valor");
+            summary.row("Tipo de projeto", nvl(scan.projectType()));
+            summary.row("Java", nvl(scan.javaVersion()));
+            summary.row("Spring", nvl(scan.springVersion()));
+            summary.row("Spring Boot", nvl(scan.springBootVersion()));
+            summary.row("Dependências", count(scan.libraries()));
+            summary.row("Classes", String.valueOf(inventory.classes().size()));
+            summary.row("Endpoints", String.valueOf(inventory.endpoints().size()));
+            summary.row("Módulos", String.valueOf(inventory.modules().size()));
+            summary.row("Clones (grupos)", String.valueOf(clones.groups().size()));
+            summary.finish();
 
-            var springRow = inv.createRow(2);
-            springRow.createCell(0).setCellValue("Spring");
-            springRow.createCell(1).setCellValue(nvl(scan.springVersion()));
+            // --- Dependências ---
+            var deps = new SheetWriter(wb, "Dependências", cfg, headerStyle, "Group", "Artifact", "Versão");
+            Map<String, String> libraries = scan.libraries() != null ? new TreeMap<>(scan.libraries()) : Map.of();
+            for (var e : libraries.entrySet()) {
+                String[] ga = e.getKey().split(":", 2);
+                deps.row(ga[0], ga.length > 1 ? ga[1] : "", nvl(e.getValue()));
+            }
+            deps.finish();
 
-            var bootRow = inv.createRow(3);
-            bootRow.createCell(0).setCellValue("Spring Boot");
-            bootRow.createCell(1).setCellValue(nvl(scan.springBootVersion()));
+            // --- Classes por papel ---
+            var classes = new SheetWriter(wb, "Classes", cfg, headerStyle,
+                    "Módulo", "Pacote", "Classe", "Papel", "Arquivo");
+            for (var c : inventory.classes()) {
+                classes.row(c.module(), c.packageName(), c.className(), c.role(), c.file());
+            }
+            classes.finish();
 
-            var rec = wb.createSheet("Recomendações");
-            rec.createRow(0).createCell(0).setCellValue("Java 17 LTS / Spring Boot 3.5.x / Jakarta");
-            rec.createRow(1).createCell(0).setCellValue("Micrometer + OTel / OpenAPI / JUnit 5");
+            // --- Endpoints ---
+            var endpoints = new SheetWriter(wb, "Endpoints", cfg, headerStyle,
+                    "Módulo", "Controller", "HTTP", "Path", "Método", "Request", "Response", "Status");
+            for (var e : inventory.endpoints()) {
+                endpoints.row(e.module(), e.controller(), nvl(e.httpMethod()), nvl(e.path()), e.methodName(),
+                        nvl(e.requestDto()), nvl(e.responseDto()), nvl(e.responseCode()));
+            }
+            endpoints.finish();
+
+            // --- Estatísticas por módulo ---
+            var modules = new SheetWriter(wb, "Módulos", cfg, headerStyle,
+                    "Módulo", "Arquivos .java", "Linhas", "Bytes", "Controllers", "Services", "Repositories", "Endpoints");
+            for (var m : inventory.modules()) {
+                modules.numericRow(m.module(), m.javaFiles(), m.lines(), m.bytes(),
+                        m.controllers(), m.services(), m.repositories(), m.endpoints());
+            }
+            modules.finish();
+
+            // --- Clones ---
+            var cloneSheet = new SheetWriter(wb, "Clones", cfg, headerStyle,
+                    "Grupo", "Tipo", "Similaridade", "Arquivo", "Classe", "Método", "Linhas", "Tokens");
+            for (var g : clones.groups()) {
+                for (var m : g.members()) {
+                    cloneSheet.row(String.valueOf(g.id()), g.kind(), String.format("%.0f%%", g.similarity() * 100),
+                            m.file(), m.owner(), m.method(), m.startLine() + "-" + m.endLine(),
+                            String.valueOf(m.tokens()));
+                }
+            }
+            cloneSheet.finish();
+
+            // --- Recomendações ---
+            var rec = new SheetWriter(wb, "Recomendações", cfg, headerStyle, "Recomendação");
+            rec.row("Java 17 LTS / Spring Boot 3.5.x / Jakarta");
+            rec.row("Micrometer + OTel / OpenAPI / JUnit 5");
+            rec.finish();
 
             Path output = outDir.resolve("LegacyLens-Legado-vs-Novo.xlsx");
             try (var fos = new FileOutputStream(output.toFile())) {
                 wb.write(fos);
             }
-            log.info("Planilha Excel gerada em {}", output);
+            log.info("Planilha Excel gerada em {} ({} classes, {} endpoints, {} dependências)",
+                    output, inventory.classes().size(), inventory.endpoints().size(), libraries.size());
             return new ExcelReport(output.getFileName().toString());
         } catch (Exception e) {
             log.error("Erro ao gerar planilha Excel: {}", e.getMessage(), e);
             return new ExcelReport("error.xlsx");
         } finally {
+            // close() também apaga os arquivos temporários do SXSSF
             try { wb.close(); } catch (Exception ignored) {}
         }
     }
 
+    // ==============================================================
+    // 🔧 Escrita de abas com divisão por maxRows
+    // ==============================================================
+    private static final class SheetWriter {
+        /** Autosize mede só as primeiras linhas de cada aba (medir tudo custa mais que escrever). */
+        private static final int AUTOSIZE_SAMPLE_ROWS = 1_000;
+
+        private final SXSSFWorkbook wb;
+        private final String baseName;
+        private final String[] header;
+        private final CellStyle headerStyle;
+        private final boolean autosize;
+        private final int maxRows;
+
+        private SXSSFSheet sheet;
+        private int part;
+        private int rowIndex;
+        private boolean tracking;
+
+        private SheetWriter(SXSSFWorkbook wb, String baseName, EffectiveConfig.Excel cfg,
+                            CellStyle headerStyle, String... header) {
+            this.wb = wb;
+            this.baseName = baseName;
+            this.header = header;
+            this.headerStyle = headerStyle;
+            this.autosize = cfg.autosizeColumns();
+            int excelLimit = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+            this.maxRows = cfg.maxRows() > 0 ? Math.min(cfg.maxRows(), excelLimit) : excelLimit;
+            nextSheet();
+        }
+
+        private void row(String... values) {
+            SXSSFRow row = nextRow();
+            for (int i = 0; i < values.length; i++) row.createCell(i).setCellValue(values[i]);
+        }
+
+        private void numericRow(String label, long... values) {
+            SXSSFRow row = nextRow();
+            row.createCell(0).setCellValue(label);
+            for (int i = 0; i < values.length; i++) row.createCell(i + 1).setCellValue(values[i]);
+        }
+
+        private SXSSFRow nextRow() {
+            if (rowIndex > maxRows) {
+                finish();
+                nextSheet();
+            }
+            if (tracking && rowIndex > AUTOSIZE_SAMPLE_ROWS) applyAutosize();
+            return sheet.createRow(rowIndex++);
+        }
+
+        private void nextSheet() {
+            part++;
+            sheet = wb.createSheet(part == 1 ? baseName : baseName + " (" + part + ")");
+            if (autosize) {
+                sheet.trackAllColumnsForAutoSizing();
+                tracking = true;
+            }
+            SXSSFRow row = sheet.createRow(0);
+            for (int i = 0; i < header.length; i++) {
+                var cell = row.createCell(i);
+                cell.setCellValue(header[i]);
+                cell.setCellStyle(headerStyle);
+            }
+            sheet.createFreezePane(0, 1);
+            rowIndex = 1;
+        }
+
+        private void finish() {
+            if (tracking) applyAutosize();
+            else if (!autosize) {
+                for (int i = 0; i < header.length; i++) sheet.setColumnWidth(i, 24 * 256);
+            }
+        }
+
+        private void applyAutosize() {
+            for (int i = 0; i < header.length; i++) sheet.autoSizeColumn(i);
+            sheet.untrackAllColumnsForAutoSizing();
+            tracking = false;
+        }
+    }
+
+    private static CellStyle headerStyle(SXSSFWorkbook wb) {
+        Font bold = wb.createFont();
+        bold.setBold(true);
+        CellStyle style = wb.createCellStyle();
+        style.setFont(bold);
+        return style;
+    }
+
+    private static String count(Map<String, String> map) {
+        return String.valueOf(map == null ? 0 : map.size());
+    }
+
     private static String nvl(String s) {
         return s == null ? "-" : s;
     }
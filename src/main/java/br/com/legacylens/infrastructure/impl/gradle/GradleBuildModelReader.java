@@ -0,0 +1,428 @@
+package br.com.legacylens.infrastructure.impl.gradle;
+
+import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🐘 GradleBuildModelReader
+ * -----------------------------------------
+ * Modelo de build Gradle lido estaticamente (sem executar o Gradle):
+ *  - settings.gradle(.kts): include (Groovy e Kotlin DSL, multilinha), projectDir customizado
+ *    e catálogos declarados em versionCatalogs { create("x") { from(files(...)) } }
+ *  - variáveis: gradle.properties (raiz e subprojeto), ext { }, ext.x / ext["x"], extra["x"],
+ *    val x = "...", val x by extra("..."), def x = ...; subprojetos herdam as da raiz
+ *  - dependencies { } de cada projeto (fora de buildscript): strings "g:a:v" interpoladas,
+ *    notação de mapa group/name/version, libs.* / libs.bundles.* e referências a variáveis
+ *  - subprojetos lidos em paralelo; catálogos (libs.versions.toml) em cache pelo SHA-256
+ * O que depende de avaliar o script (plugins que injetam dependências, lógica condicional)
+ * fica de fora.
+ */
+@Slf4j
+@Component
+public class GradleBuildModelReader {
+
+    private static final int CATALOG_CACHE_SIZE = 64;
+
+    private static final Pattern INCLUDE = Pattern.compile("(?m)^\\s*include\\b\\s*");
+    private static final Pattern QUOTED = Pattern.compile("[\"']([^\"'\\n]*)[\"']");
+    private static final Pattern PROJECT_DIR = Pattern.compile(
+            "project\\(\\s*[\"']([^\"']+)[\"']\\s*\\)\\.projectDir\\s*=\\s*(?:file\\(\\s*)?(?:new\\s+File\\([^,]*,\\s*)?[\"']([^\"']+)[\"']");
+    private static final Pattern CATALOG = Pattern.compile(
+            "create\\(\\s*[\"'](\\w+)[\"']\\s*\\)\\s*\\{[^}]*?from\\(\\s*files\\(\\s*[\"']([^\"']+)[\"']");
+    private static final Pattern GROOVY_CATALOG = Pattern.compile(
+            "(?<![\\w.])(\\w+)\\s*\\{[^{}]*?from\\(\\s*files\\(\\s*[\"']([^\"']+)[\"']");
+
+    private static final Pattern ASSIGNMENT = Pattern.compile(
+            "(?m)^\\s*(?:(?:allprojects|subprojects)\\s*\\{\\s*)?(?:(?:def|val|var|String)\\s+)?(?:(?:project\\.)?ext\\.|extra\\.)?([A-Za-z_][\\w.]*)\\s*(?::\\s*String\\s*)?=\\s*(.+)$");
+    private static final Pattern INDEXED = Pattern.compile("(?:ext|extra)\\[\\s*[\"']([\\w.\\-]+)[\"']\\s*]\\s*=\\s*(.+)");
+    private static final Pattern BY_EXTRA = Pattern.compile("val\\s+(\\w+)\\s+by\\s+extra\\(\\s*(.+?)\\s*\\)\\s*$", Pattern.MULTILINE);
+    private static final Pattern SET_CALL = Pattern.compile("set\\(\\s*[\"']([\\w.\\-]+)[\"']\\s*,\\s*(.+?)\\s*\\)\\s*$", Pattern.MULTILINE);
+    private static final Pattern MAP_ENTRY = Pattern.compile("([\\w\\-]+|[\"'][^\"']+[\"'])\\s*:\\s*([\"'][^\"'\\n]*[\"'])");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"([^\"\\n]*)\"|'([^'\\n]*)'");
+    private static final Pattern COORDINATES = Pattern.compile("([\\w.\\-]+):([\\w.\\-]+)(?::([^:@\\s]+))?(?::[\\w\\-]+)?(?:@\\w+)?");
+    private static final Pattern MAP_NOTATION = Pattern.compile(
+            "group\\s*[:=]\\s*[\"']([^\"']+)[\"']\\s*,\\s*name\\s*[:=]\\s*[\"']([^\"']+)[\"'](?:\\s*,\\s*version\\s*[:=]\\s*[\"']([^\"']+)[\"'])?");
+    private static final Pattern ACCESSOR = Pattern.compile("(?<![\\w.])(\\w+)\\.((?:bundles\\.)?[\\w.]+?)(?:\\.get\\(\\))?(?=[\\s,)}\\]]|$)");
+    private static final Pattern CONFIGURATION_REF = Pattern.compile(
+            "(?m)^\\s*\\w+\\s*\\(?\\s*(?!project\\b|platform\\b|enforcedPlatform\\b|files\\b|fileTree\\b)([A-Za-z_][\\w]*(?:\\.[A-Za-z_]\\w*)*)\\s*\\)?\\s*(?:\\{|$)");
+
+    private static final List<Pattern> JAVA_VERSION = List.of(
+            Pattern.compile("JavaLanguageVersion\\.of\\(\\s*[\"']?(\\d+)"),
+            Pattern.compile("jvmToolchain\\(\\s*(\\d+)"),
+            Pattern.compile("(?:source|target)Compatibility\\s*=\\s*JavaVersion\\.VERSION_(\\d+(?:_\\d+)?)"),
+            Pattern.compile("(?:source|target)Compatibility\\s*=\\s*[\"']?(\\d+(?:\\.\\d+)?)"),
+            Pattern.compile("options\\.release\\.set\\(\\s*(\\d+)"),
+            Pattern.compile("release\\s*=\\s*(\\d+)"));
+    private static final List<Pattern> BOOT_PLUGIN = List.of(
+            Pattern.compile("id\\s*\\(?\\s*[\"']org\\.springframework\\.boot[\"']\\s*\\)?\\s*version\\s*\\(?\\s*[\"']([^\"']+)[\"']"),
+            Pattern.compile("spring-boot-gradle-plugin:([^\"'\\s)]+)"),
+            Pattern.compile("spring-boot\\s*[:=]\\s*['\"]?(\\d+\\.\\d+\\.\\d+[\\w.\\-]*)"));
+    private static final Pattern PLUGIN_ALIAS = Pattern.compile("alias\\(\\s*(\\w+)\\.plugins\\.([\\w.]+)\\s*\\)");
+
+    private final Map<String, VersionCatalog> catalogCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VersionCatalog> eldest) {
+                    return size() > CATALOG_CACHE_SIZE;
+                }
+            });
+
+    /** Projeto do build: caminho Gradle (":" para a raiz), script lido e coordenadas declaradas. */
+    public record Project(String path, Path dir, Path script, List<String> dependencies, Map<String, String> variables) {}
+
+    public record Build(List<Project> projects, String javaVersion, String bootVersion, List<String> problems) {
+
+        public Project root() {
+            return projects.get(0);
+        }
+
+        /** group:nome dos próprios projetos (não são bibliotecas). */
+        public Set<String> coordinates() {
+            Set<String> result = new HashSet<>();
+            projects.forEach(p -> result.add(p.variables().getOrDefault("group", "") + ":" + p.dir().getFileName()));
+            return result;
+        }
+    }
+
+    /** Projeto e o texto do script (sem comentários), para as versões não relerem o arquivo. */
+    private record Parsed(Project project, String text) {}
+
+    public Build read(Path rootDir) throws IOException {
+        long start = System.nanoTime();
+        Path root = rootDir.toAbsolutePath().normalize();
+        List<String> problems = Collections.synchronizedList(new ArrayList<>());
+
+        String settings = GradleScriptUtil.stripComments(readFirst(root, "settings.gradle", "settings.gradle.kts"));
+        Map<String, Path> projectDirs = projects(root, settings);
+        Map<String, VersionCatalog> catalogs = catalogs(root, settings, problems);
+
+        Path rootScript = script(root);
+        String rootText = rootScript != null ? GradleScriptUtil.stripComments(JavaSourceReaderUtil.readFile(rootScript)) : "";
+        Map<String, String> rootVars = new HashMap<>(properties(root.resolve("gradle.properties")));
+        rootVars.putAll(variables(rootText));
+
+        List<Map.Entry<String, Path>> entries = List.copyOf(projectDirs.entrySet());
+        List<Parsed> parsed;
+        int parallelism = Math.min(entries.size(), Runtime.getRuntime().availableProcessors());
+        if (parallelism <= 1) {
+            parsed = entries.stream().map(e -> project(e, root, rootText, rootVars, catalogs, problems)).toList();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                parsed = pool.submit(() -> entries.parallelStream()
+                        .map(e -> project(e, root, rootText, rootVars, catalogs, problems))
+                        .toList()).get();
+            } catch (Exception e) {
+                throw new IOException("Falha ao ler subprojetos Gradle: " + e.getMessage(), e);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        List<Project> projects = parsed.stream().map(Parsed::project).toList();
+        String javaVersion = null;
+        String bootVersion = null;
+        for (Parsed p : parsed) {
+            if (p.project().script() == null) continue;
+            if (javaVersion == null) javaVersion = javaVersion(p.text(), p.project().variables());
+            if (bootVersion == null) bootVersion = bootVersion(p.text(), p.project().variables(), catalogs);
+        }
+
+        log.info("🐘 Build Gradle lido: {} projeto(s), {} catálogo(s) em {} ms{}", projects.size(), catalogs.size(),
+                (System.nanoTime() - start) / 1_000_000,
+                problems.isEmpty() ? "" : " — " + problems.size() + " problema(s)");
+        return new Build(projects, javaVersion, bootVersion, List.copyOf(problems));
+    }
+
+    // ==============================================================
+    // 📜 settings.gradle
+    // ==============================================================
+    private static Map<String, Path> projects(Path root, String settings) {
+        Map<String, Path> dirs = new LinkedHashMap<>();
+        dirs.put(":", root);
+        Matcher include = INCLUDE.matcher(settings);
+        while (include.find()) {
+            Matcher name = QUOTED.matcher(includeArguments(settings, include.end()));
+            while (name.find()) {
+                String path = name.group(1).startsWith(":") ? name.group(1) : ":" + name.group(1);
+                dirs.put(path, root.resolve(path.substring(1).replace(':', '/')).normalize());
+            }
+        }
+        Matcher custom = PROJECT_DIR.matcher(settings);
+        while (custom.find()) {
+            String path = custom.group(1).startsWith(":") ? custom.group(1) : ":" + custom.group(1);
+            if (dirs.containsKey(path)) dirs.put(path, root.resolve(custom.group(2)).normalize());
+        }
+        return dirs;
+    }
+
+    /** Argumentos de include: entre parênteses, ou até a linha que não termina em vírgula. */
+    private static String includeArguments(String settings, int from) {
+        if (from < settings.length() && settings.charAt(from) == '(') {
+            int close = settings.indexOf(')', from);
+            return settings.substring(from + 1, close < 0 ? settings.length() : close);
+        }
+        int end = from;
+        while (true) {
+            int eol = settings.indexOf('\n', end);
+            if (eol < 0) return settings.substring(from);
+            end = eol + 1;
+            if (!settings.substring(from, eol).stripTrailing().endsWith(",")) return settings.substring(from, eol);
+        }
+    }
+
+    private Map<String, VersionCatalog> catalogs(Path root, String settings, List<String> problems) {
+        Map<String, Path> files = new LinkedHashMap<>();
+        Path defaultCatalog = root.resolve("gradle/libs.versions.toml");
+        if (Files.isRegularFile(defaultCatalog)) files.put("libs", defaultCatalog);
+        for (var block : GradleScriptUtil.blocks(settings, "versionCatalogs")) {
+            for (Pattern pattern : List.of(CATALOG, GROOVY_CATALOG)) {
+                Matcher m = pattern.matcher(block.body());
+                while (m.find()) files.putIfAbsent(m.group(1), root.resolve(m.group(2)).normalize());
+            }
+        }
+
+        Map<String, VersionCatalog> catalogs = new LinkedHashMap<>();
+        files.forEach((name, file) -> {
+            try {
+                catalogs.put(name, catalog(file));
+            } catch (IOException | RuntimeException e) {
+                // TOML malformado (tabela inline sem fechar...) não derruba o build inteiro
+                problems.add(file + ": " + e.getMessage());
+            }
+        });
+        return catalogs;
+    }
+
+    private VersionCatalog catalog(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        String key = sha256(bytes);
+        VersionCatalog cached = catalogCache.get(key);
+        if (cached != null) return cached;
+        VersionCatalog catalog = VersionCatalog.parse(new String(bytes, StandardCharsets.UTF_8));
+        catalogCache.put(key, catalog);
+        return catalog;
+    }
+
+    // ==============================================================
+    // 🧩 Projeto
+    // ==============================================================
+    private Parsed project(Map.Entry<String, Path> entry, Path root, String rootText, Map<String, String> rootVars,
+                           Map<String, VersionCatalog> catalogs, List<String> problems) {
+        Path dir = entry.getValue();
+        Path script = script(dir);
+        Map<String, String> vars = new HashMap<>(rootVars);
+        if (script == null) {
+            if (!dir.equals(root)) problems.add(entry.getKey() + ": script de build não encontrado em " + dir);
+            return new Parsed(new Project(entry.getKey(), dir, null, List.of(), vars), "");
+        }
+        String text = "";
+        try {
+            // raiz já lida em read(); charset detectado por arquivo (scripts legados em Cp1252)
+            text = dir.equals(root) ? rootText : GradleScriptUtil.stripComments(JavaSourceReaderUtil.readFile(script));
+            if (!dir.equals(root)) {
+                vars.putAll(properties(dir.resolve("gradle.properties")));
+                vars.putAll(variables(text));
+            }
+            return new Parsed(new Project(entry.getKey(), dir, script, dependencies(text, vars, catalogs),
+                    Map.copyOf(vars)), text);
+        } catch (RuntimeException e) {
+            problems.add(script + ": " + e.getMessage());
+            return new Parsed(new Project(entry.getKey(), dir, script, List.of(), vars), text);
+        }
+    }
+
+    /** Coordenadas "g:a[:v]" dos blocos dependencies { } (exceto os de buildscript). */
+    static List<String> dependencies(String text, Map<String, String> vars, Map<String, VersionCatalog> catalogs) {
+        List<GradleScriptUtil.Block> buildscript = GradleScriptUtil.blocks(text, "buildscript");
+        List<String> result = new ArrayList<>();
+        for (var block : GradleScriptUtil.blocks(text, "dependencies")) {
+            if (buildscript.stream().anyMatch(b -> b.start() < block.start() && block.end() < b.end())) continue;
+            String body = block.body();
+            // project(':x') é dependência entre projetos do build
+            body = body.replaceAll("project\\s*\\(\\s*(?:path\\s*[:=]\\s*)?[\"'][^\"']*[\"']\\s*\\)", "");
+
+            Matcher map = MAP_NOTATION.matcher(body);
+            while (map.find()) {
+                String version = map.group(3) != null ? GradleScriptUtil.interpolate(map.group(3), vars) : null;
+                result.add(map.group(1) + ":" + map.group(2) + (version != null ? ":" + version : ""));
+            }
+            body = MAP_NOTATION.matcher(body).replaceAll("");
+
+            Matcher literal = STRING_LITERAL.matcher(body);
+            while (literal.find()) {
+                String value = literal.group(1) != null ? literal.group(1) : literal.group(2);
+                String coordinates = coordinates(GradleScriptUtil.interpolate(value, vars));
+                if (coordinates != null) result.add(coordinates);
+            }
+            body = STRING_LITERAL.matcher(body).replaceAll("\"\"");
+
+            Matcher accessor = ACCESSOR.matcher(body);
+            while (accessor.find()) {
+                VersionCatalog catalog = catalogs.get(accessor.group(1));
+                if (catalog != null) result.addAll(catalog.resolve(VersionCatalog.normalize(accessor.group(2))));
+            }
+
+            // implementation deps.springWeb / implementation(springWeb): variável com coordenadas
+            Matcher ref = CONFIGURATION_REF.matcher(body);
+            while (ref.find()) {
+                String value = GradleScriptUtil.lookup(ref.group(1), vars);
+                String coordinates = value != null ? coordinates(GradleScriptUtil.interpolate(value, vars)) : null;
+                if (coordinates != null) result.add(coordinates);
+            }
+        }
+        return result;
+    }
+
+    private static String coordinates(String value) {
+        Matcher m = COORDINATES.matcher(value.trim());
+        if (!m.matches()) return null;
+        // versão que não resolveu (${x} desconhecida) vira "unspecified" no scanner
+        String version = m.group(3) != null && m.group(3).indexOf('$') < 0 ? m.group(3) : null;
+        return version != null ? m.group(1) + ":" + m.group(2) + ":" + version : m.group(1) + ":" + m.group(2);
+    }
+
+    // ==============================================================
+    // 🔤 Variáveis
+    // ==============================================================
+    static Map<String, String> variables(String text) {
+        Map<String, String> vars = new LinkedHashMap<>();
+        // atribuições em qualquer nível: ext { x = '1' } e extra.apply { set("x", "1") } entram sem prefixo
+        collect(text, vars);
+        // segunda passada: valores que interpolam outras variáveis
+        vars.replaceAll((k, v) -> GradleScriptUtil.interpolate(v, vars));
+        return vars;
+    }
+
+    private static void collect(String text, Map<String, String> vars) {
+        for (Pattern pattern : List.of(ASSIGNMENT, INDEXED, BY_EXTRA, SET_CALL)) {
+            Matcher m = pattern.matcher(text);
+            while (m.find()) {
+                String name = m.group(1);
+                String raw = m.group(2).trim();
+                if (raw.startsWith("[") && raw.contains(":")) {
+                    // ext.libs = [web: 'g:a:v', ...] → libs.web
+                    Matcher entry = MAP_ENTRY.matcher(mapBody(text, m.start(2)));
+                    while (entry.find()) {
+                        vars.putIfAbsent(name + "." + unquote(entry.group(1)), unquote(entry.group(2)));
+                    }
+                    continue;
+                }
+                String value = literal(raw);
+                if (value != null) vars.putIfAbsent(name, value);
+            }
+        }
+    }
+
+    /** Texto do literal de mapa Groovy que começa em {@code from} (pode ocupar várias linhas). */
+    private static String mapBody(String text, int from) {
+        int open = text.indexOf('[', from);
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '[') depth++;
+            else if (c == ']' && --depth == 0) return text.substring(open + 1, i);
+        }
+        return text.substring(open + 1);
+    }
+
+    private static String literal(String raw) {
+        // allprojects { group = 'x' } na mesma linha: descarta o fechamento do bloco
+        String value = raw.replaceAll("[;}\\s]+$", "");
+        Matcher m = STRING_LITERAL.matcher(value);
+        if (m.matches()) return m.group(1) != null ? m.group(1) : m.group(2);
+        return value.matches("\\d+(\\.\\d+)*") ? value : null;
+    }
+
+    private static Map<String, String> properties(Path file) {
+        Map<String, String> vars = new HashMap<>();
+        if (!Files.isRegularFile(file)) return vars;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            log.warn("⚠️ gradle.properties ilegível: {}", file);
+        }
+        props.forEach((k, v) -> vars.put(String.valueOf(k), String.valueOf(v).trim()));
+        return vars;
+    }
+
+    // ==============================================================
+    // ☕ Java / Spring Boot
+    // ==============================================================
+    private static String javaVersion(String text, Map<String, String> vars) {
+        for (Pattern pattern : JAVA_VERSION) {
+            Matcher m = pattern.matcher(text);
+            if (m.find()) {
+                return m.group(1).replace('_', '.');
+            }
+        }
+        Matcher m = Pattern.compile("(?:source|target)Compatibility\\s*=\\s*([\\w.]+)").matcher(text);
+        if (m.find()) return GradleScriptUtil.lookup(m.group(1), vars);
+        return null;
+    }
+
+    private static String bootVersion(String text, Map<String, String> vars, Map<String, VersionCatalog> catalogs) {
+        for (Pattern pattern : BOOT_PLUGIN) {
+            Matcher m = pattern.matcher(text);
+            if (m.find()) {
+                String version = GradleScriptUtil.interpolate(m.group(1), vars);
+                if (!version.contains("$")) return version;
+            }
+        }
+        Matcher alias = PLUGIN_ALIAS.matcher(text);
+        while (alias.find()) {
+            VersionCatalog catalog = catalogs.get(alias.group(1));
+            String plugin = catalog != null ? catalog.plugins().get(VersionCatalog.normalize(alias.group(2))) : null;
+            if (plugin != null && plugin.startsWith("org.springframework.boot:") && !plugin.endsWith(":")) {
+                return plugin.substring(plugin.lastIndexOf(':') + 1);
+            }
+        }
+        return null;
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários
+    // ==============================================================
+    private static Path script(Path dir) {
+        for (String name : List.of("build.gradle", "build.gradle.kts")) {
+            Path candidate = dir.resolve(name);
+            if (Files.isRegularFile(candidate)) return candidate;
+        }
+        return null;
+    }
+
+    private static String readFirst(Path dir, String... names) {
+        for (String name : names) {
+            Path candidate = dir.resolve(name);
+            if (Files.isRegularFile(candidate)) return JavaSourceReaderUtil.readFile(candidate);
+        }
+        return "";
+    }
+
+    private static String unquote(String text) {
+        String t = text.trim();
+        return t.length() >= 2 && (t.charAt(0) == '"' || t.charAt(0) == '\'') ? t.substring(1, t.length() - 1) : t;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
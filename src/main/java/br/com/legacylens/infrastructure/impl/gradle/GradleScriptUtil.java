@@ -0,0 +1,130 @@
+package br.com.legacylens.infrastructure.impl.gradle;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Leitura léxica de scripts Gradle (Groovy e Kotlin DSL), sem avaliar nada:
+ * comentários removidos respeitando strings, blocos {@code nome { ... }} por casamento de
+ * chaves e interpolação de {@code $var}/{@code ${var}} a partir de variáveis conhecidas.
+ */
+@UtilityClass
+class GradleScriptUtil {
+
+    private static final Pattern INTERPOLATION = Pattern.compile("\\$\\{([^}]+)}|\\$([A-Za-z_][\\w.]*)");
+
+    /** Bloco encontrado: corpo (sem as chaves) e posição da chave de abertura no texto. */
+    record Block(String body, int start, int end) {}
+
+    /** Remove // e /* *&#47; fora de strings ('...', "...", """..."""). */
+    String stripComments(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int i = 0;
+        int n = text.length();
+        while (i < n) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\'') {
+                int end = skipString(text, i);
+                out.append(text, i, end);
+                i = end;
+            } else if (c == '/' && i + 1 < n && text.charAt(i + 1) == '/') {
+                while (i < n && text.charAt(i) != '\n') i++;
+            } else if (c == '/' && i + 1 < n && text.charAt(i + 1) == '*') {
+                int end = text.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                out.append(' ');
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    /** Todos os blocos {@code name { }} do texto (em qualquer nível), na ordem em que aparecem. */
+    List<Block> blocks(String text, String name) {
+        List<Block> result = new ArrayList<>();
+        Matcher m = Pattern.compile("(?<![\\w.])" + Pattern.quote(name) + "\\s*\\{").matcher(text);
+        int from = 0;
+        while (from < text.length() && m.find(from)) {
+            int open = m.end() - 1;
+            int close = matchingBrace(text, open);
+            if (close < 0) break;
+            result.add(new Block(text.substring(open + 1, close), open, close));
+            from = open + 1;
+        }
+        return result;
+    }
+
+    /** Substitui $var/${var}; variáveis qualificadas (project.ext.x, rootProject.x) usam o último segmento. */
+    String interpolate(String value, Map<String, String> vars) {
+        if (value.indexOf('$') < 0) return value;
+        Matcher m = INTERPOLATION.matcher(value);
+        StringBuilder out = new StringBuilder();
+        while (m.find()) {
+            String name = m.group(1) != null ? m.group(1).trim() : m.group(2);
+            String resolved = lookup(name, vars);
+            m.appendReplacement(out, Matcher.quoteReplacement(resolved != null ? resolved : m.group()));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+
+    String lookup(String name, Map<String, String> vars) {
+        String value = vars.get(name);
+        if (value != null) return value;
+        for (String prefix : List.of("project.ext.", "rootProject.ext.", "project.", "rootProject.", "ext.",
+                "extra.")) {
+            if (name.startsWith(prefix)) {
+                value = vars.get(name.substring(prefix.length()));
+                if (value != null) return value;
+            }
+        }
+        return null;
+    }
+
+    // ==============================================================
+    // 🔧 Internos
+    // ==============================================================
+    private int matchingBrace(String text, int open) {
+        int depth = 0;
+        int i = open;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = skipString(text, i);
+                continue;
+            }
+            if (c == '{') depth++;
+            else if (c == '}' && --depth == 0) return i;
+            i++;
+        }
+        return -1;
+    }
+
+    /** Índice logo após o fim da string que começa em {@code start}. */
+    private int skipString(String text, int start) {
+        char quote = text.charAt(start);
+        boolean triple = text.startsWith(String.valueOf(quote).repeat(3), start);
+        if (triple) {
+            int end = text.indexOf(String.valueOf(quote).repeat(3), start + 3);
+            return end < 0 ? text.length() : end + 3;
+        }
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == quote || c == '\n') return i + 1;
+            i++;
+        }
+        return text.length();
+    }
+}
@@ -0,0 +1,217 @@
+package br.com.legacylens.infrastructure.impl.gradle;
+
+import java.util.*;
+
+/**
+ * Catálogo de versões do Gradle (gradle/libs.versions.toml) já resolvido:
+ * aliases normalizados como no acessor gerado (spring-boot-starter → spring.boot.starter).
+ *  - libraries: alias → "group:artifact:version" (ou "group:artifact" sem versão)
+ *  - bundles: alias → aliases de libraries
+ *  - plugins: alias → "id:version"
+ * O parser cobre o subconjunto de TOML usado pelos catálogos: tabelas, strings, inline
+ * tables (inclusive version.ref e version = { strictly/require/prefer }) e arrays multilinha.
+ */
+record VersionCatalog(Map<String, String> libraries, Map<String, List<String>> bundles,
+                      Map<String, String> plugins) {
+
+    static final VersionCatalog EMPTY = new VersionCatalog(Map.of(), Map.of(), Map.of());
+
+    /** Coordenadas referenciadas por um acessor ({@code spring.boot.starter.web} ou {@code bundles.x}). */
+    List<String> resolve(String accessor) {
+        if (accessor.startsWith("bundles.")) {
+            return bundles.getOrDefault(accessor.substring("bundles.".length()), List.of()).stream()
+                    .map(libraries::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        String library = libraries.get(accessor);
+        return library != null ? List.of(library) : List.of();
+    }
+
+    static String normalize(String alias) {
+        return alias.replace('-', '.').replace('_', '.');
+    }
+
+    // ==============================================================
+    // 📄 Parser
+    // ==============================================================
+    static VersionCatalog parse(String toml) {
+        Map<String, Map<String, Object>> tables = new HashMap<>();
+        String table = "";
+        List<String> lines = toml.lines().toList();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = stripComment(lines.get(i)).trim();
+            if (line.isEmpty()) continue;
+            if (line.startsWith("[") && !line.contains("=")) {
+                table = line.replaceAll("[\\[\\]\\s]", "");
+                continue;
+            }
+            int eq = line.indexOf('=');
+            if (eq < 0) continue;
+            String key = unquote(line.substring(0, eq).trim());
+            StringBuilder value = new StringBuilder(line.substring(eq + 1).trim());
+            // arrays podem continuar nas linhas seguintes
+            while (value.length() > 0 && value.charAt(0) == '[' && depth(value) > 0 && i + 1 < lines.size()) {
+                value.append(' ').append(stripComment(lines.get(++i)).trim());
+            }
+            tables.computeIfAbsent(table, t -> new LinkedHashMap<>()).put(key, parseValue(value.toString().trim()));
+        }
+
+        Map<String, Object> versionTable = tables.getOrDefault("versions", Map.of());
+        Map<String, String> versions = new HashMap<>();
+        versionTable.forEach((k, v) -> {
+            String version = version(v, Map.of());
+            if (version != null) versions.put(k, version);
+        });
+
+        Map<String, String> libraries = new LinkedHashMap<>();
+        tables.getOrDefault("libraries", Map.of()).forEach((alias, v) -> {
+            String coordinates = library(v, versions);
+            if (coordinates != null) libraries.put(normalize(alias), coordinates);
+        });
+
+        Map<String, List<String>> bundles = new LinkedHashMap<>();
+        tables.getOrDefault("bundles", Map.of()).forEach((alias, v) -> {
+            if (v instanceof List<?> list) {
+                bundles.put(normalize(alias), list.stream().map(String::valueOf).map(VersionCatalog::normalize).toList());
+            }
+        });
+
+        Map<String, String> plugins = new LinkedHashMap<>();
+        tables.getOrDefault("plugins", Map.of()).forEach((alias, v) -> {
+            String plugin = plugin(v, versions);
+            if (plugin != null) plugins.put(normalize(alias), plugin);
+        });
+        return new VersionCatalog(Map.copyOf(libraries), Map.copyOf(bundles), Map.copyOf(plugins));
+    }
+
+    private static String library(Object value, Map<String, String> versions) {
+        if (value instanceof String s) return s;
+        if (!(value instanceof Map<?, ?> map)) return null;
+        String module = str(map.get("module"));
+        if (module == null && map.get("group") != null && map.get("name") != null) {
+            module = str(map.get("group")) + ":" + str(map.get("name"));
+        }
+        if (module == null) return null;
+        String version = version(map, versions);
+        return version != null ? module + ":" + version : module;
+    }
+
+    private static String plugin(Object value, Map<String, String> versions) {
+        if (value instanceof String s) return s;
+        if (!(value instanceof Map<?, ?> map) || map.get("id") == null) return null;
+        String version = version(map, versions);
+        return str(map.get("id")) + ":" + (version != null ? version : "");
+    }
+
+    /** Versão de uma entrada: "1.0", version = "1.0", version.ref, version = { strictly/require/prefer }. */
+    private static String version(Object value, Map<String, String> versions) {
+        if (value instanceof String s) return s;
+        if (!(value instanceof Map<?, ?> map)) return null;
+        if (map.get("version.ref") != null) return versions.get(str(map.get("version.ref")));
+        Object version = map.get("version");
+        if (version instanceof String s) return s;
+        if (version instanceof Map<?, ?> nested) {
+            if (nested.get("ref") != null) return versions.get(str(nested.get("ref")));
+            return version(nested, versions);
+        }
+        for (String key : List.of("strictly", "require", "prefer")) {
+            if (map.get(key) instanceof String s) return s;
+        }
+        return null;
+    }
+
+    // --- valores TOML (subconjunto) ---
+    private static Object parseValue(String raw) {
+        if (raw.startsWith("\"") || raw.startsWith("'")) return unquote(raw);
+        if (raw.startsWith("{")) {
+            // tabela inline é sempre de uma linha em TOML: sem '}' o arquivo está malformado
+            if (raw.lastIndexOf('}') < 0) throw new IllegalArgumentException("tabela inline sem '}': " + raw);
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (String part : splitTopLevel(raw.substring(1, raw.lastIndexOf('}')))) {
+                int eq = part.indexOf('=');
+                if (eq < 0) continue;
+                map.put(unquote(part.substring(0, eq).trim()), parseValue(part.substring(eq + 1).trim()));
+            }
+            return map;
+        }
+        if (raw.startsWith("[")) {
+            if (raw.lastIndexOf(']') < 0) throw new IllegalArgumentException("array sem ']': " + raw);
+            List<Object> list = new ArrayList<>();
+            for (String part : splitTopLevel(raw.substring(1, raw.lastIndexOf(']')))) {
+                if (!part.isBlank()) list.add(parseValue(part.trim()));
+            }
+            return list;
+        }
+        return raw;
+    }
+
+    private static List<String> splitTopLevel(String text) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int from = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(text.substring(from, i).trim());
+                from = i + 1;
+            }
+        }
+        parts.add(text.substring(from).trim());
+        return parts;
+    }
+
+    private static int depth(CharSequence text) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            }
+        }
+        return depth;
+    }
+
+    private static String stripComment(String line) {
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '#') {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    private static String unquote(String text) {
+        String t = text.trim();
+        if (t.length() >= 2 && (t.startsWith("\"") && t.endsWith("\"") || t.startsWith("'") && t.endsWith("'"))) {
+            return t.substring(1, t.length() - 1);
+        }
+        return t;
+    }
+
+    private static String str(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+}
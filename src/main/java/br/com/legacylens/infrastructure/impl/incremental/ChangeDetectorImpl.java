@@ -0,0 +1,253 @@
+package br.com.legacylens.infrastructure.impl.incremental;
+
+import br.com.legacylens.domain.model.AnalysisState;
+import br.com.legacylens.domain.model.ChangeSet;
+import br.com.legacylens.domain.model.IncrementalSession;
+import br.com.legacylens.domain.ports.ChangeDetectorPort;
+import br.com.legacylens.infrastructure.impl.uml.SourceClassScanner;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 🔍 ChangeDetectorImpl
+ * -----------------------------------------
+ * Descobre o que mudou desde a última análise, olhando só .java e arquivos de build:
+ *  - Git: diff de árvores entre o commit do estado e o HEAD (nenhum arquivo é lido além dos alterados)
+ *  - demais fontes: varredura comparando tamanho + mtime; mtime diferente com mesmo tamanho
+ *    → hash do conteúdo decide (ZIP reenviado sem mudanças não conta como alteração)
+ * Arquivos novos/alterados são lidos uma vez: hash (SHA-256) + assinatura estrutural da UML
+ * (declarações e tipos referenciados, em hashes separados).
+ */
+@Slf4j
+@Component
+public class ChangeDetectorImpl implements ChangeDetectorPort {
+
+    private static final Set<String> SKIPPED_DIRS = Set.of("target", "build", "out", "bin", "node_modules", ".git", ".gradle", ".idea");
+
+    private record Hashed(String path, AnalysisState.Fingerprint fingerprint, String umlSignature) {}
+
+    @Override
+    public Detection detect(Path project, AnalysisState previous, String commit, int parallelism) {
+        Instant start = Instant.now();
+        Detection detection = null;
+        if (previous != null && previous.commit() != null && commit != null) {
+            detection = fromGit(project, previous, commit, parallelism);
+        }
+        if (detection == null) detection = fromFingerprints(project, previous, parallelism);
+
+        ChangeSet c = detection.changes();
+        log.info("🔍 Mudanças ({}): {} alterados, {} novos, {} removidos em {} ms",
+                c.mode(), c.changed().size(), c.added().size(), c.removed().size(),
+                Duration.between(start, Instant.now()).toMillis());
+        return detection;
+    }
+
+    /** Arquivos que entram no estado incremental. */
+    private static boolean tracked(String path) {
+        for (String segment : path.split("/")) {
+            if (SKIPPED_DIRS.contains(segment)) return false;
+        }
+        return path.endsWith(".java") || ChangeSet.isBuildFile(path);
+    }
+
+    // ==============================================================
+    // 🌿 Git: diff entre o commit analisado e o HEAD
+    // ==============================================================
+    private Detection fromGit(Path project, AnalysisState previous, String commit, int parallelism) {
+        Set<String> changed = new TreeSet<>();
+        Set<String> added = new TreeSet<>();
+        Set<String> removed = new TreeSet<>();
+        try (Git git = Git.open(project.toFile())) {
+            Repository repo = git.getRepository();
+            ObjectId oldTree = repo.resolve(previous.commit() + "^{tree}");
+            ObjectId newTree = repo.resolve(commit + "^{tree}");
+            if (oldTree == null || newTree == null) {
+                log.info("🌿 Commit {} não está na working copy — comparando por fingerprint", previous.commit());
+                return null;
+            }
+            try (DiffFormatter diff = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+                diff.setRepository(repo);
+                diff.setDetectRenames(false);
+                for (DiffEntry e : diff.scan(oldTree, newTree)) {
+                    switch (e.getChangeType()) {
+                        case ADD, COPY -> added.add(e.getNewPath());
+                        case MODIFY -> changed.add(e.getNewPath());
+                        case DELETE -> removed.add(e.getOldPath());
+                        case RENAME -> {
+                            removed.add(e.getOldPath());
+                            added.add(e.getNewPath());
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.info("🌿 Diff Git indisponível ({}) — comparando por fingerprint", e.getMessage());
+            return null;
+        }
+        changed.removeIf(p -> !tracked(p));
+        added.removeIf(p -> !tracked(p));
+        removed.removeIf(p -> !tracked(p));
+
+        Map<String, AnalysisState.Fingerprint> fingerprints = new HashMap<>(previous.fingerprints());
+        Map<String, String> signatures = new HashMap<>(previous.umlSignatures());
+        removed.forEach(p -> {
+            fingerprints.remove(p);
+            signatures.remove(p);
+        });
+
+        List<String> toHash = new ArrayList<>(changed);
+        toHash.addAll(added);
+        for (Hashed h : hashAll(project, toHash, parallelism)) {
+            fingerprints.put(h.path(), h.fingerprint());
+            if (h.umlSignature() != null) signatures.put(h.path(), h.umlSignature());
+        }
+        String reason = "git " + abbreviate(previous.commit()) + ".." + abbreviate(commit);
+        return new Detection(new ChangeSet(ChangeSet.Mode.GIT, new TreeSet<>(changed), new TreeSet<>(added),
+                new TreeSet<>(removed), reason), fingerprints, signatures);
+    }
+
+    // ==============================================================
+    // 🧾 Fingerprints: tamanho + mtime, hash quando necessário
+    // ==============================================================
+    private Detection fromFingerprints(Path project, AnalysisState previous, int parallelism) {
+        Map<String, BasicFileAttributes> current = walk(project);
+        Map<String, AnalysisState.Fingerprint> before = previous != null ? previous.fingerprints() : Map.of();
+        Map<String, String> signaturesBefore = previous != null ? previous.umlSignatures() : Map.of();
+
+        Map<String, AnalysisState.Fingerprint> fingerprints = new HashMap<>();
+        Map<String, String> signatures = new HashMap<>();
+        List<String> toHash = new ArrayList<>();
+        current.forEach((path, attrs) -> {
+            AnalysisState.Fingerprint old = before.get(path);
+            if (old != null && old.size() == attrs.size()
+                    && old.modified() == attrs.lastModifiedTime().toMillis()) {
+                fingerprints.put(path, old);
+                String sig = signaturesBefore.get(path);
+                if (sig != null) signatures.put(path, sig);
+            } else {
+                toHash.add(path);
+            }
+        });
+
+        Set<String> changed = new TreeSet<>();
+        Set<String> added = new TreeSet<>();
+        for (Hashed h : hashAll(project, toHash, parallelism)) {
+            fingerprints.put(h.path(), h.fingerprint());
+            if (h.umlSignature() != null) signatures.put(h.path(), h.umlSignature());
+            AnalysisState.Fingerprint old = before.get(h.path());
+            if (old == null) added.add(h.path());
+            else if (!old.hash().equals(h.fingerprint().hash())) changed.add(h.path());
+        }
+        Set<String> removed = new TreeSet<>(before.keySet());
+        removed.removeAll(current.keySet());
+
+        ChangeSet changes = previous == null
+                ? ChangeSet.full("primeira análise do projeto")
+                : new ChangeSet(ChangeSet.Mode.FINGERPRINT, new TreeSet<>(changed), new TreeSet<>(added),
+                        new TreeSet<>(removed), toHash.size() + " arquivo(s) com tamanho/mtime diferente");
+        return new Detection(changes, fingerprints, signatures);
+    }
+
+    private static Map<String, BasicFileAttributes> walk(Path root) {
+        Map<String, BasicFileAttributes> files = new TreeMap<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                    return !dir.equals(root) && SKIPPED_DIRS.contains(name)
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String path = root.relativize(file).toString().replace('\\', '/');
+                    if (attrs.isRegularFile() && tracked(path)) files.put(path, attrs);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("⚠️ Falha ao percorrer {}: {}", root, e.getMessage());
+        }
+        return files;
+    }
+
+    // ==============================================================
+    // 🔧 Hash + assinatura (em paralelo)
+    // ==============================================================
+    private List<Hashed> hashAll(Path root, List<String> paths, int parallelism) {
+        if (paths.isEmpty()) return List.of();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            return pool.submit(() -> paths.parallelStream()
+                    .map(p -> hash(root, p))
+                    .filter(Objects::nonNull)
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("detecção de mudanças interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Hashed hash(Path root, String path) {
+        Path file = root.resolve(path);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            byte[] bytes = Files.readAllBytes(file);
+            var fingerprint = new AnalysisState.Fingerprint(bytes.length,
+                    attrs.lastModifiedTime().toMillis(), sha256(bytes));
+            String signature = null;
+            if (path.endsWith(".java")) {
+                var uml = SourceClassScanner.signature(new String(bytes, StandardCharsets.UTF_8));
+                signature = IncrementalSession.umlSignature(sha256(uml.declarations().getBytes(StandardCharsets.UTF_8)),
+                        sha256(uml.references().getBytes(StandardCharsets.UTF_8)));
+            }
+            return new Hashed(path, fingerprint, signature);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("⚠️ Falha ao ler {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String abbreviate(String commit) {
+        return commit.length() > 10 ? commit.substring(0, 10) : commit;
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.legacylens.infrastructure.impl.incremental;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * 🌿 GitWorkspace
+ * -----------------------------------------
+ * Working copy persistente por projeto (reanálise incremental):
+ *  - primeira vez: clone raso (depth=1)
+ *  - depois: fetch raso + reset --hard para o branch remoto + clean
+ *    (só os arquivos alterados são reescritos; commits antigos ficam para o diff)
+ * Qualquer falha recomeça do zero com um clone novo.
+ */
+@Slf4j
+@Component
+public class GitWorkspace {
+
+    /** @return SHA do HEAD após a atualização */
+    public String checkout(String url, Path dir) throws GitAPIException, IOException {
+        if (Files.isDirectory(dir.resolve(".git"))) {
+            try (Git git = Git.open(dir.toFile())) {
+                String branch = git.getRepository().getBranch();
+                git.fetch().setRemote("origin").setDepth(1).call();
+                git.reset().setMode(ResetCommand.ResetType.HARD).setRef("refs/remotes/origin/" + branch).call();
+                git.clean().setCleanDirectories(true).setIgnore(false).setForce(true).call();
+                String head = head(git);
+                log.info("🌿 Working copy atualizada ({} @ {})", branch, head);
+                return head;
+            } catch (GitAPIException | IOException | RuntimeException e) {
+                log.warn("⚠️ Falha ao atualizar working copy {} ({}) — clonando de novo", dir, e.getMessage());
+                delete(dir);
+            }
+        }
+
+        Files.createDirectories(dir);
+        try (Git git = Git.cloneRepository()
+                .setURI(url)
+                .setDirectory(dir.toFile())
+                .setDepth(1)
+                .call()) {
+            String head = head(git);
+            log.info("✅ Clone concluído: {} @ {}", dir, head);
+            return head;
+        }
+    }
+
+    private static String head(Git git) throws IOException {
+        ObjectId id = git.getRepository().resolve("HEAD");
+        return id != null ? id.name() : null;
+    }
+
+    private static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (var s = Files.walk(dir)) {
+            s.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
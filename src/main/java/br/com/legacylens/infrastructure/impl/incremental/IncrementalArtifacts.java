@@ -0,0 +1,72 @@
+package br.com.legacylens.infrastructure.impl.incremental;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * ♻️ IncrementalArtifacts
+ * -----------------------------------------
+ * Cópia de .puml entre o diretório de artefatos do projeto (estado incremental)
+ * e o diretório de saída de cada análise.
+ */
+@Slf4j
+public final class IncrementalArtifacts {
+
+    private IncrementalArtifacts() {}
+
+    /** Copia um artefato anterior para a saída; false se não existir (o chamador regenera). */
+    public static boolean restore(Path artifactsDir, String fileName, Path outDir) {
+        if (artifactsDir == null) return false;
+        Path source = artifactsDir.resolve(fileName);
+        if (!Files.isRegularFile(source)) return false;
+        try {
+            Files.createDirectories(outDir);
+            Files.copy(source, outDir.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            log.debug("Falha ao restaurar {}: {}", fileName, e.getMessage());
+            return false;
+        }
+    }
+
+    /** Copia todos os artefatos com o prefixo; 0 = nada a reaproveitar. */
+    public static int restoreAll(Path artifactsDir, String prefix, Path outDir) {
+        int restored = 0;
+        for (Path file : list(artifactsDir, prefix)) {
+            if (restore(artifactsDir, file.getFileName().toString(), outDir)) restored++;
+            else return 0;
+        }
+        return restored;
+    }
+
+    /** Substitui os artefatos guardados pelos .puml desta análise. */
+    public static void sync(Path outDir, Path artifactsDir, String... prefixes) throws IOException {
+        Files.createDirectories(artifactsDir);
+        for (String prefix : prefixes) {
+            for (Path old : list(artifactsDir, prefix)) Files.deleteIfExists(old);
+            for (Path file : list(outDir, prefix)) {
+                Files.copy(file, artifactsDir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static List<Path> list(Path dir, String prefix) {
+        if (dir == null || !Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(".puml");
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+}
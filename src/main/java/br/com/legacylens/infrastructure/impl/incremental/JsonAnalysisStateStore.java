@@ -0,0 +1,111 @@
+package br.com.legacylens.infrastructure.impl.incremental;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisState;
+import br.com.legacylens.domain.ports.AnalysisStatePort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 💾 JsonAnalysisStateStore
+ * -----------------------------------------
+ * Um diretório por projeto em incremental.stateDir (&lt;nome&gt;-&lt;hash da chave&gt;):
+ *  - state.json.gz: {@link AnalysisState} (removido durante a troca dos artefatos e
+ *    reescrito com arquivo temporário + move atômico)
+ *  - artifacts/: .puml da última análise bem-sucedida
+ *  - workspace/: working copy Git persistente
+ * Estado ilegível ou de versão antiga é ignorado (a análise seguinte é completa).
+ */
+@Slf4j
+@Component
+public class JsonAnalysisStateStore implements AnalysisStatePort {
+
+    private static final String STATE_FILE = "state.json.gz";
+
+    private final ObjectMapper mapper;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public JsonAnalysisStateStore(LegacyLensConfigLoader configLoader, ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Optional<AnalysisState> load(String projectKey) {
+        Path file = projectDir(projectKey).resolve(STATE_FILE);
+        if (!Files.exists(file)) return Optional.empty();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            AnalysisState state = mapper.readValue(in, AnalysisState.class);
+            if (state.version() != AnalysisState.CURRENT_VERSION || !projectKey.equals(state.projectKey())) {
+                log.info("♻️ Estado de {} descartado (versão {} ≠ {})",
+                        projectKey, state.version(), AnalysisState.CURRENT_VERSION);
+                return Optional.empty();
+            }
+            return Optional.of(state);
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Estado incremental ilegível em {} — análise completa: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(AnalysisState state, Path outDir) {
+        Path dir = projectDir(state.projectKey());
+        try {
+            // sem estado durante a troca dos artefatos: uma queda no meio resulta em análise completa
+            Files.deleteIfExists(dir.resolve(STATE_FILE));
+            IncrementalArtifacts.sync(outDir, artifactsDir(state.projectKey()), "diagram_", "sequence_");
+            Path tmp = Files.createTempFile(dir, "state-", ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                mapper.writeValue(out, state);
+            }
+            Files.move(tmp, dir.resolve(STATE_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("⚠️ Falha ao salvar estado incremental de {}: {}", state.projectKey(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Path artifactsDir(String projectKey) {
+        return projectDir(projectKey).resolve("artifacts");
+    }
+
+    @Override
+    public Path workspaceDir(String projectKey) {
+        return projectDir(projectKey).resolve("workspace");
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static Path projectDir(String projectKey) {
+        String readable = projectKey.replaceAll("[^A-Za-z0-9._-]+", "_");
+        if (readable.length() > 60) readable = readable.substring(readable.length() - 60);
+        Path base = Path.of(LegacyLensConfigLoader.get().getIncremental().getStateDir());
+        return base.resolve(readable + "-" + sha256(projectKey).substring(0, 12));
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.legacylens.infrastructure.impl.inventory;
+
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.AnalysisState;
+import br.com.legacylens.domain.model.IncrementalSession;
+import br.com.legacylens.domain.model.SourceInventory;
+import br.com.legacylens.domain.ports.SourceInventoryPort;
+import br.com.legacylens.infrastructure.jfr.FileProcessedEvent;
+import br.com.legacylens.infrastructure.jfr.RegexExtractionEvent;
+import br.com.legacylens.infrastructure.metrics.AnalysisMetrics;
+import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
+import br.com.legacylens.infrastructure.util.LegacyHeuristicsUtil;
+import br.com.legacylens.infrastructure.util.SwaggerExtractorUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 📋 SourceInventoryCollectorImpl
+ * -----------------------------------------
+ * Percorre as fontes .java uma única vez e monta o inventário:
+ * classes por papel (controller/service/repository/other), endpoints REST
+ * e estatísticas por módulo (diretório com pom.xml/build.gradle mais próximo).
+ * Na reanálise incremental, arquivos inalterados reaproveitam os fatos do estado anterior.
+ */
+@Slf4j
+@Component
+public class SourceInventoryCollectorImpl implements SourceInventoryPort {
+
+    private static final Set<String> SKIPPED_DIRS = Set.of("target", "build", "out", "bin", "node_modules", ".git", ".gradle", ".idea");
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern TYPE = Pattern.compile("\\b(?:class|interface|enum|record)\\s+(\\w+)");
+
+    private final AnalysisMetrics metrics;
+
+    public SourceInventoryCollectorImpl(AnalysisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public SourceInventory collect(String source, AnalysisContext context) {
+        Instant start = Instant.now();
+        Path root = Path.of(source);
+        if (!Files.isDirectory(root)) return SourceInventory.empty();
+
+        IncrementalSession session = context.incremental();
+        int[] reused = {0};
+
+        List<SourceInventory.ClassEntry> classes = new ArrayList<>();
+        List<SourceInventory.EndpointEntry> endpoints = new ArrayList<>();
+        Map<String, ModuleCounter> modules = new TreeMap<>();
+        Map<Path, String> moduleOfDir = new HashMap<>();
+
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                    return !dir.equals(root) && SKIPPED_DIRS.contains(name)
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (file.toString().endsWith(".java")) {
+                        FileProcessedEvent event = FileProcessedEvent.start();
+                        String module = moduleOf(root, file.getParent(), moduleOfDir);
+                        String key = IncrementalSession.key(root, file);
+                        var facts = session.previousInventory(key);
+                        if (facts != null) {
+                            reused[0]++;
+                        } else {
+                            facts = extractFacts(root, file, module);
+                        }
+                        session.recordInventory(key, facts);
+                        apply(facts, attrs.size(), classes, endpoints,
+                                modules.computeIfAbsent(module, ModuleCounter::new));
+                        event.finish("inventory", file, attrs.size());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("⚠️ Falha ao percorrer fontes de {}: {}", root, e.getMessage());
+        }
+
+        var inventory = new SourceInventory(classes, endpoints,
+                modules.values().stream().map(ModuleCounter::toStats).toList());
+        metrics.recordInventory(inventory);
+        log.info("📋 Inventário: {} classes, {} endpoints, {} módulos em {} ms ({} arquivos reaproveitados)",
+                classes.size(), endpoints.size(), modules.size(),
+                Duration.between(start, Instant.now()).toMillis(), reused[0]);
+        return inventory;
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    /** Fatos de um arquivo (reaproveitáveis na reanálise incremental enquanto ele não mudar). */
+    private AnalysisState.InventoryFacts extractFacts(Path root, Path file, String module) {
+        String content = JavaSourceReaderUtil.readFile(file);
+        long lines = content.chars().filter(c -> c == '\n').count();
+
+        Matcher type = TYPE.matcher(content);
+        if (!type.find()) return new AnalysisState.InventoryFacts(lines, null, List.of());
+        String className = type.group(1);
+        Matcher pkg = PACKAGE.matcher(content);
+        String packageName = pkg.find() ? pkg.group(1) : "";
+
+        String role = LegacyHeuristicsUtil.identifyClassRole(content, Path.of(file.toString().toLowerCase()));
+        var classEntry = new SourceInventory.ClassEntry(module, packageName, className, role,
+                root.relativize(file).toString());
+
+        List<SourceInventory.EndpointEntry> endpoints = new ArrayList<>();
+        if ("controller".equals(role)) {
+            RegexExtractionEvent event = RegexExtractionEvent.start();
+            var docs = SwaggerExtractorUtil.extractEndpoints(content, file);
+            event.finish("swagger.endpoints", file, content.length(), docs.size());
+            for (var doc : docs) {
+                endpoints.add(new SourceInventory.EndpointEntry(module, className,
+                        doc.getHttpMethod(), doc.getPath(), doc.getMethodName(),
+                        doc.getRequestDto(), doc.getResponseDto(), doc.getResponseCode()));
+            }
+        }
+        return new AnalysisState.InventoryFacts(lines, classEntry, endpoints);
+    }
+
+    private static void apply(AnalysisState.InventoryFacts facts, long size,
+                              List<SourceInventory.ClassEntry> classes,
+                              List<SourceInventory.EndpointEntry> endpoints,
+                              ModuleCounter counter) {
+        counter.javaFiles++;
+        counter.bytes += size;
+        counter.lines += facts.lines();
+        if (facts.classEntry() == null) return;
+
+        classes.add(facts.classEntry());
+        switch (facts.classEntry().role()) {
+            case "controller" -> {
+                counter.controllers++;
+                endpoints.addAll(facts.endpoints());
+                counter.endpoints += facts.endpoints().size();
+            }
+            case "service" -> counter.services++;
+            case "repository" -> counter.repositories++;
+            default -> { }
+        }
+    }
+
+    /** Módulo = diretório mais próximo (até a raiz) com pom.xml ou build.gradle(.kts). */
+    private String moduleOf(Path root, Path dir, Map<Path, String> cache) {
+        String cached = cache.get(dir);
+        if (cached != null) return cached;
+
+        String module;
+        if (dir.equals(root) || !dir.startsWith(root)) {
+            module = root.getFileName() != null ? root.getFileName().toString() : "root";
+        } else if (Files.exists(dir.resolve("pom.xml"))
+                || Files.exists(dir.resolve("build.gradle"))
+                || Files.exists(dir.resolve("build.gradle.kts"))) {
+            module = root.relativize(dir).toString().replace('\\', '/');
+        } else {
+            module = moduleOf(root, dir.getParent(), cache);
+        }
+        cache.put(dir, module);
+        return module;
+    }
+
+    private static final class ModuleCounter {
+        private final String module;
+        private int javaFiles;
+        private long lines;
+        private long bytes;
+        private int controllers;
+        private int services;
+        private int repositories;
+        private int endpoints;
+
+        private ModuleCounter(String module) {
+            this.module = module;
+        }
+
+        private SourceInventory.ModuleStats toStats() {
+            return new SourceInventory.ModuleStats(module, javaFiles, lines, bytes,
+                    controllers, services, repositories, endpoints);
+        }
+    }
+}
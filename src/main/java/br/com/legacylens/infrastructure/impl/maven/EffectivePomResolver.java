@@ -0,0 +1,258 @@
+package br.com.legacylens.infrastructure.impl.maven;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelProblem;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 🧬 EffectivePomResolver
+ * -----------------------------------------
+ * Modelo efetivo (o mesmo que o Maven usaria) da raiz e de cada módulo do reactor:
+ *  - parents (do projeto ou do repositório local), &lt;dependencyManagement&gt;, BOMs importados
+ *    e ${propriedades} — sem rede ({@link OfflineModelResolver})
+ *  - módulos descobertos pelos &lt;modules&gt; dos POMs crus e construídos em paralelo
+ *  - parents/BOMs externos já lidos ficam em cache entre módulos e análises
+ *    (dependencies.modelCacheSize; LRU)
+ *  - módulo cujo modelo efetivo não fecha (parent ausente no ~/.m2, POM inválido) cai no
+ *    modelo cru, e o problema é reportado
+ */
+@Slf4j
+@Component
+public class EffectivePomResolver {
+
+    private static final int MAX_PROBLEMS = 5;
+    private static final Properties SYSTEM_PROPERTIES = new Properties();
+
+    static {
+        SYSTEM_PROPERTIES.putAll(System.getProperties());
+    }
+
+    private final ModelBuilder builder = new DefaultModelBuilderFactory().newInstance();
+    private final Map<String, Object> sharedCache;
+
+    /** Modelo de um POM do reactor; effective=false quando é o modelo cru (fallback). */
+    public record Module(Path pom, Model model, boolean effective) {
+
+        /** groupId:artifactId:version (no modelo cru, groupId/version herdados do &lt;parent&gt;). */
+        public String gav() {
+            return EffectivePomResolver.gav(groupId(model), model.getArtifactId(), version(model));
+        }
+    }
+
+    public record Reactor(List<Module> modules, List<String> problems) {
+
+        public Module root() {
+            return modules.get(0);
+        }
+
+        /** groupId:artifactId dos próprios módulos (não são bibliotecas). */
+        public Set<String> coordinates() {
+            Set<String> result = new HashSet<>();
+            modules.forEach(m -> result.add(m.model().getGroupId() + ":" + m.model().getArtifactId()));
+            return result;
+        }
+    }
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public EffectivePomResolver(LegacyLensConfigLoader configLoader) {
+        int capacity = Math.max(1, LegacyLensConfigLoader.get().getDependencies().getModelCacheSize());
+        this.sharedCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    public Reactor resolve(Path rootPom) throws Exception {
+        long start = System.nanoTime();
+        List<String> problems = Collections.synchronizedList(new ArrayList<>());
+        Map<String, Path> reactor = discover(rootPom, problems);
+        List<Path> poms = List.copyOf(new LinkedHashSet<>(reactor.values()));
+
+        var resolver = new OfflineModelResolver(localRepository(), reactor);
+        var cache = new ReactorModelCache(reactor.keySet(), sharedCache);
+        Properties system = SYSTEM_PROPERTIES;
+
+        List<Module> modules;
+        int parallelism = Math.min(poms.size(), Runtime.getRuntime().availableProcessors());
+        if (parallelism <= 1) {
+            modules = poms.stream().map(p -> build(p, resolver, cache, system, problems)).toList();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                modules = pool.submit(() -> poms.parallelStream()
+                        .map(p -> build(p, resolver, cache, system, problems))
+                        .toList()).get();
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        long effective = modules.stream().filter(Module::effective).count();
+        log.info("🧬 POM efetivo: {}/{} módulo(s) resolvido(s) em {} ms{}", effective, modules.size(),
+                (System.nanoTime() - start) / 1_000_000,
+                problems.isEmpty() ? "" : " — " + problems.size() + " problema(s)");
+        return new Reactor(modules, List.copyOf(problems));
+    }
+
+    /**
+     * Modelo efetivo de um artefato do repositório local (parents, BOMs e propriedades aplicados),
+     * usado como descritor de dependências; vazio quando o POM não está no repositório ou não fecha.
+     */
+    public Optional<Model> external(String groupId, String artifactId, String version) {
+        var resolver = new OfflineModelResolver(localRepository(), Map.of());
+        try {
+            var request = new DefaultModelBuildingRequest()
+                    .setModelSource(resolver.resolveModel(groupId, artifactId, version))
+                    .setModelResolver(resolver)
+                    .setModelCache(new ReactorModelCache(Set.of(), sharedCache))
+                    .setSystemProperties(SYSTEM_PROPERTIES)
+                    .setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL)
+                    .setProcessPlugins(false)
+                    .setTwoPhaseBuilding(false)
+                    .setLocationTracking(false);
+            return Optional.of(builder.build(request).getEffectiveModel());
+        } catch (Exception e) {
+            log.debug("Descritor indisponível para {}: {}", gav(groupId, artifactId, version), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Versão concreta para uma faixa ([1.0,2.0), [15.0,)...): a maior versão com POM no repositório
+     * local dentro da faixa — o que o Maven escolheria offline. Versões fixas voltam como estão.
+     */
+    public String concreteVersion(String groupId, String artifactId, String version) {
+        if (version == null || !version.matches(".*[\\[\\](),].*")) return version;
+        Path dir = localRepository().resolve(groupId.replace('.', '/')).resolve(artifactId);
+        try (var candidates = Files.list(dir)) {
+            VersionRange range = VersionRange.createFromVersionSpec(version);
+            return candidates
+                    .filter(d -> Files.isRegularFile(d.resolve(artifactId + "-" + d.getFileName() + ".pom")))
+                    .map(d -> new DefaultArtifactVersion(d.getFileName().toString()))
+                    .filter(range::containsVersion)
+                    .max(Comparator.naturalOrder())
+                    .map(Object::toString)
+                    .orElse(version);
+        } catch (Exception e) {
+            return version;
+        }
+    }
+
+    // ==============================================================
+    // 🔎 Reactor: POMs crus, seguindo <modules>
+    // ==============================================================
+    /** Diretórios dos módulos com código (packaging != pom), na ordem do reactor; só lê os POMs crus. */
+    public static List<Path> moduleDirs(Path rootPom) {
+        List<Path> dirs = new ArrayList<>();
+        for (Path pom : new LinkedHashSet<>(discover(rootPom, new ArrayList<>()).values())) {
+            try {
+                if (!"pom".equals(readRaw(pom).getPackaging())) dirs.add(pom.getParent());
+            } catch (Exception e) {
+                log.debug("POM ilegível ignorado na divisão por módulo: {}", pom);
+            }
+        }
+        return dirs;
+    }
+
+    private static Map<String, Path> discover(Path rootPom, List<String> problems) {
+        Map<String, Path> reactor = new LinkedHashMap<>();
+        Deque<Path> queue = new ArrayDeque<>(List.of(rootPom.toAbsolutePath().normalize()));
+        Set<Path> seen = new HashSet<>();
+        while (!queue.isEmpty()) {
+            Path pom = queue.poll();
+            if (!seen.add(pom)) continue;
+            Model raw;
+            try {
+                raw = readRaw(pom);
+            } catch (Exception e) {
+                problems.add(pom + ": " + e.getMessage());
+                continue;
+            }
+            reactor.put(gav(groupId(raw), raw.getArtifactId(), version(raw)), pom);
+            for (String module : raw.getModules()) {
+                Path target = pom.getParent().resolve(module.trim()).normalize();
+                queue.add(Files.isDirectory(target) ? target.resolve("pom.xml") : target);
+            }
+        }
+        return reactor;
+    }
+
+    private Module build(Path pom, OfflineModelResolver resolver, ReactorModelCache cache, Properties system,
+                         List<String> problems) {
+        var request = new DefaultModelBuildingRequest()
+                .setPomFile(pom.toFile())
+                .setModelResolver(resolver)
+                .setModelCache(cache)
+                .setSystemProperties(system)
+                .setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL)
+                .setProcessPlugins(false)
+                .setTwoPhaseBuilding(false)
+                .setLocationTracking(false);
+        try {
+            return new Module(pom, builder.build(request).getEffectiveModel(), true);
+        } catch (ModelBuildingException e) {
+            e.getProblems().stream()
+                    .filter(p -> p.getSeverity() != ModelProblem.Severity.WARNING)
+                    .limit(MAX_PROBLEMS)
+                    .forEach(p -> problems.add(pom + ": " + p.getMessage()));
+            log.warn("⚠️ Modelo efetivo indisponível para {} — usando o POM cru", pom);
+        } catch (RuntimeException e) {
+            problems.add(pom + ": " + e.getMessage());
+            log.warn("⚠️ Falha ao construir o modelo efetivo de {}: {}", pom, e.getMessage());
+        }
+        try {
+            return new Module(pom, readRaw(pom), false);
+        } catch (Exception e) {
+            return new Module(pom, new Model(), false);
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários
+    // ==============================================================
+    public static String gav(String groupId, String artifactId, String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+
+    private static Model readRaw(Path pom) throws Exception {
+        try (InputStream in = Files.newInputStream(pom)) {
+            return new MavenXpp3Reader().read(in, false);
+        }
+    }
+
+    private static String groupId(Model raw) {
+        return raw.getGroupId() != null ? raw.getGroupId()
+                : raw.getParent() != null ? raw.getParent().getGroupId() : null;
+    }
+
+    private static String version(Model raw) {
+        return raw.getVersion() != null ? raw.getVersion()
+                : raw.getParent() != null ? raw.getParent().getVersion() : null;
+    }
+
+    private static Path localRepository() {
+        String configured = LegacyLensConfigLoader.get().getDependencies().getLocalRepository();
+        if (configured != null && !configured.isBlank()) return Path.of(configured);
+        String property = System.getProperty("maven.repo.local");
+        if (property != null && !property.isBlank()) return Path.of(property);
+        return Path.of(System.getProperty("user.home"), ".m2", "repository");
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.legacylens.infrastructure.impl.maven;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource2;
+import org.apache.maven.model.resolution.ModelResolver;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Resolve parents e BOMs sem rede: primeiro os POMs do próprio reactor (GAV → arquivo),
+ * depois o repositório local (&lt;g/a/v&gt;/&lt;a&gt;-&lt;v&gt;.pom). Repositórios declarados nos POMs
+ * são ignorados; faixas de versão não são suportadas (não há metadata offline).
+ */
+final class OfflineModelResolver implements ModelResolver {
+
+    private final Path localRepository;
+    private final Map<String, Path> reactor;
+
+    OfflineModelResolver(Path localRepository, Map<String, Path> reactor) {
+        this.localRepository = localRepository;
+        this.reactor = reactor;
+    }
+
+    @Override
+    public ModelSource2 resolveModel(String groupId, String artifactId, String version)
+            throws UnresolvableModelException {
+        Path local = reactor.get(EffectivePomResolver.gav(groupId, artifactId, version));
+        if (local != null) return new FileModelSource(local.toFile());
+
+        if (version == null || version.isBlank() || version.matches(".*[\\[\\](),].*")) {
+            throw new UnresolvableModelException("versão '" + version + "' não resolvível offline",
+                    groupId, artifactId, version);
+        }
+        Path pom = localRepository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version)
+                .resolve(artifactId + "-" + version + ".pom");
+        if (!Files.isRegularFile(pom)) {
+            throw new UnresolvableModelException("não encontrado no repositório local: " + pom,
+                    groupId, artifactId, version);
+        }
+        return new FileModelSource(pom.toFile());
+    }
+
+    @Override
+    public ModelSource2 resolveModel(Parent parent) throws UnresolvableModelException {
+        return resolveModel(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+    }
+
+    @Override
+    public ModelSource2 resolveModel(Dependency dependency) throws UnresolvableModelException {
+        return resolveModel(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+    }
+
+    @Override
+    public void addRepository(Repository repository) {
+        // offline: repositórios remotos dos POMs não são consultados
+    }
+
+    @Override
+    public void addRepository(Repository repository, boolean replace) {
+    }
+
+    @Override
+    public ModelResolver newCopy() {
+        return this; // sem estado mutável
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.legacylens.infrastructure.impl.maven;
+
+import org.apache.maven.model.building.ModelCache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de modelos lidos pelo ModelBuilder durante UMA análise.
+ * POMs do repositório local (releases) vão para o cache compartilhado entre análises;
+ * POMs do reactor e SNAPSHOTs ficam só nesta análise (o conteúdo pode mudar entre execuções).
+ */
+final class ReactorModelCache implements ModelCache {
+
+    private final Set<String> reactor;
+    private final Map<String, Object> shared;
+    private final Map<String, Object> local = new ConcurrentHashMap<>();
+
+    ReactorModelCache(Set<String> reactor, Map<String, Object> shared) {
+        this.reactor = reactor;
+        this.shared = shared;
+    }
+
+    @Override
+    public void put(String groupId, String artifactId, String version, String tag, Object data) {
+        target(groupId, artifactId, version).put(key(groupId, artifactId, version, tag), data);
+    }
+
+    @Override
+    public Object get(String groupId, String artifactId, String version, String tag) {
+        return target(groupId, artifactId, version).get(key(groupId, artifactId, version, tag));
+    }
+
+    private Map<String, Object> target(String groupId, String artifactId, String version) {
+        boolean volatileModel = version == null || version.endsWith("-SNAPSHOT")
+                || reactor.contains(EffectivePomResolver.gav(groupId, artifactId, version));
+        return volatileModel ? local : shared;
+    }
+
+    private static String key(String groupId, String artifactId, String version, String tag) {
+        return EffectivePomResolver.gav(groupId, artifactId, version) + ":" + tag;
+    }
+}
@@ -0,0 +1,274 @@
+package br.com.legacylens.infrastructure.impl.maven;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.DependencyGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 🕸️ TransitiveDependencyResolver
+ * -----------------------------------------
+ * Fecho transitivo das dependências, sem rede, a partir dos POMs do repositório local:
+ *  - mediação do Maven: o nó mais próximo do módulo vence (empate: o declarado primeiro)
+ *  - a seleção é feita por módulo: cada módulo tem seus próprios nós, arestas e caminhos, de modo
+ *    que dois módulos podem ficar com versões diferentes do mesmo artefato (como no Maven)
+ *  - exclusões acumuladas pelo caminho, optional e escopos test/provided não propagam
+ *  - &lt;dependencyManagement&gt; do módulo vale também para as transitivas; faixas de versão
+ *    ficam com a maior versão presente no repositório local
+ *  - descritor de cada artefato (modelo efetivo → dependências diretas) resolvido uma vez e
+ *    mantido entre análises (dependencies.descriptorCacheSize; LRU): os starters do Spring Boot,
+ *    por exemplo, são lidos uma vez por nó, e não uma vez por projeto
+ *  - cada nível da busca resolve em paralelo os descritores que ainda não estão em cache
+ */
+@Slf4j
+@Component
+public class TransitiveDependencyResolver {
+
+    private static final String MODULE_SCOPE = "module";
+
+    private final EffectivePomResolver poms;
+    private final Map<String, Descriptor> descriptors;
+
+    /** Dependência declarada: exclusions em "groupId:artifactId" (aceita *). */
+    public record Direct(String groupId, String artifactId, String version, String scope, boolean optional,
+                         Set<String> exclusions) {
+
+        String coordinates() {
+            return groupId + ":" + artifactId;
+        }
+    }
+
+    /** Módulo/projeto do build: coordenadas "g:a:v", dependências diretas e versões gerenciadas (g:a → v). */
+    public record Root(String coordinates, List<Direct> dependencies, Map<String, String> managed) {}
+
+    /** Dependências diretas de um artefato; resolved=false quando o POM não está no repositório local. */
+    private record Descriptor(List<Direct> dependencies, boolean resolved) {}
+
+    /** Aresta pendente da busca em largura. */
+    private record Pending(Direct dependency, String version, int parent, int depth, String scope,
+                           Set<String> exclusions) {}
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public TransitiveDependencyResolver(LegacyLensConfigLoader configLoader, EffectivePomResolver poms) {
+        this.poms = poms;
+        int capacity = Math.max(1, LegacyLensConfigLoader.get().getDependencies().getDescriptorCacheSize());
+        this.descriptors = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Descriptor> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /** Dependências diretas de um modelo efetivo (módulo do reactor ou artefato externo). */
+    public static List<Direct> directs(Model model) {
+        List<Direct> result = new ArrayList<>();
+        for (Dependency d : model.getDependencies()) {
+            Set<String> exclusions = new HashSet<>();
+            d.getExclusions().forEach(e -> exclusions.add(e.getGroupId() + ":" + e.getArtifactId()));
+            result.add(new Direct(d.getGroupId(), d.getArtifactId(), d.getVersion(),
+                    d.getScope() != null ? d.getScope() : "compile", d.isOptional(), Set.copyOf(exclusions)));
+        }
+        return result;
+    }
+
+    public static Map<String, String> managed(Model model) {
+        Map<String, String> managed = new HashMap<>();
+        if (model.getDependencyManagement() != null) {
+            model.getDependencyManagement().getDependencies()
+                    .forEach(d -> managed.putIfAbsent(d.getGroupId() + ":" + d.getArtifactId(), d.getVersion()));
+        }
+        return managed;
+    }
+
+    public DependencyGraph resolve(List<Root> roots) {
+        var cfg = LegacyLensConfigLoader.get().getDependencies();
+        if (!cfg.isTransitive() || roots.isEmpty()) return null;
+        long start = System.nanoTime();
+        int maxDepth = cfg.getMaxDepth() > 0 ? cfg.getMaxDepth() : Integer.MAX_VALUE;
+
+        Map<String, Descriptor> reactor = new HashMap<>();
+        roots.forEach(r -> reactor.put(r.coordinates(), new Descriptor(r.dependencies(), true)));
+        Map<String, Descriptor> volatileDescriptors = new ConcurrentHashMap<>();
+        var graph = new Builder();
+        int[] rootNodes = new int[roots.size()];
+        for (int r = 0; r < roots.size(); r++) {
+            rootNodes[r] = graph.node(roots.get(r).coordinates(), MODULE_SCOPE, 0, -1, r);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+        try {
+            for (int r = 0; r < roots.size(); r++) {
+                Root root = roots.get(r);
+                int rootNode = rootNodes[r];
+                Map<String, Integer> selected = new HashMap<>();
+                selected.put(coordinatesOf(root.coordinates()), rootNode);
+
+                List<Pending> frontier = new ArrayList<>();
+                for (Direct d : root.dependencies()) {
+                    frontier.add(new Pending(d, poms.concreteVersion(d.groupId(), d.artifactId(), d.version()),
+                            rootNode, 1, d.scope(), d.exclusions()));
+                }
+                while (!frontier.isEmpty()) {
+                    prefetch(frontier, reactor, volatileDescriptors, pool);
+                    List<Pending> next = new ArrayList<>();
+                    for (Pending p : frontier) {
+                        String ga = p.dependency().coordinates();
+                        Integer existing = selected.get(ga);
+                        if (existing != null) {
+                            graph.edge(p.parent(), existing);
+                            continue;
+                        }
+                        String gav = EffectivePomResolver.gav(p.dependency().groupId(), p.dependency().artifactId(),
+                                p.version() != null ? p.version() : "unspecified");
+                        int node = graph.node(gav, p.scope(), p.depth(), p.parent(), rootNode);
+                        selected.put(ga, node);
+                        graph.edge(p.parent(), node);
+
+                        Descriptor descriptor = descriptor(gav, p.version(), reactor, volatileDescriptors);
+                        if (!descriptor.resolved()) {
+                            graph.unresolved.add(gav);
+                            continue;
+                        }
+                        if (p.depth() >= maxDepth) continue;
+                        for (Direct child : descriptor.dependencies()) {
+                            String scope = propagate(p.scope(), child.scope());
+                            if (scope == null || child.optional() || excluded(child, p.exclusions())) continue;
+                            String version = poms.concreteVersion(child.groupId(), child.artifactId(),
+                                    root.managed().getOrDefault(child.coordinates(), child.version()));
+                            next.add(new Pending(child, version, node, p.depth() + 1, scope,
+                                    union(p.exclusions(), child.exclusions())));
+                        }
+                    }
+                    frontier = next;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        DependencyGraph result = graph.build();
+        log.info("🕸️ Grafo transitivo: {} módulo(s), {} nó(s), {} aresta(s), {} sem POM local em {} ms (descritores em cache: {})",
+                roots.size(), result.nodes().size(), result.targets().length, result.unresolved().size(),
+                (System.nanoTime() - start) / 1_000_000, descriptors.size());
+        return result;
+    }
+
+    // ==============================================================
+    // 📄 Descritores
+    // ==============================================================
+    private void prefetch(List<Pending> frontier, Map<String, Descriptor> reactor,
+                          Map<String, Descriptor> volatileDescriptors, ForkJoinPool pool) {
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (Pending p : frontier) {
+            if (p.version() == null) continue;
+            String gav = EffectivePomResolver.gav(p.dependency().groupId(), p.dependency().artifactId(), p.version());
+            if (!reactor.containsKey(gav) && !descriptors.containsKey(gav) && !volatileDescriptors.containsKey(gav)) {
+                missing.put(gav, p.version());
+            }
+        }
+        if (missing.size() < 2) return;
+        try {
+            pool.submit(() -> missing.entrySet().parallelStream()
+                    .forEach(e -> descriptor(e.getKey(), e.getValue(), reactor, volatileDescriptors))).get();
+        } catch (Exception e) {
+            log.warn("⚠️ Falha ao pré-carregar descritores: {}", e.getMessage());
+        }
+    }
+
+    private Descriptor descriptor(String gav, String version, Map<String, Descriptor> reactor,
+                                  Map<String, Descriptor> volatileDescriptors) {
+        Descriptor known = reactor.get(gav);
+        if (known == null) known = descriptors.get(gav);
+        if (known == null) known = volatileDescriptors.get(gav);
+        if (known != null) return known;
+        if (version == null) return new Descriptor(List.of(), false);
+
+        String[] parts = gav.split(":");
+        Descriptor descriptor = poms.external(parts[0], parts[1], version)
+                .map(model -> new Descriptor(List.copyOf(directs(model)), true))
+                .orElseGet(() -> new Descriptor(List.of(), false));
+        // ausentes (podem ser instalados depois) e SNAPSHOTs valem só nesta análise
+        boolean cacheable = descriptor.resolved() && !version.endsWith("-SNAPSHOT");
+        (cacheable ? descriptors : volatileDescriptors).put(gav, descriptor);
+        return descriptor;
+    }
+
+    // ==============================================================
+    // 🔧 Mediação
+    // ==============================================================
+
+    /** Escopo da transitiva segundo a tabela do Maven; null = não propaga. */
+    private static String propagate(String parent, String child) {
+        if (!"compile".equals(child) && !"runtime".equals(child)) return null;
+        if (MODULE_SCOPE.equals(parent)) return child;
+        if ("compile".equals(parent)) return child;
+        return parent;
+    }
+
+    private static boolean excluded(Direct d, Set<String> exclusions) {
+        if (exclusions.isEmpty()) return false;
+        return exclusions.contains(d.coordinates()) || exclusions.contains(d.groupId() + ":*")
+                || exclusions.contains("*:" + d.artifactId()) || exclusions.contains("*:*");
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        if (b.isEmpty()) return a;
+        if (a.isEmpty()) return b;
+        Set<String> result = new HashSet<>(a);
+        result.addAll(b);
+        return result;
+    }
+
+    private static String coordinatesOf(String gav) {
+        int last = gav.lastIndexOf(':');
+        return last > 0 ? gav.substring(0, last) : gav;
+    }
+
+    /** Acumula nós (um por GAV selecionado em cada módulo) e arestas sem repetição. */
+    private static final class Builder {
+        final List<String> nodes = new ArrayList<>();
+        final List<String> scopes = new ArrayList<>();
+        final List<Integer> depths = new ArrayList<>();
+        final List<Integer> parents = new ArrayList<>();
+        final List<Integer> roots = new ArrayList<>();
+        final Map<Integer, Set<Integer>> edges = new HashMap<>();
+        final Set<String> unresolved = new TreeSet<>();
+
+        int node(String gav, String scope, int depth, int parent, int root) {
+            nodes.add(gav);
+            scopes.add(scope);
+            depths.add(depth);
+            parents.add(parent);
+            roots.add(root);
+            return nodes.size() - 1;
+        }
+
+        void edge(int from, int to) {
+            if (from != to) edges.computeIfAbsent(from, k -> new LinkedHashSet<>()).add(to);
+        }
+
+        DependencyGraph build() {
+            int n = nodes.size();
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < n; i++) offsets[i + 1] = offsets[i] + edges.getOrDefault(i, Set.of()).size();
+            int[] targets = new int[offsets[n]];
+            for (int i = 0; i < n; i++) {
+                int k = offsets[i];
+                for (int to : edges.getOrDefault(i, Set.of())) targets[k++] = to;
+            }
+            return new DependencyGraph(nodes, scopes, toArray(depths), toArray(parents), toArray(roots),
+                    offsets, targets, List.copyOf(unresolved));
+        }
+
+        private static int[] toArray(List<Integer> values) {
+            return values.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
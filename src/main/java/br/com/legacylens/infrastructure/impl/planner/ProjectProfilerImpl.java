@@ -0,0 +1,153 @@
+package br.com.legacylens.infrastructure.impl.planner;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.ProjectProfile;
+import br.com.legacylens.domain.ports.ProjectProfilerPort;
+import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * 🔭 ProjectProfilerImpl
+ * -----------------------------------------
+ * Amostra o projeto com custo limitado, numa única varredura:
+ *  - conta .java e bytes até planner.walkLimit (parada antecipada — o resto vira estimativa "≥")
+ *  - guarda uma amostra uniforme (reservoir, seed fixa) de planner.sampleFiles caminhos
+ *  - lê só os primeiros planner.sampleBytesPerFile bytes de cada arquivo amostrado
+ *  - detecta build files e classes já compiladas sem descer em target/build
+ */
+@Slf4j
+@Component
+public class ProjectProfilerImpl implements ProjectProfilerPort {
+
+    private static final Set<String> SKIPPED_DIRS = Set.of("target", "build", "out", "bin", "node_modules", ".git", ".gradle", ".idea");
+    private static final Set<String> BUILD_FILES = Set.of("pom.xml", "build.gradle", "build.gradle.kts");
+    private static final long SAMPLE_SEED = 42;
+
+    /**
+     * Marcadores por prioridade: a primeira arquitetura presente na amostra vence.
+     * São ASCII (mesmos bytes em UTF-8, ISO-8859-1 e Cp1252): procurados direto nos bytes, sem decodificar.
+     */
+    private static final Map<String, List<byte[]>> ARCHITECTURES = new LinkedHashMap<>();
+    static {
+        ARCHITECTURES.put("Spring Boot", markers("@RestController", "@SpringBootApplication"));
+        ARCHITECTURES.put("Camunda BPM", markers("Camunda", "ProcessEngine"));
+        ARCHITECTURES.put("Apache Camel", markers("camelContext", "RouteBuilder"));
+        ARCHITECTURES.put("Feign Client", markers("@FeignClient"));
+        ARCHITECTURES.put("Jakarta EE / JPA", markers("jakarta.persistence", "@Entity"));
+    }
+
+    private static List<byte[]> markers(String... markers) {
+        return Arrays.stream(markers).map(m -> m.getBytes(StandardCharsets.US_ASCII)).toList();
+    }
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public ProjectProfilerImpl(LegacyLensConfigLoader configLoader) {
+    }
+
+    @Override
+    public ProjectProfile profile(Path project) {
+        long start = System.nanoTime();
+        var cfg = LegacyLensConfigLoader.get().getPlanner();
+        if (project == null || !Files.isDirectory(project)) {
+            return new ProjectProfile(0, 0, true, 0, false, "Desconhecida", 0, 0);
+        }
+
+        Walk walk = new Walk(Math.max(1, cfg.getWalkLimit()), Math.max(1, cfg.getSampleFiles()));
+        try {
+            Files.walkFileTree(project, walk);
+        } catch (IOException e) {
+            log.warn("⚠️ Falha ao amostrar {}: {}", project, e.getMessage());
+        }
+
+        String architecture = detectArchitecture(walk.sample, Math.max(1024, cfg.getSampleBytesPerFile()));
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        var profile = new ProjectProfile(walk.javaFiles, walk.bytes, !walk.truncated, walk.buildFiles,
+                walk.compiled, architecture, walk.sample.size(), ms);
+        log.info("🔭 Perfil: {}{} arquivos .java, {} KB, {} build file(s), compilado={}, arquitetura={} ({} ms)",
+                profile.complete() ? "" : "≥", profile.javaFiles(), profile.sourceBytes() / 1024,
+                profile.buildFiles(), profile.compiled(), architecture, ms);
+        return profile;
+    }
+
+    // ==============================================================
+    // 🔧 Varredura com parada antecipada + reservoir sampling
+    // ==============================================================
+    private static final class Walk extends SimpleFileVisitor<Path> {
+        private final int limit;
+        private final int sampleSize;
+        private final Random random = new Random(SAMPLE_SEED);
+        private final List<Path> sample = new ArrayList<>();
+
+        private long javaFiles;
+        private long bytes;
+        private int buildFiles;
+        private boolean compiled;
+        private boolean truncated;
+
+        private Walk(int limit, int sampleSize) {
+            this.limit = limit;
+            this.sampleSize = sampleSize;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+            if (!SKIPPED_DIRS.contains(name)) return FileVisitResult.CONTINUE;
+            if (!compiled && (name.equals("target") || name.equals("build"))) {
+                compiled = Files.isDirectory(dir.resolve("classes"));
+            }
+            return FileVisitResult.SKIP_SUBTREE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            String name = file.getFileName().toString();
+            if (BUILD_FILES.contains(name)) {
+                buildFiles++;
+            } else if (name.endsWith(".java")) {
+                javaFiles++;
+                bytes += attrs.size();
+                if (sample.size() < sampleSize) {
+                    sample.add(file);
+                } else {
+                    long slot = (long) (random.nextDouble() * javaFiles);
+                    if (slot < sampleSize) sample.set((int) slot, file);
+                }
+                if (javaFiles >= limit) {
+                    truncated = true;
+                    return FileVisitResult.TERMINATE;
+                }
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    private static String detectArchitecture(List<Path> sample, int bytesPerFile) {
+        Set<String> found = new HashSet<>();
+        for (Path file : sample) {
+            byte[] head = JavaSourceReaderUtil.readHead(file, bytesPerFile);
+            for (var e : ARCHITECTURES.entrySet()) {
+                if (found.contains(e.getKey())) continue;
+                for (byte[] marker : e.getValue()) {
+                    if (JavaSourceReaderUtil.indexOf(head, marker) >= 0) {
+                        found.add(e.getKey());
+                        break;
+                    }
+                }
+            }
+        }
+        return ARCHITECTURES.keySet().stream().filter(found::contains).findFirst().orElse("Java Puro");
+    }
+}
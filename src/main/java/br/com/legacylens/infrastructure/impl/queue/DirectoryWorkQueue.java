@@ -0,0 +1,267 @@
+package br.com.legacylens.infrastructure.impl.queue;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 📬 DirectoryWorkQueue
+ * -----------------------------------------
+ * Fila durável em diretório (local ou compartilhado), sem broker:
+ *   pending/&lt;id&gt;.task          aguardando worker
+ *   leased/&lt;id&gt;.task@&lt;worker&gt;  em execução; o mtime é o heartbeat do lease
+ *   done/&lt;id&gt;.result           resultado (um por tarefa; o primeiro a chegar vence)
+ *   CLOSED                     marcador: fila encerrada, workers podem sair
+ * Toda transição é um rename atômico no mesmo sistema de arquivos, então dois workers nunca
+ * ficam com a mesma tarefa; lease sem heartbeat além do prazo volta para pending/ (reap),
+ * com limite de tentativas. Tarefas e resultados são .properties em UTF-8.
+ */
+@Slf4j
+public final class DirectoryWorkQueue {
+
+    private static final String TASK = ".task";
+    private static final String RESULT = ".result";
+    private static final String OWNER = "@";
+    private static final String CLOSED = "CLOSED";
+
+    public enum Status { OK, STAGE_FAILED, FAILED }
+
+    /** Unidade de trabalho: uma entrada (ou um módulo dela) e o diretório de saída. */
+    public record Task(String id, String input, String module, String outDir, String artifacts, int attempts) {}
+
+    public record Lease(Task task, Path file, String worker) {}
+
+    public record Result(String id, Status status, String input, String module, String outDir, String worker,
+                         long millis, int attempts, String detail) {}
+
+    private final Path pending;
+    private final Path leased;
+    private final Path done;
+    private final Path closed;
+
+    public DirectoryWorkQueue(Path root) throws IOException {
+        this.pending = Files.createDirectories(root.resolve("pending"));
+        this.leased = Files.createDirectories(root.resolve("leased"));
+        this.done = Files.createDirectories(root.resolve("done"));
+        this.closed = root.resolve(CLOSED);
+    }
+
+    // ==============================================================
+    // 🧑‍✈️ Coordenador
+    // ==============================================================
+    public void enqueue(Task task) throws IOException {
+        Path tmp = pending.resolve(task.id() + ".tmp");
+        write(tmp, taskProperties(task));
+        Files.move(tmp, pending.resolve(task.id() + TASK), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Devolve para pending/ os leases sem heartbeat há mais de {@code lease}; esgotadas as tentativas, grava FAILED. */
+    public int reapExpired(Duration lease, int maxAttempts) throws IOException {
+        long limit = System.currentTimeMillis() - lease.toMillis();
+        int reaped = 0;
+        for (Path file : list(leased, TASK + OWNER)) {
+            try {
+                if (Files.getLastModifiedTime(file).toMillis() >= limit) continue;
+                Task task = readTask(file);
+                String worker = owner(file);
+                if (isDone(task.id())) {
+                    Files.deleteIfExists(file);     // resultado gravado, só faltou liberar o lease
+                    continue;
+                }
+                Task retry = new Task(task.id(), task.input(), task.module(), task.outDir(), task.artifacts(),
+                        task.attempts() + 1);
+                if (retry.attempts() >= maxAttempts) {
+                    complete(new Result(task.id(), Status.FAILED, task.input(), task.module(), task.outDir(), worker,
+                            0, retry.attempts(), "lease expirado " + retry.attempts() + "x"));
+                    log.warn("💀 Tarefa {} abandonada após {} leases expirados (último: {})",
+                            task.id(), retry.attempts(), worker);
+                } else {
+                    enqueue(retry);
+                    log.warn("⏰ Lease de {} expirou ({}); tarefa devolvida à fila", task.id(), worker);
+                }
+                Files.deleteIfExists(file);
+                reaped++;
+            } catch (NoSuchFileException e) {
+                // worker concluiu entre a listagem e a leitura
+            }
+        }
+        return reaped;
+    }
+
+    public void close() throws IOException {
+        if (!Files.exists(closed)) Files.writeString(closed, "", StandardCharsets.UTF_8);
+    }
+
+    // ==============================================================
+    // 👷 Worker
+    // ==============================================================
+    /** Toma a primeira tarefa pendente; vazio se a fila está vazia ou outro worker levou todas antes. */
+    public Optional<Lease> claim(String worker) throws IOException {
+        for (Path file : list(pending, TASK)) {
+            Path target = leased.resolve(file.getFileName() + OWNER + worker);
+            try {
+                // rename preserva o mtime de quando foi enfileirada: renova antes para o reap não pegá-la de cara
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                continue;   // outro worker levou
+            }
+            Task task = readTask(target);
+            if (isDone(task.id())) {
+                // reenfileirada por um reap que correu com a conclusão: já tem resultado
+                Files.deleteIfExists(target);
+                continue;
+            }
+            return Optional.of(new Lease(task, target, worker));
+        }
+        return Optional.empty();
+    }
+
+    /** false = o lease foi perdido (expirou e voltou para a fila). */
+    public boolean heartbeat(Lease lease) {
+        try {
+            Files.setLastModifiedTime(lease.file(), FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Grava o resultado e libera o lease; false se outro worker já havia concluído a mesma tarefa. */
+    public boolean finish(Lease lease, Result result) throws IOException {
+        boolean first = complete(result);
+        Files.deleteIfExists(lease.file());
+        return first;
+    }
+
+    public boolean isClosed() {
+        return Files.exists(closed);
+    }
+
+    // ==============================================================
+    // 📊 Estado
+    // ==============================================================
+    public int pendingCount() throws IOException {
+        return list(pending, TASK).size();
+    }
+
+    public int leasedCount() throws IOException {
+        return list(leased, TASK + OWNER).size();
+    }
+
+    public boolean isDone(String id) {
+        return Files.exists(done.resolve(id + RESULT));
+    }
+
+    /** Pendente, em execução ou concluída. */
+    public boolean isKnown(String id) throws IOException {
+        if (isDone(id) || Files.exists(pending.resolve(id + TASK))) return true;
+        return list(leased, id + TASK + OWNER).stream()
+                .anyMatch(f -> f.getFileName().toString().startsWith(id + TASK + OWNER));
+    }
+
+    public List<Result> results() throws IOException {
+        List<Result> results = new ArrayList<>();
+        for (Path file : list(done, RESULT)) results.add(readResult(file));
+        return results;
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários
+    // ==============================================================
+    private boolean complete(Result result) throws IOException {
+        Path target = done.resolve(result.id() + RESULT);
+        if (Files.exists(target)) return false;
+        Path tmp = done.resolve(result.id() + "." + UUID.randomUUID() + ".tmp");
+        write(tmp, resultProperties(result));
+        try {
+            // hard link falha se o destino existir: só o primeiro resultado fica
+            Files.createLink(target, tmp);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (UnsupportedOperationException | IOException e) {
+            if (Files.exists(target)) return false;
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static List<Path> list(Path dir, String marker) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().contains(marker)
+                            && !f.getFileName().toString().endsWith(".tmp"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String owner(Path leasedFile) {
+        String name = leasedFile.getFileName().toString();
+        return name.substring(name.lastIndexOf(OWNER) + 1);
+    }
+
+    private static Properties taskProperties(Task task) {
+        Properties p = new Properties();
+        p.setProperty("id", task.id());
+        p.setProperty("input", task.input());
+        p.setProperty("module", task.module());
+        p.setProperty("outDir", task.outDir());
+        p.setProperty("artifacts", task.artifacts());
+        p.setProperty("attempts", Integer.toString(task.attempts()));
+        return p;
+    }
+
+    private static Task readTask(Path file) throws IOException {
+        Properties p = read(file);
+        return new Task(p.getProperty("id"), p.getProperty("input"), p.getProperty("module", ""),
+                p.getProperty("outDir"), p.getProperty("artifacts", ""),
+                Integer.parseInt(p.getProperty("attempts", "0")));
+    }
+
+    private static Properties resultProperties(Result result) {
+        Properties p = new Properties();
+        p.setProperty("id", result.id());
+        p.setProperty("status", result.status().name());
+        p.setProperty("input", result.input());
+        p.setProperty("module", result.module());
+        p.setProperty("outDir", result.outDir());
+        p.setProperty("worker", result.worker());
+        p.setProperty("millis", Long.toString(result.millis()));
+        p.setProperty("attempts", Integer.toString(result.attempts()));
+        p.setProperty("detail", result.detail() == null ? "" : result.detail());
+        return p;
+    }
+
+    private static Result readResult(Path file) throws IOException {
+        Properties p = read(file);
+        return new Result(p.getProperty("id"), Status.valueOf(p.getProperty("status")), p.getProperty("input"),
+                p.getProperty("module", ""), p.getProperty("outDir"), p.getProperty("worker", ""),
+                Long.parseLong(p.getProperty("millis", "0")), Integer.parseInt(p.getProperty("attempts", "0")),
+                p.getProperty("detail", ""));
+    }
+
+    private static void write(Path file, Properties properties) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(out, null);
+        }
+    }
+
+    private static Properties read(Path file) throws IOException {
+        Properties p = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            p.load(in);
+        }
+        return p;
+    }
+}
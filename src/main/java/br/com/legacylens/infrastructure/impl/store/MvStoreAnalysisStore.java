@@ -0,0 +1,371 @@
+package br.com.legacylens.infrastructure.impl.store;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisFacts;
+import br.com.legacylens.domain.model.CallGraph;
+import br.com.legacylens.domain.model.Page;
+import br.com.legacylens.domain.model.SourceInventory;
+import br.com.legacylens.domain.model.StoreHit;
+import br.com.legacylens.domain.model.StoreQuery;
+import br.com.legacylens.domain.model.StoredAnalysis;
+import br.com.legacylens.domain.ports.AnalysisStorePort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.mvstore.Cursor;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 🗄️ MvStoreAnalysisStore
+ * -----------------------------------------
+ * Armazenamento das análises em um único arquivo H2 MVStore (embutido, sem servidor).
+ * Cada índice secundário é um mapa ordenado com chave composta
+ * {@code termo \0 analysisId \0 ...} e o fato em JSON como valor (índice "cobrindo"):
+ * uma consulta é uma varredura por prefixo, sem acesso a outro mapa nem às fontes.
+ *  - classes: nome simples da classe
+ *  - calls.callee / calls.caller: classe chamada / chamadora
+ *  - injections.type: tipo injetado
+ *  - endpoints.dto: DTOs de entrada/saída (também dentro de List&lt;...&gt;, Optional&lt;...&gt; etc.)
+ *  - dependencies: groupId:artifactId e artifactId
+ * "owned" lista as chaves de cada análise (remoção na retenção); "latest" aponta a última
+ * análise de cada projeto, gravada por último — uma análise só aparece depois de completa.
+ */
+@Slf4j
+@Component
+public class MvStoreAnalysisStore implements AnalysisStorePort {
+
+    private static final char SEP = '\u0000';
+    private static final String OWNED = "owned";
+    private static final String CLASSES = "classes";
+    private static final String CALLS_BY_CALLEE = "calls.callee";
+    private static final String CALLS_BY_CALLER = "calls.caller";
+    private static final String INJECTIONS = "injections.type";
+    private static final String ENDPOINTS_BY_DTO = "endpoints.dto";
+    private static final String DEPENDENCIES = "dependencies";
+
+    /** Tipos "embrulho" ignorados ao indexar DTOs (List&lt;PedidoDTO&gt; → PedidoDTO). */
+    private static final Set<String> WRAPPERS = Set.of("List", "Set", "Collection", "Iterable", "Optional",
+            "Map", "Page", "Slice", "ResponseEntity", "Mono", "Flux", "CompletableFuture");
+
+    private final ObjectMapper mapper;
+    private final MVStore store;
+    private final MVMap<String, String> analyses;
+    private final MVMap<String, String> latest;
+    private final MVMap<String, String> byProject;
+    private final MVMap<String, String> owned;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public MvStoreAnalysisStore(LegacyLensConfigLoader configLoader, ObjectMapper mapper) throws IOException {
+        this.mapper = mapper;
+        var cfg = LegacyLensConfigLoader.get().getStore();
+        if (!cfg.isEnabled()) {
+            this.store = null;
+            this.analyses = this.latest = this.byProject = this.owned = null;
+            return;
+        }
+        Path file = Path.of(cfg.getFile()).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        this.store = new MVStore.Builder().fileName(file.toString()).compress().open();
+        this.analyses = store.openMap("analyses");
+        this.latest = store.openMap("latest");
+        this.byProject = store.openMap("byProject");
+        this.owned = store.openMap(OWNED);
+        purgeIncomplete();
+        log.info("🗄️ Armazenamento de análises: {} ({} análises, {} projetos)", file, analyses.size(), latest.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (store != null && !store.isClosed()) store.close();
+    }
+
+    @Override
+    public boolean enabled() {
+        return store != null;
+    }
+
+    // ==============================================================
+    // 💾 Gravação
+    // ==============================================================
+    @Override
+    public synchronized StoredAnalysis save(AnalysisFacts facts) {
+        String id = facts.analysisId();
+        // regravação (ex.: grafo de chamadas gerado sob demanda): substitui os fatos, mantém data e diretório
+        StoredAnalysis previous = analysis(id).orElse(null);
+        boolean wasLatest = previous == null || id.equals(latest.get(previous.projectKey()));
+        if (previous != null) purge(id);
+
+        SourceInventory inventory = facts.inventory() != null ? facts.inventory() : SourceInventory.empty();
+        CallGraph graph = facts.calls() != null ? facts.calls() : CallGraph.empty();
+        Map<String, String> libraries = facts.scan() != null && facts.scan().libraries() != null
+                ? facts.scan().libraries() : Map.of();
+
+        int seq = 0;
+        for (var c : inventory.classes()) {
+            String fqcn = c.packageName() == null || c.packageName().isEmpty()
+                    ? c.className()
+                    : c.packageName() + "." + c.className();
+            put(CLASSES, key(c.className(), id, fqcn + SEP + seq++), c, id);
+        }
+        for (var e : inventory.endpoints()) {
+            Set<String> dtos = new LinkedHashSet<>(dtoNames(e.requestDto()));
+            dtos.addAll(dtoNames(e.responseDto()));
+            for (String dto : dtos) put(ENDPOINTS_BY_DTO, key(dto, id, String.valueOf(seq)), e, id);
+            seq++;
+        }
+        for (var i : graph.injections()) {
+            put(INJECTIONS, key(i.type(), id, String.valueOf(seq++)), i, id);
+        }
+        for (var call : graph.calls()) {
+            put(CALLS_BY_CALLEE, key(call.callee(), id, String.valueOf(seq)), call, id);
+            put(CALLS_BY_CALLER, key(call.caller(), id, String.valueOf(seq++)), call, id);
+        }
+        for (var lib : libraries.entrySet()) {
+            var dep = new AnalysisFacts.Dependency(lib.getKey(), lib.getValue());
+            String coordinates = lib.getKey();
+            put(DEPENDENCIES, key(coordinates, id, coordinates), dep, id);
+            String artifact = coordinates.substring(coordinates.indexOf(':') + 1);
+            if (!artifact.equals(coordinates)) put(DEPENDENCIES, key(artifact, id, coordinates), dep, id);
+        }
+
+        long createdAt = previous != null ? previous.createdAt() : System.currentTimeMillis();
+        String outputDir = previous != null ? previous.outputDir() : facts.outputDir();
+        var summary = new StoredAnalysis(id, facts.projectKey(), createdAt, outputDir,
+                facts.scan() != null ? facts.scan().projectType() : null,
+                inventory.classes().size(), inventory.endpoints().size(),
+                graph.injections().size(), graph.calls().size(), libraries.size());
+        analyses.put(id, json(summary));
+        byProject.put(facts.projectKey() + SEP + String.format("%016x", summary.createdAt()) + SEP + id, "");
+        if (wasLatest) latest.put(facts.projectKey(), id);
+        store.commit();
+
+        applyRetention(facts.projectKey());
+        log.info("🗄️ Análise {} de {} gravada: {} classes, {} endpoints, {} chamadas, {} dependências",
+                id, facts.projectKey(), summary.classes(), summary.endpoints(), summary.calls(), summary.dependencies());
+        return summary;
+    }
+
+    // ==============================================================
+    // 🔎 Consultas
+    // ==============================================================
+    @Override
+    public Optional<StoredAnalysis> analysis(String analysisId) {
+        String value = analyses.get(analysisId);
+        return value == null ? Optional.empty() : Optional.of(read(value, StoredAnalysis.class));
+    }
+
+    @Override
+    public Page<StoredAnalysis> analyses(StoreQuery query) {
+        List<StoredAnalysis> found = new ArrayList<>();
+        int skipped = 0;
+        boolean hasMore = false;
+        Collection<String> ids = query.analysisId() != null ? List.of(query.analysisId())
+                : query.history() ? historyIds(query.projectKey())
+                : query.projectKey() != null ? Optional.ofNullable(latest.get(query.projectKey())).stream().toList()
+                : latest.values();
+        for (String id : ids) {
+            var analysis = analysis(id).orElse(null);
+            if (analysis == null || (query.projectKey() != null && !query.projectKey().equals(analysis.projectKey()))) {
+                continue;
+            }
+            if (skipped++ < query.offset()) continue;
+            if (found.size() == query.limit()) {
+                hasMore = true;
+                break;
+            }
+            found.add(analysis);
+        }
+        return new Page<>(found, query.offset(), query.limit(), hasMore);
+    }
+
+    @Override
+    public Page<StoreHit<SourceInventory.ClassEntry>> classes(String simpleName, StoreQuery query) {
+        return scan(CLASSES, simpleName, query, SourceInventory.ClassEntry.class, c -> true);
+    }
+
+    @Override
+    public Page<StoreHit<CallGraph.Call>> callers(String className, String method, StoreQuery query) {
+        return scan(CALLS_BY_CALLEE, className, query, CallGraph.Call.class,
+                c -> method == null || method.equals(c.calleeMethod()));
+    }
+
+    @Override
+    public Page<StoreHit<CallGraph.Call>> callees(String className, String method, StoreQuery query) {
+        return scan(CALLS_BY_CALLER, className, query, CallGraph.Call.class,
+                c -> method == null || method.equals(c.callerMethod()));
+    }
+
+    @Override
+    public Page<StoreHit<CallGraph.Injection>> injectionsOf(String type, StoreQuery query) {
+        return scan(INJECTIONS, type, query, CallGraph.Injection.class, i -> true);
+    }
+
+    @Override
+    public Page<StoreHit<SourceInventory.EndpointEntry>> endpointsByDto(String dto, StoreQuery query) {
+        return scan(ENDPOINTS_BY_DTO, dto, query, SourceInventory.EndpointEntry.class, e -> true);
+    }
+
+    @Override
+    public Page<StoreHit<AnalysisFacts.Dependency>> dependencyUsage(String dependency, StoreQuery query) {
+        return scan(DEPENDENCIES, dependency, query, AnalysisFacts.Dependency.class, d -> true);
+    }
+
+    /**
+     * Varredura por prefixo do índice. Com analysisId o prefixo já inclui a análise;
+     * sem ele, entradas de análises fora do escopo (não-últimas, outro projeto) são puladas.
+     */
+    private <T> Page<StoreHit<T>> scan(String index, String term, StoreQuery query, Class<T> type, Predicate<T> filter) {
+        MVMap<String, String> map = store.openMap(index);
+        String prefix = normalize(term) + SEP + (query.analysisId() != null ? query.analysisId() + SEP : "");
+        Set<String> scope = query.analysisId() != null || query.history() ? null : Set.copyOf(latest.values());
+        Map<String, String> projects = new HashMap<>();
+
+        List<StoreHit<T>> found = new ArrayList<>();
+        int skipped = 0;
+        boolean hasMore = false;
+        Cursor<String, String> cursor = map.cursor(prefix);
+        while (cursor.hasNext()) {
+            String key = cursor.next();
+            if (!key.startsWith(prefix)) break;
+            String id = analysisIdOf(key);
+            if (scope != null && !scope.contains(id)) continue;
+            String project = projects.computeIfAbsent(id, a -> analysis(a).map(StoredAnalysis::projectKey).orElse(""));
+            if (query.projectKey() != null && !query.projectKey().equals(project)) continue;
+
+            T fact = read(cursor.getValue(), type);
+            if (!filter.test(fact)) continue;
+            if (skipped++ < query.offset()) continue;
+            if (found.size() == query.limit()) {
+                hasMore = true;
+                break;
+            }
+            found.add(new StoreHit<>(id, project, fact));
+        }
+        return new Page<>(found, query.offset(), query.limit(), hasMore);
+    }
+
+    // ==============================================================
+    // 🧹 Retenção e limpeza
+    // ==============================================================
+    private void applyRetention(String projectKey) {
+        int keep = Math.max(1, LegacyLensConfigLoader.get().getStore().getKeepPerProject());
+        List<String> ids = historyIds(projectKey);
+        if (ids.size() <= keep) return;
+        for (String id : ids.subList(keep, ids.size())) purge(id);
+        store.commit();
+        log.info("🧹 {} análise(s) antiga(s) de {} removida(s) do armazenamento", ids.size() - keep, projectKey);
+    }
+
+    /** Análises do projeto, da mais recente para a mais antiga (null = todos os projetos). */
+    private List<String> historyIds(String projectKey) {
+        String prefix = projectKey != null ? projectKey + SEP : "";
+        List<String> ids = new ArrayList<>();
+        Cursor<String, String> cursor = byProject.cursor(prefix);
+        while (cursor.hasNext()) {
+            String key = cursor.next();
+            if (!key.startsWith(prefix)) break;
+            ids.add(key.substring(key.lastIndexOf(SEP) + 1));
+        }
+        if (projectKey != null) Collections.reverse(ids);
+        return ids;
+    }
+
+    private void purge(String id) {
+        String prefix = id + SEP;
+        List<String> keys = new ArrayList<>();
+        Cursor<String, String> cursor = owned.cursor(prefix);
+        while (cursor.hasNext()) {
+            String key = cursor.next();
+            if (!key.startsWith(prefix)) break;
+            keys.add(key);
+        }
+        for (String key : keys) {
+            String rest = key.substring(prefix.length());
+            int sep = rest.indexOf(SEP);
+            store.<String, String>openMap(rest.substring(0, sep)).remove(rest.substring(sep + 1));
+            owned.remove(key);
+        }
+        String summary = analyses.remove(id);
+        if (summary != null) {
+            var analysis = read(summary, StoredAnalysis.class);
+            byProject.remove(analysis.projectKey() + SEP + String.format("%016x", analysis.createdAt()) + SEP + id);
+            latest.remove(analysis.projectKey(), id);
+        }
+    }
+
+    /** Gravação interrompida (queda no meio do save): entradas sem resumo da análise são removidas. */
+    private void purgeIncomplete() {
+        int purged = 0;
+        String key = owned.firstKey();
+        while (key != null) {
+            String id = key.substring(0, key.indexOf(SEP));
+            if (!analyses.containsKey(id)) {
+                purge(id);
+                purged++;
+            }
+            key = owned.higherKey(id + SEP + '\uffff');
+        }
+        if (purged > 0) {
+            store.commit();
+            log.warn("🧹 {} análise(s) incompleta(s) removida(s) do armazenamento", purged);
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private void put(String index, String key, Object fact, String analysisId) {
+        store.<String, String>openMap(index).put(key, json(fact));
+        owned.put(analysisId + SEP + index + SEP + key, "");
+    }
+
+    private static String key(String term, String analysisId, String suffix) {
+        return normalize(term) + SEP + analysisId + SEP + suffix;
+    }
+
+    private static String analysisIdOf(String key) {
+        int start = key.indexOf(SEP) + 1;
+        return key.substring(start, key.indexOf(SEP, start));
+    }
+
+    private static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Identificadores de tipo de um DTO declarado (ex.: "List&lt;PedidoDTO&gt;" → [PedidoDTO]). */
+    static List<String> dtoNames(String declared) {
+        if (declared == null || declared.isBlank()) return List.of();
+        List<String> names = new ArrayList<>();
+        for (String token : declared.split("[^\\w]+")) {
+            if (!token.isEmpty() && Character.isUpperCase(token.charAt(0)) && !WRAPPERS.contains(token)) {
+                names.add(token);
+            }
+        }
+        return names;
+    }
+
+    private String json(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("falha ao serializar " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T read(String value, Class<T> type) {
+        try {
+            return mapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("registro ilegível no armazenamento: " + e.getMessage(), e);
+        }
+    }
+}
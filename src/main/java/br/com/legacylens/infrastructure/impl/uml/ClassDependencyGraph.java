@@ -0,0 +1,208 @@
+package br.com.legacylens.infrastructure.impl.uml;
+
+import java.util.*;
+
+/**
+ * 🕸️ ClassDependencyGraph
+ * -----------------------------------------
+ * Grafo de dependências entre classes do módulo em CSR (offsets/targets, sem objeto por aresta):
+ * vizinhos de i = targets[offsets[i] .. offsets[i+1]), ordenados e sem repetição.
+ * Arestas: extends, implements e {@link UmlClassNode#dependencies()} — só entre classes conhecidas
+ * e de tipos de topo diferentes (Externo ↔ Externo$Interno se referenciam sempre no bytecode; não é ciclo).
+ * {@link #packages()} colapsa o grafo no nível de pacote com o mesmo formato e
+ * {@link #components} acha os ciclos (componentes fortemente conexos, Tarjan iterativo).
+ */
+final class ClassDependencyGraph {
+
+    final String[] names;
+    final int[] offsets;
+    final int[] targets;
+    /** Pacote de cada nó (índice em packageNames); no grafo de pacotes é a identidade. */
+    final int[] packageOf;
+    final String[] packageNames;
+    /** Peso de cada aresta (nº de dependências entre classes que ela resume); null no grafo de classes. */
+    final int[] weights;
+
+    private ClassDependencyGraph(String[] names, int[] offsets, int[] targets, int[] packageOf,
+                                 String[] packageNames, int[] weights) {
+        this.names = names;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.packageOf = packageOf;
+        this.packageNames = packageNames;
+        this.weights = weights;
+    }
+
+    static ClassDependencyGraph of(List<UmlClassNode> nodes) {
+        int n = nodes.size();
+        String[] names = new String[n];
+        Map<String, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            names[i] = nodes.get(i).name();
+            index.put(names[i], i);
+        }
+
+        Map<String, Integer> packageIndex = new TreeMap<>();
+        for (UmlClassNode node : nodes) packageIndex.put(node.packageName(), 0);
+        String[] packageNames = packageIndex.keySet().toArray(new String[0]);
+        for (int p = 0; p < packageNames.length; p++) packageIndex.put(packageNames[p], p);
+        int[] packageOf = new int[n];
+        for (int i = 0; i < n; i++) packageOf[i] = packageIndex.get(nodes.get(i).packageName());
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[Math.max(16, n * 4)];
+        int[] scratch = new int[16];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            UmlClassNode node = nodes.get(i);
+            int count = 0;
+            List<String> refs = new ArrayList<>(node.interfaces().size() + node.dependencies().size() + 1);
+            if (node.superclass() != null) refs.add(node.superclass());
+            refs.addAll(node.interfaces());
+            refs.addAll(node.dependencies());
+            for (String ref : refs) {
+                Integer to = index.get(ref);
+                if (to == null || to == i || sameNest(names[i], names[to])) continue;
+                if (count == scratch.length) scratch = Arrays.copyOf(scratch, count * 2);
+                scratch[count++] = to;
+            }
+            Arrays.sort(scratch, 0, count);
+            for (int k = 0; k < count; k++) {
+                if (k > 0 && scratch[k] == scratch[k - 1]) continue;
+                if (size == targets.length) targets = Arrays.copyOf(targets, size * 2);
+                targets[size++] = scratch[k];
+            }
+            offsets[i + 1] = size;
+        }
+        return new ClassDependencyGraph(names, offsets, Arrays.copyOf(targets, size), packageOf, packageNames, null);
+    }
+
+    private static boolean sameNest(String a, String b) {
+        int da = a.indexOf('$');
+        int db = b.indexOf('$');
+        if (da < 0 && db < 0) return false;
+        return (da < 0 ? a : a.substring(0, da)).equals(db < 0 ? b : b.substring(0, db));
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    int edges() {
+        return targets.length;
+    }
+
+    /** Grafo de pacotes: aresta P → Q se alguma classe de P depende de uma de Q (peso = nº de pares). */
+    ClassDependencyGraph packages() {
+        int p = packageNames.length;
+        // chave (origem << 32 | destino) ordenada = arestas já agrupadas por origem
+        long[] keys = new long[targets.length];
+        int size = 0;
+        for (int i = 0; i < names.length; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int from = packageOf[i];
+                int to = packageOf[targets[e]];
+                if (from != to) keys[size++] = ((long) from << 32) | to;
+            }
+        }
+        Arrays.sort(keys, 0, size);
+
+        int[] offsetsP = new int[p + 1];
+        int[] targetsP = new int[size];
+        int[] weightsP = new int[size];
+        int edges = 0;
+        for (int k = 0; k < size; k++) {
+            if (k > 0 && keys[k] == keys[k - 1]) {
+                weightsP[edges - 1]++;
+                continue;
+            }
+            targetsP[edges] = (int) keys[k];
+            weightsP[edges] = 1;
+            offsetsP[(int) (keys[k] >>> 32) + 1]++;
+            edges++;
+        }
+        for (int i = 0; i < p; i++) offsetsP[i + 1] += offsetsP[i];
+
+        int[] identity = new int[p];
+        for (int i = 0; i < p; i++) identity[i] = i;
+        return new ClassDependencyGraph(packageNames, offsetsP, Arrays.copyOf(targetsP, edges), identity,
+                packageNames, Arrays.copyOf(weightsP, edges));
+    }
+
+    /** Grafo reverso (quem depende de i), mesmo formato CSR. */
+    int[][] reversed() {
+        int n = names.length;
+        int[] offsetsR = new int[n + 1];
+        for (int t : targets) offsetsR[t + 1]++;
+        for (int i = 0; i < n; i++) offsetsR[i + 1] += offsetsR[i];
+        int[] cursor = Arrays.copyOf(offsetsR, n);
+        int[] sources = new int[targets.length];
+        for (int i = 0; i < n; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) sources[cursor[targets[e]]++] = i;
+        }
+        return new int[][]{offsetsR, sources};
+    }
+
+    /**
+     * Componentes fortemente conexos (Tarjan com pilha explícita — sem recursão, seguro para
+     * cadeias longas). Retorna o componente de cada nó; como não há laços (i → i), só componentes
+     * com mais de um nó são ciclos.
+     */
+    int[] components() {
+        int n = names.length;
+        int[] component = new int[n];
+        int[] order = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(order, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int stackSize = 0;
+        int counter = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] >= 0) continue;
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = offsets[root];
+            order[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < offsets[v + 1]) {
+                    int w = targets[callEdge[depth]++];
+                    if (order[w] < 0) {
+                        order[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = offsets[w];
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], order[w]);
+                    }
+                    continue;
+                }
+                if (low[v] == order[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        return component;
+    }
+}
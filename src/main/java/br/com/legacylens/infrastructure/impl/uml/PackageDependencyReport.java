@@ -0,0 +1,236 @@
+package br.com.legacylens.infrastructure.impl.uml;
+
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.infrastructure.jfr.StageEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 📦 PackageDependencyReport
+ * -----------------------------------------
+ * Dependências entre pacotes de um módulo (uml.includeRelationships), a partir do
+ * {@link ClassDependencyGraph}:
+ *  - diagram_&lt;módulo&gt;_packages.puml: pacotes e arestas com o nº de dependências entre classes;
+ *    pacotes e arestas em ciclo destacados
+ *  - diagram_&lt;módulo&gt;_packages.csv: métricas por pacote —
+ *    Ca (classes de fora que usam o pacote), Ce (classes de fora que o pacote usa),
+ *    instabilidade I = Ce / (Ca + Ce), abstração A e distância |A + I − 1|
+ *  - diagram_&lt;módulo&gt;_cycles.csv: ciclos (componentes fortemente conexos) de pacotes e de classes
+ * As métricas são calculadas por pacote em paralelo (plan.parallelism).
+ */
+@Slf4j
+final class PackageDependencyReport {
+
+    private final PlantUmlClassDiagramEmitter emitter;
+    private final int parallelism;
+
+    PackageDependencyReport(EffectiveConfig.Uml cfg, int parallelism) {
+        this.emitter = new PlantUmlClassDiagramEmitter(cfg);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /** Métricas de um pacote; cycle = 0 se o pacote não está em ciclo. */
+    record Metrics(int classes, int abstracts, int afferent, int efferent, int cycle) {
+        double instability() {
+            return afferent + efferent == 0 ? 0 : (double) efferent / (afferent + efferent);
+        }
+
+        double abstractness() {
+            return classes == 0 ? 0 : (double) abstracts / classes;
+        }
+
+        double distance() {
+            return Math.abs(abstractness() + instability() - 1);
+        }
+    }
+
+    /** @return arquivos escritos */
+    List<Path> write(String moduleName, List<UmlClassNode> nodes, Path outDir)
+            throws IOException, InterruptedException {
+        Instant start = Instant.now();
+        StageEvent event = StageEvent.start("package-graph", moduleName);
+        ClassDependencyGraph classes = ClassDependencyGraph.of(nodes);
+        ClassDependencyGraph packages = classes.packages();
+        int[] classCycle = cycleIds(classes.components());
+        int[] packageCycle = cycleIds(packages.components());
+        Metrics[] metrics;
+        try {
+            metrics = metrics(classes, nodes, packageCycle);
+        } catch (ExecutionException e) {
+            throw new IOException("falha ao calcular métricas de pacotes: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            event.finish(classes.size() + " classes");
+        }
+
+        Path puml = outDir.resolve("diagram_" + moduleName + "_packages.puml");
+        Path csv = outDir.resolve("diagram_" + moduleName + "_packages.csv");
+        Path cycles = outDir.resolve("diagram_" + moduleName + "_cycles.csv");
+        writeDiagram(puml, moduleName, packages, metrics, packageCycle);
+        writeMetrics(csv, packages, metrics);
+        writeCycles(cycles, packages, packageCycle, classes, classCycle);
+
+        log.info("📦 Dependências de '{}': {} classes / {} arestas, {} pacotes / {} arestas, "
+                        + "{} ciclo(s) de pacotes e {} de classes em {} ms",
+                moduleName, classes.size(), classes.edges(), packages.size(), packages.edges(),
+                count(packageCycle), count(classCycle), Duration.between(start, Instant.now()).toMillis());
+        return List.of(puml, csv, cycles);
+    }
+
+    // ==============================================================
+    // 📐 Métricas
+    // ==============================================================
+    private Metrics[] metrics(ClassDependencyGraph g, List<UmlClassNode> nodes, int[] packageCycle)
+            throws InterruptedException, ExecutionException {
+        int n = g.size();
+        int p = g.packageNames.length;
+        // classes de cada pacote (CSR por contagem)
+        int[] memberOffsets = new int[p + 1];
+        for (int i = 0; i < n; i++) memberOffsets[g.packageOf[i] + 1]++;
+        for (int k = 0; k < p; k++) memberOffsets[k + 1] += memberOffsets[k];
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberOffsets, p);
+        for (int i = 0; i < n; i++) members[cursor[g.packageOf[i]]++] = i;
+
+        int[][] reversed = g.reversed();
+        int[] inOffsets = reversed[0];
+        int[] sources = reversed[1];
+
+        Metrics[] result = new Metrics[p];
+        // marca por thread: stamp[c] == 2k+1 → c já contado em Ca de k; 2k+2 → em Ce
+        ThreadLocal<int[]> stamps = ThreadLocal.withInitial(() -> new int[n]);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, p).parallel().forEach(k -> {
+                int[] stamp = stamps.get();
+                int afferent = 0;
+                int efferent = 0;
+                int abstracts = 0;
+                for (int m = memberOffsets[k]; m < memberOffsets[k + 1]; m++) {
+                    int c = members[m];
+                    var kind = nodes.get(c).kind();
+                    if (kind == UmlClassNode.Kind.INTERFACE || kind == UmlClassNode.Kind.ABSTRACT) abstracts++;
+                    for (int e = inOffsets[c]; e < inOffsets[c + 1]; e++) {
+                        int from = sources[e];
+                        if (g.packageOf[from] != k && stamp[from] != 2 * k + 1) {
+                            stamp[from] = 2 * k + 1;
+                            afferent++;
+                        }
+                    }
+                }
+                for (int m = memberOffsets[k]; m < memberOffsets[k + 1]; m++) {
+                    int c = members[m];
+                    for (int e = g.offsets[c]; e < g.offsets[c + 1]; e++) {
+                        int to = g.targets[e];
+                        if (g.packageOf[to] != k && stamp[to] != 2 * k + 2) {
+                            stamp[to] = 2 * k + 2;
+                            efferent++;
+                        }
+                    }
+                }
+                result[k] = new Metrics(memberOffsets[k + 1] - memberOffsets[k], abstracts, afferent, efferent,
+                        packageCycle[k]);
+            })).get();
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    /** Componentes com mais de um nó numerados 1..k (maiores primeiro); os demais ficam 0. */
+    private static int[] cycleIds(int[] component) {
+        int components = 0;
+        for (int c : component) components = Math.max(components, c + 1);
+        int[] size = new int[components];
+        for (int c : component) size[c]++;
+        Integer[] cyclic = IntStream.range(0, components).filter(c -> size[c] > 1).boxed().toArray(Integer[]::new);
+        Arrays.sort(cyclic, (a, b) -> size[b] != size[a] ? Integer.compare(size[b], size[a]) : Integer.compare(a, b));
+        int[] id = new int[components];
+        for (int k = 0; k < cyclic.length; k++) id[cyclic[k]] = k + 1;
+        int[] result = new int[component.length];
+        for (int i = 0; i < component.length; i++) result[i] = id[component[i]];
+        return result;
+    }
+
+    private static int count(int[] cycleIds) {
+        int max = 0;
+        for (int id : cycleIds) max = Math.max(max, id);
+        return max;
+    }
+
+    // ==============================================================
+    // 🖋️ Saída
+    // ==============================================================
+    private void writeDiagram(Path file, String moduleName, ClassDependencyGraph g, Metrics[] metrics,
+                              int[] cycle) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            PlantUmlClassDiagramEmitter.header(w, moduleName + " — dependências entre pacotes ("
+                    + g.size() + " pacotes, " + count(cycle) + " ciclo(s))");
+            for (int k = 0; k < g.size(); k++) {
+                Metrics m = metrics[k];
+                w.write("class \"" + emitter.displayPackage(g.names[k]) + "\" as P" + k
+                        + (cycle[k] > 0 ? " <<ciclo " + cycle[k] + ">> #FFCDD2" : "") + " {\n");
+                w.write("  " + m.classes() + " classes\n");
+                w.write(String.format(Locale.ROOT, "  Ca %d · Ce %d · I %.2f%n", m.afferent(), m.efferent(),
+                        m.instability()));
+                w.write("}\n");
+            }
+            for (int k = 0; k < g.size(); k++) {
+                for (int e = g.offsets[k]; e < g.offsets[k + 1]; e++) {
+                    int to = g.targets[e];
+                    String arrow = cycle[k] > 0 && cycle[k] == cycle[to] ? " -[#red]-> " : " ..> ";
+                    w.write("P" + k + arrow + "P" + to + " : " + g.weights[e] + "\n");
+                }
+            }
+            w.write("@enduml\n");
+        }
+    }
+
+    private static void writeMetrics(Path file, ClassDependencyGraph g, Metrics[] metrics) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write("pacote,classes,abstratas,pacotes_usados,pacotes_usuarios,ca,ce,instabilidade,abstracao,distancia,ciclo\n");
+            int[] usedBy = new int[g.size()];
+            for (int t : g.targets) usedBy[t]++;
+            for (int k = 0; k < g.size(); k++) {
+                Metrics m = metrics[k];
+                w.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%s%n",
+                        g.names[k].isEmpty() ? "(default)" : g.names[k], m.classes(), m.abstracts(),
+                        g.offsets[k + 1] - g.offsets[k], usedBy[k], m.afferent(), m.efferent(),
+                        m.instability(), m.abstractness(), m.distance(), m.cycle() > 0 ? m.cycle() : ""));
+            }
+        }
+    }
+
+    private static void writeCycles(Path file, ClassDependencyGraph packages, int[] packageCycle,
+                                    ClassDependencyGraph classes, int[] classCycle) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write("nivel,ciclo,tamanho,elemento\n");
+            writeCycleRows(w, "PACOTE", packages.names, packageCycle);
+            writeCycleRows(w, "CLASSE", classes.names, classCycle);
+        }
+    }
+
+    private static void writeCycleRows(BufferedWriter w, String level, String[] names, int[] cycle)
+            throws IOException {
+        int cycles = count(cycle);
+        if (cycles == 0) return;
+        int[] size = new int[cycles + 1];
+        for (int id : cycle) size[id]++;
+        Integer[] ordered = IntStream.range(0, names.length).filter(i -> cycle[i] > 0).boxed().toArray(Integer[]::new);
+        Arrays.sort(ordered, Comparator.comparingInt((Integer i) -> cycle[i]).thenComparing(i -> names[i]));
+        for (int i : ordered) {
+            w.write(level + "," + cycle[i] + "," + size[cycle[i]] + ","
+                    + (names[i].isEmpty() ? "(default)" : names[i]) + "\n");
+        }
+    }
+}
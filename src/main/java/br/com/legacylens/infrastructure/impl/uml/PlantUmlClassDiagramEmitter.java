@@ -0,0 +1,248 @@
+package br.com.legacylens.infrastructure.impl.uml;
+
+import br.com.legacylens.domain.model.EffectiveConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 🖋️ PlantUmlClassDiagramEmitter
+ * -----------------------------------------
+ * Escreve diagramas de classes direto em disco (BufferedWriter, sem montar o
+ * .puml inteiro em memória) respeitando a seção {@code uml} da configuração efetiva:
+ *  - maxClasses: limite por diagrama — acima dele o módulo é particionado
+ *    ({@link UmlPartitioner}) em diagram_&lt;módulo&gt;_pNNN.puml e
+ *    diagram_&lt;módulo&gt;.puml vira um índice com links para as partes
+ *  - includeInterfaces / includeAbstract: filtram interfaces e classes abstratas
+ *  - truncateLongPackages: abrevia pacotes longos (br.com.x.infra → b.c.x.infra)
+ *  - includeRelationships: dependências de uso (..&gt;) entre classes da mesma parte
+ */
+@Slf4j
+public final class PlantUmlClassDiagramEmitter {
+
+    private static final int INDEX_PACKAGES_PER_PART = 20;
+
+    private final EffectiveConfig.Uml cfg;
+
+    public PlantUmlClassDiagramEmitter(EffectiveConfig.Uml cfg) {
+        this.cfg = cfg;
+    }
+
+    /** @return arquivos escritos (o primeiro é sempre diagram_&lt;módulo&gt;.puml) */
+    public List<Path> emit(String moduleName, List<UmlClassNode> scanned, Path outDir) throws IOException {
+        Files.createDirectories(outDir);
+
+        Set<String> excluded = new HashSet<>();
+        List<UmlClassNode> nodes = new ArrayList<>(scanned.size());
+        for (UmlClassNode node : scanned) {
+            if (isIncluded(node)) nodes.add(node);
+            else excluded.add(node.name());
+        }
+
+        int max = Math.max(1, cfg.maxClasses());
+        Map<String, Integer> index = indexOf(nodes);
+        Path mainFile = outDir.resolve("diagram_" + moduleName + ".puml");
+
+        if (nodes.size() <= max) {
+            int[] all = new int[nodes.size()];
+            for (int i = 0; i < all.length; i++) all[i] = i;
+            writePart(mainFile, moduleName, nodes, index, all, null, null, excluded);
+            return List.of(mainFile);
+        }
+
+        List<UmlPartitioner.Partition> parts = UmlPartitioner.partition(nodes, max);
+        int[] partOf = new int[nodes.size()];
+        String[] partFiles = new String[parts.size()];
+        for (int p = 0; p < parts.size(); p++) {
+            partFiles[p] = String.format("diagram_%s_p%03d.puml", moduleName, p + 1);
+            for (int m : parts.get(p).members()) partOf[m] = p;
+        }
+
+        List<Path> written = new ArrayList<>();
+        written.add(mainFile);
+        for (int p = 0; p < parts.size(); p++) {
+            Path file = outDir.resolve(partFiles[p]);
+            String title = moduleName + " — parte " + (p + 1) + "/" + parts.size();
+            writePart(file, title, nodes, index, parts.get(p).members(), partOf, partFiles, excluded);
+            written.add(file);
+        }
+        writeIndex(mainFile, moduleName, nodes, index, parts, partOf, partFiles);
+
+        log.info("🧩 Módulo '{}' particionado em {} diagramas (limite {} classes/diagrama)",
+                moduleName, parts.size(), max);
+        return written;
+    }
+
+    // ==============================================================
+    // 🔹 Parte (ou diagrama único)
+    // ==============================================================
+    private void writePart(Path file, String title, List<UmlClassNode> nodes, Map<String, Integer> index,
+                           int[] members, int[] partOf, String[] partFiles,
+                           Set<String> excluded) throws IOException {
+        Set<Integer> inPart = new HashSet<>(members.length * 2);
+        for (int m : members) inPart.add(m);
+
+        Integer[] ordered = Arrays.stream(members).boxed().toArray(Integer[]::new);
+        Arrays.sort(ordered, Comparator.comparing((Integer i) -> nodes.get(i).packageName())
+                .thenComparing(i -> nodes.get(i).name()));
+
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            header(w, title);
+
+            String currentPkg = null;
+            for (int i : ordered) {
+                UmlClassNode node = nodes.get(i);
+                if (!node.packageName().equals(currentPkg)) {
+                    if (currentPkg != null) w.write("}\n");
+                    currentPkg = node.packageName();
+                    w.write("package \"" + displayPackage(currentPkg) + "\" {\n");
+                }
+                w.write("  " + keyword(node.kind()) + " \"" + node.simpleName() + "\" as C" + i + "\n");
+            }
+            if (currentPkg != null) w.write("}\n");
+
+            // referências a classes de outras partes ou externas ao módulo
+            Map<String, String> stubs = new LinkedHashMap<>();
+            for (int i : ordered) {
+                UmlClassNode node = nodes.get(i);
+                String sup = node.superclass();
+                if (sup != null && !excluded.contains(sup)) {
+                    w.write("C" + i + " --|> " + target(sup, false, index, inPart, partOf, partFiles, stubs, w) + "\n");
+                }
+                if (cfg.includeInterfaces()) {
+                    for (String itf : node.interfaces()) {
+                        if (excluded.contains(itf)) continue;
+                        w.write("C" + i + " ..|> " + target(itf, true, index, inPart, partOf, partFiles, stubs, w) + "\n");
+                    }
+                }
+                if (!cfg.includeRelationships()) continue;
+                // uso sem herança: só dentro da parte (stubs para cada uso poluiriam o diagrama)
+                for (String dep : node.dependencies()) {
+                    Integer to = index.get(dep);
+                    if (to == null || to == i || !inPart.contains(to)
+                            || dep.equals(sup) || node.interfaces().contains(dep)) continue;
+                    w.write("C" + i + " ..> C" + to + "\n");
+                }
+            }
+            w.write("@enduml\n");
+        }
+        log.debug("🖋️ {} escrito ({} classes)", file.getFileName(), members.length);
+    }
+
+    /** Resolve o alias do alvo; declara um stub (com link para a parte, se houver) na primeira referência. */
+    private String target(String name, boolean isInterface, Map<String, Integer> index, Set<Integer> inPart,
+                          int[] partOf, String[] partFiles, Map<String, String> stubs,
+                          BufferedWriter w) throws IOException {
+        Integer i = index.get(name);
+        if (i != null && inPart.contains(i)) return "C" + i;
+
+        String alias = stubs.get(name);
+        if (alias != null) return alias;
+
+        alias = "X" + stubs.size();
+        stubs.put(name, alias);
+        String simple = UmlClassNode.simpleNameOf(name);
+        String keyword = isInterface ? "interface" : "class";
+        if (i != null && partFiles != null) {
+            w.write(keyword + " \"" + simple + "\" as " + alias + " [[" + partFiles[partOf[i]] + "]]\n");
+        } else {
+            w.write(keyword + " \"" + simple + "\" as " + alias + " <<external>>\n");
+        }
+        return alias;
+    }
+
+    // ==============================================================
+    // 🔹 Índice
+    // ==============================================================
+    private void writeIndex(Path file, String moduleName, List<UmlClassNode> nodes, Map<String, Integer> index,
+                            List<UmlPartitioner.Partition> parts, int[] partOf,
+                            String[] partFiles) throws IOException {
+        int[][] edges = UmlPartitioner.edges(nodes, index);
+        Map<Long, Integer> crossEdges = new TreeMap<>();
+        for (int from = 0; from < edges.length; from++) {
+            for (int to : edges[from]) {
+                int a = partOf[from], b = partOf[to];
+                if (a != b) crossEdges.merge(((long) a << 32) | b, 1, Integer::sum);
+            }
+        }
+
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            header(w, moduleName + " — índice (" + nodes.size() + " classes em " + parts.size() + " partes)");
+            for (int p = 0; p < parts.size(); p++) {
+                var part = parts.get(p);
+                String label = "Parte " + (p + 1) + " · " + displayPackage(part.mainPackage())
+                        + (part.packageCount() > 1 ? " (+" + (part.packageCount() - 1) + ")" : "");
+                w.write("class \"" + label + "\" as P" + p + " [[" + partFiles[p] + "]] {\n");
+
+                Map<String, Integer> perPackage = new TreeMap<>();
+                for (int m : part.members()) perPackage.merge(nodes.get(m).packageName(), 1, Integer::sum);
+                int shown = 0;
+                for (var e : perPackage.entrySet()) {
+                    if (shown++ == INDEX_PACKAGES_PER_PART) {
+                        w.write("  … +" + (perPackage.size() - INDEX_PACKAGES_PER_PART) + " pacotes\n");
+                        break;
+                    }
+                    w.write("  " + displayPackage(e.getKey()) + " : " + e.getValue() + "\n");
+                }
+                w.write("  --\n  " + part.members().length + " classes\n}\n");
+            }
+            for (var e : crossEdges.entrySet()) {
+                int a = (int) (e.getKey() >>> 32), b = (int) (e.getKey() & 0xffffffffL);
+                w.write("P" + a + " ..> P" + b + " : " + e.getValue() + "\n");
+            }
+            w.write("@enduml\n");
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private boolean isIncluded(UmlClassNode node) {
+        return switch (node.kind()) {
+            case INTERFACE -> cfg.includeInterfaces();
+            case ABSTRACT -> cfg.includeAbstract();
+            default -> true;
+        };
+    }
+
+    static void header(BufferedWriter w, String title) throws IOException {
+        w.write("@startuml\n");
+        w.write("' Gerado automaticamente pelo LegacyLens\n");
+        w.write("title " + title + "\n");
+        w.write("set separator none\n");
+        w.write("hide empty members\n");
+    }
+
+    String displayPackage(String pkg) {
+        if (pkg.isEmpty()) return "(default)";
+        if (!cfg.truncateLongPackages()) return pkg;
+        String[] parts = pkg.split("\\.");
+        if (parts.length <= 3) return pkg;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append('.');
+            sb.append(i < parts.length - 2 ? parts[i].substring(0, 1) : parts[i]);
+        }
+        return sb.toString();
+    }
+
+    private static String keyword(UmlClassNode.Kind kind) {
+        return switch (kind) {
+            case ABSTRACT -> "abstract class";
+            case INTERFACE -> "interface";
+            case ENUM -> "enum";
+            default -> "class";
+        };
+    }
+
+    private static Map<String, Integer> indexOf(List<UmlClassNode> nodes) {
+        Map<String, Integer> index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) index.put(nodes.get(i).name(), i);
+        return index;
+    }
+}
@@ -1,8 +1,15 @@
 package br.com.legacylens.infrastructure.impl.uml;
 
-import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.ExecutionPlan;
 import br.com.legacylens.domain.model.UmlDiagram;
 import br.com.legacylens.domain.ports.UmlGeneratorPort;
+import br.com.legacylens.infrastructure.impl.build.BuildResult;
+import br.com.legacylens.infrastructure.impl.build.BuildRunner;
+import br.com.legacylens.infrastructure.impl.incremental.IncrementalArtifacts;
+import br.com.legacylens.infrastructure.jfr.StageEvent;
+import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +22,8 @@ import java.nio.file.*;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -24,36 +32,73 @@ import java.util.stream.Collectors;
  * Gera diagramas UML estruturais a partir de projetos Java.
  * Suporta Maven, Gradle ou compilação manual via JavaCompiler.
  * Inclui fallback inteligente com detecção automática de frameworks e multi-módulo.
+ * No modo SOURCE_ONLY do plano (projeto grande sem classes compiladas) o build e o
+ * ClassGraph são pulados: os nós saem direto das fontes ({@link SourceClassScanner}).
+ * Na reanálise incremental sem mudança estrutural (assinaturas iguais) os diagramas
+ * anteriores são restaurados sem build.
+ * Com uml.includeRelationships as dependências entre classes (campos, assinaturas e constant pool,
+ * via ClassGraph) entram no diagrama e no grafo de pacotes ({@link PackageDependencyReport}).
  */
 @Slf4j
 @Component
 public class PlantUmlGeneratorImpl implements UmlGeneratorPort {
 
+    private static final Set<String> IGNORED_SUPERCLASSES =
+            Set.of("java.lang.Object", "java.lang.Record", "java.lang.Enum");
+
+    private final BuildRunner buildRunner;
+
+    public PlantUmlGeneratorImpl(BuildRunner buildRunner) {
+        this.buildRunner = buildRunner;
+    }
+
     @Override
-    public UmlDiagram generateFromPathOrJar(String source, Path outDir) {
+    public UmlDiagram generateFromPathOrJar(String source, Path outDir, AnalysisContext context) {
         Instant start = Instant.now();
         log.info("===== [PlantUML] Iniciando geração do diagrama UML =====");
         log.info("📦 Projeto: {}", source);
 
         Path projectPath = Path.of(source);
-        var cfg = LegacyLensConfigLoader.get();
-        boolean detectMultiModule = cfg.getExecution() != null && cfg.getExecution().isDetectMultiModule();
+        var cfg = context.config();
+        var plan = context.plan();
+        boolean detectMultiModule = cfg.execution().detectMultiModule();
+
+        // nenhuma declaração mudou desde a última análise: os .puml anteriores continuam valendo
+        var session = context.incremental();
+        if (session.umlReusable(cfg.uml().includeRelationships())) {
+            int restored = IncrementalArtifacts.restoreAll(session.artifactsDir(), "diagram_", outDir);
+            if (restored > 0) {
+                log.info("♻️ Estrutura inalterada — {} diagrama(s) UML reaproveitado(s) em {} ms", restored,
+                        Duration.between(start, Instant.now()).toMillis());
+                return new UmlDiagram("diagram.puml");
+            }
+        }
 
+        // um único orçamento de build para o estágio: N módulos não esperam N × compileTimeoutMinutes
+        Instant deadline = start.plus(Duration.ofMinutes(Math.max(1, cfg.execution().compileTimeoutMinutes())));
         try {
             // --- Se multi-módulo ativo, gerar um .puml por módulo ---
             if (detectMultiModule && hasMultipleModules(projectPath)) {
                 log.info("🧩 Multi-módulo detectado — gerando diagramas por submódulo...");
                 var modules = detectModules(projectPath);
                 for (Path module : modules) {
-                    generateSingleModuleDiagram(module, outDir);
+                    if (!generateSingleModuleDiagram(module, outDir, cfg, plan, deadline)) {
+                        log.warn("🛑 Prazo de build esgotado — {} módulo(s) restante(s) ficam sem diagrama",
+                                modules.size() - modules.indexOf(module) - 1);
+                        break;
+                    }
                 }
                 log.info("✅ Diagramas multi-módulo concluídos.");
                 return new UmlDiagram("diagram-multi.puml");
             }
 
             // --- Caso contrário, gerar apenas 1 .puml global ---
-            generateSingleModuleDiagram(projectPath, outDir);
+            generateSingleModuleDiagram(projectPath, outDir, cfg, plan, deadline);
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("🛑 Geração UML interrompida");
+            return new UmlDiagram("diagram-error.puml");
         } catch (Exception e) {
             log.error("❌ Erro durante geração UML: {}", e.getMessage(), e);
             return new UmlDiagram("diagram-error.puml");
@@ -67,7 +112,10 @@ public class PlantUmlGeneratorImpl implements UmlGeneratorPort {
     // ==============================================================
     // 🔹 Geração de um único módulo
     // ==============================================================
-    private void generateSingleModuleDiagram(Path projectPath, Path outDir) throws IOException {
+    /** false quando o build estourou o prazo do estágio ou foi cancelado (não adianta seguir para outros módulos). */
+    private boolean generateSingleModuleDiagram(Path projectPath, Path outDir, EffectiveConfig cfg,
+                                                ExecutionPlan plan, Instant deadline)
+            throws IOException, InterruptedException {
         Instant start = Instant.now();
         String moduleName = projectPath.getFileName() != null
                 ? projectPath.getFileName().toString()
@@ -75,8 +123,15 @@ public class PlantUmlGeneratorImpl implements UmlGeneratorPort {
 
         log.info("📘 Gerando diagrama para módulo: {}", moduleName);
 
-        StringBuilder puml = new StringBuilder("@startuml\n");
-        int count = 0;
+        if (plan.umlMode() == ExecutionPlan.UmlMode.SOURCE_ONLY) {
+            Path srcDir = findSourceDir(projectPath);
+            if (srcDir == null) {
+                log.warn("⚠️ Nenhum diretório de fontes encontrado no módulo {}", moduleName);
+                return true;
+            }
+            emit(moduleName, scanSources(srcDir, moduleName, plan.parallelism()), outDir, cfg, plan, start);
+            return true;
+        }
 
         // Detecta build e compila
         Path pom = findFile(projectPath, "pom.xml");
@@ -84,22 +139,29 @@ public class PlantUmlGeneratorImpl implements UmlGeneratorPort {
         Path mvnw = findFile(projectPath, "mvnw");
         Path gradlew = findFile(projectPath, "gradlew");
 
-        if (pom != null || gradle != null || mvnw != null || gradlew != null) {
-            compileProject(projectPath, pom, gradle, mvnw, gradlew);
-        } else {
-            compileWithSmartFallback(projectPath);
+        BuildResult.Outcome outcome = pom != null || gradle != null || mvnw != null || gradlew != null
+                ? compileProject(projectPath, pom, gradle, mvnw, gradlew, cfg.execution(), deadline)
+                : null;
+
+        // estourou o orçamento ou foi interrompido: o fallback javac só prolongaria o estágio
+        if (outcome == BuildResult.Outcome.TIMEOUT || outcome == BuildResult.Outcome.CANCELLED
+                || Thread.currentThread().isInterrupted()) {
+            log.warn("🛑 Geração UML interrompida no módulo {} ({}) — fallback não será executado",
+                    moduleName, outcome != null ? outcome : "interrompida");
+            return false;
         }
 
-        // Diretórios de classes
+        // Diretórios de classes; sem build, build com falha ou nada compilado → fallback javac (único ponto)
         List<Path> classesDirs = findAllClassesDirectories(projectPath);
-        if (classesDirs.isEmpty()) {
+        if (outcome != BuildResult.Outcome.SUCCESS || classesDirs.isEmpty()) {
+            if (outcome != null) log.warn("⚠️ Compilação terminou com {} — fallback automático acionado.", outcome);
             compileWithSmartFallback(projectPath);
             classesDirs = findAllClassesDirectories(projectPath);
         }
 
         if (classesDirs.isEmpty()) {
             log.warn("⚠️ Nenhum diretório de classes encontrado no módulo {}", moduleName);
-            return;
+            return true;
         }
 
         // Pacotes detectados
@@ -111,45 +173,96 @@ public class PlantUmlGeneratorImpl implements UmlGeneratorPort {
         for (Path dir : classesDirs) cg = cg.overrideClasspath(dir.toString());
         if (!packages.isEmpty()) cg = cg.acceptPackages(packages.toArray(new String[0]));
 
-        try (var scan = cg.enableClassInfo().scan()) {
-            var allClasses = scan.getAllClasses();
-            for (ClassInfo ci : allClasses) {
-                if (!ci.isStandardClass()) continue;
-                puml.append("class ").append(ci.getSimpleName()).append("\n");
-                count++;
-
-                if (ci.getSuperclass() != null) {
-                    puml.append(ci.getSimpleName())
-                            .append(" --|> ")
-                            .append(ci.getSuperclass().getSimpleName())
-                            .append("\n");
-                }
-                for (var itf : ci.getInterfaces()) {
-                    puml.append(ci.getSimpleName())
-                            .append(" ..|> ")
-                            .append(itf.getSimpleName())
-                            .append("\n");
-                }
-
-                if (count >= 500) {
-                    log.warn("⚠️ Limite de 500 classes atingido no módulo {}", moduleName);
-                    break;
+        boolean relationships = cfg.uml().includeRelationships();
+        cg = cg.enableClassInfo();
+        if (relationships) cg = cg.enableInterClassDependencies();
+
+        List<UmlClassNode> nodes = new ArrayList<>();
+        StageEvent event = StageEvent.start("classgraph", moduleName);
+        try (var scan = cg.scan()) {
+            // classes anônimas não viram nó: o que elas usam conta para a classe que as declara
+            Map<String, Set<String>> anonymousDeps = new HashMap<>();
+            for (ClassInfo ci : scan.getAllClasses()) {
+                if (relationships && ci.isAnonymousInnerClass()) {
+                    String owner = ci.getName().replaceFirst("\\$\\d.*$", "");
+                    anonymousDeps.computeIfAbsent(owner, k -> new HashSet<>()).addAll(ci.getClassDependencies().getNames());
                 }
             }
+            for (ClassInfo ci : scan.getAllClasses()) {
+                UmlClassNode node = toNode(ci, relationships, anonymousDeps);
+                if (node != null) nodes.add(node);
+            }
+        } finally {
+            event.finish(nodes.size() + " classes");
         }
 
-        puml.append("@enduml\n");
+        emit(moduleName, nodes, outDir, cfg, plan, start);
+        return true;
+    }
+
+    /** Emite (particionado se exceder uml.maxClasses) direto em disco. */
+    private void emit(String moduleName, List<UmlClassNode> nodes, Path outDir, EffectiveConfig cfg,
+                      ExecutionPlan plan, Instant start) throws IOException, InterruptedException {
+        var emitter = new PlantUmlClassDiagramEmitter(cfg.uml());
+        List<Path> written = emitter.emit(moduleName, nodes, outDir);
+        log.info("✅ Diagrama do módulo '{}' gerado em {} ({} classes, {} arquivo(s))",
+                moduleName, written.get(0), nodes.size(), written.size());
 
-        // Salva arquivo
-        Files.createDirectories(outDir);
-        Path outFile = outDir.resolve("diagram_" + moduleName + ".puml");
-        Files.writeString(outFile, puml.toString());
-        log.info("✅ Diagrama do módulo '{}' gerado em {} ({} classes)", moduleName, outFile, count);
+        if (cfg.uml().includeRelationships() && !nodes.isEmpty()) {
+            new PackageDependencyReport(cfg.uml(), plan.parallelism()).write(moduleName, nodes, outDir);
+        }
 
         long ms = Duration.between(start, Instant.now()).toMillis();
         log.debug("⏱️ Tempo módulo {}: {} ms", moduleName, ms);
     }
 
+    /** Leitura das fontes em paralelo (plan.parallelism); a resolução de nomes é feita no fim. */
+    private List<UmlClassNode> scanSources(Path srcDir, String moduleName, int parallelism)
+            throws IOException, InterruptedException {
+        List<Path> files;
+        try (var s = Files.walk(srcDir)) {
+            files = s.filter(p -> p.toString().endsWith(".java")).toList();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        StageEvent event = StageEvent.start("source-scan", moduleName);
+        List<UmlClassNode> nodes = List.of();
+        try {
+            var perFile = pool.submit(() -> files.parallelStream().map(SourceClassScanner::scanFile).toList()).get();
+            nodes = SourceClassScanner.resolve(perFile);
+            log.info("📄 {} classes lidas das fontes ({} arquivos, sem compilação)", nodes.size(), files.size());
+            return nodes;
+        } catch (ExecutionException e) {
+            throw new IOException("falha ao ler fontes de " + srcDir + ": " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+            event.finish(nodes.size() + " classes");
+        }
+    }
+
+    private UmlClassNode toNode(ClassInfo ci, boolean relationships, Map<String, Set<String>> anonymousDeps) {
+        if (ci.isAnnotation() || ci.isAnonymousInnerClass() || ci.isSynthetic()) return null;
+
+        UmlClassNode.Kind kind = ci.isInterface() ? UmlClassNode.Kind.INTERFACE
+                : ci.isEnum() ? UmlClassNode.Kind.ENUM
+                : ci.isAbstract() ? UmlClassNode.Kind.ABSTRACT
+                : UmlClassNode.Kind.CLASS;
+
+        String superclass = null;
+        if (kind != UmlClassNode.Kind.ENUM && ci.getSuperclass() != null
+                && !IGNORED_SUPERCLASSES.contains(ci.getSuperclass().getName())) {
+            superclass = ci.getSuperclass().getName();
+        }
+        List<String> interfaces = ci.getInterfaces().stream().map(ClassInfo::getName).toList();
+        if (!relationships) return new UmlClassNode(ci.getName(), ci.getPackageName(), kind, superclass, interfaces);
+
+        Set<String> dependencies = new TreeSet<>(ci.getClassDependencies().getNames());
+        dependencies.addAll(anonymousDeps.getOrDefault(ci.getName(), Set.of()));
+        dependencies.remove(ci.getName());
+        return new UmlClassNode(ci.getName(), ci.getPackageName(), kind, superclass, interfaces,
+                List.copyOf(dependencies));
+    }
+
     // ==============================================================
     // 🧠 Multi-módulo detection
     // ==============================================================
@@ -172,52 +285,38 @@ public class PlantUmlGeneratorImpl implements UmlGeneratorPort {
     // ==============================================================
     // 🔧 Utilitários de compilação
     // ==============================================================
-    private void compileProject(Path projectPath, Path pom, Path gradle, Path mvnw, Path gradlew) {
-        try {
-            boolean isWindows = System.getProperty("os.name").toLowerCase().contains("win");
-            ProcessBuilder pb;
-
-            if (mvnw != null && Files.exists(mvnw)) {
-                pb = isWindows
-                        ? new ProcessBuilder("cmd.exe", "/c", mvnw.toString(), "clean", "compile", "-q", "-DskipTests")
-                        : new ProcessBuilder(mvnw.toString(), "clean", "compile", "-q", "-DskipTests");
-            } else if (pom != null) {
-                pb = isWindows
-                        ? new ProcessBuilder("cmd.exe", "/c", "mvn", "clean", "compile", "-q", "-DskipTests")
-                        : new ProcessBuilder("mvn", "clean", "compile", "-q", "-DskipTests");
-            } else if (gradlew != null && Files.exists(gradlew)) {
-                pb = isWindows
-                        ? new ProcessBuilder("cmd.exe", "/c", gradlew.toString(), "build", "-x", "test")
-                        : new ProcessBuilder(gradlew.toString(), "build", "-x", "test");
-            } else if (gradle != null) {
-                pb = isWindows
-                        ? new ProcessBuilder("cmd.exe", "/c", "gradle", "build", "-x", "test")
-                        : new ProcessBuilder("gradle", "build", "-x", "test");
-            } else {
-                compileWithSmartFallback(projectPath);
-                return;
-            }
-
-            pb.directory(projectPath.toFile());
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                reader.lines().forEach(line -> log.debug("[BUILD] {}", line));
-            }
-
-            process.waitFor(3, TimeUnit.MINUTES);
-            if (process.exitValue() != 0) {
-                log.warn("⚠️ Compilação falhou — fallback automático acionado.");
-                compileWithSmartFallback(projectPath);
-            } else {
-                log.info("✅ Compilação concluída com sucesso ({})", projectPath);
-            }
+    /** Desfecho do build; null quando não há ferramenta de build utilizável. */
+    private BuildResult.Outcome compileProject(Path projectPath, Path pom, Path gradle, Path mvnw, Path gradlew,
+                                               EffectiveConfig.Execution exec, Instant deadline) {
+        boolean isWindows = System.getProperty("os.name").toLowerCase().contains("win");
+        String tool;
+        List<String> command;
+
+        if (mvnw != null && Files.exists(mvnw)) {
+            tool = "maven";
+            command = List.of(mvnw.toString(), "clean", "compile", "-q", "-DskipTests");
+        } else if (pom != null) {
+            tool = "maven";
+            command = List.of("mvn", "clean", "compile", "-q", "-DskipTests");
+        } else if (gradlew != null && Files.exists(gradlew)) {
+            tool = "gradle";
+            command = List.of(gradlew.toString(), "build", "-x", "test", "--no-daemon");
+        } else if (gradle != null) {
+            tool = "gradle";
+            command = List.of("gradle", "build", "-x", "test", "--no-daemon");
+        } else {
+            return null;
+        }
 
-        } catch (Exception e) {
-            log.error("❌ Erro na compilação: {}", e.getMessage());
-            compileWithSmartFallback(projectPath);
+        if (isWindows) {
+            List<String> wrapped = new ArrayList<>(List.of("cmd.exe", "/c"));
+            wrapped.addAll(command);
+            command = wrapped;
         }
+
+        BuildResult result = buildRunner.run(tool, command, projectPath, exec, deadline);
+        if (result.isSuccess()) log.info("✅ Compilação concluída com sucesso ({})", projectPath);
+        return result.outcome();
     }
 
     private void compileWithSmartFallback(Path projectPath) {
@@ -244,13 +343,7 @@ public class PlantUmlGeneratorImpl implements UmlGeneratorPort {
             String joinedSource = Files.walk(srcDir)
                     .filter(f -> f.toString().endsWith(".java"))
                     .limit(200)
-                    .map(f -> {
-                        try {
-                            return Files.readString(f);
-                        } catch (IOException e) {
-                            return "";
-                        }
-                    })
+                    .map(JavaSourceReaderUtil::readFile)
                     .collect(Collectors.joining("\n"))
                     .toLowerCase();
 
@@ -0,0 +1,218 @@
+package br.com.legacylens.infrastructure.impl.uml;
+
+import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 📄 SourceClassScanner
+ * -----------------------------------------
+ * Monta os {@link UmlClassNode} direto das fontes, sem compilar nem rodar ClassGraph
+ * (modo SOURCE_ONLY do plano para projetos grandes sem classes compiladas):
+ *  1. cada arquivo é lido uma vez: pacote, imports e declarações de tipo
+ *     (aninhados viram Externo$Interno, como no bytecode);
+ *  2. extends/implements são resolvidos depois, com o conjunto global de tipos:
+ *     tipo do próprio arquivo → import explícito → mesmo pacote → import com '*'.
+ * O que não resolve fica com o nome simples (vira stub externo no diagrama).
+ * Dependências: nomes de tipo (identificadores com inicial maiúscula) usados no arquivo que
+ * resolvem para um tipo do módulo; ficam todas com o primeiro tipo declarado no arquivo.
+ */
+public final class SourceClassScanner {
+
+    private static final Set<String> IGNORED_SUPERCLASSES = Set.of("Object", "Record", "Enum",
+            "java.lang.Object", "java.lang.Record", "java.lang.Enum");
+
+    private static final Pattern NOISE = Pattern.compile(
+            "/\\*.*?\\*/|//[^\\n]*|\"(?:\\\\.|[^\"\\\\\\n])*\"|'(?:\\\\.|[^'\\\\\\n])*'", Pattern.DOTALL);
+    private static final Pattern PACKAGE = Pattern.compile("\\bpackage\\s+([\\w.]+)\\s*;");
+    private static final Pattern IMPORT = Pattern.compile("\\bimport\\s+(static\\s+)?([\\w.]+)(\\.\\*)?\\s*;");
+    private static final Pattern TYPE_NAME = Pattern.compile("(?<![\\w.$])[A-Z][\\w$]*");
+    private static final Pattern DECLARATION = Pattern.compile(
+            "((?:\\b(?:public|protected|private|abstract|final|static|sealed|non-sealed|strictfp)\\s+)*)"
+                    + "(?<![\\w@])(class|interface|enum|record)\\s+(\\w+)\\s*(?:<[^{]*?>)?\\s*(?:\\([^)]*\\))?"
+                    + "\\s*(?:extends\\s+([^{]+?))?\\s*(?:implements\\s+([^{]+?))?\\s*(?:permits\\s+[^{]+?)?\\{");
+
+    record Declared(String name, String packageName, UmlClassNode.Kind kind,
+                    String superclass, List<String> interfaces, Set<String> references, FileScope scope) {}
+
+    /** Assinatura estrutural de um arquivo: declarações e nomes de tipo usados (relacionamentos). */
+    public record Signature(String declarations, String references) {}
+
+    private record FileScope(String packageName, Map<String, String> imports,
+                             List<String> wildcards, Map<String, String> local) {}
+
+    private SourceClassScanner() {}
+
+    /** Lê um arquivo; as referências ficam como escritas no fonte até {@link #resolve}. */
+    static List<Declared> scanFile(Path file) {
+        return declarations(JavaSourceReaderUtil.readFile(file), true);
+    }
+
+    /** Resolve os nomes de todas as declarações lidas por {@link #scanFile}. */
+    static List<UmlClassNode> resolve(List<List<Declared>> perFile) {
+        Set<String> known = new HashSet<>();
+        for (List<Declared> file : perFile) {
+            for (Declared d : file) known.add(d.name());
+        }
+
+        List<UmlClassNode> nodes = new ArrayList<>(known.size());
+        for (List<Declared> file : perFile) {
+            for (Declared d : file) {
+                String superclass = d.superclass() != null ? qualify(d.superclass(), d.scope(), known) : null;
+                List<String> interfaces = d.interfaces().stream().map(i -> qualify(i, d.scope(), known)).toList();
+                Set<String> dependencies = new TreeSet<>();
+                for (String ref : d.references()) {
+                    String type = qualify(ref, d.scope(), known);
+                    if (known.contains(type) && !type.equals(d.name())) dependencies.add(type);
+                }
+                nodes.add(new UmlClassNode(d.name(), d.packageName(), d.kind(), superclass, interfaces,
+                        List.copyOf(dependencies)));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * O que o diagrama de classes enxerga de um arquivo: pacote, imports e cabeçalhos das
+     * declarações. Igual antes/depois = mudança só em corpo de método, campos ou comentários.
+     * references: nomes de tipo usados no arquivo, que mudam as arestas de dependência quando
+     * o diagrama inclui relacionamentos.
+     */
+    public static Signature signature(String content) {
+        List<Declared> declared = declarations(content, true);
+        StringBuilder sig = new StringBuilder();
+        if (!declared.isEmpty()) {
+            FileScope scope = declared.get(0).scope();
+            sig.append(new TreeMap<>(scope.imports()).values()).append(new TreeSet<>(scope.wildcards())).append('\n');
+        }
+        for (Declared d : declared) {
+            sig.append(d.name()).append(' ').append(d.kind()).append(' ')
+                    .append(d.superclass()).append(' ').append(d.interfaces()).append('\n');
+        }
+        String references = declared.isEmpty() ? "" : String.join(",", new TreeSet<>(declared.get(0).references()));
+        return new Signature(sig.toString(), references);
+    }
+
+    // ==============================================================
+    // 🔧 Leitura de um arquivo
+    // ==============================================================
+    private static List<Declared> declarations(String content, boolean withReferences) {
+        String code = NOISE.matcher(content).replaceAll(" ");
+
+        Matcher pkg = PACKAGE.matcher(code);
+        String packageName = pkg.find() ? pkg.group(1) : "";
+
+        Map<String, String> imports = new HashMap<>();
+        List<String> wildcards = new ArrayList<>();
+        Matcher imp = IMPORT.matcher(code);
+        while (imp.find()) {
+            if (imp.group(1) != null) continue;
+            String name = imp.group(2);
+            if (imp.group(3) != null) wildcards.add(name);
+            else imports.put(name.substring(name.lastIndexOf('.') + 1), name);
+        }
+
+        FileScope scope = new FileScope(packageName, imports, wildcards, new HashMap<>());
+        List<Declared> declared = new ArrayList<>();
+        Deque<String> enclosing = new ArrayDeque<>();
+        Deque<Integer> enclosingDepth = new ArrayDeque<>();
+
+        Matcher m = DECLARATION.matcher(code);
+        int depth = 0;
+        int pos = 0;
+        while (m.find()) {
+            int at = m.start(2);
+            for (; pos < at; pos++) {
+                char c = code.charAt(pos);
+                if (c == '{') depth++;
+                else if (c == '}') depth--;
+            }
+            while (!enclosingDepth.isEmpty() && enclosingDepth.peek() >= depth) {
+                enclosing.pop();
+                enclosingDepth.pop();
+            }
+
+            String simple = m.group(3);
+            String prefix = packageName.isEmpty() ? "" : packageName + ".";
+            String name = enclosing.isEmpty() ? prefix + simple : enclosing.peek() + "$" + simple;
+            enclosing.push(name);
+            enclosingDepth.push(depth);
+            scope.local().putIfAbsent(simple, name);
+
+            String keyword = m.group(2);
+            UmlClassNode.Kind kind = switch (keyword) {
+                case "interface" -> UmlClassNode.Kind.INTERFACE;
+                case "enum" -> UmlClassNode.Kind.ENUM;
+                default -> m.group(1).contains("abstract") ? UmlClassNode.Kind.ABSTRACT : UmlClassNode.Kind.CLASS;
+            };
+
+            List<String> extended = typeList(m.group(4));
+            List<String> implemented = typeList(m.group(5));
+            String superclass = null;
+            List<String> interfaces;
+            if (kind == UmlClassNode.Kind.INTERFACE) {
+                interfaces = extended;
+            } else {
+                if (kind != UmlClassNode.Kind.ENUM && !extended.isEmpty()
+                        && !IGNORED_SUPERCLASSES.contains(extended.get(0))) {
+                    superclass = extended.get(0);
+                }
+                interfaces = implemented;
+            }
+            declared.add(new Declared(name, packageName, kind, superclass, interfaces,
+                    withReferences && declared.isEmpty() ? references(code) : Set.of(), scope));
+        }
+        return declared;
+    }
+
+    private static Set<String> references(String code) {
+        Set<String> names = new HashSet<>();
+        Matcher m = TYPE_NAME.matcher(code);
+        while (m.find()) names.add(m.group());
+        return names;
+    }
+
+    /** "Base<A, B<C>>, Outra" → [Base, Outra] */
+    private static List<String> typeList(String clause) {
+        if (clause == null || clause.isBlank()) return List.of();
+        StringBuilder plain = new StringBuilder(clause.length());
+        int generic = 0;
+        for (int i = 0; i < clause.length(); i++) {
+            char c = clause.charAt(i);
+            if (c == '<') generic++;
+            else if (c == '>') generic--;
+            else if (generic == 0 && !Character.isWhitespace(c)) plain.append(c);
+        }
+        List<String> types = new ArrayList<>();
+        for (String t : plain.toString().split(",")) {
+            if (!t.isEmpty()) types.add(t);
+        }
+        return types;
+    }
+
+    // ==============================================================
+    // 🔗 Resolução de nomes
+    // ==============================================================
+    private static String qualify(String ref, FileScope scope, Set<String> known) {
+        int dot = ref.indexOf('.');
+        if (dot > 0 && Character.isLowerCase(ref.charAt(0))) return ref; // já qualificado
+
+        String head = dot > 0 ? ref.substring(0, dot) : ref;
+        String tail = dot > 0 ? "$" + ref.substring(dot + 1).replace('.', '$') : "";
+
+        String local = scope.local().get(head);
+        if (local != null) return local + tail;
+        String imported = scope.imports().get(head);
+        if (imported != null) return imported + tail;
+
+        String samePackage = scope.packageName().isEmpty() ? head : scope.packageName() + "." + head;
+        if (known.contains(samePackage)) return samePackage + tail;
+        for (String wildcard : scope.wildcards()) {
+            if (known.contains(wildcard + "." + head)) return wildcard + "." + head + tail;
+        }
+        return ref;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.legacylens.infrastructure.impl.uml;
+
+import java.util.List;
+
+/**
+ * 🧱 Classe mínima para emissão UML (somente o que o diagrama precisa).
+ * Nomes sempre totalmente qualificados; superclass/interfaces podem apontar
+ * para classes fora do módulo (externas).
+ * dependencies: outras classes do módulo usadas em campos, assinaturas ou no corpo
+ * (constant pool no bytecode; tipos referenciados no fonte).
+ */
+public record UmlClassNode(
+        String name,
+        String packageName,
+        Kind kind,
+        String superclass,
+        List<String> interfaces,
+        List<String> dependencies
+) {
+
+    public enum Kind { CLASS, ABSTRACT, INTERFACE, ENUM }
+
+    public UmlClassNode(String name, String packageName, Kind kind, String superclass, List<String> interfaces) {
+        this(name, packageName, kind, superclass, interfaces, List.of());
+    }
+
+    public String simpleName() {
+        return simpleNameOf(name);
+    }
+
+    public static String simpleNameOf(String name) {
+        int dot = name.lastIndexOf('.');
+        String simple = dot >= 0 ? name.substring(dot + 1) : name;
+        return simple.replace('$', '.');
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.legacylens.infrastructure.impl.uml;
+
+import java.util.*;
+
+/**
+ * 🧩 UmlPartitioner
+ * -----------------------------------------
+ * Divide o grafo de classes em partes de no máximo {@code maxPerPart} classes:
+ *  1. cada pacote vira uma unidade (pacotes grandes são quebrados pelos
+ *     componentes conexos de herança/implementação);
+ *  2. unidades mais acopladas são aglutinadas primeiro (arestas mais pesadas),
+ *     sem estourar o limite;
+ *  3. o que sobrar é empacotado em ordem de nome de pacote (vizinhos de pacote
+ *     costumam ser relacionados).
+ */
+public final class UmlPartitioner {
+
+    public record Partition(String mainPackage, int packageCount, int[] members) {}
+
+    private UmlPartitioner() {}
+
+    public static List<Partition> partition(List<UmlClassNode> nodes, int maxPerPart) {
+        int n = nodes.size();
+        int max = Math.max(1, maxPerPart);
+        if (n == 0) return List.of();
+
+        Map<String, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) index.put(nodes.get(i).name(), i);
+        int[][] edges = edges(nodes, index);
+
+        // --- 1. Unidades por pacote (pacotes grandes quebrados por componentes) ---
+        Map<String, List<Integer>> byPackage = new TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            byPackage.computeIfAbsent(nodes.get(i).packageName(), k -> new ArrayList<>()).add(i);
+        }
+        List<int[]> units = new ArrayList<>();
+        for (List<Integer> members : byPackage.values()) {
+            if (members.size() <= max) units.add(toArray(members));
+            else units.addAll(splitPackage(members, edges, max));
+        }
+
+        int u = units.size();
+        int[] unitOf = new int[n];
+        int[] unitSize = new int[u];
+        for (int k = 0; k < u; k++) {
+            unitSize[k] = units.get(k).length;
+            for (int m : units.get(k)) unitOf[m] = k;
+        }
+
+        // --- 2. Aglutinação pelas arestas mais pesadas entre unidades ---
+        Map<Long, Integer> weights = new HashMap<>();
+        for (int from = 0; from < n; from++) {
+            for (int to : edges[from]) {
+                int a = unitOf[from], b = unitOf[to];
+                if (a == b) continue;
+                long key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+                weights.merge(key, 1, Integer::sum);
+            }
+        }
+        List<Map.Entry<Long, Integer>> ordered = new ArrayList<>(weights.entrySet());
+        ordered.sort(Map.Entry.<Long, Integer>comparingByValue().reversed());
+
+        int[] parent = new int[u];
+        for (int k = 0; k < u; k++) parent[k] = k;
+        int[] groupSize = unitSize.clone();
+        for (var e : ordered) {
+            int a = find(parent, (int) (e.getKey() >>> 32));
+            int b = find(parent, (int) (e.getKey() & 0xffffffffL));
+            if (a == b || groupSize[a] + groupSize[b] > max) continue;
+            parent[b] = a;
+            groupSize[a] += groupSize[b];
+        }
+
+        // --- 3. Empacotamento do restante em ordem de pacote ---
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int k = 0; k < u; k++) groups.computeIfAbsent(find(parent, k), g -> new ArrayList<>()).add(k);
+
+        List<Partition> result = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        for (List<Integer> group : groups.values()) {
+            int size = group.stream().mapToInt(k -> unitSize[k]).sum();
+            if (!current.isEmpty() && current.size() + size > max) {
+                result.add(toPartition(current, nodes));
+                current = new ArrayList<>();
+            }
+            for (int k : group) for (int m : units.get(k)) current.add(m);
+        }
+        if (!current.isEmpty()) result.add(toPartition(current, nodes));
+        return result;
+    }
+
+    /** Arestas internas (herança/implementação) como listas de índices. */
+    static int[][] edges(List<UmlClassNode> nodes, Map<String, Integer> index) {
+        int[][] edges = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            UmlClassNode node = nodes.get(i);
+            int[] out = new int[1 + node.interfaces().size()];
+            int c = 0;
+            Integer sup = node.superclass() != null ? index.get(node.superclass()) : null;
+            if (sup != null) out[c++] = sup;
+            for (String itf : node.interfaces()) {
+                Integer t = index.get(itf);
+                if (t != null) out[c++] = t;
+            }
+            edges[i] = Arrays.copyOf(out, c);
+        }
+        return edges;
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static List<int[]> splitPackage(List<Integer> members, int[][] edges, int max) {
+        Map<Integer, Integer> local = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) local.put(members.get(i), i);
+
+        int[] parent = new int[members.size()];
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        for (int i = 0; i < members.size(); i++) {
+            for (int to : edges[members.get(i)]) {
+                Integer j = local.get(to);
+                if (j != null) parent[find(parent, i)] = find(parent, j);
+            }
+        }
+
+        Map<Integer, List<Integer>> components = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            components.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(members.get(i));
+        }
+        List<List<Integer>> sorted = new ArrayList<>(components.values());
+        sorted.sort(Comparator.comparingInt((List<Integer> l) -> l.size()).reversed());
+
+        // first-fit decreasing; componentes maiores que o limite são fatiados
+        List<List<Integer>> bins = new ArrayList<>();
+        for (List<Integer> comp : sorted) {
+            for (int from = 0; from < comp.size(); from += max) {
+                List<Integer> slice = comp.subList(from, Math.min(comp.size(), from + max));
+                List<Integer> target = bins.stream()
+                        .filter(b -> b.size() + slice.size() <= max)
+                        .findFirst()
+                        .orElse(null);
+                if (target == null) {
+                    target = new ArrayList<>();
+                    bins.add(target);
+                }
+                target.addAll(slice);
+            }
+        }
+        return bins.stream().map(UmlPartitioner::toArray).toList();
+    }
+
+    private static Partition toPartition(List<Integer> members, List<UmlClassNode> nodes) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int m : members) counts.merge(nodes.get(m).packageName(), 1, Integer::sum);
+        String main = "";
+        int best = -1;
+        for (var e : counts.entrySet()) {
+            if (e.getValue() > best || (e.getValue() == best && e.getKey().compareTo(main) < 0)) {
+                main = e.getKey();
+                best = e.getValue();
+            }
+        }
+        return new Partition(main, counts.size(), toArray(members));
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] out = new int[list.size()];
+        for (int i = 0; i < out.length; i++) out[i] = list.get(i);
+        return out;
+    }
+}
@@ -1,11 +1,19 @@
 package br.com.legacylens.infrastructure.impl.uml.extractor;
 
-import br.com.legacylens.domain.model.UmlDiagram;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.AnalysisState;
+import br.com.legacylens.domain.model.CallGraph;
+import br.com.legacylens.domain.model.IncrementalSession;
 import br.com.legacylens.domain.ports.SequenceDiagramPort;
+import br.com.legacylens.infrastructure.impl.incremental.IncrementalArtifacts;
+import br.com.legacylens.infrastructure.jfr.RegexExtractionEvent;
 import br.com.legacylens.infrastructure.util.InjectionResolverUtil;
 import br.com.legacylens.infrastructure.util.JavaSourceReaderUtil;
 import br.com.legacylens.infrastructure.util.LegacyHeuristicsUtil;
+import br.com.legacylens.infrastructure.util.RegexGuard;
+import br.com.legacylens.infrastructure.util.SourceDependencyTracker;
 import br.com.legacylens.infrastructure.util.SwaggerExtractorUtil;
+import br.com.legacylens.infrastructure.util.SymbolTable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -15,116 +23,304 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * 🧩 SequenceDiagramExtractor
+ * -----------------------------------------
+ * Um diagrama de sequência por controller (controller → service → repository):
+ *  - uma única leitura das fontes classifica papéis e detecta a arquitetura
+ *  - classificação e geração por controller rodam em paralelo (plan.parallelism),
+ *    preservando a ordem do walk — a saída é idêntica à da execução sequencial
+ *  - reanálise incremental: arquivos inalterados reaproveitam a classificação e o
+ *    sequence_&lt;controller&gt;.puml anterior é restaurado quando nenhuma fonte que ele leu mudou
+ *    (mudança de arquitetura ou de papéis/classes regenera todos)
+ *  - devolve o grafo de chamadas desenhado (injeções + controller → service → repository)
+ *  - nomes de classe viram ids de uma {@link SymbolTable} da análise: papéis em arrays de int e
+ *    heurísticas de nome comparando formas normalizadas pré-calculadas
+ */
 @Slf4j
 @Component
 public class SequenceDiagramExtractor implements SequenceDiagramPort {
 
+    private static final Pattern CALL = Pattern.compile("(\\w+)\\.(\\w+)\\(");
+    private static final Pattern CLASS_NAME = Pattern.compile("\\bclass\\s+(\\w+)");
+
+    /** className null = arquivo sem {@code class} (só conta para a arquitetura). */
+    private record Classified(Path path, String key, String className, String role, String architecture) {}
+
+    /** Nomes da análise + classes de cada papel (ids da tabela) apontando para o arquivo classificado. */
+    private record Roles(SymbolTable symbols, List<Classified> classified, Role controllers, Role services,
+                         Role repositories) {
+        Path path(Role role, int name) {
+            int at = role.entry(name);
+            return at >= 0 ? classified.get(at).path() : null;
+        }
+
+        List<String> names(Role role) {
+            return Arrays.stream(role.names()).mapToObj(symbols::text).toList();
+        }
+    }
+
+    /**
+     * Classes de um papel na ordem do walk, como um LinkedHashMap nome → arquivo
+     * (nome repetido: vale o último arquivo, mantém a primeira posição), só com int[].
+     */
+    private static final class Role {
+        private int[] names = new int[16];
+        private int[] entries = new int[16];
+        private int size;
+        /** id do nome → posição + 1 (0 = ausente) */
+        private int[] position = new int[0];
+
+        void put(int name, int entry) {
+            if (name >= position.length) position = Arrays.copyOf(position, Math.max(name + 1, position.length * 2));
+            int at = position[name] - 1;
+            if (at >= 0) {
+                entries[at] = entry;
+                return;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            names[size] = name;
+            entries[size] = entry;
+            position[name] = ++size;
+        }
+
+        int entry(int name) {
+            return name < position.length && position[name] > 0 ? entries[position[name] - 1] : -1;
+        }
+
+        int[] names() {
+            return Arrays.copyOf(names, size);
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
     @Override
-    public UmlDiagram generateFromPathOrJar(String source, Path outDir) {
+    public CallGraph generateFromPathOrJar(String source, Path outDir, AnalysisContext context) {
         Instant start = Instant.now();
         log.info("===== [SequenceUML] Iniciando geração dos diagramas de sequência =====");
         log.info("📦 Projeto: {}", source);
 
+        int parallelism = Math.max(1, context.plan().parallelism());
+        IncrementalSession session = context.incremental();
+        Path root = Path.of(source).toAbsolutePath().normalize();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<CallGraph> graphs = new ArrayList<>();
         try {
-            Path srcDir = findSourceDirectory(Path.of(source));
+            Path srcDir = findSourceDirectory(root);
             if (srcDir == null) {
                 log.error("❌ Nenhum diretório src/main/java encontrado em {}", source);
-                return new UmlDiagram("sequence-error.puml");
+                return CallGraph.empty();
             }
 
-            String architecture = detectArchitecture(srcDir);
-            log.info("🏗️ Arquitetura detectada: {}", architecture);
-
-            Map<String, Path> controllers = new LinkedHashMap<>();
-            Map<String, Path> services = new LinkedHashMap<>();
-            Map<String, Path> repositories = new LinkedHashMap<>();
-
+            List<Path> files;
             try (var stream = Files.walk(srcDir)) {
-                stream.filter(p -> p.toString().toLowerCase().endsWith(".java"))
-                        .forEach(path -> {
-                            String content = JavaSourceReaderUtil.readFile(path);
-                            String className = getClassName(content);
-                            if (className == null || className.isBlank()) return;
-
-                            String role = LegacyHeuristicsUtil.identifyClassRole(content, Path.of(path.toString().toLowerCase()));
-                            switch (role) {
-                                case "controller" -> controllers.put(className, path);
-                                case "service" -> services.put(className, path);
-                                case "repository" -> repositories.put(className, path);
-                            }
-                        });
+                files = stream.filter(p -> p.toString().toLowerCase().endsWith(".java")).toList();
             }
 
-            log.info("📘 Controllers: {}", controllers.keySet());
-            log.info("📗 Services: {}", services.keySet());
-            log.info("📙 Repositories: {}", repositories.keySet());
-
-            for (Map.Entry<String, Path> entry : controllers.entrySet()) {
-                String controller = entry.getKey();
-                Path controllerPath = entry.getValue();
-
-                StringBuilder puml = new StringBuilder();
-                puml.append("@startuml\n")
-                        .append("' Gerado automaticamente pelo LegacyLens\n")
-                        .append("title 🧩 Diagrama de Sequência - ").append(controller).append("\n")
-                        .append("autonumber\n")
-                        .append("actor Usuário\n")
-                        .append("skinparam participant {\n")
-                        .append("  BackgroundColor<<Controller>> #A9D0F5\n")
-                        .append("  BackgroundColor<<Service>> #A9F5BC\n")
-                        .append("  BackgroundColor<<Repository>> #F5A9A9\n")
-                        .append("}\n\n");
-
-                Set<String> participantsAdded = new HashSet<>();
-                Set<String> databasesAdded = new HashSet<>();
-
-                // define participantes
-                puml.append("participant ").append(controller).append(" <<Controller>>\n");
-                participantsAdded.add(controller);
-
-                analyzeControllerFlow(controller, controllerPath, srcDir, services, repositories,
-                        architecture, puml, participantsAdded, databasesAdded);
-
-                puml.append("@enduml\n");
-
-                try {
-                    Files.createDirectories(outDir);
-                    Path output = outDir.resolve("sequence_" + controller + ".puml");
-                    Files.writeString(output, puml.toString().replace("\\n", "\n"));
-                    log.info("✅ Diagrama de sequência gerado: {}", output);
-                } catch (IOException e) {
-                    log.error("❌ Falha ao salvar diagrama de {}: {}", controller, e.getMessage());
+            // leitura + heurísticas em paralelo; toList() preserva a ordem do walk
+            List<Classified> classified = pool.submit(() -> files.parallelStream()
+                    .map(p -> classify(p, root, session))
+                    .toList()).get();
+
+            String architecture = classified.stream()
+                    .map(Classified::architecture)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse("Java Puro");
+            log.info("🏗️ Arquitetura detectada: {}", architecture);
+            session.recordArchitecture(architecture);
+
+            SymbolTable symbols = LegacyHeuristicsUtil.symbolTable();
+            Role controllers = new Role();
+            Role services = new Role();
+            Role repositories = new Role();
+            for (int i = 0; i < classified.size(); i++) {
+                Classified c = classified.get(i);
+                if (c.className() == null) continue;
+                switch (c.role()) {
+                    case "controller" -> controllers.put(symbols.internNormalized(c.className()), i);
+                    case "service" -> services.put(symbols.internNormalized(c.className()), i);
+                    case "repository" -> repositories.put(symbols.internNormalized(c.className()), i);
+                    default -> { }
                 }
             }
+            Roles roles = new Roles(symbols, classified, controllers, services, repositories);
+
+            log.info("📘 Controllers: {}", roles.names(controllers));
+            log.info("📗 Services: {}", roles.names(services));
+            log.info("📙 Repositories: {}", roles.names(repositories));
+            log.info("⚡ {} diagramas com paralelismo {}", controllers.size(), parallelism);
+
+            // incremental só por controller se o "mapa" do projeto é o mesmo da análise anterior
+            boolean perController = session.incremental()
+                    && Objects.equals(architecture, session.previous().architecture())
+                    && roleMap(classified).equals(previousRoleMap(session));
+            AtomicInteger reused = new AtomicInteger();
+            Map<String, CallGraph> byController = new ConcurrentHashMap<>();
+
+            Files.createDirectories(outDir);
+            int[] controllerIds = controllers.names();
+            pool.submit(() -> Arrays.stream(controllerIds).parallel().forEach(id -> {
+                String controller = symbols.text(id);
+                Classified file = classified.get(controllers.entry(id));
+                String key = file.key();
+                if (perController && session.sequenceReusable(key)
+                        && IncrementalArtifacts.restore(session.artifactsDir(),
+                                "sequence_" + controller + ".puml", outDir)) {
+                    var previous = session.previousSequenceDeps(key);
+                    session.recordSequenceDeps(key, previous);
+                    byController.put(controller, previous.calls());
+                    reused.incrementAndGet();
+                    return;
+                }
+                CallGraph[] graph = new CallGraph[1];
+                var deps = SourceDependencyTracker.track(() -> graph[0] = writeControllerDiagram(controller,
+                        file.path(), srcDir, roles, architecture, outDir));
+                byController.put(controller, graph[0]);
+                session.recordSequenceDeps(key, new AnalysisState.SequenceDeps(
+                        deps.files().stream()
+                                .filter(f -> f.startsWith(root))
+                                .map(f -> IncrementalSession.key(root, f))
+                                .toList(),
+                        List.copyOf(deps.lookups()),
+                        graph[0]));
+            })).get();
+            // ordem dos controllers no walk: resultado determinístico apesar do paralelismo
+            for (int id : controllerIds) graphs.add(byController.get(symbols.text(id)));
+            if (session.incremental()) {
+                log.info("♻️ {} de {} diagramas reaproveitados{}", reused.get(), controllers.size(),
+                        perController ? "" : " (papéis/arquitetura mudaram: todos regenerados)");
+            }
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⏹️ Geração dos diagramas de sequência interrompida");
+        } catch (ExecutionException e) {
+            log.error("❌ Erro durante a geração dos diagramas: {}", e.getCause().getMessage(), e.getCause());
         } catch (Exception e) {
             log.error("❌ Erro durante a geração dos diagramas: {}", e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
         }
 
         long ms = Duration.between(start, Instant.now()).toMillis();
         log.info("===== [SequenceUML] Geração concluída em {} ms =====", ms);
-        return new UmlDiagram("sequence-[per-controller].puml");
+        return CallGraph.merge(graphs);
+    }
+
+    private Classified classify(Path path, Path root, IncrementalSession session) {
+        String key = IncrementalSession.key(root, path.toAbsolutePath().normalize());
+        AnalysisState.SequenceFacts facts = session.previousSequence(key);
+        if (facts == null) {
+            String content = JavaSourceReaderUtil.readFile(path);
+            String className = getClassName(content);
+            if (className != null && className.isBlank()) className = null;
+            String role = className == null ? null
+                    : LegacyHeuristicsUtil.identifyClassRole(content, Path.of(path.toString().toLowerCase()));
+            facts = new AnalysisState.SequenceFacts(className, role, architectureOf(content));
+        }
+        session.recordSequence(key, facts);
+        return new Classified(path, key, facts.className(), facts.role(), facts.architecture());
+    }
+
+    /** "papel:classe:arquivo" de controllers/services/repositories: o que os diagramas enxergam. */
+    private static Set<String> roleMap(List<Classified> classified) {
+        Set<String> roles = new HashSet<>();
+        for (Classified c : classified) {
+            if (c.className() != null && isMapped(c.role())) roles.add(c.role() + ":" + c.className() + ":" + c.key());
+        }
+        return roles;
+    }
+
+    private static Set<String> previousRoleMap(IncrementalSession session) {
+        Set<String> roles = new HashSet<>();
+        session.previous().sequence().forEach((key, f) -> {
+            if (f.className() != null && isMapped(f.role())) roles.add(f.role() + ":" + f.className() + ":" + key);
+        });
+        return roles;
+    }
+
+    private static boolean isMapped(String role) {
+        return "controller".equals(role) || "service".equals(role) || "repository".equals(role);
+    }
+
+    private CallGraph writeControllerDiagram(String controller,
+                                        Path controllerPath,
+                                        Path srcDir,
+                                        Roles roles,
+                                        String architecture,
+                                        Path outDir) {
+        StringBuilder puml = new StringBuilder();
+        puml.append("@startuml\n")
+                .append("' Gerado automaticamente pelo LegacyLens\n")
+                .append("title 🧩 Diagrama de Sequência - ").append(controller).append("\n")
+                .append("autonumber\n")
+                .append("actor Usuário\n")
+                .append("skinparam participant {\n")
+                .append("  BackgroundColor<<Controller>> #A9D0F5\n")
+                .append("  BackgroundColor<<Service>> #A9F5BC\n")
+                .append("  BackgroundColor<<Repository>> #F5A9A9\n")
+                .append("}\n\n");
+
+        Set<String> participantsAdded = new HashSet<>();
+        Set<String> databasesAdded = new HashSet<>();
+        Set<CallGraph.Injection> injections = new LinkedHashSet<>();
+        Set<CallGraph.Call> calls = new LinkedHashSet<>();
+
+        // define participantes
+        puml.append("participant ").append(controller).append(" <<Controller>>\n");
+        participantsAdded.add(controller);
+
+        analyzeControllerFlow(controller, controllerPath, srcDir, roles,
+                architecture, puml, participantsAdded, databasesAdded, injections, calls);
+
+        puml.append("@enduml\n");
+
+        try {
+            Path output = outDir.resolve("sequence_" + controller + ".puml");
+            Files.writeString(output, puml.toString().replace("\\n", "\n"));
+            log.info("✅ Diagrama de sequência gerado: {}", output);
+        } catch (IOException e) {
+            log.error("❌ Falha ao salvar diagrama de {}: {}", controller, e.getMessage());
+        }
+        return new CallGraph(List.copyOf(injections), List.copyOf(calls));
     }
 
     private void analyzeControllerFlow(String controller,
                                        Path controllerPath,
                                        Path srcDir,
-                                       Map<String, Path> services,
-                                       Map<String, Path> repositories,
+                                       Roles roles,
                                        String architecture,
                                        StringBuilder puml,
                                        Set<String> participantsAdded,
-                                       Set<String> databasesAdded) {
+                                       Set<String> databasesAdded,
+                                       Set<CallGraph.Injection> injections,
+                                       Set<CallGraph.Call> calls) {
 
+        SymbolTable symbols = roles.symbols();
+        int[] services = roles.services().names();
         String controllerContent = JavaSourceReaderUtil.readFile(controllerPath);
         Map<String, String> injectedServices =
-                InjectionResolverUtil.detectInjections(controllerContent, services.keySet(), architecture);
+                InjectionResolverUtil.detectInjections(controllerContent, symbols, services, architecture);
+        injectedServices.forEach((field, type) -> injections.add(new CallGraph.Injection(controller, field, type)));
 
+        RegexExtractionEvent extraction = RegexExtractionEvent.start();
         List<SwaggerExtractorUtil.EndpointDoc> endpoints =
-                SwaggerExtractorUtil.extractEndpointDocs(controllerContent, srcDir);
+                SwaggerExtractorUtil.extractEndpointDocs(controllerContent, controllerPath, srcDir);
+        extraction.finish("swagger.endpointDocs", controllerPath, controllerContent.length(), endpoints.size());
 
         if (endpoints.isEmpty()) {
             log.warn("⚠️ Nenhum endpoint encontrado em {}", controller);
@@ -136,7 +332,7 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
 
         for (SwaggerExtractorUtil.EndpointDoc doc : endpoints) {
             String endpointName = Optional.ofNullable(doc.getMethodName()).orElse("unknown");
-            String methodBody = extractMethodBody(controllerContent, endpointName);
+            String methodBody = extractMethodBody(controllerContent, endpointName, controllerPath);
             if (methodBody.isBlank()) continue;
 
             // Agrupamento por endpoint
@@ -152,19 +348,21 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
             puml.append("Response: ").append(Optional.ofNullable(doc.getResponseCode()).orElse("200 OK")).append("\n")
                     .append("end note\n");
 
-            Matcher callMatcher = Pattern.compile("(\\w+)\\.(\\w+)\\(").matcher(methodBody);
+            Matcher callMatcher = CALL.matcher(methodBody);
             while (callMatcher.find()) {
                 String var = callMatcher.group(1);
                 String calledMethod = callMatcher.group(2);
                 if (LegacyHeuristicsUtil.shouldIgnoreMethod(calledMethod)) continue;
 
-                String targetType = injectedServices.getOrDefault(
-                        var, LegacyHeuristicsUtil.resolveTarget(var, services.keySet())
-                );
-                if (targetType == null) continue;
+                String targetType = injectedServices.get(var);
+                if (targetType == null) {
+                    int target = LegacyHeuristicsUtil.resolveTarget(var, symbols, services);
+                    if (target < 0) continue;
+                    targetType = symbols.text(target);
+                }
 
-                String serviceClass = LegacyHeuristicsUtil.normalizeType(targetType, services.keySet());
-                if (serviceClass == null) continue;
+                int serviceId = LegacyHeuristicsUtil.normalizeType(targetType, symbols, services);
+                String serviceClass = serviceId >= 0 ? symbols.text(serviceId) : targetType;
 
                 String callKey = controller + "#" + serviceClass + "#" + calledMethod;
                 if (!processedCalls.add(callKey)) continue;
@@ -174,6 +372,7 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
                 }
 
                 // Fluxo controller -> service
+                calls.add(new CallGraph.Call(controller, endpointName, serviceClass, calledMethod));
                 puml.append(controller)
                         .append(" -> ")
                         .append(serviceClass)
@@ -181,8 +380,8 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
                         .append(LegacyHeuristicsUtil.humanizeMethod(calledMethod))
                         .append("()\n");
 
-                analyzeServiceFlow(serviceClass, services.get(serviceClass),
-                        repositories, architecture, puml, calledMethod, participantsAdded, databasesAdded);
+                analyzeServiceFlow(serviceClass, serviceId >= 0 ? roles.path(roles.services(), serviceId) : null,
+                        roles, architecture, puml, calledMethod, participantsAdded, databasesAdded, injections, calls);
             }
 
             puml.append("end\n\n");
@@ -193,22 +392,27 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
 
     private void analyzeServiceFlow(String serviceName,
                                     Path servicePath,
-                                    Map<String, Path> repositories,
+                                    Roles roles,
                                     String architecture,
                                     StringBuilder puml,
                                     String calledMethod,
                                     Set<String> participantsAdded,
-                                    Set<String> databasesAdded) {
+                                    Set<String> databasesAdded,
+                                    Set<CallGraph.Injection> injections,
+                                    Set<CallGraph.Call> calls) {
         if (servicePath == null || calledMethod == null) return;
 
+        SymbolTable symbols = roles.symbols();
+        int[] repositories = roles.repositories().names();
         String serviceContent = JavaSourceReaderUtil.readFile(servicePath);
         Map<String, String> injectedRepos =
-                InjectionResolverUtil.detectInjections(serviceContent, repositories.keySet(), architecture);
+                InjectionResolverUtil.detectInjections(serviceContent, symbols, repositories, architecture);
+        injectedRepos.forEach((field, type) -> injections.add(new CallGraph.Injection(serviceName, field, type)));
 
-        String methodBody = extractMethodBody(serviceContent, calledMethod);
+        String methodBody = extractMethodBody(serviceContent, calledMethod, servicePath);
         if (methodBody.isBlank()) return;
 
-        Matcher repoCall = Pattern.compile("(\\w+)\\.(\\w+)\\(").matcher(methodBody);
+        Matcher repoCall = CALL.matcher(methodBody);
         Set<String> processedRepoCalls = new HashSet<>();
 
         while (repoCall.find()) {
@@ -216,13 +420,15 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
             String repoMethod = repoCall.group(2);
             if (LegacyHeuristicsUtil.shouldIgnoreMethod(repoMethod)) continue;
 
-            String targetType = injectedRepos.getOrDefault(
-                    var, LegacyHeuristicsUtil.resolveTarget(var, repositories.keySet())
-            );
-            if (targetType == null) continue;
+            String targetType = injectedRepos.get(var);
+            if (targetType == null) {
+                int target = LegacyHeuristicsUtil.resolveTarget(var, symbols, repositories);
+                if (target < 0) continue;
+                targetType = symbols.text(target);
+            }
 
-            String repoClass = LegacyHeuristicsUtil.normalizeType(targetType, repositories.keySet());
-            if (repoClass == null) continue;
+            int repoId = LegacyHeuristicsUtil.normalizeType(targetType, symbols, repositories);
+            String repoClass = repoId >= 0 ? symbols.text(repoId) : targetType;
 
             String repoKey = repoClass + "#" + repoMethod;
             if (!processedRepoCalls.add(repoKey)) continue;
@@ -232,6 +438,7 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
             }
 
             // Fluxo service -> repo
+            calls.add(new CallGraph.Call(serviceName, calledMethod, repoClass, repoMethod));
             puml.append(serviceName)
                     .append(" -> ")
                     .append(repoClass)
@@ -249,30 +456,19 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
         puml.append(serviceName).append(" --> ").append(" ").append("return\n");
     }
 
-    private String detectArchitecture(Path srcDir) {
-        try (var stream = Files.walk(srcDir)) {
-            return stream.filter(p -> p.toString().endsWith(".java"))
-                    .map(JavaSourceReaderUtil::readFile)
-                    .map(content -> {
-                        if (content.contains("@RestController") || content.contains("@SpringBootApplication"))
-                            return "Spring Boot";
-                        if (content.contains("@EJB") || content.contains("@Stateless") || content.contains("SessionBean"))
-                            return "EJB / Java EE";
-                        if (content.contains("extends HttpServlet") || content.contains("@WebServlet"))
-                            return "Servlet / JEE";
-                        return null;
-                    })
-                    .filter(Objects::nonNull)
-                    .findFirst()
-                    .orElse("Java Puro");
-        } catch (Exception e) {
-            log.warn("⚠️ Falha ao detectar arquitetura: {}", e.getMessage());
-            return "Desconhecida";
-        }
+    /** Marcador de arquitetura do arquivo (a primeira ocorrência no walk define o projeto). */
+    private static String architectureOf(String content) {
+        if (content.contains("@RestController") || content.contains("@SpringBootApplication"))
+            return "Spring Boot";
+        if (content.contains("@EJB") || content.contains("@Stateless") || content.contains("SessionBean"))
+            return "EJB / Java EE";
+        if (content.contains("extends HttpServlet") || content.contains("@WebServlet"))
+            return "Servlet / JEE";
+        return null;
     }
 
     private String getClassName(String content) {
-        Matcher m = Pattern.compile("\\bclass\\s+(\\w+)").matcher(content);
+        Matcher m = CLASS_NAME.matcher(content);
         return m.find() ? m.group(1) : null;
     }
 
@@ -290,12 +486,29 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
         }
     }
 
-    private String extractMethodBody(String content, String methodName) {
-        String signatureRegex =
-                "(?s)@?[\\w\\s\\(\\)\\.,\"=:/_-]*?\\b(public|protected|private)?\\s*[\\w<>,\\[\\]\\s]+\\b"
-                        + Pattern.quote(methodName) + "\\s*\\([^\\)]*\\)\\s*\\{";
-        Matcher startM = Pattern.compile(signatureRegex).matcher(content);
-        if (!startM.find()) return "";
+    private String extractMethodBody(String content, String methodName, Path file) {
+        RegexExtractionEvent event = RegexExtractionEvent.start();
+        String body = RegexGuard.run("methodBody", file, content, "", text -> extractMethodBody(text, methodName));
+        event.finish("methodBody", file, content.length(), body.isEmpty() ? 0 : 1);
+        return body;
+    }
+
+    /**
+     * Corpo do primeiro método methodName(...) { ... } do conteúdo. Visível no pacote para os benchmarks JMH.
+     * A assinatura é ancorada no próprio nome e o tipo de retorno é conferido para trás
+     * ({@link #typedBefore}); antes era um prefixo [..]*? seguido de [..]+ na mesma regex —
+     * mesmo resultado, mas com backtracking polinomial em trechos longos sem a assinatura.
+     */
+    String extractMethodBody(CharSequence content, String methodName) {
+        Matcher startM = Pattern.compile("(?<=[<>,\\[\\]\\s])" + Pattern.quote(methodName) + "\\s*\\([^\\)]*\\)\\s*\\{")
+                .matcher(content);
+        int from = 0;
+        boolean found = false;
+        while (!found && startM.find(from)) {
+            found = typedBefore(content, startM.start());
+            from = startM.start() + 1;
+        }
+        if (!found) return "";
 
         int start = startM.end() - 1;
         int i = start;
@@ -305,9 +518,21 @@ public class SequenceDiagramExtractor implements SequenceDiagramPort {
             if (ch == '{') depth++;
             else if (ch == '}') {
                 depth--;
-                if (depth == 0) return content.substring(start + 1, i - 1).trim();
+                if (depth == 0) return content.subSequence(start + 1, i - 1).toString().trim();
             }
         }
         return "";
     }
+
+    /** Antes do nome: espaços/&lt;&gt;/[]/vírgulas e, antes deles, uma palavra (tipo ou modificador) — não if/for/catch. */
+    private static boolean typedBefore(CharSequence content, int nameStart) {
+        for (int i = nameStart - 1; i >= 0; i--) {
+            char ch = content.charAt(i);
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_') {
+                return true;
+            }
+            if (" \t\n\u000B\f\r<>,[]".indexOf(ch) < 0) return false;
+        }
+        return false;
+    }
 }
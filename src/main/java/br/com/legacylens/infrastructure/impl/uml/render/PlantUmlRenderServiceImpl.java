@@ -0,0 +1,325 @@
+package br.com.legacylens.infrastructure.impl.uml.render;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.ports.DiagramRenderPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.dot.GraphvizUtils;
+import net.sourceforge.plantuml.error.PSystemError;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 🖼️ PlantUmlRenderServiceImpl
+ * -----------------------------------------
+ * Renderiza diagram_*.puml e sequence_*.puml em SVG/PNG:
+ *  - pool limitado (render.threads) com fila limitada — quem submete espera vaga (até render.timeoutSeconds);
+ *    renderizar na thread de quem chama ficaria fora do Future e, portanto, do timeout
+ *  - timeout por diagrama contado a partir do início da renderização
+ *  - .puml acima de render.maxSourceBytes não é renderizado (fica só o texto)
+ *  - cache em disco pelo SHA-256 do conteúdo (+ maxImageSize): diagrama igual nunca é renderizado de novo;
+ *    retenção periódica por idade do último uso (cacheMaxAgeDays) e tamanho total (cacheMaxMb, LRU)
+ *  - sequence não depende de Graphviz; class diagram usa Smetana (Java puro) se não houver dot
+ */
+@Slf4j
+@Component
+public class PlantUmlRenderServiceImpl implements DiagramRenderPort {
+
+    private static final String SMETANA = "!pragma layout smetana\n";
+
+    private final ThreadPoolExecutor pool;
+    private final ScheduledExecutorService retention;
+    private final boolean graphvizAvailable;
+    private final int maxImageSize;
+
+    private record RenderTask(Path source, String format, AtomicLong startedAt, Future<Path> future) {}
+
+    private record CacheEntry(Path file, long lastUsed, long size) {}
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public PlantUmlRenderServiceImpl(LegacyLensConfigLoader configLoader) {
+        var cfg = LegacyLensConfigLoader.get().getRender();
+        int threads = cfg.getThreads() > 0
+                ? cfg.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                r -> {
+                    Thread t = new Thread(r, "plantuml-render-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                waitForSlot(Duration.ofSeconds(Math.max(1, cfg.getTimeoutSeconds()))));
+        this.pool.allowCoreThreadTimeOut(true);
+        this.graphvizAvailable = detectGraphviz();
+        this.maxImageSize = cfg.getMaxImageSize();
+
+        int interval = Math.max(1, cfg.getCacheCleanupIntervalMinutes());
+        this.retention = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "render-cache-retention");
+            t.setDaemon(true);
+            return t;
+        });
+        this.retention.scheduleWithFixedDelay(this::cleanupCache, interval, interval, TimeUnit.MINUTES);
+        log.info("🖼️ Render PlantUML pronto (threads={} graphviz={})", threads, graphvizAvailable);
+    }
+
+    @Override
+    public List<Path> renderAll(Path outDir, AnalysisContext context) {
+        var cfg = context.config().render();
+        Instant start = Instant.now();
+
+        List<Path> sources;
+        try (Stream<Path> s = Files.list(outDir)) {
+            sources = s.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.endsWith(".puml") && (name.startsWith("diagram_") || name.startsWith("sequence_"));
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error("❌ Falha ao listar diagramas em {}: {}", outDir, e.getMessage());
+            return List.of();
+        }
+
+        Path cacheDir = Path.of(cfg.cacheDir());
+        List<RenderTask> tasks = new ArrayList<>();
+        int skipped = 0;
+        int rejected = 0;
+        for (Path source : sources) {
+            try {
+                if (Files.size(source) > cfg.maxSourceBytes()) {
+                    log.warn("📏 {} excede {} bytes — mantido apenas como .puml",
+                            source.getFileName(), cfg.maxSourceBytes());
+                    skipped++;
+                    continue;
+                }
+            } catch (IOException e) {
+                skipped++;
+                continue;
+            }
+            for (String format : cfg.formats()) {
+                AtomicLong startedAt = new AtomicLong();
+                try {
+                    Future<Path> future = pool.submit(() -> {
+                        startedAt.set(System.currentTimeMillis());
+                        return render(source, format, cacheDir);
+                    });
+                    tasks.add(new RenderTask(source, format, startedAt, future));
+                } catch (RejectedExecutionException e) {
+                    log.warn("⏳ Sem vaga no pool de renderização para {} ({}) — mantido apenas como .puml",
+                            source.getFileName(), format);
+                    rejected++;
+                }
+            }
+        }
+
+        List<Path> rendered = new ArrayList<>();
+        int failed = rejected;
+        for (RenderTask task : tasks) {
+            Path out = await(task, Duration.ofSeconds(cfg.timeoutSeconds()));
+            if (out != null) rendered.add(out);
+            else failed++;
+        }
+
+        log.info("🖼️ Renderização concluída: {} imagens, {} falhas, {} ignorados em {} ms",
+                rendered.size(), failed, skipped, Duration.between(start, Instant.now()).toMillis());
+        return rendered;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retention.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    // ==============================================================
+    // 🔧 Renderização
+    // ==============================================================
+    private Path render(Path source, String format, Path cacheDir) throws IOException {
+        FileFormat fileFormat = "png".equalsIgnoreCase(format) ? FileFormat.PNG : FileFormat.SVG;
+        String ext = fileFormat == FileFormat.PNG ? ".png" : ".svg";
+        String fileName = source.getFileName().toString();
+        Path target = source.resolveSibling(fileName.substring(0, fileName.length() - ".puml".length()) + ext);
+
+        String text = prepare(Files.readString(source, StandardCharsets.UTF_8), fileName, ext);
+        // o limite de pixels muda a imagem: entra na chave junto com o texto
+        Path cached = cacheDir.resolve(sha256(maxImageSize + "\n" + text) + ext);
+
+        if (Files.exists(cached)) {
+            try {
+                Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis()));  // último uso (LRU)
+                Files.copy(cached, target, StandardCopyOption.REPLACE_EXISTING);
+                log.debug("♻️ {} reaproveitado do cache", target.getFileName());
+                return target;
+            } catch (NoSuchFileException e) {
+                // removido pela retenção entre a checagem e a cópia: renderiza de novo
+            }
+        }
+
+        SourceStringReader reader = new SourceStringReader(text);
+        if (!reader.getBlocks().isEmpty() && reader.getBlocks().get(0).getDiagram() instanceof PSystemError) {
+            throw new IOException("erro de sintaxe PlantUML em " + fileName);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        // limite por thread (equivale a PLANTUML_LIMIT_SIZE sem mexer em propriedade global da JVM)
+        GraphvizUtils.setLocalImageLimit(maxImageSize);
+        try {
+            reader.outputImage(buffer, new FileFormatOption(fileFormat));
+        } finally {
+            GraphvizUtils.removeLocalLimitSize();
+        }
+
+        Files.createDirectories(cacheDir);
+        Path tmp = Files.createTempFile(cacheDir, "render-", ext);
+        Files.write(tmp, buffer.toByteArray());
+        Files.move(tmp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.write(target, buffer.toByteArray());
+        log.debug("🖼️ {} renderizado", target.getFileName());
+        return target;
+    }
+
+    /** Links entre partes passam a apontar para a imagem; class diagram sem dot usa Smetana. */
+    private String prepare(String text, String fileName, String ext) {
+        String out = text.replace(".puml]]", ext + "]]");
+        if (fileName.startsWith("diagram_") && !graphvizAvailable && !out.contains("!pragma layout")) {
+            out = out.replaceFirst("@startuml\\s*\\n", "@startuml\n" + SMETANA);
+        }
+        return out;
+    }
+
+    /** Fila cheia: bloqueia quem submete até abrir vaga ou o prazo vencer (aí rejeita). */
+    private static RejectedExecutionHandler waitForSlot(Duration limit) {
+        return (task, executor) -> {
+            try {
+                if (executor.isShutdown() || !executor.getQueue().offer(task, limit.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("fila de renderização cheia");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("interrompido aguardando vaga", e);
+            }
+        };
+    }
+
+    private Path await(RenderTask task, Duration timeout) {
+        String name = task.source().getFileName() + " (" + task.format() + ")";
+        try {
+            while (true) {
+                long started = task.startedAt().get();
+                long waitMs = started == 0 ? 200 : started + timeout.toMillis() - System.currentTimeMillis();
+                if (started != 0 && waitMs <= 0) {
+                    task.future().cancel(true);
+                    log.warn("⏰ Renderização de {} excedeu {} s — mantido apenas como .puml",
+                            name, timeout.toSeconds());
+                    return null;
+                }
+                try {
+                    return task.future().get(Math.max(1, waitMs), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ignored) {
+                    // ainda na fila ou renderizando: reavalia o prazo
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.future().cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("⚠️ Falha ao renderizar {}: {}", name, e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    // ==============================================================
+    // 🧹 Retenção do cache
+    // ==============================================================
+    /** Remove imagens sem uso há mais de cacheMaxAgeDays e, das menos usadas para as mais, até caber em cacheMaxMb. */
+    void cleanupCache() {
+        var cfg = LegacyLensConfigLoader.get().getRender();
+        Path cacheDir = Path.of(cfg.getCacheDir());
+        if (!Files.isDirectory(cacheDir)) return;
+        long maxAgeMs = cfg.getCacheMaxAgeDays() > 0 ? TimeUnit.DAYS.toMillis(cfg.getCacheMaxAgeDays()) : Long.MAX_VALUE;
+        long maxBytes = cfg.getCacheMaxMb() > 0 ? cfg.getCacheMaxMb() * 1024 * 1024 : Long.MAX_VALUE;
+        long now = System.currentTimeMillis();
+
+        try {
+            List<CacheEntry> entries = new ArrayList<>();
+            try (Stream<Path> s = Files.list(cacheDir)) {
+                for (Path file : s.filter(Files::isRegularFile).toList()) {
+                    try {
+                        entries.add(new CacheEntry(file, Files.getLastModifiedTime(file).toMillis(), Files.size(file)));
+                    } catch (NoSuchFileException e) {
+                        // renomeado/removido durante a listagem
+                    }
+                }
+            }
+            entries.sort(Comparator.comparingLong(CacheEntry::lastUsed));
+            long total = entries.stream().mapToLong(CacheEntry::size).sum();
+
+            int removed = 0;
+            for (CacheEntry entry : entries) {
+                if (now - entry.lastUsed() <= maxAgeMs && total <= maxBytes) break;
+                // temporário de renderização em andamento: só sai por idade
+                if (entry.file().getFileName().toString().startsWith("render-") && now - entry.lastUsed() <= maxAgeMs) {
+                    continue;
+                }
+                Files.deleteIfExists(entry.file());
+                total -= entry.size();
+                removed++;
+            }
+            if (removed > 0) {
+                log.info("🧹 Retenção do cache de renderização: {} imagem(ns) removida(s); {} MB em uso",
+                        removed, total / (1024 * 1024));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Falha na retenção do cache de renderização: {}", e.getMessage());
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static boolean detectGraphviz() {
+        String env = System.getenv("GRAPHVIZ_DOT");
+        if (env != null && Files.isExecutable(Path.of(env))) return true;
+        String path = Objects.requireNonNullElse(System.getenv("PATH"), "");
+        for (String dir : path.split(File.pathSeparator)) {
+            if (dir.isBlank()) continue;
+            if (Files.isExecutable(Path.of(dir, "dot")) || Files.isExecutable(Path.of(dir, "dot.exe"))) return true;
+        }
+        return false;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.legacylens.infrastructure.jfr;
+
+import lombok.experimental.UtilityClass;
+import org.slf4j.MDC;
+
+/**
+ * 🛰️ AnalysisEvents
+ * -----------------------------------------
+ * Ponto comum dos eventos JFR do LegacyLens (categoria "LegacyLens"):
+ * o id da análise vem do MDC, propagado pelo pipeline para as threads dos estágios.
+ */
+@UtilityClass
+public class AnalysisEvents {
+
+    public static final String CATEGORY = "LegacyLens";
+
+    /** Chave do MDC com o id da análise corrente. */
+    public static final String MDC_ANALYSIS_ID = "analysisId";
+
+    public String analysisId() {
+        String id = MDC.get(MDC_ANALYSIS_ID);
+        return id != null ? id : "-";
+    }
+}
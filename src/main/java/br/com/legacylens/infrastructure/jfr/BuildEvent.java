@@ -0,0 +1,52 @@
+package br.com.legacylens.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Path;
+
+/** Build externo (Maven/Gradle) supervisionado pelo BuildRunner. */
+@Name("legacylens.Build")
+@Label("External Build")
+@Category(AnalysisEvents.CATEGORY)
+@Description("Subprocesso de build supervisionado")
+@StackTrace(false)
+public class BuildEvent extends Event {
+
+    @Label("Analysis Id")
+    String analysisId;
+
+    @Label("Tool")
+    String tool;
+
+    @Label("Work Dir")
+    String workDir;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Exit Code")
+    int exitCode;
+
+    public static BuildEvent start() {
+        BuildEvent event = new BuildEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String tool, Path workDir, String outcome, int exitCode) {
+        end();
+        if (shouldCommit()) {
+            this.analysisId = AnalysisEvents.analysisId();
+            this.tool = tool;
+            this.workDir = String.valueOf(workDir);
+            this.outcome = outcome;
+            this.exitCode = exitCode;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.legacylens.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Path;
+
+/** Processamento de um arquivo-fonte: leitura (phase=read) ou análise completa (phase=inventory...). */
+@Name("legacylens.FileProcessed")
+@Label("File Processed")
+@Category(AnalysisEvents.CATEGORY)
+@Description("Leitura/processamento de um arquivo-fonte")
+@StackTrace(false)
+public class FileProcessedEvent extends Event {
+
+    @Label("Analysis Id")
+    String analysisId;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("File")
+    String file;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Charset")
+    String charset;
+
+    public static FileProcessedEvent start() {
+        FileProcessedEvent event = new FileProcessedEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String phase, Path file, long bytes) {
+        finish(phase, file, bytes, null);
+    }
+
+    public void finish(String phase, Path file, long bytes, String charset) {
+        end();
+        if (shouldCommit()) {
+            this.analysisId = AnalysisEvents.analysisId();
+            this.phase = phase;
+            this.file = String.valueOf(file);
+            this.bytes = bytes;
+            this.charset = charset;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.legacylens.infrastructure.jfr;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 🎥 JfrRecordingService
+ * -----------------------------------------
+ * Uma gravação JFR por vez, sempre com prazo (diagnostics.jfrMaxDurationSeconds):
+ *  - start: inicia com as configurações do JDK (default/profile) + eventos legacylens.*
+ *  - stop: encerra antes do prazo; ao fim do prazo a JVM para e grava sozinha
+ *  - o último .jfr fica disponível para download até a próxima gravação
+ */
+@Slf4j
+@Component
+public class JfrRecordingService {
+
+    public record Status(String state, String settings, Instant startedAt, Duration duration, Path file) {}
+
+    private Recording recording;
+    private Path file;
+    private String settings;
+    private Instant startedAt;
+
+    // configLoader injetado apenas para garantir que o YAML já foi carregado
+    public JfrRecordingService(LegacyLensConfigLoader configLoader) {
+    }
+
+    /** @throws IllegalArgumentException settings que não é uma configuração do JDK (default, profile...) */
+    public synchronized Status start(Duration requested, String settingsName) throws IOException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Já existe uma gravação JFR em andamento");
+        }
+        var cfg = LegacyLensConfigLoader.get().getDiagnostics();
+        Duration max = Duration.ofSeconds(Math.max(1, cfg.getJfrMaxDurationSeconds()));
+        Duration duration = requested == null || requested.isNegative() || requested.isZero() || requested.compareTo(max) > 0
+                ? max
+                : requested;
+        String name = settingsName == null || settingsName.isBlank() ? cfg.getJfrSettings() : settingsName;
+        // valida antes de descartar a gravação anterior: nome inválido não custa o último .jfr
+        Configuration configuration = Configuration.getConfigurations().stream()
+                .filter(c -> c.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("settings JFR desconhecido: '" + name + "' (disponíveis: "
+                        + Configuration.getConfigurations().stream().map(Configuration::getName).toList() + ")"));
+
+        discard();
+        Path dir = Path.of(cfg.getJfrDir());
+        Files.createDirectories(dir);
+        this.file = dir.resolve("legacylens-" + System.currentTimeMillis() + ".jfr");
+
+        Recording r = new Recording(configuration);
+        r.setName("legacylens");
+        r.setToDisk(true);
+        r.setDuration(duration);
+        r.setDestination(file);
+        r.start();
+
+        this.recording = r;
+        this.settings = name;
+        this.startedAt = Instant.now();
+        log.info("🎥 Gravação JFR iniciada (settings={} prazo={} s) → {}", name, duration.toSeconds(), file);
+        return status();
+    }
+
+    /** Encerra a gravação (se ainda ativa) e devolve o arquivo .jfr. */
+    public synchronized Path stop() {
+        if (recording == null) throw new IllegalStateException("Nenhuma gravação JFR foi iniciada");
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            recording.stop();
+            log.info("🎥 Gravação JFR encerrada → {}", file);
+        }
+        return finishedFile();
+    }
+
+    /** Arquivo da última gravação, se já finalizada (por stop ou pelo prazo). */
+    public synchronized Path finishedFile() {
+        if (recording == null || recording.getState() != RecordingState.CLOSED && recording.getState() != RecordingState.STOPPED) {
+            return null;
+        }
+        return Files.exists(file) ? file : null;
+    }
+
+    public synchronized Status status() {
+        if (recording == null) return new Status("NONE", null, null, null, null);
+        return new Status(recording.getState().name(), settings, startedAt, recording.getDuration(), file);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) recording.close();
+    }
+
+    private void discard() {
+        if (recording != null) recording.close();
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Falha ao remover {}: {}", file, e.getMessage());
+            }
+        }
+        recording = null;
+        file = null;
+    }
+}
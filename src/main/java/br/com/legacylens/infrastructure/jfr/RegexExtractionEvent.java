@@ -0,0 +1,52 @@
+package br.com.legacylens.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Path;
+
+/** Extração baseada em regex (endpoints, corpo de métodos) sobre o conteúdo de um arquivo. */
+@Name("legacylens.RegexExtraction")
+@Label("Regex Extraction")
+@Category(AnalysisEvents.CATEGORY)
+@Description("Extração heurística por regex sobre um arquivo-fonte")
+@StackTrace(false)
+public class RegexExtractionEvent extends Event {
+
+    @Label("Analysis Id")
+    String analysisId;
+
+    @Label("Extractor")
+    String extractor;
+
+    @Label("File")
+    String file;
+
+    @Label("Input Length")
+    int inputChars;
+
+    @Label("Results")
+    int results;
+
+    public static RegexExtractionEvent start() {
+        RegexExtractionEvent event = new RegexExtractionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String extractor, Path file, int inputChars, int results) {
+        end();
+        if (shouldCommit()) {
+            this.analysisId = AnalysisEvents.analysisId();
+            this.extractor = extractor;
+            this.file = String.valueOf(file);
+            this.inputChars = inputChars;
+            this.results = results;
+            commit();
+        }
+    }
+}
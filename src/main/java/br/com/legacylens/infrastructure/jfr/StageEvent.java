@@ -0,0 +1,46 @@
+package br.com.legacylens.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Estágio da análise (ingest, clone, scan, estágios do DAG, varredura ClassGraph). */
+@Name("legacylens.Stage")
+@Label("Analysis Stage")
+@Category(AnalysisEvents.CATEGORY)
+@Description("Duração de um estágio da análise")
+@StackTrace(false)
+public class StageEvent extends Event {
+
+    @Label("Analysis Id")
+    String analysisId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Detail")
+    String detail;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static StageEvent start(String stage, String detail) {
+        StageEvent event = new StageEvent();
+        event.stage = stage;
+        event.detail = detail;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.analysisId = AnalysisEvents.analysisId();
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.legacylens.infrastructure.metrics;
+
+import br.com.legacylens.domain.model.SourceInventory;
+import br.com.legacylens.infrastructure.jfr.StageEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 📈 AnalysisMetrics
+ * -----------------------------------------
+ * Medidores Micrometer do pipeline de análise (expostos em /actuator/metrics e /actuator/prometheus):
+ *  - legacylens.stage.duration{stage,outcome}: ingest, clone, scan, compile e estágios do DAG (histograma de percentis)
+ *  - legacylens.files.walked / bytes.read / classes / controllers / endpoints: volume processado
+ *  - legacylens.analyses.inflight e legacylens.temp.disk.usage: gauges de carga
+ *  - legacylens.build.results{projectType,result}: builds externos por tipo de projeto
+ */
+@Slf4j
+@Component
+public class AnalysisMetrics {
+
+    /** Chave do MDC com o {@code ProjectScan.projectType} da análise corrente. */
+    public static final String MDC_PROJECT_TYPE = "projectType";
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofHours(1);
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Path, Long> tempDirs = new ConcurrentHashMap<>();
+    private final AtomicLong tempBytes = new AtomicLong();
+
+    private final Counter filesWalked;
+    private final Counter bytesRead;
+    private final Counter classes;
+    private final Counter controllers;
+    private final Counter endpoints;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.filesWalked = Counter.builder("legacylens.files.walked")
+                .description("Arquivos .java percorridos").register(registry);
+        this.bytesRead = Counter.builder("legacylens.bytes.read")
+                .description("Bytes de código-fonte lidos").baseUnit("bytes").register(registry);
+        this.classes = Counter.builder("legacylens.classes")
+                .description("Classes inventariadas").register(registry);
+        this.controllers = Counter.builder("legacylens.controllers")
+                .description("Controllers inventariados").register(registry);
+        this.endpoints = Counter.builder("legacylens.endpoints")
+                .description("Endpoints REST inventariados").register(registry);
+
+        Gauge.builder("legacylens.analyses.inflight", inFlight, AtomicInteger::get)
+                .description("Análises em andamento").register(registry);
+        Gauge.builder("legacylens.temp.disk.usage", tempBytes, AtomicLong::get)
+                .description("Espaço em disco ocupado pelos diretórios temporários das análises")
+                .baseUnit("bytes").register(registry);
+    }
+
+    // ==============================================================
+    // ⏱️ Estágios
+    // ==============================================================
+    public void recordStage(String stage, String outcome, Duration duration) {
+        stageTimers.computeIfAbsent(stage + '|' + outcome, k -> Timer.builder("legacylens.stage.duration")
+                        .description("Duração dos estágios da análise")
+                        .tag("stage", stage)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MIN_EXPECTED)
+                        .maximumExpectedValue(MAX_EXPECTED)
+                        .register(registry))
+                .record(duration);
+    }
+
+    /** Cronometra um estágio síncrono (Micrometer + JFR); exceções são registradas com outcome=FAILED e propagadas. */
+    public <T, E extends Exception> T time(String stage, ThrowingSupplier<T, E> action) throws E {
+        StageEvent event = StageEvent.start(stage, null);
+        long start = System.nanoTime();
+        String outcome = "FAILED";
+        try {
+            T result = action.get();
+            outcome = "SUCCESS";
+            return result;
+        } finally {
+            recordStage(stage, outcome, Duration.ofNanos(System.nanoTime() - start));
+            event.finish(outcome);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ThrowingSupplier<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    // ==============================================================
+    // 🛠️ Builds externos
+    // ==============================================================
+    public void recordBuild(String tool, String outcome, Duration duration) {
+        Timer.builder("legacylens.build.duration")
+                .description("Duração dos builds externos supervisionados")
+                .tag("tool", tool)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(duration);
+        recordStage("compile", outcome, duration);
+
+        String projectType = MDC.get(MDC_PROJECT_TYPE);
+        Counter.builder("legacylens.build.results")
+                .description("Builds externos por tipo de projeto")
+                .tag("projectType", projectType != null ? projectType : "UNKNOWN")
+                .tag("result", "SUCCESS".equals(outcome) ? "success" : "failure")
+                .register(registry)
+                .increment();
+    }
+
+    // ==============================================================
+    // 📋 Volume processado
+    // ==============================================================
+    public void recordInventory(SourceInventory inventory) {
+        long files = 0, bytes = 0, ctrl = 0;
+        for (var m : inventory.modules()) {
+            files += m.javaFiles();
+            bytes += m.bytes();
+            ctrl += m.controllers();
+        }
+        filesWalked.increment(files);
+        bytesRead.increment(bytes);
+        classes.increment(inventory.classes().size());
+        controllers.increment(ctrl);
+        endpoints.increment(inventory.endpoints().size());
+    }
+
+    // ==============================================================
+    // 📊 Gauges
+    // ==============================================================
+    /** Marca o início de uma análise; o {@code close()} do handle marca o fim. */
+    public InFlight analysisStarted() {
+        inFlight.incrementAndGet();
+        AtomicInteger closed = new AtomicInteger();
+        return () -> {
+            if (closed.getAndIncrement() == 0) inFlight.decrementAndGet();
+        };
+    }
+
+    /** Análises em andamento agora (usado pelo planejador para dividir o heap). */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public interface InFlight extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /** Mede o diretório uma vez (após ingestão/clone) e soma ao gauge de disco temporário. */
+    public void trackTempDir(Path dir) {
+        long size = sizeOf(dir);
+        Long previous = tempDirs.put(dir.toAbsolutePath().normalize(), size);
+        tempBytes.addAndGet(size - (previous != null ? previous : 0));
+    }
+
+    public void releaseTempDir(Path dir) {
+        Long size = tempDirs.remove(dir.toAbsolutePath().normalize());
+        if (size != null) tempBytes.addAndGet(-size);
+    }
+
+    private static long sizeOf(Path dir) {
+        AtomicLong total = new AtomicLong();
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    total.addAndGet(attrs.size());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Falha ao medir {}: {}", dir, e.getMessage());
+        }
+        return total.get();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.legacylens.infrastructure.util;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 🗜️ ArchiveUtil
+ * -----------------------------------------
+ * Extração dos ZIPs de projeto (upload da API e entrada da CLI) e limpeza dos diretórios temporários.
+ */
+@Slf4j
+@UtilityClass
+public class ArchiveUtil {
+
+    public void unzip(Path zipFile, Path outputDir) throws IOException {
+        Path root = outputDir.toAbsolutePath().normalize();
+        try (ZipInputStream zin = new ZipInputStream(Files.newInputStream(zipFile))) {
+            ZipEntry entry;
+            while ((entry = zin.getNextEntry()) != null) {
+                Path filePath = root.resolve(entry.getName()).normalize();
+                // zip slip: "../x" ou caminho absoluto escreveria fora do diretório de extração
+                if (!filePath.startsWith(root)) {
+                    throw new IOException("Entrada do ZIP fora do diretório de extração: " + entry.getName());
+                }
+                if (entry.isDirectory()) Files.createDirectories(filePath);
+                else {
+                    Files.createDirectories(filePath.getParent());
+                    Files.copy(zin, filePath, StandardCopyOption.REPLACE_EXISTING);
+                    // mtime do ZIP: reenvio sem mudanças é detectado sem reler (fingerprint)
+                    if (entry.getLastModifiedTime() != null) {
+                        Files.setLastModifiedTime(filePath, entry.getLastModifiedTime());
+                    }
+                }
+            }
+        }
+        log.info("📂 ZIP extraído em {}", outputDir);
+    }
+
+    public void deleteRecursively(Path path) throws IOException {
+        if (path == null || !Files.exists(path)) return;
+        try (var walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+}
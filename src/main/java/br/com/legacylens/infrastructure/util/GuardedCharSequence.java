@@ -0,0 +1,56 @@
+package br.com.legacylens.infrastructure.util;
+
+/**
+ * ⏱️ GuardedCharSequence
+ * -----------------------------------------
+ * Texto com orçamento para o motor de regex: cada charAt conta um passo; a cada 4096 passos
+ * confere também o relógio. Estourou passos ou prazo → {@link RegexGuard.BudgetExceededException},
+ * que aborta o match em andamento (backtracking catastrófico incluído).
+ * Não é thread-safe: uma instância por unidade de trabalho ({@link RegexGuard#run}).
+ */
+public final class GuardedCharSequence implements CharSequence {
+
+    private static final int CLOCK_MASK = 4096 - 1;
+
+    private final CharSequence text;
+    private final long maxSteps;
+    private final long deadline;
+    private long steps;
+
+    GuardedCharSequence(CharSequence text, long maxSteps, long deadlineNanos) {
+        this.text = text;
+        this.maxSteps = maxSteps;
+        this.deadline = deadlineNanos;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if ((++steps & CLOCK_MASK) == 0) check();
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    /** Recortes (grupos do Matcher) saem do texto original, sem orçamento. */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return text.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+    long steps() {
+        return steps;
+    }
+
+    private void check() {
+        if (steps > maxSteps) throw new RegexGuard.BudgetExceededException("passos", steps);
+        if (System.nanoTime() - deadline > 0) throw new RegexGuard.BudgetExceededException("tempo", steps);
+    }
+}
@@ -9,6 +9,13 @@ import java.util.regex.Pattern;
 @UtilityClass
 public class InjectionResolverUtil {
 
+    private static final Pattern ANNOTATED_FIELD =
+            Pattern.compile("@(?:Autowired|Inject|EJB|Resource)[^\\n]*\\n\\s*private\\s+(\\w+)\\s+(\\w+)\\s*;");
+    private static final Pattern PLAIN_FIELD = Pattern.compile("\\bprivate\\s+(\\w+)\\s+(\\w+)\\s*;");
+    private static final Pattern CONSTRUCTOR = Pattern.compile("\\bpublic\\s+\\w+\\s*\\(([^)]*)\\)\\s*\\{");
+    private static final Pattern ARGUMENT = Pattern.compile("(\\w+)\\s+(\\w+)");
+    private static final Pattern ASSIGNMENT = Pattern.compile("this\\.(\\w+)\\s*=\\s*(\\w+)\\s*;");
+
     /**
      * Retorna um mapa varName -> TypeName para as dependências injetadas no conteúdo.
      * Suporta:
@@ -17,32 +24,30 @@ public class InjectionResolverUtil {
      * - @EJB e @Resource
      * - Heurística por declaração de campo privada
      */
-    public Map<String, String> detectInjections(String content, Set<String> knownTargets, String architecture) {
+    public Map<String, String> detectInjections(String content, SymbolTable symbols, int[] knownTargets,
+                                                String architecture) {
         Map<String, String> map = new HashMap<>();
 
         // 1) Campos com @Autowired/@Inject/@EJB/@Resource
-        Pattern annField = Pattern.compile("@(?:Autowired|Inject|EJB|Resource)[^\\n]*\\n\\s*private\\s+(\\w+)\\s+(\\w+)\\s*;");
-        Matcher m1 = annField.matcher(content);
+        Matcher m1 = ANNOTATED_FIELD.matcher(content);
         while (m1.find()) {
             map.put(m1.group(2), m1.group(1));
         }
 
         // 2) Campos privados típicos (sem anotação)
-        Pattern plainField = Pattern.compile("\\bprivate\\s+(\\w+)\\s+(\\w+)\\s*;");
-        Matcher m2 = plainField.matcher(content);
+        Matcher m2 = PLAIN_FIELD.matcher(content);
         while (m2.find()) {
             String type = m2.group(1);
             String var = m2.group(2);
-            if (isKnown(type, knownTargets)) map.putIfAbsent(var, type);
+            if (isKnown(type, symbols, knownTargets)) map.putIfAbsent(var, type);
         }
 
         // 3) Construtor com args (injeção por construtor)
         //   public Classe( TipoA a, TipoB b, ... ) { this.a = a; this.b = b; ... }
-        Pattern ctor = Pattern.compile("\\bpublic\\s+\\w+\\s*\\(([^)]*)\\)\\s*\\{");
-        Matcher m3 = ctor.matcher(content);
+        Matcher m3 = CONSTRUCTOR.matcher(content);
         while (m3.find()) {
             String args = m3.group(1);
-            Matcher arg = Pattern.compile("(\\w+)\\s+(\\w+)").matcher(args);
+            Matcher arg = ARGUMENT.matcher(args);
             List<String> ctorVars = new ArrayList<>();
             Map<String, String> ctorTypes = new HashMap<>();
             while (arg.find()) {
@@ -52,13 +57,13 @@ public class InjectionResolverUtil {
                 ctorTypes.put(name, type);
             }
             // this.var = var;
-            Matcher assigns = Pattern.compile("this\\.(\\w+)\\s*=\\s*(\\w+)\\s*;").matcher(content);
+            Matcher assigns = ASSIGNMENT.matcher(content);
             while (assigns.find()) {
                 String field = assigns.group(1);
                 String passed = assigns.group(2);
                 if (ctorVars.contains(passed)) {
                     String type = ctorTypes.get(passed);
-                    if (isKnown(type, knownTargets)) map.putIfAbsent(field, type);
+                    if (isKnown(type, symbols, knownTargets)) map.putIfAbsent(field, type);
                 }
             }
         }
@@ -66,11 +71,12 @@ public class InjectionResolverUtil {
         return map;
     }
 
-    private boolean isKnown(String type, Set<String> known) {
-        String t = type.toLowerCase().replace("impl", "").replace("repository", "").replace("dao", "").replace("service","");
-        return known.stream().anyMatch(k -> {
-            String kk = k.toLowerCase().replace("impl", "").replace("repository", "").replace("dao", "").replace("service","");
-            return kk.equals(t) || kk.contains(t) || t.contains(kk);
-        });
+    private boolean isKnown(String type, SymbolTable symbols, int[] known) {
+        byte[] t = SymbolTable.utf8(LegacyHeuristicsUtil.knownKey(type));
+        for (int k : known) {
+            int kk = symbols.form(k, LegacyHeuristicsUtil.KNOWN_KEY);
+            if (symbols.contains(kk, t) || symbols.within(kk, t)) return true;
+        }
+        return false;
     }
 }
@@ -1,29 +1,198 @@
 package br.com.legacylens.infrastructure.util;
 
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import br.com.legacylens.infrastructure.jfr.FileProcessedEvent;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * 📖 JavaSourceReaderUtil
+ * -----------------------------------------
+ * Leitura de fontes em uma chamada (bytes inteiros; mapeados acima de sources.mmapThresholdKb)
+ * e uma única decodificação, com o charset detectado por arquivo:
+ *   BOM (UTF-8 / UTF-16) → UTF-8, se os bytes forem UTF-8 válido → sources.legacyCharset.
+ * Quebras de linha saem como '\n' e o texto termina em '\n' (como a antiga leitura por linhas).
+ * Quem só procura marcadores ASCII usa {@link #readHead} + {@link #indexOf} direto nos bytes.
+ */
 @Slf4j
 @UtilityClass
 public class JavaSourceReaderUtil {
 
+    private record Decoded(String text, Charset charset) {}
+
+    /** BOM reconhecido: charset e quantos bytes pular. */
+    private record Bom(Charset charset, int length) {}
+
+    private volatile Charset legacyCharset;
+
     public String readFile(Path file) {
-        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            StringBuilder sb = new StringBuilder();
-            String line;
-            while ( (line = br.readLine()) != null ) {
-                sb.append(line).append('\n');
+        FileProcessedEvent event = FileProcessedEvent.start();
+        SourceDependencyTracker.fileRead(file);
+        Decoded decoded = read(file);
+        event.finish("read", file, decoded.text().length(), decoded.charset().name());
+        return decoded.text();
+    }
+
+    /** Até maxBytes do início do arquivo, sem decodificar (vazio se não der para ler). */
+    public byte[] readHead(Path file, int maxBytes) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.readNBytes(maxBytes);
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    /** Posição de um marcador ASCII nos bytes (igual em UTF-8, ISO-8859-1 e Cp1252); -1 se ausente. */
+    public int indexOf(byte[] bytes, byte[] marker) {
+        if (marker.length == 0) return 0;
+        byte first = marker[0];
+        outer:
+        for (int i = 0, last = bytes.length - marker.length; i <= last; i++) {
+            if (bytes[i] != first) continue;
+            for (int k = 1; k < marker.length; k++) {
+                if (bytes[i + k] != marker[k]) continue outer;
             }
-            return sb.toString();
+            return i;
+        }
+        return -1;
+    }
+
+    // ==============================================================
+    // 🔤 Leitura e decodificação
+    // ==============================================================
+    private Decoded read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long threshold = Math.max(1, LegacyLensConfigLoader.get().getSources().getMmapThresholdKb()) * 1024L;
+            Decoded decoded = size >= threshold && size <= Integer.MAX_VALUE
+                    ? decodeMapped(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), file)
+                    : decode(Files.readAllBytes(file), file);
+            return new Decoded(normalizeLineBreaks(decoded.text()), decoded.charset());
         } catch (IOException e) {
             log.warn("⚠️ Erro ao ler arquivo {}: {}", file, e.getMessage());
-            return "";
+            return new Decoded("", StandardCharsets.UTF_8);
+        }
+    }
+
+    private Decoded decode(byte[] bytes, Path file) {
+        Bom bom = bom(bytes);
+        if (bom != null) {
+            return new Decoded(new String(bytes, bom.length(), bytes.length - bom.length(), bom.charset()), bom.charset());
+        }
+        if (isUtf8(bytes)) return new Decoded(new String(bytes, StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+        Charset legacy = legacyCharset();
+        log.debug("🔤 {} não é UTF-8 válido — lido como {}", file, legacy.name());
+        return new Decoded(new String(bytes, legacy), legacy);
+    }
+
+    /** Arquivo mapeado: mesma ordem de {@link #decode} — BOM, UTF-8 estrito direto do buffer, charset legado. */
+    private Decoded decodeMapped(ByteBuffer mapped, Path file) throws CharacterCodingException {
+        byte[] head = new byte[Math.min(3, mapped.limit())];
+        mapped.get(0, head);
+        Bom bom = bom(head);
+        if (bom != null) return new Decoded(decodeLenient(bom.charset(), mapped.position(bom.length())), bom.charset());
+        try {
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(mapped.position(0));
+            return new Decoded(chars.toString(), StandardCharsets.UTF_8);
+        } catch (CharacterCodingException e) {
+            Charset legacy = legacyCharset();
+            log.debug("🔤 {} não é UTF-8 válido — lido como {}", file, legacy.name());
+            return new Decoded(decodeLenient(legacy, mapped.position(0)), legacy);
+        }
+    }
+
+    private String decodeLenient(Charset charset, ByteBuffer bytes) throws CharacterCodingException {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(bytes)
+                .toString();
+    }
+
+    /** BOM de UTF-8 / UTF-16 no início dos bytes; null se não houver. */
+    private Bom bom(byte[] head) {
+        int n = head.length;
+        if (n >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            return new Bom(StandardCharsets.UTF_8, 3);
+        }
+        if (n >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) return new Bom(StandardCharsets.UTF_16LE, 2);
+        if (n >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) return new Bom(StandardCharsets.UTF_16BE, 2);
+        return null;
+    }
+
+    /** UTF-8 estrito: sem sequências truncadas, formas longas, surrogates ou acima de U+10FFFF. */
+    boolean isUtf8(byte[] bytes) {
+        int i = 0;
+        int n = bytes.length;
+        while (i < n) {
+            int c = bytes[i];
+            if (c >= 0) {
+                i++;
+                continue;
+            }
+            int extra;
+            int min;
+            if ((c & 0xE0) == 0xC0) {
+                extra = 1;
+                min = 0x80;
+                c &= 0x1F;
+            } else if ((c & 0xF0) == 0xE0) {
+                extra = 2;
+                min = 0x800;
+                c &= 0x0F;
+            } else if ((c & 0xF8) == 0xF0) {
+                extra = 3;
+                min = 0x10000;
+                c &= 0x07;
+            } else {
+                return false;
+            }
+            if (i + extra >= n) return false;
+            for (int k = 1; k <= extra; k++) {
+                int next = bytes[i + k];
+                if ((next & 0xC0) != 0x80) return false;
+                c = (c << 6) | (next & 0x3F);
+            }
+            if (c < min || c > 0x10FFFF || (c >= 0xD800 && c <= 0xDFFF)) return false;
+            i += extra + 1;
+        }
+        return true;
+    }
+
+    private String normalizeLineBreaks(String text) {
+        if (text.indexOf('\r') >= 0) text = text.replace("\r\n", "\n").replace('\r', '\n');
+        return text.isEmpty() || text.charAt(text.length() - 1) == '\n' ? text : text + '\n';
+    }
+
+    private Charset legacyCharset() {
+        String name = LegacyLensConfigLoader.get().getSources().getLegacyCharset();
+        Charset cached = legacyCharset;
+        if (cached != null && (cached.name().equalsIgnoreCase(name) || cached.aliases().contains(name))) return cached;
+        Charset resolved;
+        try {
+            resolved = Charset.forName(name);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ sources.legacyCharset inválido ({}) — usando ISO-8859-1", name);
+            resolved = StandardCharsets.ISO_8859_1;
         }
+        legacyCharset = resolved;
+        return resolved;
     }
 }
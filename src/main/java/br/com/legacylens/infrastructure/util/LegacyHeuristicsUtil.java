@@ -3,29 +3,58 @@ package br.com.legacylens.infrastructure.util;
 import lombok.experimental.UtilityClass;
 
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @UtilityClass
 public class LegacyHeuristicsUtil {
 
+    /** Formas normalizadas de {@link #symbolTable()}: índices para {@link SymbolTable#form}. */
+    public final int LOWER = 0;
+    public final int TYPE_KEY = 1;
+    public final int TARGET_KEY = 2;
+    public final int KNOWN_KEY = 3;
+
+    private final Map<String, String> VERBS = Map.ofEntries(
+            Map.entry("get", "buscar"),
+            Map.entry("find", "buscar"),
+            Map.entry("save", "salvar"),
+            Map.entry("traz", "recuperar"),
+            Map.entry("load", "carregar"),
+            Map.entry("add", "adicionar"),
+            Map.entry("create", "criar"),
+            Map.entry("update", "atualizar"),
+            Map.entry("delete", "remover"),
+            Map.entry("persist", "salvar"),
+            Map.entry("fetch", "buscar"),
+            Map.entry("list", "listar")
+    );
+
+    /**
+     * Tabela de nomes da análise com as formas que as heurísticas comparam
+     * (LOWER, TYPE_KEY, TARGET_KEY, KNOWN_KEY) — calculadas uma vez por classe conhecida.
+     */
+    public SymbolTable symbolTable() {
+        return new SymbolTable(List.of(
+                String::toLowerCase,
+                LegacyHeuristicsUtil::typeKey,
+                name -> name.toLowerCase().replace("service", "").replace("impl", "")
+                        .replace("repository", "").replace("dao", ""),
+                LegacyHeuristicsUtil::knownKey));
+    }
+
+    public String typeKey(String name) {
+        return name.toLowerCase().replace("impl", "").replace("repository", "").replace("dao", "");
+    }
+
+    public String knownKey(String name) {
+        return typeKey(name).replace("service", "");
+    }
+
     public String humanizeMethod(String method) {
-        Map<String, String> dict = Map.ofEntries(
-                Map.entry("get", "buscar"),
-                Map.entry("find", "buscar"),
-                Map.entry("save", "salvar"),
-                Map.entry("traz", "recuperar"),
-                Map.entry("load", "carregar"),
-                Map.entry("add", "adicionar"),
-                Map.entry("create", "criar"),
-                Map.entry("update", "atualizar"),
-                Map.entry("delete", "remover"),
-                Map.entry("persist", "salvar"),
-                Map.entry("fetch", "buscar"),
-                Map.entry("list", "listar")
-        );
-        for (var e : dict.entrySet()) {
-            if (method.toLowerCase().startsWith(e.getKey()))
+        String lower = method.toLowerCase();
+        for (var e : VERBS.entrySet()) {
+            if (lower.startsWith(e.getKey()))
                 return e.getValue() + method.substring(e.getKey().length());
         }
         return method;
@@ -63,27 +92,26 @@ public class LegacyHeuristicsUtil {
         return "other";
     }
 
-    public String resolveTarget(String varName, Set<String> classNames) {
-        String base = varName.toLowerCase().replace("service", "").replace("repo", "").replace("repository", "");
-        return classNames.stream()
-                .filter(name -> {
-                    String n = name.toLowerCase().replace("service", "").replace("impl", "")
-                            .replace("repository", "").replace("dao", "");
-                    return base.contains(n) || n.contains(base);
-                })
-                .findFirst()
-                .orElse(null);
+    /** Primeira classe de candidates (ids de {@link #symbolTable()}) compatível com o nome da variável; -1 se nenhuma. */
+    public int resolveTarget(String varName, SymbolTable symbols, int[] candidates) {
+        byte[] base = SymbolTable.utf8(varName.toLowerCase().replace("service", "").replace("repo", "")
+                .replace("repository", ""));
+        for (int c : candidates) {
+            int n = symbols.form(c, TARGET_KEY);
+            if (symbols.within(n, base) || symbols.contains(n, base)) return c;
+        }
+        return -1;
     }
 
-    public String normalizeType(String typeName, Set<String> knownClasses) {
-        String t = typeName.toLowerCase().replace("impl", "").replace("repository", "").replace("dao", "");
-        return knownClasses.stream()
-                .filter(c -> {
-                    String k = c.toLowerCase().replace("impl", "").replace("repository", "").replace("dao", "");
-                    return c.equalsIgnoreCase(typeName) || k.contains(t) || t.contains(k);
-                })
-                .findFirst()
-                .orElse(typeName);
+    /** Classe de candidates que corresponde ao tipo declarado; -1 se nenhuma (o chamador fica com o próprio tipo). */
+    public int normalizeType(String typeName, SymbolTable symbols, int[] candidates) {
+        int lower = symbols.find(typeName.toLowerCase());
+        byte[] t = SymbolTable.utf8(typeKey(typeName));
+        for (int c : candidates) {
+            int k = symbols.form(c, TYPE_KEY);
+            if (symbols.form(c, LOWER) == lower || symbols.contains(k, t) || symbols.within(k, t)) return c;
+        }
+        return -1;
     }
 
     public boolean isLegacyEJB(String content) {
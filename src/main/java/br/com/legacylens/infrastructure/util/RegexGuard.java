@@ -0,0 +1,83 @@
+package br.com.legacylens.infrastructure.util;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 🛡️ RegexGuard
+ * -----------------------------------------
+ * Unidade de trabalho com regex sobre um fonte (um arquivo × um padrão heurístico) com orçamento
+ * de passos e de tempo (config regex.*). Os matchers da unidade devem usar o CharSequence
+ * recebido; se algum estourar, a unidade é abandonada: log com arquivo e padrão,
+ * legacylens.regex.budget.exceeded{pattern} e o valor de fallback — o resto da análise segue.
+ * Toda unidade alimenta legacylens.regex.duration{pattern,outcome} (Metrics.globalRegistry,
+ * ao qual o Spring Boot liga o registry do actuator; fora dele é no-op).
+ */
+@Slf4j
+@UtilityClass
+public class RegexGuard {
+
+    /** Abortado pelo {@link GuardedCharSequence}; não escapa de {@link #run}. */
+    public static final class BudgetExceededException extends RuntimeException {
+        private final long steps;
+
+        BudgetExceededException(String limit, long steps) {
+            super("orçamento de " + limit + " excedido", null, false, false);
+            this.steps = steps;
+        }
+
+        public long steps() {
+            return steps;
+        }
+    }
+
+    private final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private final Map<String, Counter> EXCEEDED = new ConcurrentHashMap<>();
+
+    public <T> T run(String pattern, Path file, String text, T fallback, Function<CharSequence, T> work) {
+        var cfg = LegacyLensConfigLoader.get().getRegex();
+        long start = System.nanoTime();
+        if (!cfg.isGuardEnabled()) {
+            T result = work.apply(text);
+            timer(pattern, "ok").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        }
+
+        long maxSteps = Math.max(cfg.getMinSteps(), (long) cfg.getStepsPerChar() * text.length());
+        var guarded = new GuardedCharSequence(text, maxSteps,
+                start + TimeUnit.MILLISECONDS.toNanos(Math.max(1, cfg.getTimeoutMs())));
+        try {
+            T result = work.apply(guarded);
+            timer(pattern, "ok").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (BudgetExceededException e) {
+            long elapsed = System.nanoTime() - start;
+            timer(pattern, "exceeded").record(elapsed, TimeUnit.NANOSECONDS);
+            EXCEEDED.computeIfAbsent(pattern, p -> Counter.builder("legacylens.regex.budget.exceeded")
+                    .description("Unidades (arquivo × padrão) abandonadas por estourar o orçamento de regex")
+                    .tag("pattern", p)
+                    .register(Metrics.globalRegistry)).increment();
+            log.warn("⏱️ Regex '{}' abandonada em {} ({}: {} passos, {} ms, {} chars) — unidade ignorada",
+                    pattern, file, e.getMessage(), e.steps(), TimeUnit.NANOSECONDS.toMillis(elapsed), text.length());
+            return fallback;
+        }
+    }
+
+    private Timer timer(String pattern, String outcome) {
+        return TIMERS.computeIfAbsent(pattern + '|' + outcome, k -> Timer.builder("legacylens.regex.duration")
+                .description("Duração das unidades de regex por padrão heurístico")
+                .tag("pattern", pattern)
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry));
+    }
+}
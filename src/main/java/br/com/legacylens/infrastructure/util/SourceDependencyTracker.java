@@ -0,0 +1,46 @@
+package br.com.legacylens.infrastructure.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 🧵 SourceDependencyTracker
+ * -----------------------------------------
+ * Registra, na thread corrente, quais fontes um artefato leu ({@link JavaSourceReaderUtil#readFile})
+ * e quais nomes de arquivo procurou na árvore (ex.: DTO pelo nome). A reanálise incremental usa
+ * isso para saber quais sequence_*.puml uma mudança afeta. Fora de {@link #track} não faz nada.
+ */
+@UtilityClass
+public class SourceDependencyTracker {
+
+    public record Dependencies(Set<Path> files, Set<String> lookups) {}
+
+    private final ThreadLocal<Dependencies> CURRENT = new ThreadLocal<>();
+
+    public Dependencies track(Runnable action) {
+        Dependencies previous = CURRENT.get();
+        Dependencies deps = new Dependencies(new LinkedHashSet<>(), new LinkedHashSet<>());
+        CURRENT.set(deps);
+        try {
+            action.run();
+            return deps;
+        } finally {
+            if (previous != null) CURRENT.set(previous);
+            else CURRENT.remove();
+        }
+    }
+
+    public void fileRead(Path file) {
+        Dependencies deps = CURRENT.get();
+        if (deps != null) deps.files().add(file.toAbsolutePath().normalize());
+    }
+
+    public void lookup(String fileName) {
+        Dependencies deps = CURRENT.get();
+        if (deps != null) deps.lookups().add(fileName.toLowerCase(Locale.ROOT));
+    }
+}
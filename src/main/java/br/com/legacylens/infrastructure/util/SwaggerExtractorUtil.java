@@ -18,29 +18,57 @@ public class SwaggerExtractorUtil {
     @Data
     public static class EndpointDoc {
         private String methodName;
+        private String httpMethod;
+        private String path;
         private String requestDto;
         private String responseDto;
         private String responseCode;
         private List<String> dtoFields = new ArrayList<>();
     }
 
-    public List<EndpointDoc> extractEndpointDocs(String controllerContent, Path srcDir) {
+    // Detecta métodos REST com @Get/Post/Put/DeleteMapping
+    private static final Pattern ENDPOINT = Pattern.compile(
+            "@(GetMapping|PostMapping|PutMapping|DeleteMapping|PatchMapping)([^\\n]*)\\n\\s*"
+                    + "(?:@[\\w\\(\\)\"=,\\s]+\\n\\s*)*"
+                    + "(public|protected|private)?\\s+[^{;]+\\s+(\\w+)\\s*\\(");
+    private static final Pattern PATH_LITERAL = Pattern.compile("\"([^\"]*)\"");
+    private static final Pattern RESPONSE_STATUS =
+            Pattern.compile("@ResponseStatus\\s*\\(\\s*code\\s*=\\s*HttpStatus\\.(\\w+)\\s*\\)");
+    private static final Pattern REQUEST_BODY =
+            Pattern.compile("@RequestBody\\s*(?:@Valid\\s*)?(?:final\\s+)?(\\w+)\\s+(\\w+)");
+    private static final Pattern DTO_FIELD = Pattern.compile("\\bprivate\\s+(?!static)([\\w<>\\[\\]]+)\\s+(\\w+)\\s*;");
+
+    /** file identifica o controller no relatório de orçamento de regex ({@link RegexGuard}). */
+    public List<EndpointDoc> extractEndpointDocs(String controllerContent, Path file, Path srcDir) {
+        List<EndpointDoc> docs =
+                RegexGuard.run("swagger.endpoint", file, controllerContent, List.of(), SwaggerExtractorUtil::extract);
+        if (srcDir != null) {
+            for (EndpointDoc doc : docs) {
+                if (doc.getRequestDto() != null) doc.setDtoFields(extractDtoFields(srcDir, doc.getRequestDto()));
+            }
+        }
+        return docs;
+    }
+
+    /** Variante sem leitura dos campos dos DTOs (não percorre o projeto). */
+    public List<EndpointDoc> extractEndpoints(String controllerContent, Path file) {
+        return extractEndpointDocs(controllerContent, file, null);
+    }
+
+    private List<EndpointDoc> extract(CharSequence controllerContent) {
         List<EndpointDoc> docs = new ArrayList<>();
         Set<String> seen = new HashSet<>();
 
-        // Detecta métodos REST com @Get/Post/Put/DeleteMapping
-        Matcher m = Pattern.compile(
-                "@(?:GetMapping|PostMapping|PutMapping|DeleteMapping|PatchMapping)[^\\n]*\\n\\s*"
-                        + "(?:@[\\w\\(\\)\"=,\\s]+\\n\\s*)*"
-                        + "(public|protected|private)?\\s+[^{;]+\\s+(\\w+)\\s*\\("
-        ).matcher(controllerContent);
-
+        Matcher m = ENDPOINT.matcher(controllerContent);
         while (m.find()) {
-            String methodName = m.group(2);
+            String methodName = m.group(4);
             if (!seen.add(methodName)) continue;
 
             EndpointDoc doc = new EndpointDoc();
             doc.setMethodName(methodName);
+            doc.setHttpMethod(m.group(1).replace("Mapping", "").toUpperCase());
+            Matcher path = PATH_LITERAL.matcher(m.group(2));
+            doc.setPath(path.find() ? path.group(1) : "");
 
             // Tipo de retorno
             Matcher retMatcher = Pattern.compile("(?:public|protected|private)?\\s*([\\w<>\\[\\]\\.?\\s]+)\\s+"
@@ -54,8 +82,7 @@ public class SwaggerExtractorUtil {
             }
 
             // @ResponseStatus(code = HttpStatus.XYZ)
-            Matcher status = Pattern.compile("@ResponseStatus\\s*\\(\\s*code\\s*=\\s*HttpStatus\\.(\\w+)\\s*\\)")
-                    .matcher(controllerContent);
+            Matcher status = RESPONSE_STATUS.matcher(controllerContent);
             if (status.find()) {
                 doc.setResponseCode(status.group(1));
             } else {
@@ -63,13 +90,10 @@ public class SwaggerExtractorUtil {
             }
 
             // DTO de entrada (@RequestBody) — pega o 1º do método
-            // (não perfeito, mas ajuda bastante)
-            Pattern bodySig = Pattern.compile("@RequestBody\\s*(?:@Valid\\s*)?(?:final\\s+)?(\\w+)\\s+(\\w+)");
-            Matcher bodyMatcher = bodySig.matcher(controllerContent);
+            // (não perfeito, mas ajuda bastante); os campos são lidos fora da unidade de regex
+            Matcher bodyMatcher = REQUEST_BODY.matcher(controllerContent);
             if (bodyMatcher.find()) {
-                String dto = bodyMatcher.group(1);
-                doc.setRequestDto(dto);
-                doc.setDtoFields(extractDtoFields(srcDir, dto));
+                doc.setRequestDto(bodyMatcher.group(1));
             }
 
             docs.add(doc);
@@ -79,6 +103,7 @@ public class SwaggerExtractorUtil {
     }
 
     private List<String> extractDtoFields(Path srcDir, String dtoName) {
+        SourceDependencyTracker.lookup(dtoName + ".java");
         try (var stream = Files.walk(srcDir)) {
             Optional<Path> dtoFile = stream
                     .filter(p -> p.getFileName().toString().equalsIgnoreCase(dtoName + ".java"))
@@ -86,10 +111,9 @@ public class SwaggerExtractorUtil {
 
             if (dtoFile.isEmpty()) return List.of();
 
-            String content = Files.readString(dtoFile.get());
+            String content = JavaSourceReaderUtil.readFile(dtoFile.get());
             // Campos simples (ignora static e constantes)
-            Matcher fieldMatcher = Pattern.compile("\\bprivate\\s+(?!static)([\\w<>\\[\\]]+)\\s+(\\w+)\\s*;")
-                    .matcher(content);
+            Matcher fieldMatcher = DTO_FIELD.matcher(content);
             List<String> fields = new ArrayList<>();
 
             while (fieldMatcher.find()) {
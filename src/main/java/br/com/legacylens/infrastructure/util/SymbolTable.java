@@ -0,0 +1,168 @@
+package br.com.legacylens.infrastructure.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 🔤 SymbolTable
+ * -----------------------------------------
+ * Nomes de UMA análise com ids densos (0..n-1):
+ *  - texto em UTF-8 num único byte[] indexado por offsets — sem um String (nem entrada de HashMap) por nome
+ *  - índice por hash com endereçamento aberto em int[]; nome igual = mesmo id
+ *  - formas normalizadas (ex.: minúsculas sem "Impl") calculadas uma vez por nome em
+ *    {@link #internNormalized} e internadas também — comparar com elas não aloca nada
+ * Montada numa fase sequencial; depois só leituras (find/text/form/contains), seguras entre threads
+ * quando a tabela é publicada por um ponto de sincronização (ex.: submit a um pool).
+ */
+public final class SymbolTable {
+
+    private static final int NO_FORMS = -1;
+
+    private final List<UnaryOperator<String>> normalizers;
+    private final int stride;
+
+    private byte[] bytes = new byte[1024];
+    private int used;
+    private int[] offsets = new int[65];
+    private int[] hashes = new int[64];
+    /** forms[id * stride + f] = id da forma f; NO_FORMS se o nome foi internado sem formas. */
+    private int[] forms;
+    private int size;
+    /** Endereçamento aberto: id + 1 (0 = vazio). */
+    private int[] slots = new int[128];
+
+    public SymbolTable(List<UnaryOperator<String>> normalizers) {
+        this.normalizers = List.copyOf(normalizers);
+        this.stride = Math.max(1, normalizers.size());
+        this.forms = new int[64 * stride];
+        Arrays.fill(forms, NO_FORMS);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Id do texto, criando se preciso (sem formas normalizadas). */
+    public int intern(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(utf8);
+        int id = lookup(utf8, hash);
+        return id >= 0 ? id : add(utf8, hash);
+    }
+
+    /** Como {@link #intern}, calculando (uma vez) as formas normalizadas do nome. */
+    public int internNormalized(String text) {
+        int id = intern(text);
+        int k = normalizers.size();
+        if (k > 0 && forms[id * stride] == NO_FORMS) {
+            int[] computed = new int[k];
+            for (int f = 0; f < k; f++) computed[f] = intern(normalizers.get(f).apply(text));
+            System.arraycopy(computed, 0, forms, id * stride, k);
+        }
+        return id;
+    }
+
+    /** Id do texto ou -1, sem criar. */
+    public int find(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        return lookup(utf8, hash(utf8));
+    }
+
+    public String text(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    /** Id da forma normalizada f (ordem do construtor) de um nome internado por {@link #internNormalized}. */
+    public int form(int id, int f) {
+        int form = forms[id * stride + f];
+        if (form == NO_FORMS) throw new IllegalStateException("símbolo sem formas normalizadas: " + text(id));
+        return form;
+    }
+
+    /** O texto de id contém part (UTF-8)? — equivale a String.contains. */
+    public boolean contains(int id, byte[] part) {
+        return indexOf(bytes, offsets[id], offsets[id + 1], part, 0, part.length) >= 0;
+    }
+
+    /** whole (UTF-8) contém o texto de id? */
+    public boolean within(int id, byte[] whole) {
+        return indexOf(whole, 0, whole.length, bytes, offsets[id], offsets[id + 1]) >= 0;
+    }
+
+    public static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ==============================================================
+    // 🔧 Armazenamento
+    // ==============================================================
+    private int lookup(byte[] utf8, int hash) {
+        int mask = slots.length - 1;
+        for (int s = hash & mask; ; s = (s + 1) & mask) {
+            int id = slots[s] - 1;
+            if (id < 0) return -1;
+            if (hashes[id] == hash && equalsAt(id, utf8)) return id;
+        }
+    }
+
+    private int add(byte[] utf8, int hash) {
+        if (used + utf8.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, used + utf8.length));
+        }
+        if (size == hashes.length) {
+            int capacity = hashes.length * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            int[] grownForms = Arrays.copyOf(forms, capacity * stride);
+            Arrays.fill(grownForms, forms.length, grownForms.length, NO_FORMS);
+            forms = grownForms;
+        }
+        int id = size++;
+        System.arraycopy(utf8, 0, bytes, used, utf8.length);
+        used += utf8.length;
+        offsets[id + 1] = used;
+        hashes[id] = hash;
+
+        if (size * 2 > slots.length) rehash(slots.length * 2);
+        else place(slots, id);
+        return id;
+    }
+
+    private void rehash(int capacity) {
+        int[] grown = new int[capacity];
+        for (int id = 0; id < size; id++) place(grown, id);
+        slots = grown;
+    }
+
+    private void place(int[] table, int id) {
+        int mask = table.length - 1;
+        int s = hashes[id] & mask;
+        while (table[s] != 0) s = (s + 1) & mask;
+        table[s] = id + 1;
+    }
+
+    private boolean equalsAt(int id, byte[] utf8) {
+        int from = offsets[id];
+        return offsets[id + 1] - from == utf8.length
+                && Arrays.equals(bytes, from, from + utf8.length, utf8, 0, utf8.length);
+    }
+
+    private static int hash(byte[] utf8) {
+        int h = 0x811C9DC5;
+        for (byte b : utf8) h = (h ^ b) * 0x01000193;
+        return h ^ (h >>> 16);
+    }
+
+    private static int indexOf(byte[] hay, int hayFrom, int hayTo, byte[] needle, int needleFrom, int needleTo) {
+        int length = needleTo - needleFrom;
+        if (length == 0) return hayFrom;
+        byte first = needle[needleFrom];
+        for (int i = hayFrom, last = hayTo - length; i <= last; i++) {
+            if (hay[i] != first) continue;
+            if (Arrays.equals(hay, i, i + length, needle, needleFrom, needleTo)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.legacylens.perf;
+
+/**
+ * 📐 Especificação de um corpus sintético.
+ * Quantidades por módulo; {@code compilable} gera stubs locais das anotações
+ * (javac compila sem Spring/Jakarta no classpath).
+ */
+public record CorpusSpec(
+        String name,
+        Style style,
+        int modules,
+        int controllers,
+        int services,
+        int repositories,
+        int dtos,
+        int endpointsPerController,
+        boolean compilable,
+        long seed
+) {
+
+    public enum Style { MAVEN, GRADLE, EJB }
+
+    public int javaFilesPerModule() {
+        return controllers + services + repositories + dtos + (compilable ? SyntheticCorpusGenerator.STUB_COUNT : 0);
+    }
+
+    public int totalJavaFiles() {
+        return modules * javaFilesPerModule();
+    }
+
+    /** Mesma especificação com imports reais (Spring/Jakarta) em vez dos stubs locais. */
+    public CorpusSpec withRealImports() {
+        return new CorpusSpec(name, style, modules, controllers, services, repositories, dtos,
+                endpointsPerController, false, seed);
+    }
+
+    /** Corpora padrão do harness (compiláveis: o build não baixa dependências). */
+    public static CorpusSpec named(String name) {
+        return switch (name) {
+            case "small" -> new CorpusSpec("small", Style.MAVEN, 1, 5, 8, 6, 10, 4, true, 42);
+            case "medium" -> new CorpusSpec("medium", Style.MAVEN, 4, 10, 15, 12, 20, 6, true, 42);
+            case "large" -> new CorpusSpec("large", Style.MAVEN, 8, 25, 40, 30, 60, 8, true, 42);
+            case "gradle" -> new CorpusSpec("gradle", Style.GRADLE, 3, 10, 15, 12, 20, 6, true, 42);
+            case "ejb" -> new CorpusSpec("ejb", Style.EJB, 3, 10, 15, 12, 20, 6, true, 42);
+            default -> throw new IllegalArgumentException("Corpus desconhecido: " + name
+                    + " (small | medium | large | gradle | ejb)");
+        };
+    }
+}
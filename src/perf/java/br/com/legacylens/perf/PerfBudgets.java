@@ -0,0 +1,59 @@
+package br.com.legacylens.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 📏 PerfBudgets
+ * -----------------------------------------
+ * Chaves no formato {@code <corpus>.<estágio>.<métrica>=<limite>}:
+ *  - wallMs, cpuMs, peakHeapMb: máximos
+ *  - minFilesPerSec: mínimo
+ *  - status: valor exigido (ex.: SUCCESS)
+ * Corpus/estágio ausentes no resultado também contam como violação.
+ */
+final class PerfBudgets {
+
+    private PerfBudgets() {}
+
+    static List<String> check(Properties budgets, List<PerfHarness.CorpusResult> results) {
+        List<String> violations = new ArrayList<>();
+        for (String key : budgets.stringPropertyNames()) {
+            String[] parts = key.split("\\.");
+            if (parts.length != 3) {
+                violations.add(key + ": chave inválida (esperado <corpus>.<estágio>.<métrica>)");
+                continue;
+            }
+            var corpus = results.stream().filter(r -> r.corpus().equals(parts[0])).findFirst();
+            if (corpus.isEmpty()) continue; // corpus não executado nesta rodada
+            var stage = corpus.get().stages().stream().filter(s -> s.stage().equals(parts[1])).findFirst();
+            if (stage.isEmpty()) {
+                violations.add(key + ": estágio não encontrado");
+                continue;
+            }
+
+            String limit = budgets.getProperty(key).trim();
+            var m = stage.get();
+            switch (parts[2]) {
+                case "wallMs" -> max(violations, key, m.wallMs(), Long.parseLong(limit));
+                case "cpuMs" -> max(violations, key, m.cpuMs(), Long.parseLong(limit));
+                case "peakHeapMb" -> max(violations, key, m.peakHeapMb(), Long.parseLong(limit));
+                case "minFilesPerSec" -> {
+                    if (m.filesPerSec() < Double.parseDouble(limit)) {
+                        violations.add(key + ": " + m.filesPerSec() + " < " + limit);
+                    }
+                }
+                case "status" -> {
+                    if (!m.status().equals(limit)) violations.add(key + ": " + m.status() + " != " + limit);
+                }
+                default -> violations.add(key + ": métrica desconhecida");
+            }
+        }
+        return violations;
+    }
+
+    private static void max(List<String> violations, String key, long actual, long limit) {
+        if (actual > limit) violations.add(key + ": " + actual + " > " + limit);
+    }
+}
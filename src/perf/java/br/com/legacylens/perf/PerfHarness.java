@@ -0,0 +1,206 @@
+package br.com.legacylens.perf;
+
+import br.com.legacylens.LegacylensApplication;
+import br.com.legacylens.application.AnalyzeProjectService;
+import br.com.legacylens.application.GenerateReportsService;
+import br.com.legacylens.application.planner.ExecutionPlanner;
+import br.com.legacylens.domain.model.ConfigOverrides;
+import br.com.legacylens.domain.model.PipelineReport;
+import br.com.legacylens.domain.model.ProjectScan;
+import br.com.legacylens.domain.model.StageResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 🏁 PerfHarness
+ * -----------------------------------------
+ * Gera corpora sintéticos e executa o pipeline real (AnalyzeProjectService +
+ * GenerateReportsService) medindo, por estágio: tempo de parede, CPU, pico de heap
+ * e arquivos/s. Resultados em {@code <work>/perf-results.json}; orçamentos
+ * (perf-budgets.properties) violados encerram com exceção — o build falha.
+ *
+ *   mvn -Pperf verify
+ *   mvn -Pperf verify -Dperf.args="--corpora small,medium,large --warmup 1"
+ *
+ * Observações de medição:
+ *  - CPU de scan/reports é do processo inteiro (inclui GC); CPU por estágio é da thread do estágio
+ *  - subprocessos de build (mvn/gradle) não entram na CPU medida
+ *  - pico de heap só é separável por fase (scan, reports), não por estágio paralelo
+ */
+@Slf4j
+public final class PerfHarness {
+
+    public record Measurement(String stage, String status, long wallMs, long cpuMs, long peakHeapMb, double filesPerSec) {}
+
+    public record CorpusResult(String corpus, String style, int modules, int javaFiles, List<Measurement> stages) {}
+
+    private PerfHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        List<String> corpora = List.of(opts.getOrDefault("corpora", "small,medium").split(","));
+        Path work = Path.of(opts.getOrDefault("work", "target/perf")).toAbsolutePath();
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "1"));
+        boolean realImports = opts.containsKey("real-imports");
+        Properties budgets = loadBudgets(opts.get("budgets"));
+
+        Files.createDirectories(work);
+        // o restart do DevTools relançaria o main sem os argumentos; níveis de log acima do perfil "local"
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("logging.level.root", "WARN");
+        System.setProperty("logging.level.br.com.legacylens", "WARN");
+        System.setProperty("logging.level.br.com.legacylens.perf", "INFO");
+        List<CorpusResult> results = new ArrayList<>();
+
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(LegacylensApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("local")
+                .properties("spring.main.banner-mode=off")
+                .run()) {
+            AnalyzeProjectService analyze = ctx.getBean(AnalyzeProjectService.class);
+            GenerateReportsService reports = ctx.getBean(GenerateReportsService.class);
+            ExecutionPlanner planner = ctx.getBean(ExecutionPlanner.class);
+
+            for (String name : corpora) {
+                CorpusSpec spec = CorpusSpec.named(name.trim());
+                if (realImports) spec = spec.withRealImports();
+                Path corpus = SyntheticCorpusGenerator.generate(spec, work.resolve("corpora").resolve(spec.name()));
+                log.info("🏭 Corpus {}: {} módulos, {} arquivos .java", spec.name(), spec.modules(), spec.totalJavaFiles());
+
+                for (int i = 0; i < warmup; i++) {
+                    runOnce(analyze, reports, planner, spec, corpus, work.resolve("out").resolve(spec.name() + "-warmup" + i));
+                }
+                CorpusResult result = runOnce(analyze, reports, planner, spec, corpus, work.resolve("out").resolve(spec.name()));
+                results.add(result);
+                print(result);
+            }
+        }
+
+        Path json = work.resolve("perf-results.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), results);
+        log.info("📄 Resultados em {}", json);
+
+        List<String> violations = PerfBudgets.check(budgets, results);
+        if (!violations.isEmpty()) {
+            violations.forEach(v -> log.error("🚨 Orçamento violado: {}", v));
+            throw new IllegalStateException(violations.size() + " orçamento(s) de performance violado(s): " + violations);
+        }
+        log.info("✅ Todos os orçamentos respeitados ({} chaves)", budgets.size());
+    }
+
+    // ==============================================================
+    // ⏱️ Execução medida
+    // ==============================================================
+    private static CorpusResult runOnce(AnalyzeProjectService analyze, GenerateReportsService reports,
+                                       ExecutionPlanner planner, CorpusSpec spec, Path corpus,
+                                       Path outDir) throws IOException {
+        SyntheticCorpusGenerator.delete(outDir);
+        Files.createDirectories(outDir);
+        int files = spec.totalJavaFiles();
+        List<Measurement> stages = new ArrayList<>();
+
+        var context = planner.prepare(UUID.randomUUID().toString(), corpus, ConfigOverrides.none());
+        ProjectScan scan = measure("scan", files, stages, () -> analyze.execute(corpus.toString()));
+        PipelineReport report = measure("reports", files, stages,
+                () -> reports.generateAll(scan, corpus.toString(), outDir, context));
+
+        for (StageResult s : report.stages()) {
+            boolean ran = s.status() != StageResult.Status.DISABLED && s.status() != StageResult.Status.SKIPPED;
+            stages.add(new Measurement(s.stage(), s.status().name(), s.durationMs(), s.cpuMs(), -1,
+                    ran ? perSecond(files, s.durationMs()) : 0));
+        }
+        long totalWall = stages.get(0).wallMs() + stages.get(1).wallMs();
+        long totalCpu = stages.get(0).cpuMs() + stages.get(1).cpuMs();
+        long peak = Math.max(stages.get(0).peakHeapMb(), stages.get(1).peakHeapMb());
+        stages.add(new Measurement("total", report.allSucceeded() ? "SUCCESS" : "FAILED",
+                totalWall, totalCpu, peak, perSecond(files, totalWall)));
+        return new CorpusResult(spec.name(), spec.style().name(), spec.modules(), files, stages);
+    }
+
+    private static <T> T measure(String stage, int files, List<Measurement> out, Supplier<T> action) {
+        System.gc();
+        List<MemoryPoolMXBean> heap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .toList();
+        heap.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long cpu0 = processCpuNanos();
+        long t0 = System.nanoTime();
+
+        T result = action.get();
+
+        long wallMs = (System.nanoTime() - t0) / 1_000_000;
+        long cpu1 = processCpuNanos();
+        long cpuMs = cpu0 < 0 || cpu1 < 0 ? -1 : (cpu1 - cpu0) / 1_000_000;
+        long peak = heap.stream().mapToLong(p -> p.getPeakUsage().getUsed()).sum() / (1024 * 1024);
+        out.add(new Measurement(stage, "SUCCESS", wallMs, cpuMs, peak, perSecond(files, wallMs)));
+        return result;
+    }
+
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    private static double perSecond(int files, long ms) {
+        return Math.round(files * 1000.0 / Math.max(1, ms) * 10) / 10.0;
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static void print(CorpusResult r) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n📊 %s (%s, %d módulos, %d arquivos)%n", r.corpus(), r.style(), r.modules(), r.javaFiles()));
+        sb.append(String.format("   %-10s %-9s %10s %10s %10s %12s%n", "estágio", "status", "wall ms", "cpu ms", "heap MB", "arquivos/s"));
+        for (Measurement m : r.stages()) {
+            sb.append(String.format("   %-10s %-9s %10d %10d %10s %12.1f%n", m.stage(), m.status(), m.wallMs(), m.cpuMs(),
+                    m.peakHeapMb() < 0 ? "-" : String.valueOf(m.peakHeapMb()), m.filesPerSec()));
+        }
+        log.info(sb.toString());
+    }
+
+    private static Properties loadBudgets(String location) throws IOException {
+        Properties props = new Properties();
+        if (location != null) {
+            try (Reader r = Files.newBufferedReader(Path.of(location))) {
+                props.load(r);
+            }
+            return props;
+        }
+        try (InputStream in = PerfHarness.class.getResourceAsStream("/perf-budgets.properties")) {
+            if (in != null) props.load(in);
+        }
+        return props;
+    }
+
+    /** --chave valor | --chave=valor | --flag */
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) continue;
+            String key = args[i].substring(2);
+            int eq = key.indexOf('=');
+            if (eq > 0) opts.put(key.substring(0, eq), key.substring(eq + 1));
+            else if (i + 1 < args.length && !args[i + 1].startsWith("--")) opts.put(key, args[++i]);
+            else opts.put(key, "true");
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,371 @@
+package br.com.legacylens.perf;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 🏭 SyntheticCorpusGenerator
+ * -----------------------------------------
+ * Gera projetos legados sintéticos e determinísticos (mesma seed → mesmos bytes):
+ *  - MAVEN/GRADLE: Spring MVC com injeção por campo (@Autowired) e por construtor
+ *  - EJB: services @Stateless injetados com @EJB, DAOs com EntityManager
+ *  - controller → service → repository com DTOs de request/response
+ *  - multi-módulo (pom agregador / settings.gradle)
+ */
+public final class SyntheticCorpusGenerator {
+
+    static final int STUB_COUNT = 14;
+
+    private static final String[] NOUNS = {
+            "Customer", "Order", "Invoice", "Product", "Payment", "Shipment", "Account",
+            "Contract", "Supplier", "Ledger", "Claim", "Policy", "Ticket", "Branch"
+    };
+    private static final String[] VERBS = {"find", "save", "update", "remove", "list", "calculate", "validate", "export"};
+    private static final String STUBS = "legacy.stubs";
+
+    private SyntheticCorpusGenerator() {}
+
+    public static Path generate(CorpusSpec spec, Path target) throws IOException {
+        delete(target);
+        Files.createDirectories(target);
+        Random random = new Random(spec.seed());
+
+        List<String> modules = new ArrayList<>();
+        for (int m = 0; m < spec.modules(); m++) modules.add(spec.modules() == 1 ? "app" : "module-" + m);
+
+        writeRootBuild(spec, target, modules);
+        for (String module : modules) {
+            Path moduleDir = spec.modules() == 1 ? target : target.resolve(module);
+            writeModuleBuild(spec, moduleDir, module);
+            writeModuleSources(spec, moduleDir, module.replace("-", ""), random);
+        }
+        return target;
+    }
+
+    // ==============================================================
+    // 🧱 Build files
+    // ==============================================================
+    private static void writeRootBuild(CorpusSpec spec, Path root, List<String> modules) throws IOException {
+        if (spec.modules() == 1) return;
+        if (spec.style() == CorpusSpec.Style.GRADLE) {
+            StringBuilder sb = new StringBuilder("rootProject.name = '").append(spec.name()).append("'\n");
+            for (String m : modules) sb.append("include '").append(m).append("'\n");
+            Files.writeString(root.resolve("settings.gradle"), sb);
+            Files.writeString(root.resolve("build.gradle"), "// agregador: configuração nos subprojetos\n");
+            return;
+        }
+        StringBuilder sb = new StringBuilder(pomHeader("com.acme.legacy", spec.name() + "-parent", "pom"));
+        sb.append("  <modules>\n");
+        for (String m : modules) sb.append("    <module>").append(m).append("</module>\n");
+        sb.append("  </modules>\n</project>\n");
+        Files.writeString(root.resolve("pom.xml"), sb);
+    }
+
+    private static void writeModuleBuild(CorpusSpec spec, Path dir, String module) throws IOException {
+        Files.createDirectories(dir);
+        if (spec.style() == CorpusSpec.Style.GRADLE) {
+            StringBuilder sb = new StringBuilder("plugins {\n    id 'java'\n");
+            if (!spec.compilable()) sb.append("    id 'org.springframework.boot' version '2.7.18'\n");
+            sb.append("}\n\n")
+                    .append("java {\n    sourceCompatibility = JavaVersion.VERSION_11\n}\n")
+                    .append("compileJava.options.encoding = 'UTF-8'\n\n")
+                    .append("dependencies {\n");
+            if (!spec.compilable()) {
+                sb.append("    implementation 'org.springframework.boot:spring-boot-starter-web'\n")
+                        .append("    implementation 'org.springframework.boot:spring-boot-starter-data-jpa'\n");
+            }
+            sb.append("}\n");
+            Files.writeString(dir.resolve("build.gradle"), sb);
+            return;
+        }
+        String packaging = spec.style() == CorpusSpec.Style.EJB ? "ejb" : "jar";
+        StringBuilder sb = new StringBuilder(pomHeader("com.acme.legacy", module, spec.compilable() ? "jar" : packaging));
+        sb.append("  <properties>\n")
+                .append("    <java.version>11</java.version>\n")
+                .append("    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n")
+                .append("    <maven.compiler.source>11</maven.compiler.source>\n")
+                .append("    <maven.compiler.target>11</maven.compiler.target>\n")
+                .append("  </properties>\n");
+        if (!spec.compilable()) {
+            sb.append("  <dependencies>\n");
+            if (spec.style() == CorpusSpec.Style.EJB) {
+                sb.append(dependency("javax", "javaee-api", "8.0.1"));
+            } else {
+                sb.append(dependency("org.springframework", "spring-webmvc", "5.3.39"))
+                        .append(dependency("org.springframework", "spring-context", "5.3.39"));
+            }
+            sb.append(dependency("javax.persistence", "javax.persistence-api", "2.2"))
+                    .append("  </dependencies>\n");
+        }
+        sb.append("</project>\n");
+        Files.writeString(dir.resolve("pom.xml"), sb);
+    }
+
+    private static String pomHeader(String groupId, String artifactId, String packaging) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+                + "  <modelVersion>4.0.0</modelVersion>\n"
+                + "  <groupId>" + groupId + "</groupId>\n"
+                + "  <artifactId>" + artifactId + "</artifactId>\n"
+                + "  <version>1.0.0</version>\n"
+                + "  <packaging>" + packaging + "</packaging>\n";
+    }
+
+    private static String dependency(String g, String a, String v) {
+        return "    <dependency><groupId>" + g + "</groupId><artifactId>" + a
+                + "</artifactId><version>" + v + "</version></dependency>\n";
+    }
+
+    // ==============================================================
+    // ☕ Fontes
+    // ==============================================================
+    private static void writeModuleSources(CorpusSpec spec, Path moduleDir, String module, Random random) throws IOException {
+        Path java = moduleDir.resolve("src/main/java");
+        String base = "com.acme." + module;
+        boolean ejb = spec.style() == CorpusSpec.Style.EJB;
+
+        if (spec.compilable()) writeStubs(java);
+
+        List<String> dtos = new ArrayList<>();
+        for (int i = 0; i < spec.dtos(); i++) {
+            String name = noun(i) + i + "Dto";
+            dtos.add(name);
+            writeDto(java, base + ".dto", name, random);
+        }
+        List<String> repositories = new ArrayList<>();
+        for (int i = 0; i < spec.repositories(); i++) {
+            String name = noun(i) + i + (ejb ? "Dao" : "Repository");
+            repositories.add(name);
+            writeRepository(spec, java, base, name, dtos, random);
+        }
+        List<String> services = new ArrayList<>();
+        for (int i = 0; i < spec.services(); i++) {
+            String name = noun(i) + i + "Service";
+            services.add(name);
+            writeService(spec, java, base, name, i, repositories, dtos, random);
+        }
+        for (int i = 0; i < spec.controllers(); i++) {
+            writeController(spec, java, base, noun(i) + i + "Controller", i, services, dtos, random);
+        }
+    }
+
+    private static void writeDto(Path java, String pkg, String name, Random random) throws IOException {
+        try (BufferedWriter w = open(java, pkg, name)) {
+            w.write("package " + pkg + ";\n\n");
+            w.write("public class " + name + " {\n");
+            int fields = 3 + random.nextInt(8);
+            for (int f = 0; f < fields; f++) {
+                w.write("    private " + (f % 3 == 0 ? "Long" : "String") + " field" + f + ";\n");
+            }
+            w.write("\n");
+            for (int f = 0; f < fields; f++) {
+                String type = f % 3 == 0 ? "Long" : "String";
+                w.write("    public " + type + " getField" + f + "() { return field" + f + "; }\n");
+                w.write("    public void setField" + f + "(" + type + " v) { this.field" + f + " = v; }\n");
+            }
+            w.write("}\n");
+        }
+    }
+
+    private static void writeRepository(CorpusSpec spec, Path java, String base, String name,
+                                        List<String> dtos, Random random) throws IOException {
+        String pkg = base + ".repository";
+        boolean ejb = spec.style() == CorpusSpec.Style.EJB;
+        try (BufferedWriter w = open(java, pkg, name)) {
+            w.write("package " + pkg + ";\n\n");
+            w.write("import " + base + ".dto.*;\n");
+            w.write("import " + (spec.compilable() ? STUBS + ".*" : ejb ? "javax.persistence.*" : "org.springframework.stereotype.Repository") + ";\n");
+            if (!spec.compilable()) w.write("import javax.persistence.EntityManager;\n");
+            w.write("import java.util.*;\n\n");
+            if (!ejb) w.write("@Repository\n");
+            w.write("public class " + name + " {\n\n");
+            w.write("    private EntityManager entityManager;\n\n");
+            // um método por verbo: os services chamam qualquer um deles
+            for (int m = 0; m < VERBS.length; m++) {
+                String dto = pick(dtos, random);
+                w.write("    public List<" + dto + "> " + VERBS[m] + "By" + noun(m) + "(Long id) {\n");
+                w.write("        List<" + dto + "> result = new ArrayList<>();\n");
+                w.write("        entityManager.find(" + dto + ".class, id);\n");
+                w.write("        return result;\n");
+                w.write("    }\n\n");
+            }
+            w.write("}\n");
+        }
+    }
+
+    private static void writeService(CorpusSpec spec, Path java, String base, String name, int index,
+                                     List<String> repositories, List<String> dtos, Random random) throws IOException {
+        String pkg = base + ".service";
+        boolean ejb = spec.style() == CorpusSpec.Style.EJB;
+        boolean constructor = !ejb && index % 2 == 1;
+        List<String> deps = pickDistinct(repositories, 1 + random.nextInt(3), random);
+
+        try (BufferedWriter w = open(java, pkg, name)) {
+            w.write("package " + pkg + ";\n\n");
+            w.write("import " + base + ".dto.*;\n");
+            w.write("import " + base + ".repository.*;\n");
+            w.write("import " + (spec.compilable() ? STUBS + ".*" : ejb ? "javax.ejb.*" : "org.springframework.stereotype.Service") + ";\n");
+            if (!spec.compilable() && !ejb) w.write("import org.springframework.beans.factory.annotation.Autowired;\n");
+            w.write("import java.util.*;\n\n");
+            w.write(ejb ? "@Stateless\n" : "@Service\n");
+            w.write("public class " + name + " {\n\n");
+            writeInjections(w, name, deps, ejb, constructor);
+
+            int methods = 4 + random.nextInt(4);
+            for (int m = 0; m < methods; m++) {
+                String dto = pick(dtos, random);
+                String repo = deps.get(m % deps.size());
+                w.write("    public List<" + dto + "> " + VERBS[m % VERBS.length] + m + "(Long id) {\n");
+                w.write("        if (id == null) {\n");
+                w.write("            return Collections.emptyList();\n");
+                w.write("        }\n");
+                w.write("        List<" + dto + "> data = new ArrayList<>();\n");
+                w.write("        " + field(repo) + "." + VERBS[m % VERBS.length] + "By" + noun(m) + "(id);\n");
+                w.write("        return data;\n");
+                w.write("    }\n\n");
+            }
+            w.write("}\n");
+        }
+    }
+
+    private static void writeController(CorpusSpec spec, Path java, String base, String name, int index,
+                                        List<String> services, List<String> dtos, Random random) throws IOException {
+        String pkg = base + ".web";
+        boolean ejb = spec.style() == CorpusSpec.Style.EJB;
+        boolean constructor = !ejb && index % 2 == 0;
+        List<String> deps = pickDistinct(services, 1 + random.nextInt(2), random);
+
+        try (BufferedWriter w = open(java, pkg, name)) {
+            w.write("package " + pkg + ";\n\n");
+            w.write("import " + base + ".dto.*;\n");
+            w.write("import " + base + ".service.*;\n");
+            if (spec.compilable()) {
+                w.write("import " + STUBS + ".*;\n");
+            } else {
+                w.write("import org.springframework.web.bind.annotation.*;\n");
+                w.write("import org.springframework.http.ResponseEntity;\n");
+                w.write(ejb ? "import javax.ejb.EJB;\n" : "import org.springframework.beans.factory.annotation.Autowired;\n");
+            }
+            w.write("import java.util.*;\n\n");
+            w.write("@RestController\n");
+            w.write("@RequestMapping(\"/api/" + name.toLowerCase().replace("controller", "") + "\")\n");
+            w.write("public class " + name + " {\n\n");
+            writeInjections(w, name, deps, ejb, constructor);
+
+            for (int e = 0; e < spec.endpointsPerController(); e++) {
+                String service = deps.get(e % deps.size());
+                String dto = pick(dtos, random);
+                int method = e % 4;
+                String verb = VERBS[method % VERBS.length];
+                if (e % 2 == 0) {
+                    w.write("    @GetMapping(\"/" + verb + "/{id}\")\n");
+                    w.write("    public List<" + dto + "> " + verb + "Endpoint" + e + "(@PathVariable Long id) {\n");
+                    w.write("        var data = " + field(service) + "." + verb + method + "(id);\n");
+                    w.write("        List<" + dto + "> out = new ArrayList<>(data.size());\n");
+                    w.write("        return out;\n");
+                } else {
+                    w.write("    @PostMapping(\"/" + verb + "\")\n");
+                    w.write("    public ResponseEntity<" + dto + "> " + verb + "Endpoint" + e
+                            + "(@RequestBody " + dto + " body) {\n");
+                    w.write("        " + field(service) + "." + verb + method + "(body.getField0());\n");
+                    w.write("        return ResponseEntity.ok(body);\n");
+                }
+                w.write("    }\n\n");
+            }
+            w.write("}\n");
+        }
+    }
+
+    /** @EJB em campo (EJB), @Autowired em campo ou injeção por construtor (Spring). */
+    private static void writeInjections(BufferedWriter w, String owner, List<String> deps,
+                                        boolean ejb, boolean constructor) throws IOException {
+        for (String dep : deps) {
+            if (ejb) w.write("    @EJB\n");
+            else if (!constructor) w.write("    @Autowired\n");
+            w.write("    private " + (constructor ? "final " : "") + dep + " " + field(dep) + ";\n\n");
+        }
+        if (!constructor) return;
+        w.write("    public " + owner + "(");
+        for (int i = 0; i < deps.size(); i++) {
+            if (i > 0) w.write(", ");
+            w.write(deps.get(i) + " " + field(deps.get(i)));
+        }
+        w.write(") {\n");
+        for (String dep : deps) w.write("        this." + field(dep) + " = " + field(dep) + ";\n");
+        w.write("    }\n\n");
+    }
+
+    /** Anotações/tipos mínimos com os mesmos nomes simples — as heurísticas leem o texto, não o classpath. */
+    private static void writeStubs(Path java) throws IOException {
+        String[] annotations = {"RestController", "RequestMapping", "GetMapping", "PostMapping", "RequestBody",
+                "PathVariable", "Autowired", "Service", "Repository", "Stateless", "EJB"};
+        for (String a : annotations) {
+            try (BufferedWriter w = open(java, STUBS, a)) {
+                w.write("package " + STUBS + ";\n\n");
+                w.write("import java.lang.annotation.*;\n\n");
+                w.write("@Retention(RetentionPolicy.RUNTIME)\n");
+                w.write("public @interface " + a + " {\n    String[] value() default {};\n}\n");
+            }
+        }
+        try (BufferedWriter w = open(java, STUBS, "ResponseEntity")) {
+            w.write("package " + STUBS + ";\n\n");
+            w.write("public class ResponseEntity<T> {\n");
+            w.write("    private final T body;\n");
+            w.write("    private ResponseEntity(T body) { this.body = body; }\n");
+            w.write("    public static <T> ResponseEntity<T> ok(T body) { return new ResponseEntity<>(body); }\n");
+            w.write("    public T getBody() { return body; }\n}\n");
+        }
+        try (BufferedWriter w = open(java, STUBS, "EntityManager")) {
+            w.write("package " + STUBS + ";\n\n");
+            w.write("public interface EntityManager {\n");
+            w.write("    <T> T find(Class<T> type, Object id);\n}\n");
+        }
+        try (BufferedWriter w = open(java, STUBS, "package-info")) {
+            w.write("/** Stubs gerados pelo corpus sintético do LegacyLens. */\npackage " + STUBS + ";\n");
+        }
+    }
+
+    // ==============================================================
+    // 🔧 Utilitários internos
+    // ==============================================================
+    private static BufferedWriter open(Path java, String pkg, String name) throws IOException {
+        Path dir = java.resolve(pkg.replace('.', '/'));
+        Files.createDirectories(dir);
+        return Files.newBufferedWriter(dir.resolve(name + ".java"), StandardCharsets.UTF_8);
+    }
+
+    private static String noun(int i) {
+        return NOUNS[i % NOUNS.length];
+    }
+
+    private static String field(String type) {
+        return Character.toLowerCase(type.charAt(0)) + type.substring(1);
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.isEmpty() ? "Object" : values.get(random.nextInt(values.size()));
+    }
+
+    private static List<String> pickDistinct(List<String> values, int count, Random random) {
+        List<String> out = new ArrayList<>();
+        if (values.isEmpty()) return List.of("Object");
+        int start = random.nextInt(values.size());
+        for (int i = 0; i < Math.min(count, values.size()); i++) out.add(values.get((start + i) % values.size()));
+        return out;
+    }
+
+    static void delete(Path root) throws IOException {
+        if (!Files.exists(root)) return;
+        try (Stream<Path> s = Files.walk(root)) {
+            for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+}
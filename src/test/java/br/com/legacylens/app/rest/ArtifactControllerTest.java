@@ -0,0 +1,132 @@
+package br.com.legacylens.app.rest;
+
+import br.com.legacylens.application.artifacts.OnDemandArtifactService;
+import br.com.legacylens.domain.model.ArtifactManifest;
+import br.com.legacylens.domain.ports.ArtifactStorePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Range, If-Range e ETag do download de um arquivo (blob não comprimido de 10 bytes). */
+class ArtifactControllerTest {
+
+    private static final String CONTENT = "0123456789";
+    private static final String ETAG = "\"abc123\"";
+
+    @TempDir
+    Path dir;
+
+    private ArtifactController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path blob = Files.writeString(dir.resolve("blob"), CONTENT, StandardCharsets.US_ASCII);
+        var entry = new ArtifactManifest.Entry("a.txt", "abc123", CONTENT.length(), CONTENT.length(), false);
+        OnDemandArtifactService onDemand = mock(OnDemandArtifactService.class);
+        when(onDemand.open("job", "a.txt")).thenReturn(Optional.of(new ArtifactStorePort.Blob(entry, blob)));
+        controller = new ArtifactController(mock(ArtifactStorePort.class), onDemand);
+    }
+
+    @Test
+    void withoutRangeSendsWholeFile() throws Exception {
+        var response = get(null, null, null);
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void closedRange() throws Exception {
+        assertPartial(get("bytes=2-4", null, null), "bytes 2-4/10", "234");
+        // fim além do arquivo é truncado
+        assertPartial(get("bytes=8-100", null, null), "bytes 8-9/10", "89");
+    }
+
+    @Test
+    void openEndedRange() throws Exception {
+        assertPartial(get("bytes=4-", null, null), "bytes 4-9/10", "456789");
+    }
+
+    @Test
+    void suffixRange() throws Exception {
+        assertPartial(get("bytes=-3", null, null), "bytes 7-9/10", "789");
+        // sufixo maior que o arquivo = arquivo inteiro
+        assertPartial(get("bytes=-50", null, null), "bytes 0-9/10", CONTENT);
+    }
+
+    @Test
+    void unsatisfiableRangeIs416() throws Exception {
+        for (String range : new String[]{"bytes=10-", "bytes=15-20", "bytes=-0", "bytes=5-2"}) {
+            var response = get(range, null, null);
+            assertEquals(416, response.getStatus(), range);
+            assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+            assertEquals("", response.getContentAsString(), range);
+        }
+    }
+
+    @Test
+    void malformedOrMultiRangeIs416() throws Exception {
+        assertEquals(416, get("bytes=0-1,4-5", null, null).getStatus());
+        assertEquals(416, get("items=0-1", null, null).getStatus());
+    }
+
+    @Test
+    void ifRangeHonouredOnlyForCurrentEtag() throws Exception {
+        assertPartial(get("bytes=0-1", ETAG, null), "bytes 0-1/10", "01");
+
+        var stale = get("bytes=0-1", "\"outro\"", null);
+        assertEquals(200, stale.getStatus());
+        assertEquals(CONTENT, stale.getContentAsString());
+        assertNull(stale.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void ifNoneMatchAcceptsStrongWeakListAndWildcard() throws Exception {
+        assertEquals(304, get(null, null, ETAG).getStatus());
+        assertEquals(304, get(null, null, "W/" + ETAG).getStatus());
+        assertEquals(304, get(null, null, "\"x\", W/\"y\", " + ETAG).getStatus());
+        assertEquals(304, get(null, null, "*").getStatus());
+
+        var changed = get(null, null, "\"x\", W/\"abc\"");
+        assertEquals(200, changed.getStatus());
+        assertEquals(CONTENT, changed.getContentAsString());
+    }
+
+    @Test
+    void notModifiedWinsOverRange() throws Exception {
+        var response = get("bytes=0-1", null, ETAG);
+        assertEquals(304, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    private MockHttpServletResponse get(String range, String ifRange, String ifNoneMatch) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/artifacts/job/files/a.txt");
+        if (range != null) request.addHeader(HttpHeaders.RANGE, range);
+        if (ifRange != null) request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        var response = new MockHttpServletResponse();
+        controller.file("job", "/a.txt", request, response);
+        return response;
+    }
+
+    private static void assertPartial(MockHttpServletResponse response, String contentRange, String body)
+            throws Exception {
+        assertEquals(206, response.getStatus());
+        assertEquals(contentRange, response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(body, response.getContentAsString());
+        assertEquals(body.length(), response.getContentLengthLong());
+    }
+}
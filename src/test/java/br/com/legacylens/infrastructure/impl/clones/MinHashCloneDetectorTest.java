@@ -0,0 +1,105 @@
+package br.com.legacylens.infrastructure.impl.clones;
+
+import br.com.legacylens.domain.model.AnalysisContext;
+import br.com.legacylens.domain.model.CloneReport;
+import br.com.legacylens.domain.model.EffectiveConfig;
+import br.com.legacylens.domain.model.ExecutionPlan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Detecção ponta a ponta sobre fontes pequenos. As funções de hash usam semente fixa,
+ * então as assinaturas (e os buckets LSH) são as mesmas a cada execução.
+ */
+class MinHashCloneDetectorTest {
+
+    /** Soma com filtro; as cópias só trocam nomes de variáveis (clone tipo 2). */
+    private static final String TOTAL = """
+                int %s(java.util.List<Integer> %s) {
+                    int %s = 0;
+                    for (int i = 0; i < %s.size(); i++) {
+                        if (%s.get(i) > 10 && %s.get(i) %% 2 == 0) {
+                            %s += %s.get(i) * 3;
+                        } else {
+                            %s -= 1;
+                        }
+                    }
+                    return %s;
+                }
+            """;
+
+    private static final String DIFFERENT = """
+                String describe(String name, boolean upper) {
+                    StringBuilder sb = new StringBuilder("Olá, ");
+                    try {
+                        sb.append(upper ? name.toUpperCase() : name.trim());
+                    } catch (RuntimeException e) {
+                        throw new IllegalStateException("nome inválido: " + name, e);
+                    }
+                    while (sb.length() < 40) sb.append('.');
+                    return sb.reverse().toString();
+                }
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void copyPastedMethodsGroupAndDifferentOneDoesNot() throws Exception {
+        write("A.java", "class A {\n" + total("sum", "values", "acc") + "}\n");
+        write("B.java", "class B {\n" + total("somar", "itens", "total") + "}\n");
+        write("C.java", "class C {\n" + DIFFERENT + "}\n");
+
+        CloneReport report = new MinHashCloneDetector().detect(dir.toString(), context(200));
+
+        assertEquals(3, report.fragments());
+        assertEquals(1, report.groups().size());
+        var group = report.groups().get(0);
+        assertEquals("METHOD", group.kind());
+        assertEquals(Set.of("A.sum", "B.somar"), names(group));
+        assertTrue(group.similarity() >= 0.8);
+    }
+
+    @Test
+    void oversizedBucketStillGroupsThroughRepresentative() throws Exception {
+        for (String name : List.of("A", "B", "C", "D")) {
+            write(name + ".java", "class " + name + " {\n" + total("sum", "values", "acc") + "}\n");
+        }
+        write("E.java", "class E {\n" + DIFFERENT + "}\n");
+
+        // 4 cópias idênticas caem no mesmo bucket, acima do limite de 2
+        CloneReport report = new MinHashCloneDetector().detect(dir.toString(), context(2));
+
+        assertEquals(1, report.groups().size());
+        assertEquals(Set.of("A.sum", "B.sum", "C.sum", "D.sum"), names(report.groups().get(0)));
+        assertTrue(report.candidates() < 6, "sem todos os pares do bucket: " + report.candidates());
+    }
+
+    private static String total(String method, String list, String acc) {
+        return TOTAL.formatted(method, list, acc, list, list, list, acc, list, acc, acc);
+    }
+
+    private void write(String file, String content) throws Exception {
+        Files.writeString(dir.resolve(file), content);
+    }
+
+    private static Set<String> names(CloneReport.CloneGroup group) {
+        return group.members().stream().map(m -> m.owner() + "." + m.method()).collect(Collectors.toSet());
+    }
+
+    private static AnalysisContext context(int maxBucketSize) {
+        var clones = new EffectiveConfig.Clones(true, 20, 5, 128, 16, 0.8, maxBucketSize, 2, false);
+        var config = new EffectiveConfig(null, null, null, null, null, null, null, null, clones, null, List.of());
+        var plan = new ExecutionPlan(ExecutionPlan.Size.SMALL, 2, ExecutionPlan.UmlMode.SOURCE_ONLY, 0, 0, false,
+                0, 0, List.of());
+        return new AnalysisContext("test", config, plan);
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.legacylens.infrastructure.impl.gradle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Subconjunto de TOML dos catálogos (gradle/libs.versions.toml). */
+class VersionCatalogTest {
+
+    @Test
+    void versionRefInBothNotations() {
+        VersionCatalog catalog = VersionCatalog.parse("""
+                [versions]
+                spring = "6.1.4"
+                jackson = { strictly = "2.17.0" }
+
+                [libraries]
+                spring-core = { module = "org.springframework:spring-core", version.ref = "spring" }
+                spring-web = { group = "org.springframework", name = "spring-web", version = { ref = "spring" } }
+                jackson-databind = { module = "com.fasterxml.jackson.core:jackson-databind", version.ref = "jackson" }
+                missing = { module = "x:y", version.ref = "nope" }
+                """);
+
+        assertEquals("org.springframework:spring-core:6.1.4", catalog.libraries().get("spring.core"));
+        assertEquals("org.springframework:spring-web:6.1.4", catalog.libraries().get("spring.web"));
+        assertEquals("com.fasterxml.jackson.core:jackson-databind:2.17.0", catalog.libraries().get("jackson.databind"));
+        assertEquals("x:y", catalog.libraries().get("missing"), "ref desconhecida fica sem versão");
+    }
+
+    @Test
+    void richVersionsPreferStrictlyThenRequireThenPrefer() {
+        VersionCatalog catalog = VersionCatalog.parse("""
+                [libraries]
+                guava = { module = "com.google.guava:guava", version = { strictly = "[31, 32[", prefer = "31.1-jre" } }
+                slf4j = { module = "org.slf4j:slf4j-api", version = { require = "2.0.9" } }
+                junit = { module = "org.junit.jupiter:junit-jupiter", version = { prefer = "5.10.0" } }
+                plain = "org.example:plain:1.0"
+                """);
+
+        assertEquals("com.google.guava:guava:[31, 32[", catalog.libraries().get("guava"));
+        assertEquals("org.slf4j:slf4j-api:2.0.9", catalog.libraries().get("slf4j"));
+        assertEquals("org.junit.jupiter:junit-jupiter:5.10.0", catalog.libraries().get("junit"));
+        assertEquals("org.example:plain:1.0", catalog.libraries().get("plain"));
+    }
+
+    @Test
+    void multiLineBundlesWithCommentsAndTrailingComma() {
+        VersionCatalog catalog = VersionCatalog.parse("""
+                [libraries]
+                spring-web = "org.springframework:spring-web:6.1.4"
+                jackson-databind = "com.fasterxml.jackson.core:jackson-databind:2.17.0"
+
+                [bundles]
+                web = [
+                    "spring-web",      # servidor
+                    "jackson-databind", # json
+                ]
+                single = ["spring-web"]
+                """);
+
+        assertEquals(List.of("spring.web", "jackson.databind"), catalog.bundles().get("web"));
+        assertEquals(List.of("org.springframework:spring-web:6.1.4",
+                        "com.fasterxml.jackson.core:jackson-databind:2.17.0"),
+                catalog.resolve("bundles.web"));
+        assertEquals(List.of("org.springframework:spring-web:6.1.4"), catalog.resolve("bundles.single"));
+    }
+
+    @Test
+    void hashInsideStringIsNotAComment() {
+        VersionCatalog catalog = VersionCatalog.parse("""
+                [versions]
+                odd = "1.0#build"   # comentário de verdade
+                [libraries]
+                odd = { module = 'org.example:odd', version.ref = "odd" } # outro
+                [plugins]
+                boot = { id = "org.springframework.boot", version = "3.2.0" }  # plugin
+                """);
+
+        assertEquals("org.example:odd:1.0#build", catalog.libraries().get("odd"));
+        assertEquals("org.springframework.boot:3.2.0", catalog.plugins().get("boot"));
+    }
+
+    @Test
+    void malformedInlineTableIsRejected() {
+        var e = assertThrows(IllegalArgumentException.class, () -> VersionCatalog.parse("""
+                [libraries]
+                guava = { module = "com.google.guava:guava", version = "31.0"
+                """));
+        assertTrue(e.getMessage().contains("tabela inline"));
+    }
+
+    @Test
+    void malformedCatalogBecomesABuildProblem(@TempDir Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("gradle"));
+        Files.writeString(dir.resolve("gradle/libs.versions.toml"), "[libraries]\nbad = { module = \"x:y\"\n");
+        Files.writeString(dir.resolve("settings.gradle"), "rootProject.name = 'demo'\n");
+        Files.writeString(dir.resolve("build.gradle"), "dependencies { implementation 'org.example:a:1.0' }\n");
+
+        var build = new GradleBuildModelReader().read(dir);
+
+        assertEquals(List.of("org.example:a:1.0"), build.root().dependencies());
+        assertEquals(1, build.problems().size());
+        assertTrue(build.problems().get(0).contains("libs.versions.toml"));
+    }
+}
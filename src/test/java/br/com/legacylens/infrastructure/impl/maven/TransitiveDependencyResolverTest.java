@@ -0,0 +1,72 @@
+package br.com.legacylens.infrastructure.impl.maven;
+
+import br.com.legacylens.infrastructure.impl.maven.TransitiveDependencyResolver.Direct;
+import br.com.legacylens.infrastructure.impl.maven.TransitiveDependencyResolver.Root;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Mediação por módulo: cada módulo escolhe a própria versão e guarda o próprio caminho. */
+class TransitiveDependencyResolverTest {
+
+    private TransitiveDependencyResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        EffectivePomResolver poms = mock(EffectivePomResolver.class);
+        when(poms.concreteVersion(anyString(), anyString(), any())).thenAnswer(i -> i.getArgument(2));
+        when(poms.external(anyString(), anyString(), anyString())).thenReturn(Optional.empty());
+        // legacy-web:1.0 → javax.servlet:servlet-api:2.5
+        when(poms.external("org.example", "legacy-web", "1.0"))
+                .thenReturn(Optional.of(model("javax.servlet", "servlet-api", "2.5")));
+        resolver = new TransitiveDependencyResolver(null, poms);
+    }
+
+    @Test
+    void eachModuleKeepsItsOwnSelectionAndPath() {
+        var graph = resolver.resolve(List.of(
+                new Root("app:web:1", List.of(direct("org.example", "legacy-web", "1.0")), Map.of()),
+                new Root("app:api:1", List.of(direct("javax.servlet", "servlet-api", "3.0"),
+                        direct("org.example", "legacy-web", "1.0")), Map.of()),
+                new Root("app:batch:1", List.of(direct("org.example", "other", "1.0")), Map.of())));
+
+        var pulling = graph.modulesPulling("javax.servlet:");
+        assertEquals(Set.of("app:web:1", "app:api:1"), pulling.keySet());
+        assertEquals(List.of("app:web:1", "org.example:legacy-web:1.0", "javax.servlet:servlet-api:2.5"),
+                pulling.get("app:web:1"));
+        // declarada direto no api: vence a mais próxima, sem herdar a 2.5 do web
+        assertEquals(List.of("app:api:1", "javax.servlet:servlet-api:3.0"), pulling.get("app:api:1"));
+
+        for (int node : graph.find("javax.servlet:")) {
+            assertEquals(graph.depths()[node], graph.pathTo(node).size() - 1, "profundidade é por módulo");
+        }
+        assertFalse(graph.modulesPulling("org.example:other").containsKey("app:web:1"));
+        assertTrue(graph.unresolved().contains("org.example:other:1.0"), "sem POM local vira folha");
+    }
+
+    private static Direct direct(String groupId, String artifactId, String version) {
+        return new Direct(groupId, artifactId, version, "compile", false, Set.of());
+    }
+
+    private static Model model(String groupId, String artifactId, String version) {
+        Dependency d = new Dependency();
+        d.setGroupId(groupId);
+        d.setArtifactId(artifactId);
+        d.setVersion(version);
+        Model model = new Model();
+        model.addDependency(d);
+        return model;
+    }
+}
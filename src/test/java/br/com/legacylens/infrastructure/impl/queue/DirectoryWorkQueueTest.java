@@ -0,0 +1,174 @@
+package br.com.legacylens.infrastructure.impl.queue;
+
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Lease;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Result;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Status;
+import br.com.legacylens.infrastructure.impl.queue.DirectoryWorkQueue.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Corridas da fila em diretório numa só JVM: duas instâncias sobre o mesmo diretório
+ * fazem o papel de dois processos (worker/coordenador).
+ */
+class DirectoryWorkQueueTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @TempDir
+    Path dir;
+
+    private DirectoryWorkQueue a;
+    private DirectoryWorkQueue b;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        a = new DirectoryWorkQueue(dir);
+        b = new DirectoryWorkQueue(dir);
+    }
+
+    @Test
+    void concurrentClaimsNeverShareATask() throws Exception {
+        int tasks = 200;
+        for (int i = 0; i < tasks; i++) a.enqueue(task("t" + i));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> claimed = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                DirectoryWorkQueue queue = w % 2 == 0 ? a : b;
+                String worker = "w" + w;
+                claimed.add(pool.submit(() -> {
+                    start.await();
+                    List<String> ids = new ArrayList<>();
+                    for (Optional<Lease> lease; (lease = queue.claim(worker)).isPresent(); ) {
+                        ids.add(lease.get().task().id());
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<String> unique = new HashSet<>();
+            int total = 0;
+            for (Future<List<String>> f : claimed) {
+                List<String> ids = f.get();
+                unique.addAll(ids);
+                total += ids.size();
+            }
+            assertEquals(tasks, total, "cada tarefa tomada exatamente uma vez");
+            assertEquals(tasks, unique.size());
+            assertEquals(0, a.pendingCount());
+            assertEquals(tasks, b.leasedCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void heartbeatKeepsLeaseAliveUntilReaped() throws Exception {
+        a.enqueue(task("t1"));
+        Lease lease = a.claim("wa").orElseThrow();
+
+        assertTrue(a.heartbeat(lease));
+        assertEquals(0, b.reapExpired(LEASE, 3), "lease recém-renovado não expira");
+
+        expire(lease);
+        assertEquals(1, b.reapExpired(LEASE, 3));
+        assertFalse(a.heartbeat(lease), "lease devolvido à fila não aceita heartbeat");
+
+        Lease retry = b.claim("wb").orElseThrow();
+        assertEquals("t1", retry.task().id());
+        assertEquals(1, retry.task().attempts());
+    }
+
+    @Test
+    void reapGivesUpAfterMaxAttempts() throws Exception {
+        a.enqueue(task("t1"));
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            expire(a.claim("wa").orElseThrow());
+            assertEquals(1, b.reapExpired(LEASE, 2));
+        }
+
+        assertTrue(b.isDone("t1"));
+        assertEquals(0, b.pendingCount());
+        assertEquals(0, b.leasedCount());
+        Result result = b.results().get(0);
+        assertEquals(Status.FAILED, result.status());
+        assertEquals(2, result.attempts());
+        assertEquals("wa", result.worker());
+    }
+
+    @Test
+    void firstFinishWinsAfterLeaseIsTakenOver() throws Exception {
+        a.enqueue(task("t1"));
+        Lease stale = a.claim("wa").orElseThrow();
+        expire(stale);
+        b.reapExpired(LEASE, 3);
+        Lease current = b.claim("wb").orElseThrow();
+
+        assertTrue(b.finish(current, result(current, Status.OK)));
+        assertFalse(a.finish(stale, result(stale, Status.STAGE_FAILED)), "resultado duplicado é descartado");
+
+        List<Result> results = a.results();
+        assertEquals(1, results.size());
+        assertEquals(Status.OK, results.get(0).status());
+        assertEquals("wb", results.get(0).worker());
+        assertEquals(0, a.leasedCount());
+    }
+
+    @Test
+    void requeuedTaskWithResultIsNotClaimedAgain() throws Exception {
+        a.enqueue(task("t1"));
+        Lease slow = a.claim("wa").orElseThrow();
+        expire(slow);
+        b.reapExpired(LEASE, 3);
+        // o worker lento conclui depois do reap, antes de alguém retomar a tarefa
+        assertTrue(a.finish(slow, result(slow, Status.OK)));
+
+        assertTrue(b.claim("wb").isEmpty());
+        assertEquals(0, b.pendingCount());
+        assertEquals(0, b.leasedCount());
+        assertTrue(b.isKnown("t1"));
+    }
+
+    @Test
+    void closeIsVisibleToOtherInstances() throws Exception {
+        assertFalse(b.isClosed());
+        a.close();
+        a.close();
+        assertTrue(b.isClosed());
+    }
+
+    private static Task task(String id) {
+        return new Task(id, "/in/" + id, "", "/out/" + id, "", 0);
+    }
+
+    private static Result result(Lease lease, Status status) {
+        Task t = lease.task();
+        return new Result(t.id(), status, t.input(), t.module(), t.outDir(), lease.worker(), 1, t.attempts(), "");
+    }
+
+    private static void expire(Lease lease) throws IOException {
+        Files.setLastModifiedTime(lease.file(), FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+    }
+}
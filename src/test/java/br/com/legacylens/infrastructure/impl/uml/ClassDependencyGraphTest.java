@@ -0,0 +1,132 @@
+package br.com.legacylens.infrastructure.impl.uml;
+
+import br.com.legacylens.domain.model.EffectiveConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Ciclos (Tarjan iterativo), grafo de pacotes/reverso e métricas Ca/Ce do relatório de pacotes. */
+class ClassDependencyGraphTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void twoCycleInsidePackage() {
+        var g = ClassDependencyGraph.of(List.of(
+                node("a.A", "a.B"),
+                node("a.B", "a.A"),
+                node("a.C", "a.A"),
+                // Externo ↔ Externo$Interno não é ciclo
+                node("a.D", "a.D$In"),
+                node("a.D$In", "a.D")));
+        int[] c = g.components();
+
+        assertEquals(c[0], c[1]);
+        assertNotEquals(c[0], c[2]);
+        assertNotEquals(c[3], c[4]);
+        assertEquals(0, g.packages().edges(), "um pacote só não tem arestas de pacote");
+    }
+
+    @Test
+    void threeCycleAcrossPackages() {
+        var g = ClassDependencyGraph.of(List.of(
+                node("p1.X", "p2.Y"),
+                node("p2.Y", "p3.Z"),
+                node("p3.Z", "p1.X"),
+                node("p3.W", "p1.X", "p3.Z")));
+        int[] c = g.components();
+        assertEquals(c[0], c[1]);
+        assertEquals(c[1], c[2]);
+        assertNotEquals(c[2], c[3]);
+
+        var packages = g.packages();
+        assertArrayEquals(new String[]{"p1", "p2", "p3"}, packages.names);
+        int[] pc = packages.components();
+        assertEquals(pc[0], pc[1]);
+        assertEquals(pc[1], pc[2]);
+        // p3 → p1 resume duas dependências entre classes (Z → X e W → X)
+        assertEquals(2, weight(packages, 2, 0));
+        assertEquals(1, weight(packages, 0, 1));
+
+        int[][] reversed = g.reversed();
+        assertEquals(List.of(2, 3), sources(reversed, 0), "quem depende de p1.X");
+    }
+
+    @Test
+    void longChainDoesNotOverflowTheStack() {
+        int n = 200_000;
+        List<UmlClassNode> chain = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) chain.add(node("c.C" + i, "c.C" + ((i + 1) % n)));
+        int[] closed = ClassDependencyGraph.of(chain).components();
+        assertTrue(Arrays.stream(closed).allMatch(x -> x == closed[0]), "cadeia fechada = um ciclo só");
+
+        chain.set(n - 1, node("c.C" + (n - 1)));
+        int[] open = ClassDependencyGraph.of(chain).components();
+        assertEquals(n, Arrays.stream(open).distinct().count(), "cadeia aberta = nenhum ciclo");
+    }
+
+    @Test
+    void reportCountsAfferentAndEfferentClasses() throws Exception {
+        List<UmlClassNode> nodes = List.of(
+                new UmlClassNode("core.Service", "core", UmlClassNode.Kind.INTERFACE, null, List.of(), List.of()),
+                new UmlClassNode("core.Impl", "core", UmlClassNode.Kind.CLASS, null, List.of("core.Service"),
+                        List.of("util.Strings")),
+                node("web.Controller", "core.Service", "core.Impl"),
+                node("web.Other", "core.Service"),
+                node("util.Strings", "web.Controller"));
+        var uml = new EffectiveConfig.Uml(true, true, true, true, 1000, false, false);
+
+        List<Path> written = new PackageDependencyReport(uml, 2).write("m", nodes, dir);
+
+        Map<String, String[]> rows = new HashMap<>();
+        for (String line : Files.readAllLines(written.get(1)).subList(1, 4)) rows.put(line.split(",")[0], line.split(",", -1));
+        // pacote,classes,abstratas,pacotes_usados,pacotes_usuarios,ca,ce,...,ciclo
+        assertRow(rows.get("core"), 2, 1, 2, 1);
+        assertRow(rows.get("web"), 2, 0, 1, 2);
+        assertRow(rows.get("util"), 1, 0, 1, 1);
+        // core: I = 1 / (2 + 1), A = 1 / 2, D = |A + I − 1|
+        String[] core = rows.get("core");
+        assertEquals(List.of("0.333", "0.500", "0.167"), List.of(core[7], core[8], core[9]));
+        for (String[] row : rows.values()) assertEquals("1", row[10], "os três pacotes formam um ciclo");
+
+        List<String> cycles = Files.readAllLines(written.get(2));
+        assertEquals(List.of("nivel,ciclo,tamanho,elemento", "PACOTE,1,3,core", "PACOTE,1,3,util",
+                "PACOTE,1,3,web", "CLASSE,1,3,core.Impl", "CLASSE,1,3,util.Strings",
+                "CLASSE,1,3,web.Controller"), cycles);
+    }
+
+    private static void assertRow(String[] row, int classes, int abstracts, int ca, int ce) {
+        assertEquals(classes, Integer.parseInt(row[1]), row[0] + " classes");
+        assertEquals(abstracts, Integer.parseInt(row[2]), row[0] + " abstratas");
+        assertEquals(ca, Integer.parseInt(row[5]), row[0] + " Ca");
+        assertEquals(ce, Integer.parseInt(row[6]), row[0] + " Ce");
+    }
+
+    private static UmlClassNode node(String name, String... dependencies) {
+        String pkg = name.substring(0, name.lastIndexOf('.'));
+        return new UmlClassNode(name, pkg, UmlClassNode.Kind.CLASS, null, List.of(), List.of(dependencies));
+    }
+
+    private static int weight(ClassDependencyGraph g, int from, int to) {
+        for (int e = g.offsets[from]; e < g.offsets[from + 1]; e++) {
+            if (g.targets[e] == to) return g.weights[e];
+        }
+        return 0;
+    }
+
+    private static List<Integer> sources(int[][] reversed, int node) {
+        List<Integer> result = new ArrayList<>();
+        for (int e = reversed[0][node]; e < reversed[0][node + 1]; e++) result.add(reversed[1][e]);
+        return result;
+    }
+}
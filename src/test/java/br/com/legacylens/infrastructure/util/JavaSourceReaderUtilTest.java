@@ -0,0 +1,90 @@
+package br.com.legacylens.infrastructure.util;
+
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Detecção de charset por arquivo: UTF-8 estrito, BOMs e o charset legado,
+ * tanto na leitura em heap quanto no arquivo mapeado (sources.mmapThresholdKb).
+ */
+class JavaSourceReaderUtilTest {
+
+    /** Texto com acentos, maior que 1 KB para cair no mmap com limite de 1 KB. */
+    private static final String TEXT = "// Configuração: ação, açúcar, €\nclass Ação {}\n".repeat(40);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void strictUtf8() {
+        assertTrue(JavaSourceReaderUtil.isUtf8("ação € 😀".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(JavaSourceReaderUtil.isUtf8("ação €".getBytes(Charset.forName("windows-1252"))), "Cp1252");
+        assertFalse(JavaSourceReaderUtil.isUtf8(bytes(0xC0, 0xAF)), "'/' em forma longa (2 bytes)");
+        assertFalse(JavaSourceReaderUtil.isUtf8(bytes(0xE0, 0x80, 0xAF)), "'/' em forma longa (3 bytes)");
+        assertFalse(JavaSourceReaderUtil.isUtf8(bytes(0xF0, 0x82, 0x82, 0xAC)), "'€' em forma longa (4 bytes)");
+        assertFalse(JavaSourceReaderUtil.isUtf8(bytes(0xED, 0xA0, 0x80)), "surrogate alto U+D800");
+        assertFalse(JavaSourceReaderUtil.isUtf8(bytes(0xED, 0xBF, 0xBF)), "surrogate baixo U+DFFF");
+        assertFalse(JavaSourceReaderUtil.isUtf8(bytes(0xF4, 0x90, 0x80, 0x80)), "acima de U+10FFFF");
+        assertFalse(JavaSourceReaderUtil.isUtf8(bytes('a', 0xC3)), "sequência truncada");
+        assertTrue(JavaSourceReaderUtil.isUtf8(bytes(0xED, 0x9F, 0xBF)), "U+D7FF é válido");
+    }
+
+    @ParameterizedTest(name = "mmap={0}")
+    @ValueSource(booleans = {false, true})
+    void detectsCharsetOnHeapAndMappedPaths(boolean mapped) throws Exception {
+        var sources = LegacyLensConfigLoader.get().getSources();
+        int threshold = sources.getMmapThresholdKb();
+        sources.setMmapThresholdKb(mapped ? 1 : 4096);
+        try {
+            assertEquals(TEXT, read("utf8.java", TEXT.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(TEXT, read("cp1252.java", TEXT.getBytes(Charset.forName("windows-1252"))));
+            assertEquals(TEXT, read("bom8.java", withBom(bytes(0xEF, 0xBB, 0xBF), StandardCharsets.UTF_8)));
+            assertEquals(TEXT, read("bom16le.java", withBom(bytes(0xFF, 0xFE), StandardCharsets.UTF_16LE)));
+            assertEquals(TEXT, read("bom16be.java", withBom(bytes(0xFE, 0xFF), StandardCharsets.UTF_16BE)));
+            // surrogate codificado em UTF-8 não é UTF-8 válido: o arquivo inteiro vai para o charset legado
+            String padding = "// " + "x".repeat(2000) + "\n";
+            assertEquals(padding + "í\u00A0€\n",
+                    read("surrogate.java", concat(padding.getBytes(StandardCharsets.US_ASCII), bytes(0xED, 0xA0, 0x80, '\n'))));
+        } finally {
+            sources.setMmapThresholdKb(threshold);
+        }
+    }
+
+    @Test
+    void normalizesLineBreaks() throws Exception {
+        assertEquals("a\nb\nc\n", read("crlf.java", "a\r\nb\rc".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String read(String name, byte[] content) throws Exception {
+        Path file = Files.write(dir.resolve(name), content);
+        return JavaSourceReaderUtil.readFile(file);
+    }
+
+    private static byte[] withBom(byte[] bom, Charset charset) {
+        return concat(bom, TEXT.getBytes(charset));
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        var out = new ByteArrayOutputStream();
+        out.writeBytes(a);
+        out.writeBytes(b);
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) result[i] = (byte) values[i];
+        return result;
+    }
+}
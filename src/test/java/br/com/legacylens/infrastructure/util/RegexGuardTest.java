@@ -0,0 +1,86 @@
+package br.com.legacylens.infrastructure.util;
+
+import br.com.legacylens.config.LegacyLensConfig;
+import br.com.legacylens.config.LegacyLensConfigLoader;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Backtracking catastrófico interrompido pelo orçamento: a unidade devolve o fallback. */
+class RegexGuardTest {
+
+    /**
+     * Quantificador aninhado: sem casamento, a entrada "aaa…!" exige ~2^n tentativas. O limite
+     * no quantificador externo evita a memoização que o JDK aplica a (a+)+.
+     */
+    private static final Pattern NESTED = Pattern.compile("(a+){1,40}$");
+    private static final String CRAFTED = "a".repeat(40) + "!";
+
+    private final LegacyLensConfig.Regex cfg = LegacyLensConfigLoader.get().getRegex();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private long timeoutMs;
+    private long minSteps;
+    private int stepsPerChar;
+
+    @BeforeEach
+    void setUp() {
+        timeoutMs = cfg.getTimeoutMs();
+        minSteps = cfg.getMinSteps();
+        stepsPerChar = cfg.getStepsPerChar();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cfg.setTimeoutMs(timeoutMs);
+        cfg.setMinSteps(minSteps);
+        cfg.setStepsPerChar(stepsPerChar);
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void timeoutStopsNestedQuantifierAndReturnsFallback() {
+        cfg.setTimeoutMs(20);
+        cfg.setMinSteps(Long.MAX_VALUE);
+
+        long start = System.nanoTime();
+        Boolean found = RegexGuard.run("nested-timeout", Path.of("Crafted.java"), CRAFTED, Boolean.TRUE,
+                text -> NESTED.matcher(text).find());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertSame(Boolean.TRUE, found, "fallback, não o resultado do match");
+        assertTrue(elapsedMs < 2_000, "abandonado perto do prazo, não após 2^40 passos: " + elapsedMs + " ms");
+        assertEquals(1.0, registry.counter("legacylens.regex.budget.exceeded", "pattern", "nested-timeout").count());
+    }
+
+    @Test
+    void stepBudgetStopsNestedQuantifier() {
+        cfg.setMinSteps(100_000);
+        cfg.setStepsPerChar(1);
+
+        String result = RegexGuard.run("nested-steps", Path.of("Crafted.java"), CRAFTED, "fallback",
+                text -> NESTED.matcher(text).find() ? "match" : "sem match");
+
+        assertEquals("fallback", result);
+        assertEquals(1, registry.timer("legacylens.regex.duration", "pattern", "nested-steps", "outcome", "exceeded")
+                .count());
+    }
+
+    @Test
+    void benignUnitReturnsItsResult() {
+        cfg.setTimeoutMs(20);
+
+        String result = RegexGuard.run("benign", Path.of("Ok.java"), "class Ok {}", "fallback",
+                text -> Pattern.compile("class (\\w+)").matcher(text).find() ? "ok" : "sem match");
+
+        assertEquals("ok", result);
+        assertEquals(1, registry.timer("legacylens.regex.duration", "pattern", "benign", "outcome", "ok").count());
+    }
+}